@@ -0,0 +1,79 @@
+package org.example.benchmarks;
+
+import org.example.utils.playback.FrameHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость перцептивного хэша кадра видео на записанных скриншотах.
+ *
+ * <p>Сравнивается путь {@link FrameHasher#hash(byte[])} (декодирование с прореживанием в переиспользуемое
+ * изображение) с полным декодированием через {@link ImageIO#read} и отдельно хэш уже декодированного кадра.
+ * Кадр {@code noise} плохо сжимается и показывает стоимость разбора PNG. Выделение памяти на операцию
+ * видно с {@code -prof gc}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameHashBenchmark {
+
+    @Param({"video-frame-1.png", "video-frame-1-noise.png"})
+    private String frame;
+
+    private byte[] png;
+    private BufferedImage decoded;
+    private FrameHasher hasher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream stream = FrameHashBenchmark.class.getResourceAsStream("/playback/" + frame)) {
+            if (stream == null) {
+                throw new IllegalStateException("Ресурс не найден: /playback/" + frame);
+            }
+            png = stream.readAllBytes();
+        }
+        decoded = ImageIO.read(new ByteArrayInputStream(png));
+        hasher = new FrameHasher();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hasher.close();
+    }
+
+    @Benchmark
+    public long subsampledDecodeAndHash() throws IOException {
+        return hasher.hash(png);
+    }
+
+    @Benchmark
+    public long fullDecodeAndHash() throws IOException {
+        return hasher.hash(ImageIO.read(new ByteArrayInputStream(png)));
+    }
+
+    @Benchmark
+    public long hashDecoded() {
+        return hasher.hash(decoded);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.benchmarks;
+
+import org.example.exceptions.UtilityClassException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Записанные иерархии экранов разного размера для бенчмарков.
+ * <ul>
+ * <li>{@code small} - экран поиска VK Video, около 10 элементов</li>
+ * <li>{@code medium} - лента VK Video, около 40 элементов</li>
+ * <li>{@code large} - длинная лента VK Video, около 1000 элементов</li>
+ * </ul>
+ */
+final class HierarchyDumps {
+    private static final Map<String, String> RESOURCES = Map.of(
+            "small", "/hierarchy/vkvideo-search.xml",
+            "medium", "/hierarchy/vkvideo-feed.xml",
+            "large", "/hierarchy/vkvideo-feed-large.xml"
+    );
+
+    /**
+     * Читает иерархию указанного размера.
+     *
+     * @param size {@code small}, {@code medium} или {@code large}
+     * @return XML иерархии в формате UiAutomator2
+     */
+    static String load(String size) {
+        String resource = RESOURCES.get(size);
+        if (resource == null) {
+            throw new IllegalArgumentException("Неизвестный размер иерархии: " + size);
+        }
+        try (InputStream stream = HierarchyDumps.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalStateException("Ресурс не найден: " + resource);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private HierarchyDumps() {
+        throw new UtilityClassException(getClass());
+    }
+}
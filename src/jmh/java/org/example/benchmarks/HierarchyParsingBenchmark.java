@@ -0,0 +1,64 @@
+package org.example.benchmarks;
+
+import org.example.utils.snapshot.UiSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость разбора {@code getPageSource()} в зависимости от размера иерархии.
+ *
+ * <p>Сравнивается компактное дерево {@link UiSnapshot} (один проход SAX) с полным DOM,
+ * который нужен для XPath, а также первый XPath запрос к свежему снимку,
+ * включающий ленивое построение DOM.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyParsingBenchmark {
+    private static final String DISALLOW_DOCTYPE = "http://apache.org/xml/features/disallow-doctype-decl";
+
+    @Param({"small", "medium", "large"})
+    private String size;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        source = HierarchyDumps.load(size);
+    }
+
+    @Benchmark
+    public UiSnapshot snapshot() {
+        return UiSnapshot.parse(source);
+    }
+
+    @Benchmark
+    public Document dom() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(DISALLOW_DOCTYPE, true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(source)));
+    }
+
+    @Benchmark
+    public boolean snapshotThenFirstXpath() {
+        return UiSnapshot.parse(source).hasXpath("(//*[contains(@text, 'Ошибка')])[1]");
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.benchmarks;
+
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSelectorQuery;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость локального вычисления каждой стратегии поиска по уже полученному снимку иерархии.
+ *
+ * <p>Снимок и его DOM строятся один раз на прогон, поэтому измеряется только поиск:
+ * индекс resource-id, XPath (переведенный {@code XPathCompiler} в UiSelector и вычисляемый по DOM),
+ * выражения UiSelector (заранее разобранные и разбираемые на каждый запрос) и линейный поиск по тексту.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalStrategyBenchmark {
+    private static final String CONTENT_ID = "com.vk.vkvideo:id/content";
+    private static final String SEARCH_BUTTON_ID = "com.vk.vkvideo:id/search_button";
+    private static final String ERROR_TEXT_XPATH = "//*[contains(@text, 'Ошибка')]";
+    private static final String SEARCH_BUTTON_XPATH = "//*[@resource-id='" + SEARCH_BUTTON_ID + "']";
+    private static final String FIRST_CONTENT_XPATH = "(//*[@resource-id='" + CONTENT_ID + "'])[1]";
+    private static final String TITLE_SELECTOR = "new UiSelector().text(\"VK Video\")";
+    private static final String CONTENT_SELECTOR = "new UiSelector().resourceIdMatches(\".*:id/content\")";
+    private static final UiSelectorQuery TITLE_QUERY = UiSelectorQuery.parse(TITLE_SELECTOR);
+    private static final UiSelectorQuery CONTENT_QUERY = UiSelectorQuery.parse(CONTENT_SELECTOR);
+
+    @Param({"small", "medium", "large"})
+    private String size;
+
+    private UiSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        snapshot = UiSnapshot.parse(HierarchyDumps.load(size));
+        snapshot.hasXpath(FIRST_CONTENT_XPATH);
+    }
+
+    @Benchmark
+    public List<UiNode> id() {
+        return snapshot.findAllById(CONTENT_ID);
+    }
+
+    @Benchmark
+    public boolean idPresence() {
+        return snapshot.hasId(SEARCH_BUTTON_ID);
+    }
+
+    @Benchmark
+    public List<UiNode> xpathAll() {
+        return snapshot.findByXpath("//*");
+    }
+
+    @Benchmark
+    public List<UiNode> xpathContainsText() {
+        return snapshot.findByXpath(ERROR_TEXT_XPATH);
+    }
+
+    @Benchmark
+    public List<UiNode> xpathResourceId() {
+        return snapshot.findByXpath(SEARCH_BUTTON_XPATH);
+    }
+
+    @Benchmark
+    public List<UiNode> xpathNotCompiled() {
+        return snapshot.findByXpath(FIRST_CONTENT_XPATH);
+    }
+
+    @Benchmark
+    public List<UiNode> uiSelectorTextPrepared() {
+        return TITLE_QUERY.select(snapshot);
+    }
+
+    @Benchmark
+    public List<UiNode> uiSelectorTextParsed() {
+        return snapshot.findByUiSelector(TITLE_SELECTOR);
+    }
+
+    @Benchmark
+    public List<UiNode> uiSelectorResourceIdMatches() {
+        return CONTENT_QUERY.select(snapshot);
+    }
+
+    @Benchmark
+    public boolean textContains() {
+        return snapshot.hasTextContaining("Ошибка");
+    }
+}
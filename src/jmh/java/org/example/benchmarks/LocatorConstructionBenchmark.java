@@ -0,0 +1,80 @@
+package org.example.benchmarks;
+
+import io.appium.java_client.AppiumBy;
+import org.example.utils.snapshot.UiSelectorQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость построения локаторов, которые используют {@code VKVideoUtils} и {@code AlchemyUtils}.
+ *
+ * <p>Помимо создания объектов {@link By} измеряется их перевод в параметры W3C запроса
+ * ({@code By.id} при этом превращается в CSS селектор) и подготовка выражений
+ * для локального вычисления по снимку иерархии.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorConstructionBenchmark {
+    private static final String SEARCH_BUTTON_ID = "com.vk.vkvideo:id/search_button";
+    private static final String ERROR_TEXT_XPATH = "//*[contains(@text, 'Ошибка')]";
+    private static final String PLAY_BUTTON = "new UiSelector().text(\"Играть\")";
+
+    private int hintCount = 2;
+
+    @Benchmark
+    public By byId() {
+        return By.id(SEARCH_BUTTON_ID);
+    }
+
+    @Benchmark
+    public Object byIdRemoteParameters() {
+        return ((By.Remotable) By.id(SEARCH_BUTTON_ID)).getRemoteParameters();
+    }
+
+    @Benchmark
+    public By byXpathAll() {
+        return By.xpath("//*");
+    }
+
+    @Benchmark
+    public By byXpathContainsText() {
+        return By.xpath(ERROR_TEXT_XPATH);
+    }
+
+    @Benchmark
+    public By uiAutomatorConstant() {
+        return AppiumBy.androidUIAutomator(PLAY_BUTTON);
+    }
+
+    @Benchmark
+    public By uiAutomatorConcatenated() {
+        return AppiumBy.androidUIAutomator("new UiSelector().text(\"" + hintCount + "\")");
+    }
+
+    @Benchmark
+    public UiSelectorQuery uiSelectorParse() {
+        return UiSelectorQuery.parse(PLAY_BUTTON);
+    }
+
+    @Benchmark
+    public XPathExpression xpathCompile() throws XPathExpressionException {
+        return XPathFactory.newInstance().newXPath().compile(ERROR_TEXT_XPATH);
+    }
+}
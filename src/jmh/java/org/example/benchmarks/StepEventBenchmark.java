@@ -0,0 +1,62 @@
+package org.example.benchmarks;
+
+import org.example.utils.events.StepEvent;
+import org.example.utils.events.StepEventLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость записи события шага для потока теста.
+ *
+ * <p>Измеряется полный путь из {@code WaitBudget}: создание {@link StepEvent} и передача в журнал
+ * с фоновой записью в файл. Запуск в нескольких потоках показывает конкуренцию писателей за буфер;
+ * события, не поместившиеся в буфер, отбрасываются и тоже входят в измерение.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class StepEventBenchmark {
+    private static final String STEP = "Кнопка поиска";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private Path file;
+    private StepEventLog log;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("steps", ".jsonl");
+        log = new StepEventLog(file, 1 << 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        log.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public boolean emit() {
+        return log.emit(StepEvent.of(STEP, false, TIMEOUT, 1_000_000, null));
+    }
+}
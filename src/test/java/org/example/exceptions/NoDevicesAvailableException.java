@@ -0,0 +1,18 @@
+package org.example.exceptions;
+
+/**
+ * Исключение, выбрасываемое когда для приложения не осталось ни одного доступного устройства.
+ */
+public class NoDevicesAvailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Создает исключение с сообщением, содержащим имя пула устройств.
+     *
+     * @param poolName имя пула устройств (ключ приложения в конфигурации)
+     * @param reason   причина, по которой устройство не может быть выдано
+     */
+    public NoDevicesAvailableException(String poolName, String reason) {
+        super(String.format("Нет доступных устройств в пуле '%s': %s", poolName, reason));
+    }
+}
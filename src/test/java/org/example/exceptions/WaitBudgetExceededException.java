@@ -0,0 +1,26 @@
+package org.example.exceptions;
+
+/**
+ * Ошибка, выбрасываемая когда тест израсходовал свой бюджет времени ожиданий.
+ *
+ * <p>Наследуется от {@link AssertionError}, как и ошибки ожиданий Selenide, поэтому не перехватывается
+ * блоками {@code catch (Exception e)} в утилитах и сразу завершает тест.</p>
+ */
+public class WaitBudgetExceededException extends AssertionError {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Создает ошибку с расшифровкой того, на какие ожидания ушло время.
+     *
+     * @param step      шаг, которому не хватило бюджета
+     * @param budgetMs  бюджет теста в миллисекундах
+     * @param breakdown расшифровка затраченного времени по шагам
+     * @param cause     ошибка ожидания, прерванного из-за нехватки бюджета, может быть {@code null}
+     */
+    public WaitBudgetExceededException(String step, long budgetMs, String breakdown, Throwable cause) {
+        super(String.format(
+                "Бюджет ожиданий теста (%d мс) исчерпан на шаге '%s'. Затрачено:%n%s",
+                budgetMs, step, breakdown
+        ), cause);
+    }
+}
@@ -1,6 +1,11 @@
 package org.example.tests.alchemy;
 
 import org.example.tests.base.BaseTestAlchemy;
+import org.example.utils.explore.ExplorationResult;
+import org.example.utils.explore.StateExplorer;
+import org.example.utils.session.AppReset;
+import org.example.utils.session.ResetMode;
+import org.example.utils.wait.TimeBudget;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Tags;
@@ -10,13 +15,19 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.OptionalLong;
+
 import static org.example.utils.AlchemyUtils.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("Тест мобильного приложение: Алхимия")
 @Tags({
         @Tag("ALCHEMY"),
         @Tag("End-to-End")
 })
+@AppReset(ResetMode.LAUNCHER)
+@TimeBudget(seconds = 90)
 public class AlchemyTest extends BaseTestAlchemy {
     private static final Logger log = LoggerFactory.getLogger(AlchemyTest.class);
     private static final int START_HINT = 2;
@@ -31,12 +42,23 @@ public class AlchemyTest extends BaseTestAlchemy {
         boolean hintsAvailable = verifyHintsSectionVisible();
 
         if (hintsAvailable) {
-            boolean adWatched = watchAdForHints();
-            if (adWatched) {
-                verifyHintsCount(EXPECTED_HINTS_COUNT);
+            OptionalLong adStarted = watchAdForHints();
+            if (adStarted.isPresent()) {
+                verifyHintsCount(EXPECTED_HINTS_COUNT, adStarted.getAsLong());
             }
         } else {
             log.warn("Раздел подсказок недоступен, тест завершен с ограниченной проверкой");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Обход экранов игры в ширину")
+    void exploreGameScreens() {
+        assumeTrue(StateExplorer.enabled(), "Обход интерфейса включается -Dexplore.run=true");
+
+        ExplorationResult result = exploreGame();
+
+        assertTrue(result.states() > 1, "Со стартового экрана должен быть доступен хотя бы один переход: "
+                + result.toMap());
+    }
+}
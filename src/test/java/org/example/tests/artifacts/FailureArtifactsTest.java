@@ -0,0 +1,117 @@
+package org.example.tests.artifacts;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.artifacts.ArtifactWriter;
+import org.example.utils.artifacts.FailureArtifacts;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.logcat.DriverLogcatSource;
+import org.example.utils.logcat.LogcatMarkers;
+import org.example.utils.logcat.LogcatStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Артефакты упавших тестов")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class FailureArtifactsTest {
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    @DisplayName("Скриншот, иерархия и logcat снимаются с устройства и записываются архивом в фоне")
+    void shouldCaptureAndWriteArchive(@TempDir Path dir) throws Exception {
+        FailureArtifacts artifacts;
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.none())) {
+            AndroidDriver driver = server.driver("com.vk.vkvideo", "com.vk.video.screens.main.MainActivity");
+            try (LogcatStream logcat = LogcatStream.start("fake",
+                    DriverLogcatSource.connect(driver).orElseThrow(), Duration.ofMillis(10))) {
+                driver.findElement(By.id("com.vk.vkvideo:id/fast_login_tertiary_btn")).click();
+                long mark = logcat.position();
+                driver.findElement(By.id("com.vk.vkvideo:id/content")).click();
+                logcat.await(LogcatMarkers.PLAYER_STARTED, mark, Duration.ofSeconds(5));
+
+                artifacts = FailureArtifacts.capture("VKVideoTest#playVideo",
+                        new AssertionError("Видео не воспроизводится"), driver, Optional.of(logcat));
+            } finally {
+                driver.quit();
+            }
+        }
+
+        ArtifactWriter writer = new ArtifactWriter(dir, 4, 10 * MB);
+        assertTrue(writer.submit(artifacts));
+        writer.close(Duration.ofSeconds(10));
+
+        List<Path> archives = archives(dir);
+        assertEquals(1, archives.size());
+        assertTrue(archives.get(0).getFileName().toString().startsWith("VKVideoTest_playVideo-"));
+        Map<String, String> entries = unzip(archives.get(0));
+        assertEquals(List.of("failure.txt", "hierarchy.xml", "logcat.txt", "screenshot.png"),
+                entries.keySet().stream().sorted().toList());
+        assertTrue(entries.get("failure.txt").contains("Видео не воспроизводится"));
+        assertTrue(entries.get("hierarchy.xml").contains("com.vk.vkvideo"));
+        assertTrue(entries.get("logcat.txt").contains("onFirstFrameRendered"));
+        assertEquals(Files.size(archives.get(0)), writer.writtenBytes());
+    }
+
+    @Test
+    @DisplayName("Артефакты сверх лимита размера за прогон и после закрытия отбрасываются")
+    void shouldCapTotalSize(@TempDir Path dir) throws IOException {
+        ArtifactWriter writer = new ArtifactWriter(dir, 16, MB);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(writer.submit(artifacts("Test#" + i, 400 * 1024)));
+        }
+        writer.close(Duration.ofSeconds(10));
+
+        assertEquals(2, archives(dir).size());
+        assertEquals(3, writer.dropped());
+        assertTrue(writer.writtenBytes() <= MB);
+
+        assertFalse(writer.submit(artifacts("Test#late", 1)));
+        assertEquals(4, writer.dropped());
+    }
+
+    private static FailureArtifacts artifacts(String testId, int screenshotSize) {
+        byte[] screenshot = new byte[screenshotSize];
+        new Random(screenshotSize).nextBytes(screenshot);
+        return new FailureArtifacts(testId, Instant.now(), "AssertionError", screenshot, "", List.of());
+    }
+
+    private static List<Path> archives(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".zip")).sorted().toList();
+        }
+    }
+
+    private static Map<String, String> unzip(Path archive) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (InputStream in = Files.newInputStream(archive); ZipInputStream zip = new ZipInputStream(in)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -2,15 +2,24 @@ package org.example.tests.base;
 
 import com.codeborne.selenide.WebDriverRunner;
 import io.appium.java_client.android.AndroidDriver;
-import io.appium.java_client.android.options.UiAutomator2Options;
+import org.example.utils.artifacts.FailureArtifactExtension;
+import org.example.utils.device.DevicePool;
+import org.example.utils.device.DeviceRegistry;
+import org.example.utils.locator.AlchemyLocators;
+import org.example.utils.metrics.CommandMetricsExtension;
+import org.example.utils.schedule.TestHistoryExtension;
+import org.example.utils.session.AppReset;
+import org.example.utils.session.ResetStrategy;
+import org.example.utils.session.SessionConfig;
+import org.example.utils.session.TestSession;
+import org.example.utils.startup.StartupProfiler;
+import org.example.utils.timings.TimingExtension;
+import org.example.utils.wait.WaitBudgetExtension;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.net.URI;
-
-import static com.codeborne.selenide.Selenide.closeWebDriver;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
 
 /**
  * Базовый класс для тестирования приложения Alchemy на физическом устройстве Android.
@@ -19,69 +28,71 @@ import static com.codeborne.selenide.Selenide.closeWebDriver;
  * (телефоне), а не на эмуляторе. Это связано с проблемами установки приложения на эмуляторе.
  * Основные функции класса:
  * <ul>
- * <li>Инициализация AndroidDriver с настройками UiAutomator2 для физического устройства</li>
- * <li>Автоматическая активация приложения перед каждым тестом</li>
- * <li>Корректное завершение работы приложения и очистка ресурсов после тестов</li>
+ * <li>Получение свободного устройства из {@link DeviceRegistry} и сессии UiAutomator2 для него</li>
+ * <li>Сброс приложения перед каждым тестом способом из {@link AppReset}</li>
+ * <li>Возврат сессии и устройства в пулы после тестов</li>
  * <li>Интеграция с Selenide для удобной работы с элементами</li>
+ * <li>Бюджет времени на ожидания элементов для каждого теста ({@link WaitBudgetExtension})</li>
+ * <li>Сбор задержек команд Appium по тестам ({@link CommandMetricsExtension})</li>
+ * <li>Замеры холодного, теплого и горячего запуска в режиме {@code startup.measure} ({@link StartupProfiler})</li>
+ * <li>Скриншот, иерархия и logcat упавших тестов в фоне ({@link FailureArtifactExtension})</li>
+ * <li>Запись длительности и результата тестов для их упорядочивания ({@link TestHistoryExtension})</li>
+ * <li>Хранилище длительности тестов и шагов по сборкам с поиском замедлений ({@link TimingExtension})</li>
  * </ul>
  */
+@ExtendWith({WaitBudgetExtension.class, CommandMetricsExtension.class, FailureArtifactExtension.class,
+        TestHistoryExtension.class, TimingExtension.class})
 public class BaseTestAlchemy {
-    private static final Logger log = LoggerFactory.getLogger(BaseTestAlchemy.class);
     protected AndroidDriver driver;
+    private TestSession session;
 
     private static final String APP_PACKAGE = "com.ilyin.alchemy";
     private static final String APP_ACTIVITY = "com.ilyin.app_google_core.GoogleAppActivity";
-    private static final String DEVICE_UDID = "5LY98PFMAIEA4LLR";
-    private static final String APPIUM_SERVER_URL = "http://localhost:4723";
-    private static final String PLATFORM_NAME = "Android";
-    private static final String PLATFORM_VERSION = "15.0";
-    private static final String AUTOMATION_NAME = "UiAutomator2";
     private static final boolean NO_RESET = true;
     private static final boolean AUTO_GRANT_PERMISSIONS = false;
+    private static final DevicePool DEVICES = DeviceRegistry.pool("alchemy");
+    private static final By FIRST_ELEMENT = AlchemyLocators.Menu.PLAY_BUTTON.by();
 
     /**
      * Метод настройки перед каждым тестом.
-     * Инициализирует соединение с физическим устройством и настраивает окружение для тестирования.
+     * Получает прогретую сессию с физическим устройством из пула сессий и сбрасывает приложение
+     * способом из {@link AppReset} теста (по умолчанию перезапуском).
+     * Если в прогоне включены замеры запуска, для новой конфигурации они выполняются до теста,
+     * после чего приложение сбрасывается повторно.
      *
      * <p><strong>Важно:</strong> Этот метод настроен для работы с физическим устройством,
      * так как установка приложения на эмулятор вызывает проблемы.</p>
      *
+     * @param testInfo информация о тесте, по которой определяется способ сброса
      * @throws Exception если возникает ошибка при создании драйвера или подключении к Appium серверу
      */
     @BeforeEach
-    void setUp() throws Exception {
-
-        UiAutomator2Options options = new UiAutomator2Options()
-                .setPlatformName(PLATFORM_NAME)
-                .setPlatformVersion(PLATFORM_VERSION)
-                .setUdid(DEVICE_UDID)
-                .setAutomationName(AUTOMATION_NAME)
-                .setAppPackage(APP_PACKAGE)
-                .setAppActivity(APP_ACTIVITY)
-                .setNoReset(NO_RESET)
-                .setAutoGrantPermissions(AUTO_GRANT_PERMISSIONS);
-
-        URI appiumServerUri = URI.create(APPIUM_SERVER_URL);
-        this.driver = new AndroidDriver(appiumServerUri.toURL(), options);
-
+    void setUp(TestInfo testInfo) throws Exception {
+        ResetStrategy reset = ResetStrategy.of(testInfo);
+        this.session = TestSession.open(DEVICES, device -> new SessionConfig(
+                device,
+                APP_PACKAGE,
+                APP_ACTIVITY,
+                NO_RESET,
+                AUTO_GRANT_PERMISSIONS
+        ), reset);
+        this.driver = session.driver();
+        if (StartupProfiler.measureOnce(session, FIRST_ELEMENT)) {
+            reset.apply(driver, session.config());
+        }
         WebDriverRunner.setWebDriver(driver);
-        driver.activateApp(APP_PACKAGE);
     }
 
     /**
      * Метод очистки после каждого теста.
-     * Корректно завершает работу приложения и освобождает ресурсы.
+     * Возвращает сессию в пул без ее закрытия; приложение сбрасывается уже перед следующим тестом.
      */
     @AfterEach
     void tearDown() {
-        try {
-            if (driver != null) {
-                driver.terminateApp(APP_PACKAGE);
-            }
-        } catch (Exception e) {
-            log.warn("Не удалось корректно закрыть приложение: {}", e.getMessage());
-        } finally {
-            closeWebDriver();
+        if (session != null) {
+            session.close();
         }
+        session = null;
+        driver = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.example.tests.deeplink;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.deeplink.DeepLinkCampaign;
+import org.example.utils.deeplink.DeepLinkOutcome;
+import org.example.utils.deeplink.DeepLinkReport;
+import org.example.utils.deeplink.VideoId;
+import org.example.utils.deeplink.VideoIdGenerator;
+import org.example.utils.deeplink.VideoIdKind;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Deep link кампания")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class DeepLinkCampaignTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final String VK_ACTIVITY = "com.vk.video.screens.main.MainActivity";
+    private static final String VK_DEEP_LINK_PREFIX = "vk://vk.com/video";
+    private static final int GENERATED = 40;
+
+    @Test
+    @DisplayName("Генератор повторяет последовательность ID при том же seed")
+    void shouldGenerateReproducibleIds() {
+        List<VideoId> first = new VideoIdGenerator(7).ids(GENERATED).toList();
+        List<VideoId> second = new VideoIdGenerator(7).ids(GENERATED).toList();
+        assertEquals(first, second);
+        assertNotEquals(first, new VideoIdGenerator(8).ids(GENERATED).toList());
+
+        List<VideoId> catalogue = VideoIdGenerator.catalogue();
+        assertEquals(catalogue, first.subList(0, catalogue.size()));
+        assertTrue(catalogue.stream().anyMatch(id -> id.value().equals("-999999999_999999999")));
+        Map<VideoIdKind, Long> kinds = first.stream()
+                .collect(Collectors.groupingBy(VideoId::kind, Collectors.counting()));
+        assertEquals(catalogue.size() + GENERATED, first.size());
+        assertTrue(kinds.get(VideoIdKind.WELL_FORMED) > GENERATED / 3, kinds.toString());
+        assertTrue(kinds.get(VideoIdKind.MALFORMED) > GENERATED / 3, kinds.toString());
+        assertTrue(first.stream().filter(id -> id.kind() == VideoIdKind.WELL_FORMED)
+                .allMatch(id -> id.value().matches("-?\\d+_\\d+")));
+    }
+
+    @Test
+    @DisplayName("Известные и сгенерированные ссылки проходят через одну сессию, результаты группируются")
+    void shouldClassifyEveryLinkInOneSession() throws Exception {
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.none())) {
+            AndroidDriver driver = server.driver(VK_PACKAGE, VK_ACTIVITY);
+            try {
+                DeepLinkReport report = new DeepLinkCampaign(driver, VK_PACKAGE, VK_DEEP_LINK_PREFIX)
+                        .run(new VideoIdGenerator(23).ids(GENERATED));
+
+                int links = VideoIdGenerator.catalogue().size() + GENERATED;
+                assertEquals(links, report.links());
+                assertEquals(links, report.outcomes().values().stream().mapToInt(Integer::intValue).sum());
+                assertEquals(0, report.count(DeepLinkOutcome.UNRECOGNIZED), report.examples().toString());
+                assertEquals(3, report.byKind().get(VideoIdKind.CATALOGUED).get(DeepLinkOutcome.CLOSE_BUTTON),
+                        "Известные видео открывают плеер");
+                assertEquals(Set.of(DeepLinkOutcome.ERROR), report.byKind().get(VideoIdKind.WELL_FORMED).keySet());
+                assertTrue(report.byKind().get(VideoIdKind.MALFORMED).get(DeepLinkOutcome.REJECTED) > 0,
+                        "Ссылки с пробелами и широкими цифрами приложение не принимает");
+                assertTrue(report.linksPerMinute() > 0);
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+}
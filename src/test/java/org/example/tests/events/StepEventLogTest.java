@@ -0,0 +1,130 @@
+package org.example.tests.events;
+
+import org.example.utils.events.EventRingBuffer;
+import org.example.utils.events.StepEvent;
+import org.example.utils.events.StepEventLog;
+import org.example.utils.events.StepOutcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.json.Json;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.example.utils.locator.VKVideoLocators.Feed;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Журнал шагов тестов")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class StepEventLogTest {
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 20_000;
+
+    @Test
+    @DisplayName("Кольцевой буфер не ждет при заполнении и выдает элементы по порядку")
+    void shouldRejectWhenFull() {
+        assertThrows(IllegalArgumentException.class, () -> new EventRingBuffer<String>(6));
+
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(4);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(round + "-" + i));
+            }
+            assertFalse(buffer.offer("лишний"));
+            assertEquals(4, buffer.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round + "-" + i, buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+    }
+
+    @Test
+    @DisplayName("Кольцевой буфер не теряет элементы нескольких писателей")
+    void shouldKeepOrderPerProducer() throws InterruptedException {
+        EventRingBuffer<long[]> buffer = new EventRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            producers.add(Thread.ofPlatform().start(() -> {
+                awaitQuietly(start);
+                for (long i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+
+        long[] next = new long[PRODUCERS];
+        int received = 0;
+        start.countDown();
+        while (received < PRODUCERS * EVENTS_PER_PRODUCER) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(next[(int) element[0]]++, element[1], "Нарушен порядок писателя " + element[0]);
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    @DisplayName("События записываются строками JSON с тестом, шагом, локатором и результатом")
+    void shouldWriteJsonLines(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("steps.jsonl");
+        StepEventLog log = new StepEventLog(file, 16);
+        try {
+            assertTrue(log.emit(StepEvent.of(Feed.SEARCH_BUTTON.name(), false, Duration.ofSeconds(5), 1_250_000, null)));
+            assertTrue(log.emit(StepEvent.of("Маркер запуска плеера", true, Duration.ofSeconds(2), 2_000_000_000L,
+                    new NoSuchElementException("нет"))));
+        } finally {
+            log.close();
+        }
+        assertEquals(2, log.written());
+        assertFalse(log.emit(StepEvent.of("После закрытия", false, Duration.ZERO, 0, null)));
+        assertEquals(1, log.dropped());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        Map<String, Object> passed = new Json().toType(lines.get(0), Json.MAP_TYPE);
+        assertEquals(Feed.SEARCH_BUTTON.name(), passed.get("step"));
+        assertEquals(Feed.SEARCH_BUTTON.value(), passed.get("locator"));
+        assertEquals(StepOutcome.PASSED.name(), passed.get("outcome"));
+        assertEquals(5000L, passed.get("timeoutMs"));
+        assertEquals(1250L, passed.get("durationUs"));
+        assertEquals("", passed.get("test"));
+
+        Map<String, Object> failed = new Json().toType(lines.get(1), Json.MAP_TYPE);
+        assertEquals("", failed.get("locator"));
+        assertEquals(true, failed.get("optional"));
+        assertEquals(StepOutcome.FAILED.name(), failed.get("outcome"));
+        assertEquals("NoSuchElementException", failed.get("error"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.tests.explore;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.explore.ExplorationResult;
+import org.example.utils.explore.StateExplorer;
+import org.example.utils.explore.StateHash;
+import org.example.utils.explore.StateSpace;
+import org.example.utils.explore.UiAction;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.session.ResetMode;
+import org.example.utils.session.ResetStrategy;
+import org.example.utils.session.SessionConfig;
+import org.example.utils.snapshot.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Обход интерфейса в ширину")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class StateExplorerTest {
+    private static final String APP_PACKAGE = "com.ilyin.alchemy";
+    private static final String APP_ACTIVITY = "com.ilyin.app_google_core.GoogleAppActivity";
+    private static final int ALCHEMY_SCREENS = 4;
+
+    @Test
+    @DisplayName("Обход находит все экраны и продолжается по журналу после остановки по бюджету")
+    void shouldResumeExplorationFromJournal(@TempDir Path dir) throws Exception {
+        Path journal = dir.resolve("alchemy.log");
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.none())) {
+            SessionConfig config = server.config(APP_PACKAGE, APP_ACTIVITY);
+            AndroidDriver driver = server.driver(config);
+            ResetStrategy launcher = new ResetStrategy(ResetMode.LAUNCHER, "");
+            Runnable restart = () -> launcher.apply(driver, config);
+            try {
+                ExplorationResult first = new StateExplorer(driver, APP_PACKAGE, restart, journal)
+                        .explore(Duration.ofMinutes(1), 3);
+                assertFalse(first.complete(), first.toMap().toString());
+                assertEquals(3, first.steps());
+                assertTrue(first.states() < ALCHEMY_SCREENS, first.toMap().toString());
+
+                Files.write(journal, new byte[]{'S', 1, 2}, StandardOpenOption.APPEND);
+
+                ExplorationResult second = new StateExplorer(driver, APP_PACKAGE, restart, journal)
+                        .explore(Duration.ofMinutes(1), 1000);
+                assertTrue(second.complete(), second.toMap().toString());
+                assertEquals(ALCHEMY_SCREENS, second.states());
+                assertEquals(ALCHEMY_SCREENS - first.states(), second.discovered(),
+                        "Состояния из журнала не должны находиться заново");
+                assertEquals(3, second.maxDepth(),
+                        "Подсказки после рекламы открываются со стартового экрана за три действия");
+
+                ExplorationResult third = new StateExplorer(driver, APP_PACKAGE, restart, journal)
+                        .explore(Duration.ofMinutes(1), 1000);
+                assertTrue(third.complete());
+                assertEquals(0, third.discovered());
+                assertEquals(0, third.steps(), "Полностью исследованный граф не требует действий");
+                assertEquals(second.edges(), third.edges());
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Отпечаток экрана не зависит от координат, действия определяются по подписям")
+    void shouldHashHierarchyWithoutBounds() throws Exception {
+        String game = fixture("alchemy-game.xml");
+        UiSnapshot snapshot = UiSnapshot.parse(game);
+        long hash = StateHash.of(snapshot);
+
+        assertEquals(hash, StateHash.of(UiSnapshot.parse(game.replace("[40,240][280,480]", "[44,250][284,490]"))));
+        assertNotEquals(hash, StateHash.of(UiSnapshot.parse(game.replace("Открыто 4 из 720", "Открыто 5 из 720"))));
+        assertNotEquals(hash, StateHash.of(UiSnapshot.parse(fixture("alchemy-hints.xml"))));
+
+        List<String> actions = UiAction.available(snapshot).stream().map(UiAction::key).toList();
+        assertEquals(List.of("TEXT:2", "TEXT:Вода", "TEXT:Огонь", "TEXT:Земля", "TEXT:Воздух", "BACK:"), actions);
+        assertEquals(UiAction.BACK, UiAction.parse(UiAction.BACK.key()));
+    }
+
+    @Test
+    @DisplayName("Пространство состояний вмещает сотни тысяч отпечатков и восстанавливает пути")
+    void shouldHoldManyStates() {
+        int states = 300_000;
+        long[] hashes = new long[states];
+        Random random = new Random(24);
+        StateSpace space = new StateSpace();
+        for (int i = 0; i < states; i++) {
+            long hash;
+            do {
+                hash = random.nextLong();
+            } while (hash == 0 || space.indexOf(hash) >= 0);
+            hashes[i] = hash;
+            int parent = i == 0 ? -1 : random.nextInt(i);
+            assertEquals(i, space.add(hash, parent, i == 0 ? -1 : i % 7));
+        }
+
+        assertEquals(states, space.size());
+        for (int i = 0; i < states; i++) {
+            assertEquals(i, space.indexOf(hashes[i]));
+        }
+        assertEquals(-1, space.indexOf(42));
+        assertThrows(IllegalArgumentException.class, () -> space.add(hashes[5], 0, 0));
+
+        int[] path = space.path(states - 1);
+        assertEquals(0, path[0]);
+        assertEquals(states - 1, path[path.length - 1]);
+        for (int i = 1; i < path.length; i++) {
+            assertEquals(path[i - 1], space.parent(path[i]));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            space.markExplored(i);
+        }
+        space.markExplored(1001);
+        assertEquals(1000, space.next());
+        space.markExplored(1000);
+        assertEquals(1002, space.next());
+        assertEquals(states - 1002, space.frontier());
+    }
+
+    private static String fixture(String name) throws Exception {
+        try (InputStream in = StateExplorerTest.class.getResourceAsStream("/hierarchy/" + name)) {
+            assertNotNull(in, "Не найден файл иерархии " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.tests.fake;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.AlchemyUtils;
+import org.example.utils.VKVideoUtils;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.snapshot.UiSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Фейковый Appium сервер")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class FakeAppiumServerTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final String VK_ACTIVITY = "com.vk.video.screens.main.MainActivity";
+    private static final String ALCHEMY_PACKAGE = "com.ilyin.alchemy";
+    private static final String ALCHEMY_ACTIVITY = "com.ilyin.alchemy.MainActivity";
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+
+    @AfterEach
+    void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Сценарий VK Video проходит через утилиты без устройства")
+    void shouldPlayVideoThroughUtils() throws IOException {
+        open(FakeLatency.none(), VK_PACKAGE, VK_ACTIVITY);
+
+        VKVideoUtils.skipLoginIfNeeded();
+        VKVideoUtils.playFirstVideoInFeed();
+        VKVideoUtils.assertVideoIsPlaying();
+
+        assertEquals("player", screen());
+    }
+
+    @Test
+    @DisplayName("Невалидный deep link открывает экран ошибки")
+    void shouldShowErrorForInvalidDeepLink() throws IOException {
+        open(FakeLatency.none(), VK_PACKAGE, VK_ACTIVITY);
+
+        VKVideoUtils.openDeepLink(driver, "-999999999_999999999");
+
+        assertEquals("error", screen());
+        assertTrue(UiSnapshot.capture(driver).hasId("com.vk.vkvideo:id/close_button"));
+    }
+
+    @Test
+    @DisplayName("Сценарий Алхимии с просмотром рекламы")
+    void shouldReceiveHintsThroughUtils() throws IOException {
+        open(FakeLatency.none(), ALCHEMY_PACKAGE, ALCHEMY_ACTIVITY);
+
+        AlchemyUtils.startGame();
+        AlchemyUtils.clickHint(2);
+        assertTrue(AlchemyUtils.verifyHintsSectionVisible());
+        OptionalLong adStarted = AlchemyUtils.watchAdForHints();
+        assertTrue(adStarted.isPresent());
+        AlchemyUtils.verifyHintsCount(4, adStarted.getAsLong());
+
+        assertEquals("hints-rewarded", screen());
+    }
+
+    @Test
+    @DisplayName("Элементы прежнего экрана становятся устаревшими после перехода")
+    void shouldReportStaleElementsAfterTransition() throws IOException {
+        open(FakeLatency.none(), ALCHEMY_PACKAGE, ALCHEMY_ACTIVITY);
+
+        WebElement playButton = driver.findElement(AppiumBy.androidUIAutomator("new UiSelector().text(\"Играть\")"));
+        playButton.click();
+
+        assertEquals("game", screen());
+        assertThrows(StaleElementReferenceException.class, playButton::getText);
+        assertEquals(6, driver.findElements(By.className("android.widget.TextView")).size());
+    }
+
+    @Test
+    @DisplayName("Задержка команды выдерживается перед ответом")
+    void shouldDelayConfiguredCommand() throws IOException {
+        open(FakeLatency.none().withCommand("getPageSource", Duration.ofMillis(200)), VK_PACKAGE, VK_ACTIVITY);
+
+        long start = System.nanoTime();
+        driver.getPageSource();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 200, "Ответ пришел через " + elapsedMillis + " мс");
+    }
+
+    private void open(FakeLatency latency, String appPackage, String appActivity) throws IOException {
+        server = FakeAppiumServer.start(0, latency);
+        driver = server.driver(appPackage, appActivity);
+        WebDriverRunner.setWebDriver(driver);
+    }
+
+    private String screen() {
+        return server.screen(driver.getSessionId().toString()).orElseThrow();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.tests.locator;
+
+import io.appium.java_client.AppiumBy;
+import org.example.utils.locator.AnyOf;
+import org.example.utils.locator.Locator;
+import org.example.utils.snapshot.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.example.utils.locator.AlchemyLocators.Game;
+import static org.example.utils.locator.AlchemyLocators.Hints;
+import static org.example.utils.locator.VKVideoLocators.ErrorScreen;
+import static org.example.utils.locator.VKVideoLocators.Feed;
+import static org.example.utils.locator.VKVideoLocators.Player;
+import static org.example.utils.locator.VKVideoLocators.Search;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Реестр локаторов")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class LocatorRegistryTest {
+
+    @Test
+    @DisplayName("Запрос по нескольким resource-id объединяется в один UiSelector")
+    void shouldCombineIdsIntoSingleSelector() {
+        AnyOf anyOf = AnyOf.of("Плеер или ошибка", Player.VIDEO_DISPLAY, ErrorScreen.MESSAGE);
+
+        assertEquals(AppiumBy.androidUIAutomator("new UiSelector().resourceIdMatches(\""
+                        + "(?:\\\\Qcom.vk.vkvideo:id/video_display\\\\E|\\\\Qcom.vk.vkvideo:id/error_message\\\\E)\")"),
+                anyOf.by());
+        assertThrows(IllegalStateException.class,
+                () -> AnyOf.of("Смешанный", ErrorScreen.ERROR_TEXT, Feed.MAIN_CONTENT).by());
+        assertThrows(IllegalArgumentException.class, () -> AnyOf.of("Пустой"));
+    }
+
+    @Test
+    @DisplayName("Совпавший локатор определяется по одному снимку")
+    void shouldResolveMatchedMemberFromSnapshot() throws IOException {
+        AnyOf outcome = AnyOf.of("Результат ссылки", ErrorScreen.ERROR_TEXT, Feed.MAIN_CONTENT, ErrorScreen.CLOSE_BUTTON);
+
+        UiSnapshot error = UiSnapshot.parse(fixture("vkvideo-error.xml"));
+        assertEquals(ErrorScreen.ERROR_TEXT, outcome.firstIn(error).orElseThrow());
+        assertEquals(List.of(ErrorScreen.ERROR_TEXT, ErrorScreen.CLOSE_BUTTON), outcome.presentIn(error));
+
+        UiSnapshot feed = UiSnapshot.parse(fixture("vkvideo-feed.xml"));
+        assertEquals(Feed.MAIN_CONTENT, outcome.firstIn(feed).orElseThrow());
+        assertEquals(List.of(Feed.SEARCH_BUTTON, Feed.TITLE), Search.OPENED.presentIn(feed));
+
+        UiSnapshot login = UiSnapshot.parse(fixture("vkvideo-login.xml"));
+        assertTrue(outcome.firstIn(login).isEmpty());
+        assertEquals(4, Feed.VIDEOS.findIn(feed).size());
+        assertEquals(1, Feed.FIRST_VIDEO.findIn(feed).size());
+    }
+
+    @Test
+    @DisplayName("Параметризованные локаторы строятся один раз на значение")
+    void shouldReuseFamilyLocators() throws IOException {
+        Locator two = Game.HINT.of(2);
+
+        assertSame(two, Game.HINT.of(2));
+        assertEquals("Подсказка 2", two.name());
+        assertEquals(AppiumBy.androidUIAutomator("new UiSelector().text(\"2\")"), two.by());
+        assertEquals("Количество подсказок 4", Hints.COUNT.of(4).name());
+
+        UiSnapshot hints = UiSnapshot.parse(fixture("alchemy-hints.xml"));
+        assertTrue(Hints.COUNT.of(2).isPresentIn(hints));
+        assertFalse(Hints.COUNT.of(4).isPresentIn(hints));
+        assertTrue(Hints.WATCH_BUTTON.isPresentIn(hints));
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = LocatorRegistryTest.class.getResourceAsStream("/hierarchy/" + name)) {
+            assertNotNull(in, "Не найден файл иерархии " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
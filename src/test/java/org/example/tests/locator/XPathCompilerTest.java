@@ -0,0 +1,102 @@
+package org.example.tests.locator;
+
+import io.appium.java_client.AppiumBy;
+import org.example.utils.locator.XPathCompiler;
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSelectorQuery;
+import org.example.utils.snapshot.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Перевод XPath в нативные локаторы")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class XPathCompilerTest {
+    private static final List<String> COMPILABLE = List.of(
+            "//*",
+            "//android.widget.TextView",
+            "//*[contains(@text, 'плов')]",
+            "//*[@resource-id='com.vk.vkvideo:id/video_title']",
+            "//*[@clickable='true' and starts-with(@resource-id, 'com.vk.vkvideo:id/con')]",
+            "//*[@resource-id='com.vk.vkvideo:id/content']//android.widget.TextView[contains(@text, ':')]",
+            "//*[@content-desc=\"Поиск\"]"
+    );
+
+    @Test
+    @DisplayName("Распространенные формы XPath переводятся в UiSelector")
+    void shouldTranslateCommonShapes() {
+        assertEquals("new UiSelector().textContains(\"Ошибка\")",
+                XPathCompiler.toUiSelector("//*[contains(@text, 'Ошибка')]").orElseThrow());
+        assertEquals("new UiSelector().className(\"android.widget.Button\").text(\"Играть\")",
+                XPathCompiler.toUiSelector("//android.widget.Button[@text='Играть']").orElseThrow());
+        assertEquals("new UiSelector().resourceId(\"a:id/list\").childSelector(new UiSelector().clickable(true))",
+                XPathCompiler.toUiSelector("//*[@resource-id='a:id/list']//*[@clickable='true']").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Выбирается самая дешевая нативная стратегия, иначе остается XPath")
+    void shouldChooseCheapestStrategy() {
+        assertEquals(AppiumBy.id("com.vk.vkvideo:id/title"),
+                XPathCompiler.compile("//*[@resource-id='com.vk.vkvideo:id/title']"));
+        assertEquals(AppiumBy.accessibilityId("Поиск"), XPathCompiler.compile("//*[@content-desc='Поиск']"));
+        assertInstanceOf(AppiumBy.ByAndroidUIAutomator.class, XPathCompiler.compile("//*"));
+
+        assertEquals(By.xpath("(//*[@text='2'])[1]"), XPathCompiler.compile("(//*[@text='2'])[1]"));
+        assertEquals(By.xpath("//*[@text='a' or @text='b']"), XPathCompiler.compile("//*[@text='a' or @text='b']"));
+        assertEquals(By.xpath("//*[@text='a']/android.widget.TextView"),
+                XPathCompiler.compile("//*[@text='a']/android.widget.TextView"));
+        assertTrue(XPathCompiler.toUiSelector("//*[@checked='true']").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Переведенный локатор находит те же элементы, что и XPath")
+    void shouldMatchXpathResults() throws Exception {
+        String source = fixture("vkvideo-feed.xml");
+        UiSnapshot snapshot = UiSnapshot.parse(source);
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(source)));
+
+        for (String xpath : COMPILABLE) {
+            NodeList expected = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(xpath, document, XPathConstants.NODESET);
+            List<UiNode> actual = UiSelectorQuery.parse(XPathCompiler.toUiSelector(xpath).orElseThrow())
+                    .select(snapshot);
+
+            List<String> expectedKeys = new ArrayList<>();
+            for (int i = 0; i < expected.getLength(); i++) {
+                Element element = (Element) expected.item(i);
+                expectedKeys.add(element.getAttribute("class") + "|" + element.getAttribute("bounds"));
+            }
+            List<String> actualKeys = actual.stream().map(node -> node.className() + "|" + node.bounds()).toList();
+
+            assertFalse(expectedKeys.isEmpty(), xpath);
+            assertEquals(expectedKeys, actualKeys, xpath);
+        }
+    }
+
+    private static String fixture(String name) throws Exception {
+        try (InputStream in = XPathCompilerTest.class.getResourceAsStream("/hierarchy/" + name)) {
+            assertNotNull(in, "Не найден файл иерархии " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.tests.logcat;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.logcat.DriverLogcatSource;
+import org.example.utils.logcat.FileLogcatSource;
+import org.example.utils.logcat.LogcatLine;
+import org.example.utils.logcat.LogcatMarkers;
+import org.example.utils.logcat.LogcatSource;
+import org.example.utils.logcat.LogcatStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Ожидания по потоку logcat")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class LogcatStreamTest {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("Строка threadtime разбирается на уровень, тег и сообщение")
+    void shouldParseThreadtime() {
+        LogcatLine line = LogcatLine.parse(
+                "10-17 12:04:12.587  8812  8840 I Ads    : Ad finished loading.");
+        assertEquals("I", line.level());
+        assertEquals("Ads", line.tag());
+        assertEquals("Ad finished loading.", line.message());
+
+        LogcatLine header = LogcatLine.parse("--------- beginning of main");
+        assertEquals("", header.tag());
+        assertEquals("--------- beginning of main", header.message());
+    }
+
+    @Test
+    @DisplayName("Маркер из записанного logcat завершает ожидание и доставляется подписчику")
+    void shouldAwaitMarkerFromRecording() throws Exception {
+        List<LogcatLine> rewards = new CopyOnWriteArrayList<>();
+        try (LogcatStream stream = LogcatStream.start("recording", recording(2), POLL_INTERVAL)) {
+            LogcatStream.Subscription subscription = stream.subscribe(Pattern.compile("^.* AdsManager: "),
+                    LogcatMarkers.SESSION_START, rewards::add);
+            try {
+                LogcatLine reward = stream.await(LogcatMarkers.AD_REWARDED, 0, TIMEOUT);
+                assertEquals("AdsManager", reward.tag());
+                assertEquals("onUserEarnedReward type=hints amount=2", reward.message());
+
+                LogcatLine hints = stream.await(Pattern.compile("hints updated"), stream.position() - 1, TIMEOUT);
+                assertEquals("HintsRepository", hints.tag());
+                assertEquals(10, stream.position());
+                assertEquals(List.of("loadRewarded placement=hints", "showRewarded placement=hints",
+                                "onUserEarnedReward type=hints amount=2", "onAdDismissedFullScreenContent"),
+                        rewards.stream().map(LogcatLine::message).toList());
+                assertEquals(hints, stream.recent(1).get(0));
+
+                CompletableFuture<LogcatLine> buffered = stream.next(LogcatMarkers.AD_REWARDED, 0);
+                assertTrue(buffered.isDone(), "Уже прочитанная строка должна находиться по истории");
+                assertThrows(TimeoutException.class,
+                        () -> stream.await(LogcatMarkers.AD_REWARDED, stream.position(), Duration.ofMillis(100)));
+            } finally {
+                subscription.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ожидание завершается ошибкой при остановке потока и сбое источника")
+    void shouldFailPendingWaits() {
+        LogcatStream stream = LogcatStream.start("closed", List::of, POLL_INTERVAL);
+        CompletableFuture<LogcatLine> pending = stream.next(LogcatMarkers.PLAYER_STARTED, 0);
+        stream.close();
+        ExecutionException closed = assertThrows(ExecutionException.class, pending::get);
+        assertInstanceOf(IllegalStateException.class, closed.getCause());
+        assertFalse(stream.available());
+
+        LogcatSource broken = () -> {
+            throw new IllegalStateException("session is gone");
+        };
+        try (LogcatStream failing = LogcatStream.start("failing", broken, POLL_INTERVAL)) {
+            assertThrows(IllegalStateException.class,
+                    () -> failing.await(LogcatMarkers.PLAYER_STARTED, 0, TIMEOUT));
+        }
+    }
+
+    @Test
+    @DisplayName("Маркер запуска плеера приходит из logcat фейкового сервера после нажатия на видео")
+    void shouldStreamFromFakeServer() throws Exception {
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.none())) {
+            AndroidDriver driver = server.driver("com.vk.vkvideo", "com.vk.video.screens.main.MainActivity");
+            try (LogcatStream stream = LogcatStream.start("fake",
+                    DriverLogcatSource.connect(driver).orElseThrow(), POLL_INTERVAL)) {
+                driver.findElement(By.id("com.vk.vkvideo:id/fast_login_tertiary_btn")).click();
+                long mark = stream.position();
+                driver.findElement(By.id("com.vk.vkvideo:id/content")).click();
+
+                LogcatLine started = stream.await(LogcatMarkers.PLAYER_STARTED, mark, TIMEOUT);
+                assertEquals("OneVideoPlayer", started.tag());
+                assertEquals("player", server.screen(driver.getSessionId().toString()).orElseThrow());
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    private static FileLogcatSource recording(int batchSize) throws Exception {
+        try (InputStream in = LogcatStreamTest.class.getResourceAsStream("/logcat/alchemy-rewarded.log")) {
+            assertNotNull(in, "Не найдена запись logcat alchemy-rewarded.log");
+            return new FileLogcatSource(new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList(),
+                    batchSize);
+        }
+    }
+}
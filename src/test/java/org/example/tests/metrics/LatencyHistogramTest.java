@@ -0,0 +1,42 @@
+package org.example.tests.metrics;
+
+import org.example.utils.metrics.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Гистограмма задержек команд")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class LatencyHistogramTest {
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    @DisplayName("Перцентили вычисляются с погрешностью не более 3%")
+    void shouldComputePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * MILLIS);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500, histogram.percentileMillis(50), 500 * 0.03);
+        assertEquals(950, histogram.percentileMillis(95), 950 * 0.03);
+        assertEquals(990, histogram.percentileMillis(99), 990 * 0.03);
+    }
+
+    @Test
+    @DisplayName("Пустая гистограмма и субмиллисекундные задержки")
+    void shouldHandleEmptyAndSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.percentileMillis(99));
+
+        histogram.record(20_000);
+        assertEquals(0.02, histogram.percentileMillis(50), 0.001);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.tests.playback;
+
+import org.example.utils.playback.FrameHasher;
+import org.example.utils.playback.FrameMotion;
+import org.example.utils.playback.FrameMotionVerifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Проверка смены кадров видео")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class FrameMotionVerifierTest {
+    private static final int THRESHOLD = 6;
+
+    @Test
+    @DisplayName("Шум не меняет хэш кадра, смена сцены меняет")
+    void shouldHashSimilarFramesClose() throws IOException {
+        byte[] first = fixture("video-frame-1.png");
+        byte[] noisy = fixture("video-frame-1-noise.png");
+        byte[] second = fixture("video-frame-2.png");
+
+        try (FrameHasher hasher = new FrameHasher()) {
+            long firstHash = hasher.hash(first);
+            assertEquals(firstHash, hasher.hash(first));
+            assertTrue(FrameHasher.distance(firstHash, hasher.hash(ImageIO.read(new ByteArrayInputStream(first)))) < THRESHOLD);
+            assertTrue(FrameHasher.distance(firstHash, hasher.hash(noisy)) < THRESHOLD);
+            assertTrue(FrameHasher.distance(firstHash, hasher.hash(second)) >= THRESHOLD);
+            assertThrows(IOException.class, () -> hasher.hash("не картинка".getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    @DisplayName("Серия меняющихся кадров проходит проверку, застывшее видео - нет")
+    void shouldRejectFrozenVideo() throws IOException {
+        FrameMotionVerifier verifier = new FrameMotionVerifier(4, Duration.ZERO, THRESHOLD, 0.5);
+        byte[] first = fixture("video-frame-1.png");
+        byte[] noisy = fixture("video-frame-1-noise.png");
+        byte[] second = fixture("video-frame-2.png");
+
+        FrameMotion playing = verifier.verify(frames(first, second, first, second));
+        assertEquals(4, playing.frames());
+        assertEquals(3, playing.changes());
+        assertEquals(1.0, playing.changeRate());
+
+        AssertionError frozen = assertThrows(AssertionError.class, () -> verifier.verify(frames(first, noisy, first, noisy)));
+        assertTrue(frozen.getMessage().contains("сменилось 0 из 3"), frozen.getMessage());
+
+        assertThrows(UncheckedIOException.class,
+                () -> verifier.capture(frames(first, "не картинка".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> new FrameMotionVerifier(1, Duration.ZERO, THRESHOLD, 0.5));
+    }
+
+    private static Supplier<byte[]> frames(byte[]... frames) {
+        List<byte[]> sequence = List.of(frames);
+        AtomicInteger next = new AtomicInteger();
+        return () -> sequence.get(next.getAndIncrement() % sequence.size());
+    }
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = FrameMotionVerifierTest.class.getResourceAsStream("/playback/" + name)) {
+            assertNotNull(in, "Не найден кадр " + name);
+            return in.readAllBytes();
+        }
+    }
+}
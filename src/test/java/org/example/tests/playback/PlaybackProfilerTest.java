@@ -0,0 +1,121 @@
+package org.example.tests.playback;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.playback.CpuTime;
+import org.example.utils.playback.FrameStats;
+import org.example.utils.playback.MemoryStats;
+import org.example.utils.playback.PlaybackMetrics;
+import org.example.utils.playback.PlaybackProfiler;
+import org.example.utils.playback.PlaybackThresholds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.example.utils.locator.VKVideoLocators.Feed;
+import static org.example.utils.locator.VKVideoLocators.Player;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Профилирование воспроизведения видео")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class PlaybackProfilerTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+
+    @Test
+    @DisplayName("Разбор статистики кадров, памяти и процессорного времени")
+    void shouldParseCapturedDumps() throws IOException {
+        FrameStats frames = FrameStats.parse(fixture("gfxinfo-vkvideo.txt"));
+        assertEquals(new FrameStats(612, 27, 7, 13, 18, 38, 4, 11, 19), frames);
+        assertEquals(4.41, frames.jankPercent(), 0.01);
+
+        MemoryStats memory = MemoryStats.parse(fixture("meminfo-vkvideo.txt"));
+        assertEquals(new MemoryStats(201976, 33512, 61128, 36184), memory);
+        assertEquals(201976, MemoryStats.parse("        TOTAL   201976   142604    45960").totalPssKb());
+
+        CpuTime start = CpuTime.parse(fixture("proc-stat-vkvideo.txt"));
+        assertEquals(new CpuTime(2381, 604), start);
+        assertEquals(new CpuTime(10, 2), CpuTime.parse("7 (Render Thread) S 1 1 0 0 -1 0 0 0 0 0 10 2 0 0"));
+        assertEquals(45.0, CpuTime.percent(start, new CpuTime(2681, 754), Duration.ofSeconds(10)), 0.001);
+
+        assertThrows(IllegalArgumentException.class, () -> FrameStats.parse("No process found for: com.vk.vkvideo"));
+        assertThrows(IllegalArgumentException.class, () -> CpuTime.parse("cat: /proc/1/stat: No such file"));
+    }
+
+    @Test
+    @DisplayName("Превышенные пороги перечисляются в описании")
+    void shouldReportThresholdViolations() throws IOException {
+        PlaybackMetrics metrics = new PlaybackMetrics(4200, 10_000,
+                FrameStats.parse(fixture("gfxinfo-vkvideo.txt")),
+                MemoryStats.parse(fixture("meminfo-vkvideo.txt")), 45.0);
+
+        assertEquals(List.of(), new PlaybackThresholds(5000, 10, 32, 150, 600).violations(metrics));
+
+        List<String> violations = new PlaybackThresholds(3000, 2, 16, 30, 100).violations(metrics);
+        assertEquals(5, violations.size());
+        assertTrue(violations.get(0).contains("4200"), violations.get(0));
+    }
+
+    @Test
+    @DisplayName("Однотонный кадр не считается отрисованным")
+    void shouldDetectRenderedFrame() throws IOException {
+        BufferedImage black = new BufferedImage(32, 18, BufferedImage.TYPE_INT_RGB);
+        assertFalse(PlaybackProfiler.isRendered(png(black)));
+
+        BufferedImage frame = new BufferedImage(32, 18, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 32; x++) {
+            for (int y = 0; y < 18; y++) {
+                frame.setRGB(x, y, x * 8 << 8);
+            }
+        }
+        assertTrue(PlaybackProfiler.isRendered(png(frame)));
+        assertFalse(PlaybackProfiler.isRendered(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Профилирование на фейковом сервере собирает все показатели")
+    void shouldProfileAgainstFakeServer() throws IOException {
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.none())) {
+            AndroidDriver driver = server.driver(VK_PACKAGE, "com.vk.video.screens.main.MainActivity");
+            try {
+                driver.findElement(By.id("com.vk.vkvideo:id/fast_login_tertiary_btn")).click();
+
+                PlaybackMetrics metrics = new PlaybackProfiler(driver, VK_PACKAGE, Duration.ofMillis(50))
+                        .profile(() -> driver.findElement(Feed.FIRST_VIDEO.by()).click(), Player.VIDEO_DISPLAY.by());
+
+                assertTrue(metrics.windowMillis() >= 50);
+                assertEquals(612, metrics.frames().totalFrames());
+                assertEquals(201976, metrics.memory().totalPssKb());
+                assertEquals(0.0, metrics.cpuPercent());
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = PlaybackProfilerTest.class.getResourceAsStream("/playback/" + name)) {
+            assertNotNull(in, "Не найден файл " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.tests.schedule;
+
+import org.example.utils.schedule.DurationClassOrderer;
+import org.example.utils.schedule.DurationMethodOrderer;
+import org.example.utils.schedule.TestHistory;
+import org.example.utils.schedule.TestSchedule;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Упорядочивание тестов по истории запусков")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class DurationOrderingTest {
+
+    @Test
+    @DisplayName("История хранит длительность и результат запусков и переживает перезапуск")
+    void shouldPersistHistory(@TempDir Path dir) {
+        Path store = dir.resolve("test-durations.properties");
+        TestHistory history = TestHistory.load(store, 0.5);
+        for (long millis : new long[]{40_000, 42_000, 90_000}) {
+            history.record("VKVideoTest#videoPlaybackWithErrorHandling", Duration.ofMillis(millis), true);
+        }
+        history.record("AlchemyTest#testAlchemy", Duration.ofSeconds(70), false);
+        history.record("AlchemyTest#testAlchemy", Duration.ofSeconds(65), false);
+        history.save();
+
+        TestHistory reloaded = TestHistory.load(store, 0.5);
+        assertEquals(Duration.ofSeconds(42), reloaded.expectedDuration("VKVideoTest#videoPlaybackWithErrorHandling")
+                .orElseThrow());
+        assertEquals(0, reloaded.failureRate("AlchemyTest#testAlchemy"), "Меньше трех запусков не учитываются");
+
+        reloaded.record("AlchemyTest#testAlchemy", Duration.ofSeconds(60), true);
+        assertEquals(2.0 / 3, reloaded.failureRate("AlchemyTest#testAlchemy"), 1e-9);
+        assertTrue(reloaded.isLikelyFailing("AlchemyTest#testAlchemy", Set.of()));
+        assertTrue(reloaded.isLikelyFailing("VKVideoTest#searchShouldWorkCorrectly", Set.of(TestHistory.FAILING_TAG)));
+        assertFalse(reloaded.isLikelyFailing("VKVideoTest#videoPlaybackWithErrorHandling", Set.of("VKVideo")));
+        assertTrue(reloaded.expectedDuration("VKVideoTest#unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Классы распределяются по устройствам от самого длинного")
+    void shouldPlanLongestFirst() {
+        Map<String, Duration> costs = new LinkedHashMap<>();
+        costs.put("Short", Duration.ofSeconds(20));
+        costs.put("Long", Duration.ofSeconds(100));
+        costs.put("Medium", Duration.ofSeconds(60));
+        costs.put("Other", Duration.ofSeconds(50));
+
+        List<TestSchedule.Lane> lanes = TestSchedule.plan(costs, 2);
+        assertEquals(List.of("Long", "Short"), lanes.get(0).classes());
+        assertEquals(List.of("Medium", "Other"), lanes.get(1).classes());
+        assertEquals(Duration.ofSeconds(120), TestSchedule.makespan(lanes));
+
+        assertEquals(Duration.ofSeconds(230), TestSchedule.makespan(TestSchedule.plan(costs, 1)));
+        assertThrows(IllegalArgumentException.class, () -> TestSchedule.plan(costs, 0));
+    }
+
+    @Test
+    @DisplayName("Длинные тесты и классы идут первыми, падающие - последними")
+    void shouldOrderByDurationAndFailures(@TempDir Path dir) {
+        TestHistory history = TestHistory.load(dir.resolve("test-durations.properties"), 0.5);
+        history.record("VideoSample#playback", Duration.ofSeconds(40), true);
+        history.record("VideoSample#invalidLink", Duration.ofSeconds(90), true);
+        history.record("VideoSample#search", Duration.ofSeconds(120), false);
+        history.record("GameSample#game", Duration.ofSeconds(70), true);
+
+        List<MethodDescriptor> methods = new ArrayList<>(Arrays.stream(VideoSample.class.getDeclaredMethods())
+                .sorted(Comparator.comparing(Method::getName))
+                .map(SampleMethod::new)
+                .toList());
+        new DurationMethodOrderer(history).orderMethods(new MethodContext(VideoSample.class, methods));
+        assertEquals(List.of("invalidLink", "playback", "search"),
+                methods.stream().map(method -> method.getMethod().getName()).toList());
+
+        List<ClassDescriptor> classes = new ArrayList<>(List.of(
+                new SampleClass(FailingSample.class), new SampleClass(GameSample.class),
+                new SampleClass(VideoSample.class)));
+        new DurationClassOrderer(history).orderClasses(new ClassContext(classes));
+        assertEquals(List.of(VideoSample.class, GameSample.class, FailingSample.class),
+                classes.stream().map(ClassDescriptor::getTestClass).toList());
+    }
+
+    static class VideoSample {
+        @Test
+        void playback() {
+        }
+
+        @Test
+        void invalidLink() {
+        }
+
+        @Test
+        @Tag("FAILING")
+        void search() {
+        }
+    }
+
+    static class GameSample {
+        @Test
+        void game() {
+        }
+    }
+
+    @Tag("FAILING")
+    static class FailingSample {
+        @Test
+        void broken() {
+        }
+    }
+
+    private record SampleMethod(Method method) implements MethodDescriptor {
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return method.getName();
+        }
+
+        @Override
+        public boolean isAnnotated(Class<? extends Annotation> type) {
+            return AnnotationSupport.isAnnotated(method, type);
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> type) {
+            return AnnotationSupport.findAnnotation(method, type);
+        }
+
+        @Override
+        public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> type) {
+            return AnnotationSupport.findRepeatableAnnotations(method, type);
+        }
+    }
+
+    private record SampleClass(Class<?> testClass) implements ClassDescriptor {
+        @Override
+        public Class<?> getTestClass() {
+            return testClass;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return testClass.getSimpleName();
+        }
+
+        @Override
+        public boolean isAnnotated(Class<? extends Annotation> type) {
+            return AnnotationSupport.isAnnotated(testClass, type);
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> type) {
+            return AnnotationSupport.findAnnotation(testClass, type);
+        }
+
+        @Override
+        public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> type) {
+            return AnnotationSupport.findRepeatableAnnotations((AnnotatedElement) testClass, type);
+        }
+    }
+
+    private record MethodContext(Class<?> testClass, List<MethodDescriptor> methods) implements MethodOrdererContext {
+        @Override
+        public Class<?> getTestClass() {
+            return testClass;
+        }
+
+        @Override
+        public List<? extends MethodDescriptor> getMethodDescriptors() {
+            return methods;
+        }
+
+        @Override
+        public Optional<String> getConfigurationParameter(String key) {
+            return Optional.empty();
+        }
+    }
+
+    private record ClassContext(List<ClassDescriptor> classes) implements ClassOrdererContext {
+        @Override
+        public List<? extends ClassDescriptor> getClassDescriptors() {
+            return classes;
+        }
+
+        @Override
+        public Optional<String> getConfigurationParameter(String key) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.tests.scroll;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.scroll.FlingGesture;
+import org.example.utils.scroll.ScrollBenchmark;
+import org.example.utils.scroll.ScrollMetrics;
+import org.example.utils.snapshot.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.example.utils.locator.VKVideoLocators.Feed;
+import static org.example.utils.locator.VKVideoLocators.Login;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Нагрузочная прокрутка ленты")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class ScrollBenchmarkTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final Duration COMMAND_LATENCY = Duration.ofMillis(50);
+
+    @Test
+    @DisplayName("Серия жестов - одна последовательность W3C действий")
+    void shouldBuildSingleSequence() {
+        Map<String, Object> encoded = FlingGesture.flings(new Rectangle(new Point(0, 200), new Dimension(1080, 1000)), 3,
+                Duration.ofMillis(120), Duration.ofMillis(200)).encode();
+
+        List<?> actions = (List<?>) encoded.get("actions");
+        assertEquals("pointer", encoded.get("type"));
+        assertEquals(15, actions.size());
+        assertEquals(List.of("pointerMove", "pointerDown", "pointerMove", "pointerUp", "pause"),
+                actions.subList(0, 5).stream().map(action -> ((Map<?, ?>) action).get("type")).toList());
+        Map<?, ?> start = (Map<?, ?>) actions.get(0);
+        Map<?, ?> end = (Map<?, ?>) actions.get(2);
+        assertEquals(List.of(540, 1000), List.of(start.get("x"), start.get("y")));
+        assertEquals(List.of(540, 400, 120L), List.of(end.get("x"), end.get("y"), end.get("duration")));
+        assertThrows(IllegalArgumentException.class,
+                () -> FlingGesture.flings(new Rectangle(0, 0, 0, 0), 1, Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Элементы ленты различаются по тексту внутри элемента")
+    void shouldKeyItemsByText() throws IOException {
+        ScrollBenchmark benchmark = new ScrollBenchmark(null, VK_PACKAGE, Feed.LIST.by(), Feed.VIDEOS.value());
+
+        List<String> keys = benchmark.itemKeys(UiSnapshot.parse(fixture("vkvideo-feed.xml")));
+
+        assertEquals(4, keys.size());
+        assertEquals("12:41 | Лучшие моменты матча | Спорт", keys.get(0));
+        assertTrue(benchmark.itemKeys(UiSnapshot.parse(fixture("vkvideo-login.xml"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Прокрутка считает новые видео, серия жестов выполняется одной командой")
+    void shouldMeasureFeedThroughput() throws IOException {
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.of(COMMAND_LATENCY, Duration.ZERO))) {
+            AndroidDriver driver = server.driver(VK_PACKAGE, "com.vk.video.screens.main.MainActivity");
+            try {
+                driver.findElement(By.id(Login.FAST_LOGIN_BUTTON.value())).click();
+
+                ScrollMetrics metrics = new ScrollBenchmark(driver, VK_PACKAGE, Feed.LIST.by(), Feed.VIDEOS.value())
+                        .run(3, 5);
+
+                assertEquals(15, metrics.flings());
+                assertEquals(4, metrics.loadedItems());
+                assertEquals(612, metrics.frames().totalFrames());
+                assertTrue(metrics.gestureMillis() < metrics.flings() * COMMAND_LATENCY.toMillis(),
+                        "Серии жестов выполнялись " + metrics.gestureMillis() + " мс");
+                assertTrue(metrics.itemsPerSecond() > 0);
+                assertEquals("feed-next", server.screen(driver.getSessionId().toString()).orElseThrow());
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = ScrollBenchmarkTest.class.getResourceAsStream("/hierarchy/" + name)) {
+            assertNotNull(in, "Не найден дамп " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
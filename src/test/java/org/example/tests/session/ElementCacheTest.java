@@ -0,0 +1,135 @@
+package org.example.tests.session;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.session.ElementCache;
+import org.example.utils.session.ObservedCommandExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Кэш найденных элементов")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class ElementCacheTest {
+    private static final String ALCHEMY_PACKAGE = "com.ilyin.alchemy";
+    private static final String ALCHEMY_ACTIVITY = "com.ilyin.alchemy.MainActivity";
+    private static final By PLAY_BUTTON = AppiumBy.androidUIAutomator("new UiSelector().text(\"Играть\")");
+    private static final By HINT = AppiumBy.androidUIAutomator("new UiSelector().text(\"2\")");
+
+    private FakeAppiumServer server;
+    private CountingExecutor executor;
+    private AndroidDriver driver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = FakeAppiumServer.start(0, FakeLatency.none());
+        executor = new CountingExecutor(server.url());
+        driver = new AndroidDriver(executor, server.config(ALCHEMY_PACKAGE, ALCHEMY_ACTIVITY).toOptions());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Повторный поиск на том же экране не отправляется на устройство")
+    void shouldReuseFoundElement() {
+        long hits = ElementCache.stats().hits();
+
+        WebElement first = driver.findElement(PLAY_BUTTON);
+        WebElement second = driver.findElement(PLAY_BUTTON);
+        assertEquals(first, second);
+        assertEquals("Играть", second.getText());
+        driver.getPageSource();
+        driver.findElement(PLAY_BUTTON);
+
+        assertEquals(1, executor.count(DriverCommand.FIND_ELEMENT));
+        assertTrue(ElementCache.stats().hits() - hits >= 2);
+    }
+
+    @Test
+    @DisplayName("Нажатие очищает кэш: элементы нового экрана ищутся заново")
+    void shouldInvalidateOnClick() {
+        driver.findElement(PLAY_BUTTON).click();
+        driver.findElement(HINT).click();
+        driver.navigate().back();
+
+        assertEquals("2", driver.findElement(HINT).getText());
+        assertEquals(3, executor.count(DriverCommand.FIND_ELEMENT));
+        assertEquals("game", screen());
+    }
+
+    @Test
+    @DisplayName("Устаревшая ссылка из кэша находится заново тем же локатором")
+    void shouldResolveStaleElement() {
+        driver.findElement(PLAY_BUTTON).click();
+        WebElement hint = driver.findElement(HINT);
+        long resolved = ElementCache.stats().resolved();
+
+        server.show(driver.getSessionId().toString(), "hints");
+
+        assertEquals("2", hint.getText());
+        assertEquals("2", driver.findElement(HINT).getText());
+        assertEquals(3, executor.count(DriverCommand.FIND_ELEMENT));
+        assertTrue(ElementCache.stats().resolved() > resolved);
+    }
+
+    @Test
+    @DisplayName("Элемент, исчезнувший без команды драйвера, не находится")
+    void shouldFailWhenStaleElementIsGone() {
+        WebElement playButton = driver.findElement(PLAY_BUTTON);
+
+        server.show(driver.getSessionId().toString(), "game");
+
+        assertThrows(WebDriverException.class, playButton::getText);
+        assertThrows(WebDriverException.class, () -> driver.findElement(PLAY_BUTTON));
+    }
+
+    private String screen() {
+        return server.screen(driver.getSessionId().toString()).orElseThrow();
+    }
+
+    private static final class CountingExecutor extends ObservedCommandExecutor {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        CountingExecutor(URL url) {
+            super(url);
+        }
+
+        @Override
+        protected Response send(Command command) {
+            sent.add(command.getName());
+            return super.send(command);
+        }
+
+        long count(String name) {
+            return sent.stream().filter(name::equals).count();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.tests.session;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.session.AppReset;
+import org.example.utils.session.ResetMode;
+import org.example.utils.session.ResetStrategy;
+import org.example.utils.session.SessionConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Способы сброса приложения")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class ResetStrategyTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final String VK_ACTIVITY = "com.vk.video.screens.main.MainActivity";
+    private static final String SKIP_LOGIN_ID = "com.vk.vkvideo:id/fast_login_tertiary_btn";
+    private static final String KNOWN_VIDEO_LINK = "vk://vk.com/video-22822305_456239017";
+
+    private FakeAppiumServer server;
+    private AndroidDriver driver;
+
+    @AfterEach
+    void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Способ сброса берется из аннотации теста")
+    @AppReset(value = ResetMode.DEEP_LINK, target = KNOWN_VIDEO_LINK)
+    void shouldResolveAnnotation(TestInfo testInfo) {
+        assertEquals(new ResetStrategy(ResetMode.DEEP_LINK, KNOWN_VIDEO_LINK), ResetStrategy.of(testInfo));
+    }
+
+    @Test
+    @DisplayName("Без аннотации приложение перезапускается, новая сессия не перезапускается повторно")
+    void shouldDefaultToRelaunch(TestInfo testInfo) {
+        assertEquals(ResetStrategy.DEFAULT, ResetStrategy.of(testInfo));
+        assertEquals(ResetMode.NONE, ResetStrategy.DEFAULT.forNewSession().mode());
+        assertEquals(ResetMode.CLEAR_DATA, new ResetStrategy(ResetMode.CLEAR_DATA, "").forNewSession().mode());
+        assertThrows(IllegalArgumentException.class, () -> new ResetStrategy(ResetMode.ACTIVITY, " "));
+    }
+
+    @Test
+    @DisplayName("Каждый режим приводит приложение на ожидаемый экран")
+    void shouldApplyEachMode() throws IOException {
+        SessionConfig config = open();
+
+        driver.findElement(By.id(SKIP_LOGIN_ID)).click();
+        apply(ResetMode.NONE, "", config);
+        assertEquals("feed", screen());
+
+        apply(ResetMode.LAUNCHER, "", config);
+        assertEquals("login", screen());
+
+        apply(ResetMode.DEEP_LINK, KNOWN_VIDEO_LINK, config);
+        assertEquals("player", screen());
+
+        apply(ResetMode.RELAUNCH, "", config);
+        assertEquals("login", screen());
+
+        driver.terminateApp(VK_PACKAGE);
+        apply(ResetMode.NONE, "", config);
+        assertEquals("login", screen());
+
+        apply(ResetMode.ACTIVITY, VK_ACTIVITY, config);
+        assertEquals("login", screen());
+
+        driver.findElement(By.id(SKIP_LOGIN_ID)).click();
+        apply(ResetMode.CLEAR_DATA, "", config);
+        assertEquals("login", screen());
+    }
+
+    private SessionConfig open() throws IOException {
+        server = FakeAppiumServer.start(0, FakeLatency.none());
+        SessionConfig config = server.config(VK_PACKAGE, VK_ACTIVITY);
+        driver = server.driver(config);
+        return config;
+    }
+
+    private void apply(ResetMode mode, String target, SessionConfig config) {
+        new ResetStrategy(mode, target).apply(driver, config);
+    }
+
+    private String screen() {
+        return server.screen(driver.getSessionId().toString()).orElseThrow();
+    }
+}
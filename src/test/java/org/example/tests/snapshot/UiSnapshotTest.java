@@ -0,0 +1,86 @@
+package org.example.tests.snapshot;
+
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Снимок иерархии интерфейса")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class UiSnapshotTest {
+    private static final String TITLE_ID = "com.vk.vkvideo:id/title";
+    private static final String CONTENT_ID = "com.vk.vkvideo:id/content";
+    private static final String ERROR_MESSAGE_ID = "com.vk.vkvideo:id/error_message";
+
+    @Test
+    @DisplayName("Поиск по resource-id и тексту на экране ленты")
+    void shouldFindElementsByIdAndText() throws IOException {
+        UiSnapshot snapshot = UiSnapshot.parse(fixture("vkvideo-feed.xml"));
+
+        assertTrue(snapshot.hasId(TITLE_ID));
+        assertEquals("VK Video", snapshot.textOf(TITLE_ID).orElseThrow());
+        assertEquals(4, snapshot.findAllById(CONTENT_ID).size());
+        assertFalse(snapshot.hasId(ERROR_MESSAGE_ID));
+        assertTrue(snapshot.hasTextContaining("плов"));
+    }
+
+    @Test
+    @DisplayName("XPath запросы возвращают элементы компактного дерева")
+    void shouldEvaluateXpathLocally() throws IOException {
+        UiSnapshot snapshot = UiSnapshot.parse(fixture("vkvideo-error.xml"));
+
+        List<UiNode> errors = snapshot.findByXpath("//*[contains(@text, 'Ошибка')]");
+
+        assertEquals(1, errors.size());
+        assertEquals(ERROR_MESSAGE_ID, errors.get(0).resourceId());
+        assertSame(snapshot.findById(ERROR_MESSAGE_ID).orElseThrow(), errors.get(0));
+        assertFalse(snapshot.hasXpath("//*[contains(@text, 'Недоступно')]"));
+    }
+
+    @Test
+    @DisplayName("Дерево сохраняет связи между родителями и потомками")
+    void shouldKeepTreeStructure() throws IOException {
+        UiSnapshot snapshot = UiSnapshot.parse(fixture("vkvideo-feed.xml"));
+
+        UiNode firstItem = snapshot.findById(CONTENT_ID).orElseThrow();
+
+        assertEquals("hierarchy", snapshot.root().className());
+        assertTrue(firstItem.isClickable());
+        assertEquals(4, firstItem.children().size());
+        assertSame(firstItem, firstItem.children().get(0).parent());
+    }
+
+    @Test
+    @DisplayName("Выражения UiSelector вычисляются по снимку")
+    void shouldEvaluateUiSelectorLocally() throws IOException {
+        UiSnapshot snapshot = UiSnapshot.parse(fixture("vkvideo-feed.xml"));
+
+        List<UiNode> titles = snapshot.findByUiSelector(
+                "new UiSelector().resourceId(\"" + CONTENT_ID + "\").instance(1)"
+                        + ".childSelector(new UiSelector().resourceIdMatches(\".*:id/video_title\"))");
+
+        assertEquals(1, titles.size());
+        assertEquals("Как приготовить плов", titles.get(0).text());
+        assertEquals(4, snapshot.findByUiSelector("new UiSelector().clickable(true).className(\"android.view.ViewGroup\")").size());
+        assertTrue(snapshot.findByUiSelector("new UiSelector().textContains(\"Недоступно\")").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.findByUiSelector("new UiSelector().checked(true)"));
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = UiSnapshotTest.class.getResourceAsStream("/hierarchy/" + name)) {
+            assertNotNull(in, "Не найден файл иерархии " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.tests.soak;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.soak.MemorySample;
+import org.example.utils.soak.MemorySampler;
+import org.example.utils.soak.SoakPlan;
+import org.example.utils.soak.SoakReport;
+import org.example.utils.soak.SoakRunner;
+import org.example.utils.soak.SoakThresholds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Длительный прогон воспроизведения")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class SoakRunnerTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final String VK_ACTIVITY = "com.vk.video.screens.main.MainActivity";
+    private static final SoakThresholds THRESHOLDS = new SoakThresholds(2048, 1024, 50, 5);
+    private static final long SAMPLE_INTERVAL_MILLIS = 10_000;
+
+    @Test
+    @DisplayName("Рост памяти определяется по снятым дампам meminfo")
+    void shouldFlagMemoryGrowthFromCapturedDumps() throws Exception {
+        List<String> leak = MemorySampler.splitCapture(fixture("soak/meminfo-vkvideo-leak.txt"));
+        assertEquals(8, leak.size());
+        List<Long> latencies = flatLatencies(20);
+
+        SoakReport leaking = SoakReport.analyze(latencies, sample(leak), 3, 0, 80_000, 0);
+        assertEquals(201_976, leaking.firstPssKb());
+        assertEquals(219_316, leaking.lastPssKb());
+        assertEquals(14_600, leaking.pssTrend().slope(), 300, leaking.toMap().toString());
+        assertTrue(leaking.pssTrend().rSquared() > 0.99, leaking.toMap().toString());
+        List<String> violations = THRESHOLDS.violations(leaking);
+        assertEquals(2, violations.size(), violations.toString());
+        assertTrue(violations.get(0).startsWith("PSS растет"), violations.toString());
+
+        List<String> stable = new ArrayList<>(Collections.nCopies(8, fixture("playback/meminfo-vkvideo.txt")));
+        stable.set(3, "Error: no process found for: com.vk.vkvideo");
+        MemorySampler sampler = sampler(stable);
+        stable.forEach(dump -> sampler.sample());
+        assertEquals(1, sampler.failures());
+        SoakReport steady = SoakReport.analyze(latencies, sampler.samples(), 3, 0, 80_000, sampler.failures());
+        assertEquals(0, steady.pssTrend().slope());
+        assertEquals(List.of(), THRESHOLDS.violations(steady));
+    }
+
+    @Test
+    @DisplayName("Рост длительности цикла после прогрева считается дрейфом, медленный прогрев - нет")
+    void shouldFlagLatencyDriftAfterWarmup() {
+        List<Long> warmup = new ArrayList<>(List.of(9_000L, 6_000L, 4_000L));
+        warmup.addAll(flatLatencies(20));
+        SoakReport steady = SoakReport.analyze(warmup, List.of(), 3, 0, 120_000, 0);
+        assertEquals(23, steady.iterations());
+        assertEquals(20, steady.latencyTrend().samples());
+        assertTrue(Math.abs(steady.latencyTrend().slope()) < 10, steady.toMap().toString());
+        assertEquals(List.of(), THRESHOLDS.violations(steady), "Тренды памяти без замеров не проверяются");
+
+        List<Long> drifting = IntStream.range(0, 20).mapToObj(i -> 2_000L + 80L * i).toList();
+        SoakReport slowing = SoakReport.analyze(drifting, List.of(), 3, 0, 120_000, 0);
+        assertEquals(80, slowing.latencyTrend().slope(), 0.001);
+        List<String> violations = THRESHOLDS.violations(slowing);
+        assertEquals(1, violations.size(), violations.toString());
+        assertTrue(violations.get(0).startsWith("цикл замедляется"), violations.toString());
+    }
+
+    @Test
+    @DisplayName("Циклы выполняются в одной сессии, память замеряется в фоне")
+    void shouldRepeatCycleWhileSamplingMemory() throws Exception {
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.none())) {
+            AndroidDriver driver = server.driver(VK_PACKAGE, VK_ACTIVITY);
+            try {
+                driver.findElement(AppiumBy.id("com.vk.vkvideo:id/fast_login_tertiary_btn")).click();
+                SoakPlan plan = new SoakPlan(5, Duration.ZERO, 1, Duration.ofMillis(20));
+
+                SoakReport report = new SoakRunner(plan, SoakRunner.meminfo(driver, VK_PACKAGE)).run(() -> {
+                    driver.findElement(AppiumBy.id("com.vk.vkvideo:id/content")).click();
+                    driver.findElement(AppiumBy.id("com.vk.vkvideo:id/video_display"));
+                    driver.navigate().back();
+                });
+
+                assertEquals(5, report.iterations());
+                assertEquals(4, report.latencyTrend().samples());
+                assertEquals(0, report.memoryFailures());
+                assertTrue(report.pssTrend().samples() >= 1, report.toMap().toString());
+                assertEquals(201_976, report.lastPssKb());
+                assertEquals(List.of(), THRESHOLDS.violations(report));
+                assertEquals("feed", server.screen(driver.getSessionId().toString()).orElseThrow());
+            } finally {
+                driver.quit();
+            }
+        }
+    }
+
+    private static List<MemorySample> sample(List<String> dumps) {
+        MemorySampler sampler = sampler(dumps);
+        dumps.forEach(dump -> assertTrue(sampler.sample()));
+        return sampler.samples();
+    }
+
+    /**
+     * Замерщик, который отдает дампы по порядку с интервалом {@value #SAMPLE_INTERVAL_MILLIS} мс.
+     */
+    private static MemorySampler sampler(List<String> dumps) {
+        Iterator<String> source = dumps.iterator();
+        long[] clock = {-SAMPLE_INTERVAL_MILLIS};
+        return new MemorySampler(source::next, () -> clock[0] += SAMPLE_INTERVAL_MILLIS);
+    }
+
+    private static List<Long> flatLatencies(int count) {
+        Random random = new Random(25);
+        return IntStream.range(0, count).mapToObj(i -> 2_000L + random.nextInt(200)).toList();
+    }
+
+    private static String fixture(String name) throws Exception {
+        try (InputStream in = SoakRunnerTest.class.getResourceAsStream("/" + name)) {
+            assertNotNull(in, "Не найден файл " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
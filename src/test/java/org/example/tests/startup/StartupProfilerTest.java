@@ -0,0 +1,77 @@
+package org.example.tests.startup;
+
+import org.example.utils.startup.Distribution;
+import org.example.utils.startup.LaunchTiming;
+import org.example.utils.startup.StartupBaseline;
+import org.example.utils.startup.StartupKind;
+import org.example.utils.startup.StartupResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Замеры времени запуска приложения")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class StartupProfilerTest {
+    private static final String PREFIX = "emulator-5554|com.vk.vkvideo|8.42.0";
+
+    @Test
+    @DisplayName("Разбор вывода am start -W")
+    void shouldParseAmStartOutput() throws IOException {
+        assertEquals(new LaunchTiming("COLD", 1184, 1197), LaunchTiming.parse(fixture("am-start-cold.txt")));
+        assertEquals(new LaunchTiming("", 142, 156), LaunchTiming.parse(fixture("am-start-legacy.txt")));
+        assertThrows(IllegalStateException.class, () -> LaunchTiming.parse(fixture("am-start-error.txt")));
+    }
+
+    @Test
+    @DisplayName("Распределение небольшой выборки")
+    void shouldBuildDistribution() {
+        Distribution distribution = Distribution.of(List.of(900L, 1200L, 1000L, 1100L, 3000L));
+
+        assertEquals(new Distribution(5, 900, 1100, 3000, 3000), distribution);
+        assertEquals(new Distribution(0, 0, 0, 0, 0), Distribution.of(List.of()));
+    }
+
+    @Test
+    @DisplayName("Регрессия определяется относительно сохраненного эталона")
+    void shouldFlagRegressionsAgainstBaseline(@TempDir Path dir) {
+        Path store = dir.resolve("startup-baseline.properties");
+        StartupBaseline baseline = StartupBaseline.load(store);
+        assertFalse(baseline.contains(PREFIX));
+        assertEquals(List.of(), baseline.regressions(PREFIX, results(1000, 1500), 0.2));
+
+        baseline.update(PREFIX, results(1000, 1500));
+        StartupBaseline reloaded = StartupBaseline.load(store);
+        assertTrue(reloaded.contains(PREFIX));
+
+        assertEquals(List.of(), reloaded.regressions(PREFIX, results(1150, 1790), 0.2));
+        List<String> regressions = reloaded.regressions(PREFIX, results(1300, 1500), 0.2);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).contains("COLD.activity"), regressions.get(0));
+        assertEquals(List.of(), StartupBaseline.load(store).regressions(PREFIX, results(1000, 1500), 0.2));
+    }
+
+    private static Map<StartupKind, StartupResult> results(long activityP50, long firstElementP50) {
+        return Map.of(StartupKind.COLD, new StartupResult(
+                Distribution.of(List.of(activityP50)), Distribution.of(List.of(firstElementP50)), 0));
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = StartupProfilerTest.class.getResourceAsStream("/startup/" + name)) {
+            assertNotNull(in, "Не найден файл " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.tests.timings;
+
+import org.example.utils.timings.RegressionThresholds;
+import org.example.utils.timings.TimingComparison;
+import org.example.utils.timings.TimingKind;
+import org.example.utils.timings.TimingReport;
+import org.example.utils.timings.TimingSeries;
+import org.example.utils.timings.TimingStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Хранилище длительности тестов и шагов")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class TimingStoreTest {
+    private static final String APP = "com.vk.vkvideo";
+    private static final String DEVICE = "emulator-5554";
+    private static final TimingSeries PLAY = new TimingSeries(APP, DEVICE, TimingKind.STEP,
+            "VKVideoTest#testVideoPlayback > Первое видео в ленте");
+    private static final TimingSeries SEARCH = new TimingSeries(APP, DEVICE, TimingKind.TEST,
+            "VKVideoTest#testSearch");
+    private static final RegressionThresholds THRESHOLDS = new RegressionThresholds(30, 0.01, 0.1, 50, 5);
+
+    @Test
+    @DisplayName("Замеры дописываются через несколько окон и читаются после повторного открытия")
+    void shouldAppendAcrossChunksAndReopen(@TempDir Path dir) throws Exception {
+        int records = 70_000;
+        try (TimingStore store = TimingStore.open(dir)) {
+            for (int i = 0; i < records; i++) {
+                store.append(i % 2 == 0 ? PLAY : SEARCH, "1.0", i, i * 10L, i % 7 != 0);
+            }
+            assertThrows(IOException.class, () -> TimingStore.open(dir), "Второй прогон не должен писать в хранилище");
+
+            try (TimingStore reader = TimingStore.read(dir)) {
+                assertEquals(records, reader.size());
+                assertThrows(IllegalStateException.class, () -> reader.append(PLAY, "1.0", 0, 0, true));
+            }
+        }
+
+        try (TimingStore store = TimingStore.open(dir)) {
+            store.append(SEARCH, "1.1", records, 5, true);
+        }
+        try (TimingStore store = TimingStore.read(dir)) {
+            long[] sums = new long[3];
+            store.scan((timestampMillis, series, build, durationMicros, passed) -> {
+                assertEquals(timestampMillis < records ? timestampMillis * 10 : 5, durationMicros);
+                sums[0]++;
+                sums[1] += passed ? 0 : 1;
+                if (TimingSeries.parse(store.name(series)).equals(PLAY) && "1.0".equals(store.name(build))) {
+                    sums[2]++;
+                }
+            });
+            assertEquals(records + 1, sums[0]);
+            assertEquals((records + 6) / 7, sums[1]);
+            assertEquals(records / 2, sums[2]);
+        }
+    }
+
+    @Test
+    @DisplayName("Значимое замедление новой сборки отмечается, шум и старые сборки вне окна - нет")
+    void shouldFlagSignificantSlowdownAgainstRollingBaseline(@TempDir Path dir) throws Exception {
+        Random random = new Random(22);
+        long time = 0;
+        try (TimingStore store = TimingStore.open(dir)) {
+            for (int i = 0; i < 30; i++) {
+                store.append(PLAY, "0.9", time++, micros(3000, random), true);
+                store.append(SEARCH, "0.9", time++, micros(400, random), true);
+            }
+            for (int i = 0; i < 30; i++) {
+                store.append(PLAY, "1.0", time++, micros(1000, random), true);
+                store.append(SEARCH, "1.0", time++, micros(400, random), true);
+            }
+            for (int i = 0; i < 10; i++) {
+                store.append(PLAY, "1.1", time++, micros(1300, random), true);
+                store.append(SEARCH, "1.1", time++, micros(400, random), true);
+                store.append(SEARCH, "1.1", time++, 60_000_000, false);
+            }
+
+            Map<TimingSeries, TimingComparison> comparisons = TimingReport.compare(store, THRESHOLDS).stream()
+                    .collect(Collectors.toMap(TimingComparison::series, Function.identity()));
+            TimingComparison play = comparisons.get(PLAY);
+            assertTrue(play.regression(), play.toString());
+            assertEquals("1.1", play.build());
+            assertEquals(10, play.samples());
+            assertEquals(30, play.baselineSamples());
+            assertTrue(play.baselineMedianMicros() < 1_100_000,
+                    "Замеры сборки 0.9 должны выйти из окна базовой линии: " + play);
+
+            TimingComparison search = comparisons.get(SEARCH);
+            assertFalse(search.regression(), search.toString());
+            assertEquals(10, search.samples(), "Упавшие запуски не учитываются");
+            assertTrue(search.pValue() > THRESHOLDS.alpha(), search.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Первая сборка и малая выборка не считаются регрессией")
+    void shouldNotFlagWithoutEnoughSamples(@TempDir Path dir) throws Exception {
+        try (TimingStore store = TimingStore.open(dir)) {
+            for (int i = 0; i < 10; i++) {
+                store.append(PLAY, "1.0", i, 1_000_000, true);
+            }
+            store.append(PLAY, "1.1", 10, 9_000_000, true);
+            store.append(PLAY, "1.1", 11, 9_000_000, true);
+
+            List<TimingComparison> comparisons = TimingReport.compare(store, THRESHOLDS);
+            assertEquals(1, comparisons.size());
+            assertFalse(comparisons.get(0).regression());
+            assertEquals(1.0, comparisons.get(0).pValue());
+        }
+    }
+
+    private static long micros(long millis, Random random) {
+        return (long) (millis * 1000 * (1 + random.nextGaussian() * 0.05));
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.tests.traffic;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.fake.FakeAppiumServer;
+import org.example.utils.fake.FakeLatency;
+import org.example.utils.session.ObservedCommandExecutor;
+import org.example.utils.traffic.RecordingCommandExecutor;
+import org.example.utils.traffic.ReplayCommandExecutor;
+import org.example.utils.traffic.TrafficDiff;
+import org.example.utils.traffic.TrafficEntry;
+import org.example.utils.traffic.TrafficRecorder;
+import org.example.utils.traffic.TrafficRecording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.remote.Command;
+
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Запись и воспроизведение трафика Appium")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+public class TrafficReplayTest {
+    private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final String SKIP_LOGIN_ID = "com.vk.vkvideo:id/fast_login_tertiary_btn";
+
+    @Test
+    @DisplayName("Воспроизведение выдает записанные ответы и ошибки без сервера и без задержек")
+    void shouldReplayRecordedRun(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("appium.jsonl.gz");
+        List<String> recorded;
+        long recordedNanos;
+        try (FakeAppiumServer server = FakeAppiumServer.start(0, FakeLatency.of(Duration.ofMillis(30), Duration.ZERO));
+             TrafficRecorder recorder = new TrafficRecorder(file)) {
+            long start = System.nanoTime();
+            recorded = scenario(server.url(), url -> new RecordingCommandExecutor(url, recorder));
+            recordedNanos = System.nanoTime() - start;
+        }
+
+        TrafficRecording recording = TrafficRecording.load(file);
+        long start = System.nanoTime();
+        List<String> replayed = scenario(URI.create("http://127.0.0.1:1").toURL(),
+                url -> new ReplayCommandExecutor(url, recording));
+        long replayedNanos = System.nanoTime() - start;
+
+        assertEquals(recorded, replayed);
+        assertTrue(replayedNanos < recordedNanos / 2,
+                "Воспроизведение " + replayedNanos / 1_000_000 + " мс, запись " + recordedNanos / 1_000_000 + " мс");
+
+        Map<String, Integer> counts = recording.commandCounts().get("(вне теста)");
+        assertEquals(1, counts.get("newSession"));
+        assertEquals(4, counts.get("findElement"));
+    }
+
+    @Test
+    @DisplayName("Ответы выдаются по порядку, затем повторяется последний; незаписанная команда - ошибка")
+    void shouldServeResponsesInOrder() throws Exception {
+        String parameters = TrafficEntry.canonical(Map.of("using", "id", "value", "a"));
+        assertEquals(parameters, TrafficEntry.canonical(Map.of("value", "a", "using", "id")));
+
+        TrafficRecording recording = new TrafficRecording(List.of(
+                entry("A#first", "findElement", parameters, "no such element"),
+                entry("A#first", "findElement", parameters, "success"),
+                entry("B#second", "findElement", parameters, "success")));
+
+        assertEquals("no such element", recording.next("A#first", "findElement", parameters).orElseThrow().state());
+        assertEquals("success", recording.next("A#first", "findElement", parameters).orElseThrow().state());
+        assertEquals("B#second", recording.next("A#first", "findElement", parameters).orElseThrow().test());
+        assertTrue(recording.next("B#second", "findElement", parameters).isEmpty());
+        assertEquals("B#second", recording.repeat("findElement", parameters).orElseThrow().test());
+        assertTrue(recording.next("A#first", "getPageSource", "{}").isEmpty());
+
+        ReplayCommandExecutor executor = new ReplayCommandExecutor(URI.create("http://127.0.0.1:1").toURL(), recording);
+        assertThrows(UnsupportedCommandException.class,
+                () -> executor.execute(new Command(null, "getPageSource", Map.of())));
+    }
+
+    @Test
+    @DisplayName("Изменение количества команд по тестам между записями")
+    void shouldDiffCommandCounts() {
+        List<TrafficDiff.Change> changes = TrafficDiff.diff(
+                Map.of("VKVideoTest#search", Map.of("findElement", 12, "click", 3),
+                        "AlchemyTest#testAlchemy", Map.of("findElement", 5)),
+                Map.of("VKVideoTest#search", Map.of("findElement", 7, "click", 3, "executeScript", 1),
+                        "AlchemyTest#testAlchemy", Map.of("findElement", 5)));
+
+        assertEquals(List.of(
+                new TrafficDiff.Change("VKVideoTest#search", "executeScript", 0, 1),
+                new TrafficDiff.Change("VKVideoTest#search", "findElement", 12, 7)), changes);
+        assertEquals(-5, changes.get(1).delta());
+    }
+
+    private static List<String> scenario(URL url, Function<URL, ObservedCommandExecutor> executor) {
+        AndroidDriver driver = new AndroidDriver(executor.apply(url),
+                FakeAppiumServer.config(url, VK_PACKAGE, "com.vk.video.screens.main.MainActivity").toOptions());
+        List<String> observed = new ArrayList<>();
+        try {
+            driver.findElement(By.id(SKIP_LOGIN_ID)).click();
+            driver.findElement(By.id("com.vk.vkvideo:id/search_button")).click();
+            observed.add(driver.findElement(By.id("com.vk.vkvideo:id/back_button")).getAttribute("content-desc"));
+            NoSuchElementException error = assertThrows(NoSuchElementException.class,
+                    () -> driver.findElement(By.id(SKIP_LOGIN_ID)));
+            observed.add(error.getRawMessage());
+            observed.add(String.valueOf(driver.getPageSource().length()));
+        } finally {
+            driver.quit();
+        }
+        return observed;
+    }
+
+    private static TrafficEntry entry(String test, String command, String parameters, String state) {
+        return new TrafficEntry(test, command, parameters, "session-1", state, 0, null, null, null, false);
+    }
+}
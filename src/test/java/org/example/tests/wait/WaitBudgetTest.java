@@ -0,0 +1,61 @@
+package org.example.tests.wait;
+
+import org.example.exceptions.WaitBudgetExceededException;
+import org.example.utils.wait.TimeBudget;
+import org.example.utils.wait.WaitBudget;
+import org.example.utils.wait.WaitBudgetExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Бюджет ожиданий теста")
+@Tag("UNIT")
+@Execution(ExecutionMode.SAME_THREAD)
+@ExtendWith(WaitBudgetExtension.class)
+@TimeBudget(seconds = 1)
+public class WaitBudgetTest {
+
+    @Test
+    @DisplayName("Таймаут ожидания ограничивается остатком бюджета")
+    void shouldClampTimeoutToRemainingBudget() {
+        Duration granted = WaitBudget.await("Ожидание", Duration.ofSeconds(10), timeout -> timeout);
+
+        assertTrue(granted.compareTo(Duration.ofSeconds(1)) <= 0, "Выдано больше бюджета: " + granted);
+    }
+
+    @Test
+    @DisplayName("Необязательная проверка получает короткий отрезок бюджета")
+    void shouldGiveShortSliceToProbe() {
+        Duration granted = WaitBudget.probe("Проверка", Duration.ofSeconds(10), timeout -> timeout);
+
+        assertTrue(granted.compareTo(Duration.ofSeconds(1)) <= 0);
+    }
+
+    @Test
+    @DisplayName("Исчерпанный бюджет завершает тест с расшифровкой затрат")
+    void shouldFailFastWhenBudgetIsExhausted() {
+        WaitBudget.await("Долгое ожидание", Duration.ofSeconds(10), WaitBudgetTest::sleep);
+
+        WaitBudgetExceededException error = assertThrows(WaitBudgetExceededException.class,
+                () -> WaitBudget.await("Следующее ожидание", Duration.ofSeconds(1), timeout -> timeout));
+
+        assertTrue(error.getMessage().contains("Долгое ожидание: 1 ожид."), error.getMessage());
+    }
+
+    private static Duration sleep(Duration timeout) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(timeout.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return timeout;
+    }
+}
@@ -1,15 +1,28 @@
 package org.example.utils;
 
-import io.appium.java_client.AppiumBy;
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.SelenideElement;
 import org.example.exceptions.UtilityClassException;
+import org.example.utils.explore.ExplorationResult;
+import org.example.utils.explore.StateExplorer;
+import org.example.utils.locator.Locator;
+import org.example.utils.logcat.LogcatMarkers;
+import org.example.utils.session.ResetMode;
+import org.example.utils.session.ResetStrategy;
+import org.example.utils.session.TestSession;
+import org.example.utils.wait.WaitBudget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
+import java.util.OptionalLong;
 
 import static com.codeborne.selenide.Condition.text;
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.appium.SelenideAppium.$;
+import static org.example.utils.locator.AlchemyLocators.*;
 
 /**
  * Утилитарный класс для работы с приложением Alchemy.
@@ -19,10 +32,9 @@ import static com.codeborne.selenide.appium.SelenideAppium.$;
 public class AlchemyUtils {
     private static final Logger log = LoggerFactory.getLogger(AlchemyUtils.class);
     private static final Duration LONG_TIMEOUT = Duration.ofSeconds(60);
-
-    private static final String PLAY_BUTTON = "new UiSelector().text(\"Играть\")";
-    private static final String HINTS_SECTION = "new UiSelector().text(\"Ваши подсказки\")";
-    private static final String WATCH_BUTTON = "new UiSelector().text(\"Смотреть\")";
+    private static final Duration WATCH_BUTTON_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CONFIRMATION_TIMEOUT = Duration.ofSeconds(5);
+    private static final String AD_REWARDED_STEP = "Маркер окончания рекламы";
 
     /**
      * Запускает игру, нажимая на кнопку "Играть".
@@ -35,7 +47,8 @@ public class AlchemyUtils {
      */
     public static void startGame() {
         log.info("Нажимаем кнопку 'Играть'");
-        $(AppiumBy.androidUIAutomator(PLAY_BUTTON))
+        WaitBudget.await(Menu.PLAY_BUTTON.name(),
+                        timeout -> $(Menu.PLAY_BUTTON.by()).shouldBe(visible, timeout))
                 .click();
         log.debug("Кнопка 'Играть' успешно нажата");
     }
@@ -52,8 +65,8 @@ public class AlchemyUtils {
      */
     public static void clickHint(int quantityHint) {
         log.info("Нажимаем на подсказку с количеством: {}", quantityHint);
-        $(AppiumBy.androidUIAutomator("new UiSelector().text(\"" + quantityHint + "\")"))
-                .shouldBe(visible)
+        Locator hint = Game.HINT.of(quantityHint);
+        WaitBudget.await(hint.name(), timeout -> $(hint.by()).shouldBe(visible, timeout))
                 .click();
     }
 
@@ -70,8 +83,8 @@ public class AlchemyUtils {
     public static boolean verifyHintsSectionVisible() {
         log.debug("Проверка раздела 'Ваши подсказки'");
         try {
-            $(AppiumBy.androidUIAutomator(HINTS_SECTION))
-                    .shouldBe(visible);
+            WaitBudget.probe(Hints.SECTION.name(), Duration.ofMillis(Configuration.timeout),
+                    timeout -> $(Hints.SECTION.by()).shouldBe(visible, timeout));
             return true;
         } catch (Exception e) {
             log.warn("Раздел 'Ваши подсказки' не найден или не отображается: {}", e.getMessage());
@@ -90,40 +103,82 @@ public class AlchemyUtils {
      * Это упрощает тестирование, так как не требуется дополнительной логики
      * для закрытия рекламного окна.</p>
      *
-     * @return {@code true} если кнопка "Смотреть" была успешно найдена и нажата,
-     * {@code false} в случае любой ошибки
+     * @return позиция logcat, запомненная перед нажатием ({@link LogcatMarkers#mark()}), если кнопка
+     * "Смотреть" была успешно найдена и нажата; пустой результат в случае любой ошибки
      */
-    public static boolean watchAdForHints() {
+    public static OptionalLong watchAdForHints() {
         log.info("Попытка запуска рекламы для подсказок");
         try {
-            $(AppiumBy.androidUIAutomator(WATCH_BUTTON))
-                    .shouldBe(visible, Duration.ofSeconds(10))
-                    .click();
-            return true;
+            SelenideElement watchButton = WaitBudget.await(Hints.WATCH_BUTTON.name(), WATCH_BUTTON_TIMEOUT,
+                    timeout -> $(Hints.WATCH_BUTTON.by()).shouldBe(visible, timeout));
+            long mark = LogcatMarkers.mark();
+            watchButton.click();
+            return OptionalLong.of(mark);
         } catch (Exception e) {
             log.warn("Кнопка 'Смотреть' недоступна");
-            return false;
+            return OptionalLong.empty();
         }
     }
 
     /**
      * Проверяет количество доступных подсказок.
      *
-     * <p>Метод ищет элемент, содержащий указанное количество подсказок,
-     * и проверяет его видимость и текст. Использует длинный таймаут
-     * ({@link #LONG_TIMEOUT}) для ожидания.</p>
+     * <p>Окончание рекламы ожидается по маркеру в logcat ({@link LogcatMarkers#AD_REWARDED}), записанному
+     * после нажатия на кнопку "Смотреть", или по появлению нужного количества подсказок, смотря что наступит
+     * раньше, с длинным таймаутом ({@link #LONG_TIMEOUT}). После этого количество подсказок проверяется
+     * по интерфейсу коротким таймаутом. Если logcat недоступен, интерфейс опрашивается с длинным таймаутом.
+     * Все ожидания ограничены бюджетом ожиданий теста ({@link WaitBudget}).</p>
      *
      * @param expectedCount ожидаемое количество подсказок
+     * @param adStarted     позиция logcat до нажатия на кнопку "Смотреть" из {@link #watchAdForHints()}
      * @throws AssertionError если проверка количества подсказок не пройдена
      */
-    public static void verifyHintsCount(int expectedCount) {
+    public static void verifyHintsCount(int expectedCount, long adStarted) {
         log.info("Проверяем количество подсказок. Ожидаем: {}", expectedCount);
 
-        $(AppiumBy.androidUIAutomator("new UiSelector().text(\"" + expectedCount + "\")"))
-                .shouldBe(visible, LONG_TIMEOUT)
+        Locator count = Hints.COUNT.of(expectedCount);
+        boolean awaited = LogcatMarkers.await(AD_REWARDED_STEP, LogcatMarkers.AD_REWARDED, adStarted,
+                LONG_TIMEOUT, () -> $(count.by()).is(visible));
+        WaitBudget.await(count.name(), awaited ? CONFIRMATION_TIMEOUT : LONG_TIMEOUT,
+                        timeout -> $(count.by()).shouldBe(visible, timeout))
                 .shouldHave(text(String.valueOf(expectedCount)));
     }
 
+    /**
+     * Продолжает обход интерфейса игры в ширину с места, где остановился предыдущий прогон этой версии.
+     *
+     * <p>Посещенные экраны распознаются по отпечатку иерархии и повторно не исследуются, для возврата
+     * к исследуемому экрану приложение перезапускается через стартовую активность ({@link ResetMode#LAUNCHER}).
+     * Бюджет времени и действий, журнал обхода и отчет задаются свойствами {@link StateExplorer}.</p>
+     *
+     * @return итоги обхода вместе с предыдущими прогонами
+     * @throws IllegalStateException если сессия не открыта
+     * @throws UncheckedIOException  если журнал обхода не читается или не записывается
+     */
+    public static ExplorationResult exploreGame() {
+        TestSession session = TestSession.current();
+        if (session == null) {
+            throw new IllegalStateException("Обход интерфейса требует открытой сессии");
+        }
+        String appPackage = session.config().appPackage();
+        log.info("Обход интерфейса игры {} {}", appPackage, session.appVersion());
+
+        ResetStrategy launcher = new ResetStrategy(ResetMode.LAUNCHER, "");
+        StateExplorer explorer = new StateExplorer(session.driver(), appPackage,
+                () -> launcher.apply(session.driver(), session.config()),
+                StateExplorer.storeFor(appPackage, session.appVersion()));
+        ExplorationResult result;
+        try {
+            result = explorer.exploreWithSystemProperties();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Журнал обхода интерфейса недоступен", e);
+        }
+
+        StateExplorer.record(result);
+        log.info("Итоги обхода интерфейса игры: {}", result.toMap());
+        return result;
+    }
+
     /**
      * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
      *
@@ -0,0 +1,45 @@
+package org.example.utils;
+
+import org.example.exceptions.UtilityClassException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Пути к файлам истории запусков ({@code .test-stats}) относительно корня проекта.
+ *
+ * <p>Корень - ближайший каталог с {@code pom.xml}, начиная с рабочего каталога. Поэтому история
+ * не расходится по нескольким местам, если тесты запущены из IDE с другим рабочим каталогом,
+ * и не попадает в исходники. Если {@code pom.xml} не найден, используется рабочий каталог.</p>
+ */
+public final class ProjectPaths {
+    private static final Path ROOT = findRoot(Path.of(System.getProperty("user.dir")).toAbsolutePath());
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private ProjectPaths() {
+        throw new UtilityClassException(getClass());
+    }
+
+    /**
+     * Разрешает путь относительно корня проекта.
+     *
+     * @param path путь из свойства или значение по умолчанию; абсолютный путь возвращается как есть
+     * @return абсолютный путь
+     */
+    public static Path resolve(String path) {
+        return ROOT.resolve(path);
+    }
+
+    private static Path findRoot(Path start) {
+        for (Path dir = start; dir != null; dir = dir.getParent()) {
+            if (Files.isRegularFile(dir.resolve("pom.xml"))) {
+                return dir;
+            }
+        }
+        return start;
+    }
+}
@@ -1,21 +1,43 @@
 package org.example.utils;
 
 import com.codeborne.selenide.CollectionCondition;
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
 import com.codeborne.selenide.ex.ElementNotFound;
 import io.appium.java_client.android.AndroidDriver;
 import org.example.exceptions.UtilityClassException;
-import org.openqa.selenium.By;
+import org.example.utils.deeplink.DeepLinkCampaign;
+import org.example.utils.deeplink.DeepLinkReport;
+import org.example.utils.locator.Locator;
+import org.example.utils.logcat.LogcatMarkers;
+import org.example.utils.playback.FrameMotionVerifier;
+import org.example.utils.playback.PlaybackMetrics;
+import org.example.utils.playback.PlaybackProfiler;
+import org.example.utils.playback.PlaybackThresholds;
+import org.example.utils.scroll.ScrollBenchmark;
+import org.example.utils.scroll.ScrollMetrics;
+import org.example.utils.soak.SoakPlan;
+import org.example.utils.soak.SoakReport;
+import org.example.utils.soak.SoakRunner;
+import org.example.utils.soak.SoakThresholds;
+import org.example.utils.snapshot.UiSnapshot;
+import org.example.utils.wait.WaitBudget;
 import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 
 import static com.codeborne.selenide.Condition.interactable;
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.$$;
+import static org.example.utils.locator.VKVideoLocators.*;
 
 /**
  * Утилитарный класс для работы с приложением VK Video.
@@ -25,18 +47,15 @@ import static com.codeborne.selenide.Selenide.$$;
 public class VKVideoUtils {
     private static final Logger log = LoggerFactory.getLogger(VKVideoUtils.class);
 
-    private static final String SEARCH_BUTTON_ID = "com.vk.vkvideo:id/search_button";
-    private static final String ERROR_MESSAGE_ID = "com.vk.vkvideo:id/error_message";
-    private static final String FAST_LOGIN_BUTTON_ID = "com.vk.vkvideo:id/fast_login_tertiary_btn";
-    private static final String SEARCH_FIELD_ID = "com.vk.vkvideo:id/search_src_text";
-    private static final String TITLE_ID = "com.vk.vkvideo:id/title";
-    private static final String VIDEO_DISPLAY_ID = "com.vk.vkvideo:id/video_display";
-    private static final String PLAYER_CONTROL_ID = "com.vk.vkvideo:id/player_control";
-    private static final String LIKES_ID = "com.vk.vkvideo:id/likes";
-    private static final String UNAVAILABLE_TEXT_XPATH = "//*[contains(@text, 'Недоступно')]";
     private static final String APP_TITLE = "VK Video";
     private static final String VK_DEEP_LINK_PREFIX = "vk://vk.com/video";
     private static final String VK_PACKAGE = "com.vk.vkvideo";
+    private static final Duration SEARCH_BUTTON_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration FAST_LOGIN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration FEED_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration PLAYER_START_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CONFIRMATION_TIMEOUT = Duration.ofSeconds(2);
+    private static final String PLAYER_STARTED_STEP = "Маркер запуска плеера";
 
     /**
      * Нажимает на кнопку поиска в приложении VK Video.
@@ -49,8 +68,8 @@ public class VKVideoUtils {
         log.info("Попытка кликнуть на кнопку поиска");
 
         try {
-            $(By.id(SEARCH_BUTTON_ID))
-                    .shouldBe(visible, Duration.ofSeconds(5))
+            WaitBudget.await(Feed.SEARCH_BUTTON.name(), SEARCH_BUTTON_TIMEOUT,
+                            timeout -> $(Feed.SEARCH_BUTTON.by()).shouldBe(visible, timeout))
                     .click();
 
             log.info("Кнопка поиска успешно нажата");
@@ -69,14 +88,18 @@ public class VKVideoUtils {
      *   <li>Проверяет наличие сообщения об ошибке с ID {@code com.vk.vkvideo:id/error_message}</li>
      *   <li>Ищет текст "Недоступно" на экране</li>
      *   <li>В остальных случаях логирует как "Неизвестная ошибка"</li>
+     * </ol>
+     * <p>Все проверки выполняются по одному снимку иерархии ({@link UiSnapshot}).</p>
      */
     public static void handlePlaybackError() {
         log.info("Видео не воспроизводится");
 
-        if ($(By.id(ERROR_MESSAGE_ID)).exists()) {
-            String errorText = $(By.id(ERROR_MESSAGE_ID)).getText();
-            log.info("Причина ошибки: {}", errorText);
-        } else if ($(By.xpath(UNAVAILABLE_TEXT_XPATH)).exists()) {
+        UiSnapshot snapshot = UiSnapshot.capture();
+        Optional<String> errorText = snapshot.textOf(ErrorScreen.MESSAGE.value());
+
+        if (errorText.isPresent()) {
+            log.info("Причина ошибки: {}", errorText.get());
+        } else if (ErrorScreen.UNAVAILABLE_TEXT.isPresentIn(snapshot)) {
             log.info("Видео недоступно");
         } else {
             log.info("Неизвестная ошибка воспроизведения");
@@ -93,12 +116,12 @@ public class VKVideoUtils {
         log.debug("Проверка необходимости пропуска логина");
 
         try {
-            $(By.id(FAST_LOGIN_BUTTON_ID))
-                    .shouldBe(visible, Duration.ofSeconds(10))
+            WaitBudget.probe(Login.FAST_LOGIN_BUTTON.name(), FAST_LOGIN_TIMEOUT,
+                            timeout -> $(Login.FAST_LOGIN_BUTTON.by()).shouldBe(visible, timeout))
                     .click();
             log.info("Кнопка пропуска логина нажата");
         } catch (ElementNotFound e) {
-            log.debug("Кнопка пропуска логина не найдена (не появилась за 5 секунд)");
+            log.debug("Кнопка пропуска логина не найдена");
         }
     }
 
@@ -106,16 +129,19 @@ public class VKVideoUtils {
      * Проверяет что поиск успешно открылся.
      *
      * <p>Метод выполняет комплексную проверку состояния приложения после
-     * открытия поиска. Анализирует наличие ключевых элементов интерфейса:</p>
+     * открытия поиска. Наличие ключевых элементов интерфейса (кнопка поиска, поле поиска, заголовок)
+     * и текст заголовка проверяются по одному снимку иерархии ({@link UiSnapshot}).</p>
      */
     public static void assertSearchIsOpened() {
         log.info("Проверка что поиск открылся");
 
-        boolean searchButtonExists = $(By.id(SEARCH_BUTTON_ID)).exists();
-        boolean searchFieldExists = $(By.id(SEARCH_FIELD_ID)).exists();
-        boolean titleExists = $(By.id(TITLE_ID)).exists();
+        UiSnapshot snapshot = UiSnapshot.capture();
+        List<Locator> present = Search.OPENED.presentIn(snapshot);
+        boolean searchButtonExists = present.contains(Feed.SEARCH_BUTTON);
+        boolean searchFieldExists = present.contains(Search.SEARCH_FIELD);
+        boolean titleExists = present.contains(Feed.TITLE);
 
-        boolean appActive = searchButtonExists || searchFieldExists || titleExists;
+        boolean appActive = !present.isEmpty();
 
         log.info("Состояние элементов: search_button={}, search_field={}, title={}",
                 searchButtonExists, searchFieldExists, titleExists);
@@ -124,7 +150,7 @@ public class VKVideoUtils {
             log.warn("Приложение, возможно, свернулось");
         } else if (searchFieldExists) {
             log.info("УСПЕХ: Открылось поле поиска");
-        } else if (titleExists && APP_TITLE.equals($(By.id(TITLE_ID)).getText())) {
+        } else if (titleExists && APP_TITLE.equals(snapshot.textOf(Feed.TITLE.value()).orElse(null))) {
             log.info("ИНФО: Остались на главном экране");
         }
     }
@@ -136,24 +162,54 @@ public class VKVideoUtils {
      * <ol>
      *   <li>Проверяет что в ленте есть хотя бы 2 видео элемента</li>
      *   <li>Нажимает на первый элемент контента</li>
-     *   <li>Ожидает появления видеоплеера</li>
+     *   <li>Ожидает маркер запуска плеера в logcat ({@link LogcatMarkers#PLAYER_STARTED}) или появление
+     *   видеоплеера, смотря что наступит раньше</li>
+     *   <li>Проверяет видеоплеер; если logcat недоступен, ожидает видеоплеер по интерфейсу</li>
      * </ol>
+     * <p>В режиме профилирования ({@code -Dplayback.profile=true}) нажатие выполняется через
+     * {@link PlaybackProfiler}, а показатели воспроизведения сравниваются с {@link PlaybackThresholds}.</p>
+     *
+     * @throws AssertionError если в режиме профилирования показатели превысили пороги
      */
     public static void playFirstVideoInFeed() {
         log.info("Запуск первого видео в ленте");
 
-        $$(By.id("com.vk.vkvideo:id/content"))
-                .shouldHave(
-                        CollectionCondition.sizeGreaterThan(1),
-                        Duration.ofSeconds(10)
-                );
+        WaitBudget.await(Feed.VIDEOS.name(), FEED_TIMEOUT,
+                timeout -> $$(Feed.VIDEOS.by()).shouldHave(CollectionCondition.sizeGreaterThan(1), timeout));
+
+        SelenideElement firstVideo = WaitBudget.await(Feed.FIRST_VIDEO.name(),
+                timeout -> $(Feed.FIRST_VIDEO.by()).shouldBe(interactable, timeout));
+
+        long mark = LogcatMarkers.mark();
+        if (PlaybackProfiler.enabled()) {
+            profilePlayback(firstVideo);
+        } else {
+            firstVideo.click();
+        }
+
+        boolean awaited = LogcatMarkers.await(PLAYER_STARTED_STEP, LogcatMarkers.PLAYER_STARTED, mark,
+                PLAYER_START_TIMEOUT, () -> $(Player.VIDEO_DISPLAY.by()).is(visible));
+        WaitBudget.await(Player.VIDEO_DISPLAY.name(), awaited ? CONFIRMATION_TIMEOUT : PLAYER_START_TIMEOUT,
+                timeout -> $(Player.VIDEO_DISPLAY.by()).shouldBe(visible, timeout));
+    }
+
+    /**
+     * Запускает видео под профилировщиком и проверяет показатели воспроизведения.
+     *
+     * @param video элемент видео в ленте
+     * @throws AssertionError если показатели превысили пороги
+     */
+    private static void profilePlayback(SelenideElement video) {
+        PlaybackProfiler profiler = new PlaybackProfiler((AndroidDriver) WebDriverRunner.getWebDriver(), VK_PACKAGE);
+        PlaybackMetrics metrics = profiler.profile(video::click, Player.VIDEO_DISPLAY.by());
+        List<String> violations = PlaybackThresholds.fromSystemProperties().violations(metrics);
 
-        $$(By.id("com.vk.vkvideo:id/content")).first()
-                .shouldBe(interactable)
-                .click();
+        PlaybackProfiler.record(metrics, violations);
+        log.info("Показатели воспроизведения: {}", metrics.toMap());
 
-        $(By.id(VIDEO_DISPLAY_ID))
-                .shouldBe(visible);
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Показатели воспроизведения превысили пороги: " + String.join("; ", violations));
+        }
     }
 
     /**
@@ -164,21 +220,107 @@ public class VKVideoUtils {
      *   <li>Элементы управления плеером ({@code com.vk.vkvideo:id/player_control})</li>
      *   <li>Кнопка лайков ({@code com.vk.vkvideo:id/likes})</li>
      *   <li>Заголовок видео ({@code com.vk.vkvideo:id/title})</li>
+     *   <li>Смена кадров в видеоплеере по серии скриншотов ({@link FrameMotionVerifier},
+     *   отключается {@code -Dplayback.frames.verify=false})</li>
      * </ol>
      *
      * @throws com.codeborne.selenide.ex.ElementNotFound если элементы плеера не найдены
+     * @throws AssertionError                            если кадры видео не меняются
      */
     public static void assertVideoIsPlaying() {
         log.debug("Проверка воспроизведения видео");
 
-        $(By.id(PLAYER_CONTROL_ID)).shouldBe(visible);
+        WaitBudget.await(Player.CONTROLS.name(),
+                timeout -> $(Player.CONTROLS.by()).shouldBe(visible, timeout));
 
-        $(By.id(LIKES_ID)).shouldBe(visible);
+        WaitBudget.await(Player.LIKES.name(),
+                timeout -> $(Player.LIKES.by()).shouldBe(visible, timeout));
 
-        String videoTitle = $(By.id(TITLE_ID)).getText();
+        if (FrameMotionVerifier.enabled()) {
+            WebElement display = WaitBudget.await(Player.VIDEO_DISPLAY.name(),
+                    timeout -> $(Player.VIDEO_DISPLAY.by()).shouldBe(visible, timeout)).toWebElement();
+            FrameMotionVerifier.fromSystemProperties().verify(() -> display.getScreenshotAs(OutputType.BYTES));
+        }
+
+        String videoTitle = $(Player.TITLE.by()).getText();
         log.info("Видео успешно воспроизводится: {}", videoTitle);
     }
 
+    /**
+     * Прокручивает ленту сериями быстрых жестов и записывает пропускную способность в отчет.
+     *
+     * <p>Количество новых видео в секунду и пропуски кадров за прокрутку дописываются
+     * в отчет {@link ScrollBenchmark#record(ScrollMetrics)} для сравнения между сборками приложения.</p>
+     *
+     * @return показатели прокрутки
+     */
+    public static ScrollMetrics scrollFeed() {
+        log.info("Нагрузочная прокрутка ленты");
+
+        WaitBudget.await(Feed.VIDEOS.name(), FEED_TIMEOUT,
+                timeout -> $$(Feed.VIDEOS.by()).shouldHave(CollectionCondition.sizeGreaterThan(1), timeout));
+
+        ScrollBenchmark benchmark = new ScrollBenchmark((AndroidDriver) WebDriverRunner.getWebDriver(), VK_PACKAGE,
+                Feed.LIST.by(), Feed.VIDEOS.value());
+        ScrollMetrics metrics = benchmark.run();
+
+        ScrollBenchmark.record(metrics);
+        log.info("Показатели прокрутки ленты: {}", metrics.toMap());
+        return metrics;
+    }
+
+    /**
+     * Открывает deep link на каждое видео из каталога и генератора в текущей сессии и записывает итоги в отчет.
+     *
+     * <p>Результат каждой ссылки определяется по одному снимку экрана ({@link DeepLinkCampaign}), количество
+     * ссылок в минуту и результаты по происхождению ID дописываются в отчет
+     * {@link DeepLinkCampaign#record(DeepLinkReport)}.</p>
+     *
+     * @return итоги кампании
+     */
+    public static DeepLinkReport runDeepLinkCampaign() {
+        log.info("Deep link кампания");
+
+        DeepLinkReport report = new DeepLinkCampaign((AndroidDriver) WebDriverRunner.getWebDriver(), VK_PACKAGE,
+                VK_DEEP_LINK_PREFIX).run(DeepLinkCampaign.idsFromSystemProperties());
+
+        DeepLinkCampaign.record(report);
+        log.info("Итоги deep link кампании: {}", report.toMap());
+        return report;
+    }
+
+    /**
+     * Повторяет цикл "первое видео в ленте - проверка воспроизведения - назад" в одной сессии
+     * и проверяет, что память приложения и длительность цикла не растут.
+     *
+     * <p>Количество циклов или длительность, прогрев и частота замеров памяти задаются {@link SoakPlan},
+     * допустимые наклоны трендов - {@link SoakThresholds}. Итоги дописываются в отчет
+     * {@link SoakRunner#record(SoakReport, List)}.</p>
+     *
+     * @return итоги прогона
+     * @throws AssertionError если тренд памяти или длительности цикла превысил порог
+     */
+    public static SoakReport runPlaybackSoak() {
+        log.info("Длительное воспроизведение видео");
+
+        AndroidDriver driver = (AndroidDriver) WebDriverRunner.getWebDriver();
+        SoakReport report = new SoakRunner(SoakPlan.fromSystemProperties(), SoakRunner.meminfo(driver, VK_PACKAGE))
+                .run(() -> {
+                    playFirstVideoInFeed();
+                    assertVideoIsPlaying();
+                    driver.navigate().back();
+                });
+        List<String> violations = SoakThresholds.fromSystemProperties().violations(report);
+
+        SoakRunner.record(report, violations);
+        log.info("Итоги длительного воспроизведения: {}", report.toMap());
+
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Длительное воспроизведение: " + String.join("; ", violations));
+        }
+        return report;
+    }
+
     /**
      * Открывает Deeplink для конкретного видео в приложении VK Video.
      *
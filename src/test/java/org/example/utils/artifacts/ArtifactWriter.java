@@ -0,0 +1,201 @@
+package org.example.utils.artifacts;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Фоновая запись артефактов упавших тестов.
+ *
+ * <p>Артефакты принимаются в ограниченную очередь без ожидания: если очередь заполнена,
+ * артефакты отбрасываются, а тест не задерживается. Фоновый поток упаковывает каждый набор
+ * в {@code <тест>-<время>.zip} и записывает, пока суммарный размер за прогон не превысит лимит.</p>
+ * <p>Настройки: каталог {@code artifacts.dir} (по умолчанию {@code target/artifacts}),
+ * размер очереди {@code artifacts.queue.size} (8), лимит {@code artifacts.max.mb} (100).</p>
+ */
+public final class ArtifactWriter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ArtifactWriter.class);
+
+    private static final String DIR_PROPERTY = "artifacts.dir";
+    private static final String DEFAULT_DIR = "target/artifacts";
+    private static final String QUEUE_PROPERTY = "artifacts.queue.size";
+    private static final int DEFAULT_QUEUE_SIZE = 8;
+    private static final String MAX_MB_PROPERTY = "artifacts.max.mb";
+    private static final long DEFAULT_MAX_MB = 100;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+    private static ArtifactWriter instance;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final BlockingQueue<FailureArtifacts> queue;
+    private final AtomicLong writtenBytes = new AtomicLong();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean closing;
+
+    /**
+     * Создает писатель и запускает фоновый поток записи.
+     *
+     * @param directory каталог артефактов
+     * @param queueSize сколько наборов артефактов может ожидать записи
+     * @param maxBytes  лимит суммарного размера архивов за прогон
+     */
+    public ArtifactWriter(Path directory, int queueSize, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.worker = Thread.ofVirtual().name("failure-artifacts").start(this::run);
+    }
+
+    /**
+     * Возвращает общий писатель прогона с настройками из системных свойств.
+     *
+     * @return писатель артефактов
+     */
+    public static synchronized ArtifactWriter instance() {
+        if (instance == null) {
+            instance = new ArtifactWriter(
+                    Path.of(System.getProperty(DIR_PROPERTY, DEFAULT_DIR)),
+                    Integer.getInteger(QUEUE_PROPERTY, DEFAULT_QUEUE_SIZE),
+                    Long.getLong(MAX_MB_PROPERTY, DEFAULT_MAX_MB) * 1024 * 1024);
+        }
+        return instance;
+    }
+
+    /**
+     * Ставит артефакты в очередь на запись, не дожидаясь места в очереди.
+     *
+     * @param artifacts артефакты упавшего теста
+     * @return {@code false}, если очередь заполнена или писатель закрыт и артефакты отброшены
+     */
+    public boolean submit(FailureArtifacts artifacts) {
+        if (closing || !queue.offer(artifacts)) {
+            dropped.incrementAndGet();
+            log.warn("Артефакты {} отброшены: очередь записи заполнена", artifacts.testId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает суммарный размер записанных архивов.
+     *
+     * @return размер в байтах
+     */
+    public long writtenBytes() {
+        return writtenBytes.get();
+    }
+
+    /**
+     * Возвращает количество отброшенных наборов: из-за заполненной очереди или лимита размера.
+     *
+     * @return количество наборов
+     */
+    public int dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Дописывает артефакты, уже стоящие в очереди, и останавливает фоновый поток.
+     *
+     * @param timeout сколько ждать записи очереди
+     */
+    public void close(Duration timeout) {
+        closing = true;
+        try {
+            if (!worker.join(timeout)) {
+                log.warn("Запись артефактов не завершилась за {} мс, в очереди: {}", timeout.toMillis(), queue.size());
+                worker.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        close(Duration.ofSeconds(30));
+    }
+
+    private void run() {
+        try {
+            while (!closing || !queue.isEmpty()) {
+                FailureArtifacts artifacts = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (artifacts != null) {
+                    write(artifacts);
+                }
+            }
+        } catch (InterruptedException e) {
+            log.debug("Запись артефактов прервана");
+        }
+    }
+
+    private void write(FailureArtifacts artifacts) {
+        try {
+            byte[] archive = zip(artifacts);
+            if (writtenBytes.get() + archive.length > maxBytes) {
+                dropped.incrementAndGet();
+                log.warn("Артефакты {} отброшены: превышен лимит {} МБ за прогон",
+                        artifacts.testId(), maxBytes / 1024 / 1024);
+                return;
+            }
+            Files.createDirectories(directory);
+            Path file = directory.resolve(fileName(artifacts));
+            Files.write(file, archive);
+            writtenBytes.addAndGet(archive.length);
+            log.info("Артефакты падения {} записаны в {}", artifacts.testId(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Не удалось записать артефакты {}: {}", artifacts.testId(), e.getMessage());
+        }
+    }
+
+    private static byte[] zip(FailureArtifacts artifacts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            entry(zip, "failure.txt", artifacts.testId() + "\n" + artifacts.failedAt() + "\n\n" + artifacts.failure());
+            if (!artifacts.hierarchy().isEmpty()) {
+                entry(zip, "hierarchy.xml", artifacts.hierarchy());
+            }
+            if (!artifacts.logcat().isEmpty()) {
+                entry(zip, "logcat.txt", String.join("\n", artifacts.logcat()));
+            }
+            if (artifacts.screenshot().length > 0) {
+                // PNG уже сжат, повторное сжатие только тратит время
+                zip.setLevel(Deflater.NO_COMPRESSION);
+                zip.putNextEntry(new ZipEntry("screenshot.png"));
+                zip.write(artifacts.screenshot());
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void entry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String fileName(FailureArtifacts artifacts) {
+        return artifacts.testId().replaceAll("[^\\w.-]", "_") + "-" + FILE_TIME.format(artifacts.failedAt()) + ".zip";
+    }
+}
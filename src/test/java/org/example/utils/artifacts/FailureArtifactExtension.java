@@ -0,0 +1,68 @@
+package org.example.utils.artifacts;
+
+import org.example.utils.session.TestSession;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.opentest4j.TestAbortedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JUnit расширение, сохраняющее артефакты упавших тестов.
+ *
+ * <p>При падении теста, пока сессия еще открыта, снимаются скриншот, иерархия интерфейса
+ * и последние строки logcat ({@link FailureArtifacts}). Упаковка и запись выполняются в фоне
+ * ({@link ArtifactWriter}), поэтому завершение теста не ждет диска. Очередь дописывается
+ * после всех тестов прогона.</p>
+ */
+public class FailureArtifactExtension implements BeforeAllCallback, TestExecutionExceptionHandler,
+        LifecycleMethodExecutionExceptionHandler {
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifactExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FailureArtifactExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Flush.class, key -> new Flush(), Flush.class);
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        capture(context, throwable);
+        throw throwable;
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable)
+            throws Throwable {
+        capture(context, throwable);
+        throw throwable;
+    }
+
+    private static void capture(ExtensionContext context, Throwable throwable) {
+        TestSession session = TestSession.current();
+        if (session == null || throwable instanceof TestAbortedException) {
+            return;
+        }
+        String testId = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+        try {
+            ArtifactWriter.instance().submit(
+                    FailureArtifacts.capture(testId, throwable, session.driver(), session.logcat()));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось снять артефакты падения {}: {}", testId, e.getMessage());
+        }
+    }
+
+    /**
+     * Дописывает очередь артефактов при закрытии корневого контекста JUnit, то есть после всех тестов.
+     */
+    private static final class Flush implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            ArtifactWriter.instance().close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.utils.artifacts;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.logcat.LogcatLine;
+import org.example.utils.logcat.LogcatStream;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Состояние устройства в момент падения теста.
+ *
+ * @param testId     идентификатор теста, {@code Класс#метод}
+ * @param failedAt   время падения
+ * @param failure    текст ошибки со стеком вызовов
+ * @param screenshot скриншот экрана в PNG или пустой массив, если его не удалось получить
+ * @param hierarchy  XML иерархии интерфейса или пустая строка, если ее не удалось получить
+ * @param logcat     последние строки logcat сессии
+ */
+public record FailureArtifacts(String testId, Instant failedAt, String failure, byte[] screenshot,
+                               String hierarchy, List<String> logcat) {
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifacts.class);
+
+    private static final int LOGCAT_LINES = 500;
+
+    /**
+     * Снимает состояние устройства: скриншот, иерархию и последние строки logcat.
+     *
+     * <p>Выполняет только запросы к устройству; сжатие и запись на диск выполняет {@link ArtifactWriter}.
+     * Ошибки отдельных запросов не прерывают съемку остальных артефактов.</p>
+     *
+     * @param testId  идентификатор теста
+     * @param failure ошибка теста
+     * @param driver  драйвер сессии теста
+     * @param logcat  поток logcat сессии
+     * @return снятые артефакты
+     */
+    public static FailureArtifacts capture(String testId, Throwable failure, AndroidDriver driver,
+                                           Optional<LogcatStream> logcat) {
+        byte[] screenshot = new byte[0];
+        try {
+            screenshot = driver.getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
+            log.warn("Не удалось снять скриншот для {}: {}", testId, e.getMessage());
+        }
+
+        String hierarchy = "";
+        try {
+            hierarchy = driver.getPageSource();
+        } catch (WebDriverException e) {
+            log.warn("Не удалось получить иерархию для {}: {}", testId, e.getMessage());
+        }
+
+        logcat.ifPresent(LogcatStream::catchUp);
+        List<String> lines = logcat.map(stream -> stream.recent(LOGCAT_LINES)).orElse(List.of()).stream()
+                .map(LogcatLine::raw)
+                .toList();
+        return new FailureArtifacts(testId, Instant.now(), stackTrace(failure), screenshot, hierarchy, lines);
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter trace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+}
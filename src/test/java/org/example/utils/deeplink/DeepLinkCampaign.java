@@ -0,0 +1,236 @@
+package org.example.utils.deeplink;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.locator.AnyOf;
+import org.example.utils.session.TestSession;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.example.utils.locator.VKVideoLocators.ErrorScreen;
+import static org.example.utils.locator.VKVideoLocators.Feed;
+
+/**
+ * Массовое открытие deep link на видео в одной сессии.
+ *
+ * <p>Для каждого ID выполняется {@code mobile: deepLink}, одно ожидание экрана с результатом (не дольше
+ * {@link #SETTLE_TIMEOUT}) и чтение иерархии экрана. Разбор иерархии и определение результата ({@link DeepLinkOutcome}) выполняются
+ * в отдельном потоке, пока сессия уже открывает следующую ссылку; очередь разбора ограничена
+ * {@value #MAX_IN_FLIGHT} экранами. Если приложение отклонило ссылку, иерархия не читается.</p>
+ * <p>Режим включается свойством {@code deeplink.campaign=true}, количество сгенерированных ID задается
+ * {@code deeplink.count} (по умолчанию 2000), начальное значение генератора - {@code deeplink.seed}.
+ * Итоги дописываются строкой JSON вместе с версией приложения в {@code target/metrics/deeplinks.jsonl},
+ * путь меняется свойством {@code deeplink.report}.</p>
+ */
+public final class DeepLinkCampaign {
+    private static final Logger log = LoggerFactory.getLogger(DeepLinkCampaign.class);
+
+    private static final String CAMPAIGN_PROPERTY = "deeplink.campaign";
+    private static final String COUNT_PROPERTY = "deeplink.count";
+    private static final int DEFAULT_COUNT = 2000;
+    private static final String SEED_PROPERTY = "deeplink.seed";
+    private static final long DEFAULT_SEED = 23;
+    private static final String REPORT_PROPERTY = "deeplink.report";
+    private static final String DEFAULT_REPORT = "target/metrics/deeplinks.jsonl";
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final int EXAMPLES = 5;
+    private static final int EXAMPLE_LENGTH = 64;
+    private static final Duration CLASSIFY_TIMEOUT = Duration.ofMinutes(1);
+    private static final Duration SETTLE_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * Экран с результатом ссылки одним UiSelector: экран ошибки всегда содержит кнопку закрытия,
+     * поэтому текст ошибки, заданный XPath, в ожидание не входит.
+     */
+    private static final AnyOf SETTLED = AnyOf.of("Экран после deep link", Feed.MAIN_CONTENT, ErrorScreen.CLOSE_BUTTON);
+
+    private final AndroidDriver driver;
+    private final String appPackage;
+    private final String urlPrefix;
+
+    /**
+     * Создает кампанию.
+     *
+     * @param driver     драйвер сессии
+     * @param appPackage пакет приложения, которому передаются ссылки
+     * @param urlPrefix  начало ссылки, к которому добавляется ID видео
+     */
+    public DeepLinkCampaign(AndroidDriver driver, String appPackage, String urlPrefix) {
+        this.driver = driver;
+        this.appPackage = appPackage;
+        this.urlPrefix = urlPrefix;
+    }
+
+    /**
+     * @return {@code true}, если включен режим deep link кампании
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(CAMPAIGN_PROPERTY);
+    }
+
+    /**
+     * Возвращает каталог и сгенерированные ID с количеством и начальным значением из системных свойств.
+     *
+     * @return поток ID
+     */
+    public static Stream<VideoId> idsFromSystemProperties() {
+        return new VideoIdGenerator(Long.getLong(SEED_PROPERTY, DEFAULT_SEED))
+                .ids(Integer.getInteger(COUNT_PROPERTY, DEFAULT_COUNT));
+    }
+
+    /**
+     * Открывает ссылку на каждое видео и определяет результат по одному снимку экрана.
+     *
+     * @param ids ID видео, поток читается один раз
+     * @return итоги кампании
+     * @throws WebDriverException    если сессия перестала отвечать
+     * @throws IllegalStateException если разбор экранов не завершился
+     */
+    public DeepLinkReport run(Stream<VideoId> ids) {
+        Tally tally = new Tally();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        ExecutorService classifier = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().daemon().name("deeplink-classifier").factory());
+        long start = System.nanoTime();
+        try {
+            for (Iterator<VideoId> iterator = ids.iterator(); iterator.hasNext(); ) {
+                VideoId id = iterator.next();
+                String source = open(id);
+                inFlight.acquireUninterruptibly();
+                classifier.execute(() -> {
+                    try {
+                        tally.add(id, source == null ? DeepLinkOutcome.REJECTED : classify(source));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            classifier.shutdown();
+        }
+        try {
+            if (!classifier.awaitTermination(CLASSIFY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Разбор экранов deep link не завершился за " + CLASSIFY_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Deep link кампания прервана", e);
+        }
+        return tally.report((System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Дописывает итоги в отчет о deep link кампаниях.
+     *
+     * @param report итоги кампании
+     */
+    public static synchronized void record(DeepLinkReport report) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        TestSession session = TestSession.current();
+        if (session != null) {
+            line.put("device", session.device().udid());
+            line.put("appVersion", session.appVersion());
+        }
+        line.put("report", report.toMap());
+
+        Path file = Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            StringBuilder json = new StringBuilder();
+            try (JsonOutput output = new Json().newOutput(json)) {
+                output.setPrettyPrint(false).write(line);
+            }
+            Files.writeString(file, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о deep link кампании {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Открывает ссылку, ждет экран с результатом и читает иерархию экрана.
+     *
+     * <p>Если экран с результатом не появился за {@link #SETTLE_TIMEOUT}, иерархия читается как есть
+     * и результат определяется при разборе.</p>
+     *
+     * @return иерархия или {@code null}, если приложение отклонило ссылку
+     */
+    private String open(VideoId id) {
+        try {
+            driver.executeScript("mobile: deepLink", Map.of(
+                    "url", urlPrefix + id.value(),
+                    "package", appPackage
+            ));
+        } catch (WebDriverException e) {
+            log.debug("Ссылка на {} отклонена: {}", id.value(), e.getClass().getSimpleName());
+            return null;
+        }
+        try {
+            new WebDriverWait(driver, SETTLE_TIMEOUT)
+                    .until(session -> !session.findElements(SETTLED.by()).isEmpty());
+        } catch (TimeoutException e) {
+            log.debug("Экран после ссылки на {} не появился за {} с", id.value(), SETTLE_TIMEOUT.toSeconds());
+        }
+        return driver.getPageSource();
+    }
+
+    private static DeepLinkOutcome classify(String source) {
+        try {
+            return DeepLinkOutcome.classify(UiSnapshot.parse(source));
+        } catch (RuntimeException e) {
+            log.debug("Иерархия экрана не разобрана: {}", e.getMessage());
+            return DeepLinkOutcome.UNRECOGNIZED;
+        }
+    }
+
+    /**
+     * Счетчики результатов; изменяются только потоком разбора экранов.
+     */
+    private static final class Tally {
+        private final Map<DeepLinkOutcome, Integer> outcomes = new EnumMap<>(DeepLinkOutcome.class);
+        private final Map<VideoIdKind, Map<DeepLinkOutcome, Integer>> byKind = new EnumMap<>(VideoIdKind.class);
+        private final Map<DeepLinkOutcome, List<String>> examples = new EnumMap<>(DeepLinkOutcome.class);
+        private int links;
+
+        void add(VideoId id, DeepLinkOutcome outcome) {
+            links++;
+            outcomes.merge(outcome, 1, Integer::sum);
+            byKind.computeIfAbsent(id.kind(), kind -> new EnumMap<>(DeepLinkOutcome.class))
+                    .merge(outcome, 1, Integer::sum);
+            List<String> outcomeExamples = examples.computeIfAbsent(outcome, key -> new ArrayList<>());
+            if (outcomeExamples.size() < EXAMPLES) {
+                String value = id.value().length() > EXAMPLE_LENGTH
+                        ? id.value().substring(0, EXAMPLE_LENGTH) + "..." : id.value();
+                outcomeExamples.add(id.origin().isEmpty() ? value : value + " (" + id.origin() + ")");
+            }
+        }
+
+        DeepLinkReport report(long elapsedMillis) {
+            return new DeepLinkReport(links, elapsedMillis, outcomes, byKind, examples);
+        }
+    }
+}
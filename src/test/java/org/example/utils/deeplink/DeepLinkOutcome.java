@@ -0,0 +1,55 @@
+package org.example.utils.deeplink;
+
+import org.example.utils.locator.AnyOf;
+import org.example.utils.locator.Locator;
+import org.example.utils.snapshot.UiSnapshot;
+
+import java.util.Map;
+
+import static org.example.utils.locator.VKVideoLocators.ErrorScreen;
+import static org.example.utils.locator.VKVideoLocators.Feed;
+
+/**
+ * Результат открытия deep link на видео в VK Video.
+ */
+public enum DeepLinkOutcome {
+    /**
+     * Приложение показало экран ошибки.
+     */
+    ERROR,
+    /**
+     * Приложение показало главный экран с лентой.
+     */
+    MAIN_CONTENT,
+    /**
+     * Открыт экран с кнопкой закрытия без текста ошибки, например плеер.
+     */
+    CLOSE_BUTTON,
+    /**
+     * Команда {@code mobile: deepLink} отклонена: приложение не обрабатывает ссылку.
+     */
+    REJECTED,
+    /**
+     * Ни один из ожидаемых экранов не распознан.
+     */
+    UNRECOGNIZED;
+
+    private static final AnyOf SCREEN = AnyOf.of("Результат deep link",
+            ErrorScreen.ERROR_TEXT, Feed.MAIN_CONTENT, ErrorScreen.CLOSE_BUTTON);
+    private static final Map<Locator, DeepLinkOutcome> BY_MARKER = Map.of(
+            ErrorScreen.ERROR_TEXT, ERROR,
+            Feed.MAIN_CONTENT, MAIN_CONTENT,
+            ErrorScreen.CLOSE_BUTTON, CLOSE_BUTTON);
+
+    /**
+     * Определяет результат по одному снимку экрана после открытия ссылки.
+     *
+     * <p>Элементы проверяются по приоритету: текст ошибки, главный экран, кнопка закрытия.</p>
+     *
+     * @param snapshot снимок экрана
+     * @return результат или {@link #UNRECOGNIZED}, если ни один элемент не найден
+     */
+    public static DeepLinkOutcome classify(UiSnapshot snapshot) {
+        return SCREEN.firstIn(snapshot).map(BY_MARKER::get).orElse(UNRECOGNIZED);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.utils.deeplink;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итоги deep link кампании.
+ *
+ * @param links         количество открытых ссылок
+ * @param elapsedMillis длительность кампании вместе с классификацией последнего экрана
+ * @param outcomes      количество ссылок по результату
+ * @param byKind        количество ссылок по происхождению ID и результату
+ * @param examples      первые ID каждого результата с происхождением, для разбора
+ */
+public record DeepLinkReport(int links,
+                             long elapsedMillis,
+                             Map<DeepLinkOutcome, Integer> outcomes,
+                             Map<VideoIdKind, Map<DeepLinkOutcome, Integer>> byKind,
+                             Map<DeepLinkOutcome, List<String>> examples) {
+
+    /**
+     * @return количество открытых ссылок в минуту
+     */
+    public double linksPerMinute() {
+        return elapsedMillis == 0 ? 0 : links * 60_000.0 / elapsedMillis;
+    }
+
+    /**
+     * @param outcome результат
+     * @return количество ссылок с этим результатом
+     */
+    public int count(DeepLinkOutcome outcome) {
+        return outcomes.getOrDefault(outcome, 0);
+    }
+
+    /**
+     * Формирует представление итогов для JSON отчета.
+     *
+     * @return итоги в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("links", links);
+        map.put("elapsedMs", elapsedMillis);
+        map.put("linksPerMinute", Math.round(linksPerMinute()));
+        map.put("outcomes", outcomes);
+        map.put("byKind", byKind);
+        map.put("examples", examples);
+        return map;
+    }
+}
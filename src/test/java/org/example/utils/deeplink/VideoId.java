@@ -0,0 +1,11 @@
+package org.example.utils.deeplink;
+
+/**
+ * ID видео для deep link вместе с его происхождением.
+ *
+ * @param value  ID, подставляемый в ссылку {@code vk://vk.com/video<ID>}
+ * @param kind   происхождение ID
+ * @param origin комментарий каталога или название искажения, для отчета
+ */
+public record VideoId(String value, VideoIdKind kind, String origin) {
+}
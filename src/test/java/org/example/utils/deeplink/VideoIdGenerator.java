@@ -0,0 +1,122 @@
+package org.example.utils.deeplink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Источник ID видео для deep link кампании: каталог из ресурсов и детерминированно сгенерированные ID.
+ *
+ * <p>Сгенерированные ID создаются лениво по мере чтения потока, поэтому тысячи ID не хранятся в памяти.
+ * Половина из них имеет правильный формат {@code [-]<владелец>_<видео>}, остальные получаются из правильных
+ * одним из искажений: обрезка, буквы, переполнение, кодирование, пробелы и т.п. При одном и том же
+ * {@code seed} последовательность одинакова, поэтому найденный кампанией результат воспроизводится
+ * повторным запуском.</p>
+ */
+public final class VideoIdGenerator {
+    private static final String CATALOGUE = "/deeplink/video-ids.txt";
+    private static final String COMMENT = "#";
+    private static final String FULLWIDTH_DIGITS = "０１２３４５６７８９";
+    private static final int LONG_ID_LENGTH = 2048;
+
+    /**
+     * Искажения правильного ID: название для отчета и функция от ID и генератора случайных чисел.
+     */
+    private static final List<Mutation> MUTATIONS = List.of(
+            new Mutation("обрезан", (id, random) -> id.substring(0, random.nextInt(id.length()))),
+            new Mutation("без разделителя", (id, random) -> id.replace("_", "")),
+            new Mutation("лишняя часть", (id, random) -> id + "_" + random.nextInt(1000)),
+            new Mutation("двойной минус", (id, random) -> "-" + id),
+            new Mutation("буква вместо цифры", (id, random) -> replaceDigit(id, random, (char) ('a' + random.nextInt(26)))),
+            new Mutation("переполнение", (id, random) -> id + "9".repeat(20)),
+            new Mutation("широкие цифры", (id, random) -> fullwidth(id)),
+            new Mutation("кодирование", (id, random) -> id.replace("-", "%2D").replace("_", "%5F")),
+            new Mutation("нулевой байт", (id, random) -> id + "%00"),
+            new Mutation("обход пути", (id, random) -> "../" + id),
+            new Mutation("пробелы", (id, random) -> " " + id.replace("_", " _ ") + " "),
+            new Mutation("пустой", (id, random) -> ""),
+            new Mutation("длинный", (id, random) -> "1".repeat(LONG_ID_LENGTH)));
+
+    private final long seed;
+
+    /**
+     * @param seed начальное значение генератора случайных чисел
+     */
+    public VideoIdGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Возвращает ID из каталога {@code /deeplink/video-ids.txt}.
+     *
+     * @return ID в порядке каталога, комментарий строки становится {@link VideoId#origin()}
+     * @throws IllegalStateException если каталог не найден в ресурсах
+     */
+    public static List<VideoId> catalogue() {
+        try (InputStream in = VideoIdGenerator.class.getResourceAsStream(CATALOGUE)) {
+            if (in == null) {
+                throw new IllegalStateException("Не найден каталог ID видео " + CATALOGUE);
+            }
+            List<VideoId> ids = new ArrayList<>();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\\R")) {
+                if (line.isBlank() || line.startsWith(COMMENT)) {
+                    continue;
+                }
+                int comment = line.indexOf(COMMENT);
+                ids.add(new VideoId((comment < 0 ? line : line.substring(0, comment)).strip(), VideoIdKind.CATALOGUED,
+                        comment < 0 ? "" : line.substring(comment + 1).strip()));
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать каталог ID видео " + CATALOGUE, e);
+        }
+    }
+
+    /**
+     * Возвращает каталог, за которым следуют сгенерированные ID.
+     *
+     * @param generated количество сгенерированных ID
+     * @return последовательный поток ID
+     */
+    public Stream<VideoId> ids(int generated) {
+        Random random = new Random(seed);
+        return Stream.concat(catalogue().stream(), Stream.generate(() -> next(random)).limit(generated));
+    }
+
+    private static VideoId next(Random random) {
+        String id = (random.nextBoolean() ? "-" : "") + (1 + random.nextInt(Integer.MAX_VALUE)) + "_"
+                + (1 + random.nextInt(Integer.MAX_VALUE));
+        if (random.nextBoolean()) {
+            return new VideoId(id, VideoIdKind.WELL_FORMED, "");
+        }
+        Mutation mutation = MUTATIONS.get(random.nextInt(MUTATIONS.size()));
+        return new VideoId(mutation.apply().apply(id, random), VideoIdKind.MALFORMED, mutation.name());
+    }
+
+    private static String replaceDigit(String id, Random random, char replacement) {
+        char[] chars = id.toCharArray();
+        int position;
+        do {
+            position = random.nextInt(chars.length);
+        } while (!Character.isDigit(chars[position]));
+        chars[position] = replacement;
+        return new String(chars);
+    }
+
+    private static String fullwidth(String id) {
+        StringBuilder result = new StringBuilder(id.length());
+        for (char c : id.toCharArray()) {
+            result.append(Character.isDigit(c) ? FULLWIDTH_DIGITS.charAt(c - '0') : c);
+        }
+        return result.toString();
+    }
+
+    private record Mutation(String name, BiFunction<String, Random, String> apply) {
+    }
+}
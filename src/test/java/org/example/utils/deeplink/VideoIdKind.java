@@ -0,0 +1,19 @@
+package org.example.utils.deeplink;
+
+/**
+ * Происхождение ID видео в deep link кампании.
+ */
+public enum VideoIdKind {
+    /**
+     * ID из каталога {@code /deeplink/video-ids.txt}: известные видео и граничные значения.
+     */
+    CATALOGUED,
+    /**
+     * Сгенерированный ID правильного формата {@code <владелец>_<видео>}.
+     */
+    WELL_FORMED,
+    /**
+     * Сгенерированный ID с искаженным форматом: обрезанный, с буквами, переполнением, кодированием и т.п.
+     */
+    MALFORMED
+}
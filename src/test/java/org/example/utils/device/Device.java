@@ -0,0 +1,11 @@
+package org.example.utils.device;
+
+/**
+ * Устройство из конфигурации {@link DeviceRegistry}.
+ *
+ * @param udid            серийный номер устройства или эмулятора (как в {@code adb devices})
+ * @param appiumServerUrl адрес Appium сервера, к которому подключено устройство
+ * @param platformVersion версия Android на устройстве
+ */
+public record Device(String udid, String appiumServerUrl, String platformVersion) {
+}
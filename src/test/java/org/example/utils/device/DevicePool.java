@@ -0,0 +1,102 @@
+package org.example.utils.device;
+
+import org.example.exceptions.NoDevicesAvailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пул устройств, на которых может выполняться тест одного приложения.
+ *
+ * <p>Каждое устройство одновременно выдается только одному тесту. Тест, которому не хватило
+ * устройства, ждет освобождения любого из них. Устройство, выпавшее из работы,
+ * выводится из ротации через {@link #retire(Device, String)}.</p>
+ */
+public class DevicePool {
+    private static final Logger log = LoggerFactory.getLogger(DevicePool.class);
+    private static final long POLL_INTERVAL_MS = 500;
+
+    private final String name;
+    private final LinkedBlockingQueue<Device> available;
+    private final Set<Device> active = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Создает пул с указанным набором устройств.
+     *
+     * @param name    имя пула (ключ приложения в конфигурации)
+     * @param devices устройства пула
+     */
+    public DevicePool(String name, List<Device> devices) {
+        this.name = name;
+        this.available = new LinkedBlockingQueue<>(devices);
+        this.active.addAll(devices);
+    }
+
+    /**
+     * Выдает свободное устройство, ожидая его освобождения не дольше указанного времени.
+     *
+     * @param timeout максимальное время ожидания свободного устройства
+     * @return устройство, закрепленное за вызывающим тестом
+     * @throws NoDevicesAvailableException если в пуле не осталось рабочих устройств
+     *                                     или ни одно не освободилось за {@code timeout}
+     * @throws InterruptedException        если поток был прерван во время ожидания
+     */
+    public Device lease(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            if (active.isEmpty()) {
+                throw new NoDevicesAvailableException(name, "все устройства выведены из ротации");
+            }
+
+            Device device = available.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            if (device != null && active.contains(device)) {
+                log.debug("Устройство {} выдано тесту", device.udid());
+                return device;
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new NoDevicesAvailableException(name, "ни одно устройство не освободилось за " + timeout);
+            }
+        }
+    }
+
+    /**
+     * Возвращает устройство в пул после завершения теста.
+     *
+     * @param device освобождаемое устройство
+     */
+    public void release(Device device) {
+        if (active.contains(device)) {
+            available.offer(device);
+        }
+    }
+
+    /**
+     * Выводит устройство из ротации. Следующие тесты его не получат.
+     *
+     * @param device устройство, переставшее отвечать
+     * @param reason причина вывода из ротации для лога
+     */
+    public void retire(Device device, String reason) {
+        if (active.remove(device)) {
+            available.remove(device);
+            log.warn("Устройство {} выведено из ротации пула '{}': {}", device.udid(), name, reason);
+        }
+    }
+
+    /**
+     * Возвращает количество устройств, оставшихся в ротации.
+     *
+     * @return количество рабочих устройств
+     */
+    public int size() {
+        return active.size();
+    }
+}
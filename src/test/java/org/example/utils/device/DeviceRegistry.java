@@ -0,0 +1,109 @@
+package org.example.utils.device;
+
+import org.example.exceptions.UtilityClassException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр устройств, на которых выполняются тесты.
+ *
+ * <p>Устройства и адреса Appium серверов читаются из {@code devices.properties} в ресурсах
+ * тестов либо из файла, указанного в системном свойстве {@code devices.config}.
+ * Формат записи:</p>
+ * <pre>
+ * &lt;приложение&gt;.device.&lt;udid&gt;=&lt;адрес Appium сервера&gt;;&lt;версия Android&gt;
+ * </pre>
+ * <p>Для каждого приложения создается отдельный {@link DevicePool}.</p>
+ */
+public class DeviceRegistry {
+    private static final Logger log = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    private static final String CONFIG_PROPERTY = "devices.config";
+    private static final String DEFAULT_CONFIG_RESOURCE = "/devices.properties";
+    private static final String DEVICE_KEY_MARKER = ".device.";
+    private static final String VALUE_SEPARATOR = ";";
+
+    private static final Map<String, DevicePool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает пул устройств для указанного приложения.
+     *
+     * @param app ключ приложения в конфигурации, например {@code vkvideo}
+     * @return пул устройств приложения
+     * @throws IllegalStateException если для приложения не настроено ни одного устройства
+     */
+    public static DevicePool pool(String app) {
+        return POOLS.computeIfAbsent(app, DeviceRegistry::createPool);
+    }
+
+    private static DevicePool createPool(String app) {
+        Properties config = loadConfig();
+        String prefix = app + DEVICE_KEY_MARKER;
+        List<Device> devices = new ArrayList<>();
+
+        for (String key : config.stringPropertyNames()) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String udid = key.substring(prefix.length());
+            String[] values = config.getProperty(key).split(VALUE_SEPARATOR);
+            if (values.length != 2) {
+                throw new IllegalStateException("Некорректное описание устройства '" + key
+                        + "', ожидается <адрес Appium сервера>;<версия Android>");
+            }
+            devices.add(new Device(udid, values[0].trim(), values[1].trim()));
+        }
+
+        if (devices.isEmpty()) {
+            throw new IllegalStateException("Для приложения '" + app + "' не настроено ни одного устройства");
+        }
+
+        log.info("Пул устройств '{}': {}", app, devices.stream().map(Device::udid).toList());
+        return new DevicePool(app, devices);
+    }
+
+    private static Properties loadConfig() {
+        Properties config = new Properties();
+        String path = System.getProperty(CONFIG_PROPERTY);
+
+        try {
+            if (path != null) {
+                try (Reader reader = Files.newBufferedReader(Path.of(path), StandardCharsets.UTF_8)) {
+                    config.load(reader);
+                }
+            } else {
+                try (InputStream in = DeviceRegistry.class.getResourceAsStream(DEFAULT_CONFIG_RESOURCE)) {
+                    if (in == null) {
+                        throw new IllegalStateException("Не найден ресурс " + DEFAULT_CONFIG_RESOURCE);
+                    }
+                    config.load(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать конфигурацию устройств", e);
+        }
+        return config;
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private DeviceRegistry() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.utils.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченный кольцевой буфер без блокировок для многих писателей и одного читателя.
+ *
+ * <p>Каждая ячейка хранит номер последовательности: писатель занимает позицию одним CAS и публикует
+ * элемент, сдвигая номер ячейки, читатель забирает элементы по порядку позиций. Запись никогда
+ * не ждет: если буфер заполнен, {@link #offer(Object)} сразу возвращает {@code false}.</p>
+ *
+ * @param <E> тип элементов
+ */
+public final class EventRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Создает буфер.
+     *
+     * @param capacity емкость, степень двойки
+     * @throws IllegalArgumentException если емкость не является степенью двойки
+     */
+    public EventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Емкость буфера должна быть степенью двойки: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Добавляет элемент, не дожидаясь места в буфере. Безопасно вызывать из нескольких потоков.
+     *
+     * @param element элемент
+     * @return {@code false}, если буфер заполнен и элемент не добавлен
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Забирает следующий опубликованный элемент. Вызывается только из потока читателя.
+     *
+     * @return элемент или {@code null}, если буфер пуст
+     */
+    public E poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.set(index, null);
+        sequences.set(index, position + mask + 1);
+        head.set(position + 1);
+        return element;
+    }
+
+    /**
+     * @return приблизительное количество элементов в буфере
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
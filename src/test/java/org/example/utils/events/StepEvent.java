@@ -0,0 +1,107 @@
+package org.example.utils.events;
+
+import org.example.utils.locator.Locator;
+import org.example.utils.metrics.CommandMetrics;
+import org.example.utils.session.TestSession;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Событие выполнения шага теста.
+ *
+ * @param timestampMillis время завершения шага, мс от эпохи
+ * @param test            идентификатор теста {@code Класс#метод} или пустая строка вне теста
+ * @param device          udid устройства сессии или пустая строка без сессии
+ * @param app             пакет приложения сессии или пустая строка без сессии
+ * @param build           версия приложения сессии или пустая строка без сессии
+ * @param step            название шага ожидания
+ * @param locator         значение локатора с тем же названием или пустая строка
+ * @param optional        проверка необязательного элемента
+ * @param timeoutMillis   выделенный шагу таймаут
+ * @param durationMicros  фактическая длительность шага
+ * @param outcome         результат шага
+ * @param error           класс ошибки шага или пустая строка
+ */
+public record StepEvent(long timestampMillis,
+                        String test,
+                        String device,
+                        String app,
+                        String build,
+                        String step,
+                        String locator,
+                        boolean optional,
+                        long timeoutMillis,
+                        long durationMicros,
+                        StepOutcome outcome,
+                        String error) {
+
+    /**
+     * Создает событие шага, выполненного в текущем потоке, с тестом и устройством этого потока.
+     *
+     * @param step          название шага ожидания
+     * @param optional      проверка необязательного элемента
+     * @param timeout       выделенный шагу таймаут
+     * @param durationNanos фактическая длительность шага
+     * @param failure       ошибка шага или {@code null}
+     * @return событие шага
+     */
+    public static StepEvent of(String step, boolean optional, Duration timeout, long durationNanos, Throwable failure) {
+        return of(step, optional, timeout, durationNanos,
+                failure == null ? StepOutcome.PASSED : StepOutcome.FAILED,
+                failure == null ? "" : failure.getClass().getSimpleName());
+    }
+
+    /**
+     * Создает событие шага, выполненного в текущем потоке, с тестом и устройством этого потока.
+     *
+     * @param step          название шага ожидания
+     * @param optional      проверка необязательного элемента
+     * @param timeout       выделенный шагу таймаут
+     * @param durationNanos фактическая длительность шага
+     * @param outcome       результат шага
+     * @param error         класс ошибки шага или пустая строка
+     * @return событие шага
+     */
+    public static StepEvent of(String step, boolean optional, Duration timeout, long durationNanos,
+                               StepOutcome outcome, String error) {
+        TestSession session = TestSession.current();
+        return new StepEvent(
+                System.currentTimeMillis(),
+                CommandMetrics.instance().currentTest().orElse(""),
+                session == null ? "" : session.device().udid(),
+                session == null ? "" : session.config().appPackage(),
+                session == null ? "" : session.appVersion(),
+                step,
+                Locator.named(step).map(Locator::value).orElse(""),
+                optional,
+                timeout.toMillis(),
+                durationNanos / 1_000,
+                outcome,
+                error);
+    }
+
+    /**
+     * Формирует представление события для строки JSON.
+     *
+     * @return поля события в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("timestamp", Instant.ofEpochMilli(timestampMillis).toString());
+        map.put("test", test);
+        map.put("device", device);
+        map.put("app", app);
+        map.put("build", build);
+        map.put("step", step);
+        map.put("locator", locator);
+        map.put("optional", optional);
+        map.put("timeoutMs", timeoutMillis);
+        map.put("durationUs", durationMicros);
+        map.put("outcome", outcome.name());
+        map.put("error", error);
+        return map;
+    }
+}
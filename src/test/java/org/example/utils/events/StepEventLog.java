@@ -0,0 +1,183 @@
+package org.example.utils.events;
+
+import org.example.utils.timings.TimingStore;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Асинхронный журнал шагов тестов в формате JSON lines.
+ *
+ * <p>Поток теста только кладет {@link StepEvent} в {@link EventRingBuffer}, без блокировок и ввода-вывода.
+ * Фоновый поток забирает события и дописывает их по строке JSON в файл. Если буфер заполнен,
+ * событие отбрасывается и учитывается в {@link #dropped()}, тест не задерживается. Общий журнал прогона
+ * после записи передает длительность шага в хранилище замеров ({@link TimingStore#recordStep(StepEvent)}).</p>
+ * <p>Настройки: файл {@code events.file} (по умолчанию {@code target/metrics/steps.jsonl}),
+ * емкость буфера {@code events.buffer.size} (8192, степень двойки), отключение {@code events.log=false}.</p>
+ */
+public final class StepEventLog implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(StepEventLog.class);
+
+    private static final String ENABLED_PROPERTY = "events.log";
+    private static final String FILE_PROPERTY = "events.file";
+    private static final String DEFAULT_FILE = "target/metrics/steps.jsonl";
+    private static final String BUFFER_PROPERTY = "events.buffer.size";
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(5).toNanos();
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static volatile StepEventLog instance;
+
+    private final Path file;
+    private final boolean enabled;
+    private final EventRingBuffer<StepEvent> buffer;
+    private final Consumer<StepEvent> listener;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closing;
+
+    /**
+     * Создает журнал и запускает фоновый поток записи.
+     *
+     * @param file     файл журнала, события дописываются в конец
+     * @param capacity емкость буфера, степень двойки
+     */
+    public StepEventLog(Path file, int capacity) {
+        this(file, capacity, true, event -> {
+        });
+    }
+
+    private StepEventLog(Path file, int capacity, boolean enabled, Consumer<StepEvent> listener) {
+        this.file = file;
+        this.enabled = enabled;
+        this.buffer = new EventRingBuffer<>(capacity);
+        this.listener = listener;
+        this.writer = enabled ? Thread.ofPlatform().daemon().name("step-events").start(this::run) : null;
+    }
+
+    /**
+     * Возвращает общий журнал прогона с настройками из системных свойств.
+     *
+     * @return журнал шагов; при {@code events.log=false} события отбрасываются
+     */
+    public static StepEventLog instance() {
+        StepEventLog current = instance;
+        if (current != null) {
+            return current;
+        }
+        synchronized (StepEventLog.class) {
+            if (instance == null) {
+                instance = new StepEventLog(
+                        Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE)),
+                        Integer.getInteger(BUFFER_PROPERTY, DEFAULT_BUFFER_SIZE),
+                        Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")),
+                        TimingStore::recordStep);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Передает событие на запись, не дожидаясь места в буфере.
+     *
+     * @param event событие шага
+     * @return {@code false}, если событие отброшено
+     */
+    public boolean emit(StepEvent event) {
+        if (!enabled || closing || !buffer.offer(event)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return количество записанных в файл событий
+     */
+    public long written() {
+        return written.get();
+    }
+
+    /**
+     * @return количество отброшенных событий: буфер был заполнен или журнал закрыт
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Дописывает события из буфера и останавливает фоновый поток.
+     */
+    @Override
+    public void close() {
+        if (writer == null || closing) {
+            return;
+        }
+        closing = true;
+        LockSupport.unpark(writer);
+        try {
+            if (!writer.join(CLOSE_TIMEOUT)) {
+                log.warn("Запись журнала шагов не завершилась за {} мс, в буфере: {}", CLOSE_TIMEOUT.toMillis(),
+                        buffer.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            log.warn("Журнал шагов {}: отброшено событий: {}", file, dropped.get());
+        }
+    }
+
+    private void run() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                Json json = new Json();
+                while (true) {
+                    boolean stopping = closing;
+                    int batch = drain(json, out);
+                    if (batch > 0) {
+                        out.flush();
+                    } else if (stopping) {
+                        return;
+                    } else {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Журнал шагов {} не записывается: {}", file, e.getMessage());
+            closing = true;
+        }
+    }
+
+    private int drain(Json json, Writer out) throws IOException {
+        int count = 0;
+        StepEvent event;
+        while ((event = buffer.poll()) != null) {
+            StringBuilder line = new StringBuilder();
+            try (JsonOutput output = json.newOutput(line)) {
+                output.setPrettyPrint(false).write(event.toMap());
+            }
+            out.write(line.append('\n').toString());
+            written.incrementAndGet();
+            listener.accept(event);
+            count++;
+        }
+        return count;
+    }
+}
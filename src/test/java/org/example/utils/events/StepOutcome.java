@@ -0,0 +1,19 @@
+package org.example.utils.events;
+
+/**
+ * Результат шага ожидания.
+ */
+public enum StepOutcome {
+    /**
+     * Ожидание выполнено.
+     */
+    PASSED,
+    /**
+     * Ожидание завершилось ошибкой: элемент не появился или условие не выполнилось.
+     */
+    FAILED,
+    /**
+     * Бюджет ожиданий теста исчерпан, ожидание не выполнялось.
+     */
+    BUDGET_EXCEEDED
+}
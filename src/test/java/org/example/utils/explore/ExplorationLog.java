@@ -0,0 +1,190 @@
+package org.example.utils.explore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Журнал обхода на диске: найденные состояния, переходы и исследованные состояния в порядке обнаружения.
+ *
+ * <p>Файл только дописывается, записи двоичные: {@code A} - новое действие (номер и ключ {@link UiAction#key()}),
+ * {@code S} - новое состояние (отпечаток, родитель, действие), {@code E} - переход (откуда, действие, куда,
+ * -1 если приложение закрылось или элемент не нашелся), {@code D} - состояние исследовано. При открытии журнал воспроизводится
+ * в {@link StateSpace}, поэтому следующий прогон продолжает обход с первого неисследованного состояния.
+ * Журнал сбрасывается на диск после каждого перехода, незавершенная последняя запись (прогон прервали
+ * во время записи) при открытии отбрасывается.</p>
+ */
+final class ExplorationLog implements AutoCloseable {
+    private static final int MAGIC = 0x55494558;
+    private static final int VERSION = 1;
+    private static final byte ACTION = 'A';
+    private static final byte STATE = 'S';
+    private static final byte EDGE = 'E';
+    private static final byte DONE = 'D';
+
+    private final StateSpace space;
+    private final List<UiAction> actions = new ArrayList<>();
+    private final Map<UiAction, Integer> actionIds = new HashMap<>();
+    private final DataOutputStream out;
+    private long edges;
+
+    private ExplorationLog(StateSpace space, FileChannel channel) {
+        this.space = space;
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+
+    /**
+     * Открывает журнал на дозапись и воспроизводит уже записанные состояния.
+     *
+     * @param file  файл журнала, создается вместе с каталогами
+     * @param space пустое пространство состояний, которое заполняется из журнала
+     * @return открытый журнал
+     * @throws IOException если файл не читается или записан другим форматом
+     */
+    static ExplorationLog open(Path file, StateSpace space) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            ExplorationLog log = new ExplorationLog(space, channel);
+            if (channel.size() == 0) {
+                log.out.writeInt(MAGIC);
+                log.out.writeInt(VERSION);
+                log.out.flush();
+            } else {
+                channel.truncate(log.replay(channel, file));
+                channel.position(channel.size());
+            }
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int actionId(UiAction action) throws IOException {
+        Integer id = actionIds.get(action);
+        if (id != null) {
+            return id;
+        }
+        int created = register(action);
+        out.writeByte(ACTION);
+        out.writeInt(created);
+        out.writeUTF(action.key());
+        return created;
+    }
+
+    UiAction action(int id) {
+        return actions.get(id);
+    }
+
+    int addState(long hash, int parent, int action) throws IOException {
+        int state = space.add(hash, parent, action);
+        out.writeByte(STATE);
+        out.writeLong(hash);
+        out.writeInt(parent);
+        out.writeInt(action);
+        return state;
+    }
+
+    void edge(int from, int action, int to) throws IOException {
+        out.writeByte(EDGE);
+        out.writeInt(from);
+        out.writeInt(action);
+        out.writeInt(to);
+        out.flush();
+        edges++;
+    }
+
+    void explored(int state) throws IOException {
+        space.markExplored(state);
+        out.writeByte(DONE);
+        out.writeInt(state);
+        out.flush();
+    }
+
+    long edges() {
+        return edges;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private int register(UiAction action) {
+        int id = actions.size();
+        actions.add(action);
+        actionIds.put(action, id);
+        return id;
+    }
+
+    /**
+     * @return длина файла до первой незавершенной записи
+     */
+    private long replay(FileChannel channel, Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Файл не является журналом обхода версии " + VERSION + ": " + file);
+        }
+        long valid = Integer.BYTES * 2;
+        try {
+            while (true) {
+                byte type = in.readByte();
+                switch (type) {
+                    case ACTION -> {
+                        int id = in.readInt();
+                        String key = in.readUTF();
+                        if (id != actions.size()) {
+                            throw new IOException("Нарушен порядок действий в журнале " + file);
+                        }
+                        register(UiAction.parse(key));
+                        valid += 1 + Integer.BYTES + 2 + utfLength(key);
+                    }
+                    case STATE -> {
+                        long hash = in.readLong();
+                        int parent = in.readInt();
+                        int action = in.readInt();
+                        space.add(hash, parent, action);
+                        valid += 1 + Long.BYTES + Integer.BYTES * 2;
+                    }
+                    case EDGE -> {
+                        in.readInt();
+                        in.readInt();
+                        in.readInt();
+                        edges++;
+                        valid += 1 + Integer.BYTES * 3;
+                    }
+                    case DONE -> {
+                        space.markExplored(in.readInt());
+                        valid += 1 + Integer.BYTES;
+                    }
+                    default -> throw new IOException("Неизвестная запись " + type + " в журнале " + file);
+                }
+            }
+        } catch (EOFException e) {
+            return valid;
+        }
+    }
+
+    private static int utfLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.utils.explore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Итоги обхода интерфейса вместе с состояниями, найденными в предыдущих прогонах.
+ *
+ * @param states        количество найденных состояний
+ * @param discovered    количество состояний, найденных в этом прогоне
+ * @param edges         количество выполненных переходов за все прогоны
+ * @param frontier      количество найденных, но еще не исследованных состояний
+ * @param maxDepth      наибольшее количество действий от стартового экрана до найденного состояния
+ * @param steps         количество действий в этом прогоне, вместе с переходами к исследуемому состоянию
+ * @param restarts      количество перезапусков приложения в этом прогоне
+ * @param elapsedMillis длительность прогона
+ */
+public record ExplorationResult(int states,
+                                int discovered,
+                                long edges,
+                                int frontier,
+                                int maxDepth,
+                                int steps,
+                                int restarts,
+                                long elapsedMillis) {
+
+    /**
+     * @return {@code true}, если исследованы все достижимые состояния и бюджет больше не нужен
+     */
+    public boolean complete() {
+        return frontier == 0;
+    }
+
+    /**
+     * Формирует представление итогов для JSON отчета.
+     *
+     * @return итоги в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("states", states);
+        map.put("discovered", discovered);
+        map.put("edges", edges);
+        map.put("frontier", frontier);
+        map.put("complete", complete());
+        map.put("maxDepth", maxDepth);
+        map.put("steps", steps);
+        map.put("restarts", restarts);
+        map.put("elapsedMs", elapsedMillis);
+        return map;
+    }
+}
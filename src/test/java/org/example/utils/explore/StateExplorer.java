@@ -0,0 +1,290 @@
+package org.example.utils.explore;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.ProjectPaths;
+import org.example.utils.session.TestSession;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Обход интерфейса приложения в ширину с запоминанием посещенных экранов.
+ *
+ * <p>Каждый экран определяется отпечатком иерархии ({@link StateHash}), поэтому уже посещенное состояние
+ * повторно не исследуется, сколькими бы путями в него ни пришли. Из исследуемого состояния по очереди
+ * выполняются все действия ({@link UiAction#available}); перед каждым следующим действием исследователь
+ * возвращается в состояние: если текущее состояние лежит на пути к нему, выполняется оставшаяся часть пути,
+ * иначе приложение перезапускается и путь проходится от стартового экрана. Экран после действия читается
+ * одним снимком иерархии, без ожиданий. Экраны других приложений (после "Назад" со стартового экрана)
+ * в обход не попадают.</p>
+ * <p>Обход ограничен временем и количеством действий; состояние, исследование которого прервал бюджет,
+ * в следующем прогоне исследуется заново. Найденные состояния и переходы дописываются в журнал
+ * ({@code .test-stats/explore/<пакет>-<версия>.log}, каталог меняется свойством {@code explore.store}),
+ * следующий прогон той же версии продолжает обход с места остановки. Режим включается свойством
+ * {@code explore.run=true}, бюджет задается {@code explore.seconds} (по умолчанию 600)
+ * и {@code explore.steps} (по умолчанию 2000). Итоги дописываются строкой JSON в
+ * {@code target/metrics/explore.jsonl}, путь меняется свойством {@code explore.report}.</p>
+ */
+public final class StateExplorer {
+    private static final Logger log = LoggerFactory.getLogger(StateExplorer.class);
+
+    private static final String RUN_PROPERTY = "explore.run";
+    private static final String STORE_PROPERTY = "explore.store";
+    private static final String DEFAULT_STORE = ".test-stats/explore";
+    private static final String SECONDS_PROPERTY = "explore.seconds";
+    private static final long DEFAULT_SECONDS = 600;
+    private static final String STEPS_PROPERTY = "explore.steps";
+    private static final int DEFAULT_STEPS = 2000;
+    private static final String REPORT_PROPERTY = "explore.report";
+    private static final String DEFAULT_REPORT = "target/metrics/explore.jsonl";
+    private static final int OUTSIDE = -1;
+
+    private final AndroidDriver driver;
+    private final String appPackage;
+    private final Runnable restart;
+    private final Path store;
+    private final StateSpace space = new StateSpace();
+
+    private ExplorationLog journal;
+    private int current = OUTSIDE;
+    private UiSnapshot currentSnapshot;
+    private int steps;
+    private int restarts;
+    private int stepBudget;
+    private long deadline;
+
+    /**
+     * Создает исследователя.
+     *
+     * @param driver     драйвер сессии
+     * @param appPackage пакет исследуемого приложения
+     * @param restart    возврат приложения на стартовый экран
+     * @param store      файл журнала обхода
+     */
+    public StateExplorer(AndroidDriver driver, String appPackage, Runnable restart, Path store) {
+        this.driver = driver;
+        this.appPackage = appPackage;
+        this.restart = restart;
+        this.store = store;
+    }
+
+    /**
+     * @return {@code true}, если включен режим обхода интерфейса
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(RUN_PROPERTY);
+    }
+
+    /**
+     * Возвращает файл журнала обхода для версии приложения: у новой версии свой граф экранов.
+     *
+     * @param appPackage пакет приложения
+     * @param appVersion версия приложения
+     * @return путь к журналу в каталоге из свойства {@code explore.store}
+     */
+    public static Path storeFor(String appPackage, String appVersion) {
+        String name = (appPackage + "-" + appVersion).replaceAll("[^A-Za-z0-9._-]", "_");
+        return ProjectPaths.resolve(System.getProperty(STORE_PROPERTY, DEFAULT_STORE)).resolve(name + ".log");
+    }
+
+    /**
+     * Продолжает обход с бюджетом из системных свойств.
+     *
+     * @return итоги обхода
+     * @throws IOException если журнал обхода не читается или не записывается
+     */
+    public ExplorationResult exploreWithSystemProperties() throws IOException {
+        return explore(Duration.ofSeconds(Long.getLong(SECONDS_PROPERTY, DEFAULT_SECONDS)),
+                Integer.getInteger(STEPS_PROPERTY, DEFAULT_STEPS));
+    }
+
+    /**
+     * Продолжает обход с первого неисследованного состояния журнала.
+     *
+     * @param timeBudget наибольшая длительность обхода
+     * @param stepBudget наибольшее количество действий
+     * @return итоги обхода
+     * @throws IOException         если журнал обхода не читается или не записывается
+     * @throws WebDriverException  если сессия перестала отвечать при перезапуске приложения
+     */
+    public ExplorationResult explore(Duration timeBudget, int stepBudget) throws IOException {
+        long start = System.nanoTime();
+        this.deadline = start + timeBudget.toNanos();
+        this.stepBudget = stepBudget;
+        try (ExplorationLog opened = ExplorationLog.open(store, space)) {
+            journal = opened;
+            int known = space.size();
+            log.info("Обход {}: из журнала {} состояний, не исследовано {}", appPackage, known, space.frontier());
+
+            restart();
+            for (int state = space.next(); state >= 0 && !exhausted(); state = space.next()) {
+                expand(state);
+            }
+
+            int maxDepth = 0;
+            for (int state = 0; state < space.size(); state++) {
+                maxDepth = Math.max(maxDepth, space.depth(state));
+            }
+            return new ExplorationResult(space.size(), space.size() - known, journal.edges(), space.frontier(),
+                    maxDepth, steps, restarts, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            journal = null;
+        }
+    }
+
+    /**
+     * Дописывает итоги обхода строкой JSON в отчет вместе с устройством и версией приложения.
+     *
+     * @param result итоги обхода
+     */
+    public static void record(ExplorationResult result) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        TestSession session = TestSession.current();
+        if (session != null) {
+            line.put("device", session.device().udid());
+            line.put("appVersion", session.appVersion());
+        }
+        line.put("result", result.toMap());
+
+        Path file = Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            StringBuilder json = new StringBuilder();
+            try (JsonOutput output = new Json().newOutput(json)) {
+                output.setPrettyPrint(false).write(line);
+            }
+            Files.writeString(file, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет об обходе интерфейса {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Выполняет все действия из состояния. Недостижимое состояние отмечается исследованным,
+     * чтобы не тратить на него бюджет в следующих прогонах.
+     */
+    private void expand(int state) throws IOException {
+        if (!navigateTo(state)) {
+            log.warn("Состояние {} недостижимо по сохраненному пути, пропускаем", state);
+            journal.explored(state);
+            return;
+        }
+        List<UiAction> actions = UiAction.available(currentSnapshot);
+        for (int i = 0; i < actions.size(); i++) {
+            if (exhausted()) {
+                return;
+            }
+            if (i > 0 && !navigateTo(state)) {
+                log.warn("Не удалось вернуться в состояние {}, оставшиеся действия пропущены", state);
+                break;
+            }
+            int action = journal.actionId(actions.get(i));
+            int next = perform(action) ? observe(state, action) : OUTSIDE;
+            journal.edge(state, action, next);
+        }
+        journal.explored(state);
+    }
+
+    /**
+     * Приводит приложение в состояние по дереву обхода.
+     *
+     * @return {@code true}, если отпечаток экрана совпал с целевым
+     */
+    private boolean navigateTo(int target) throws IOException {
+        if (current == target) {
+            return true;
+        }
+        int[] path = space.path(target);
+        int position = indexOf(path, current);
+        if (position < 0) {
+            restart();
+            position = indexOf(path, current);
+            if (position < 0) {
+                return false;
+            }
+        }
+        for (int i = position + 1; i < path.length; i++) {
+            int action = space.action(path[i]);
+            if (!perform(action)) {
+                current = OUTSIDE;
+                return false;
+            }
+            if (i < path.length - 1) {
+                current = OUTSIDE;
+            }
+        }
+        if (position + 1 < path.length) {
+            observe(space.parent(target), space.action(target));
+        }
+        return current == target;
+    }
+
+    private void restart() throws IOException {
+        restart.run();
+        restarts++;
+        observe(OUTSIDE, OUTSIDE);
+    }
+
+    private boolean perform(int action) {
+        steps++;
+        try {
+            journal.action(action).perform(driver);
+            return true;
+        } catch (WebDriverException e) {
+            log.debug("Действие '{}' не выполнено: {}", journal.action(action), e.getClass().getSimpleName());
+            return false;
+        }
+    }
+
+    /**
+     * Читает экран после действия и запоминает его, если он новый.
+     *
+     * @return номер текущего состояния или {@link #OUTSIDE}, если на экране другое приложение
+     */
+    private int observe(int parent, int action) throws IOException {
+        UiSnapshot snapshot = UiSnapshot.capture(driver);
+        if (!snapshot.source().contains("package=\"" + appPackage + "\"")) {
+            current = OUTSIDE;
+            currentSnapshot = null;
+            return OUTSIDE;
+        }
+        long hash = StateHash.of(snapshot);
+        int state = space.indexOf(hash);
+        if (state < 0) {
+            state = journal.addState(hash, parent, action);
+            log.debug("Новое состояние {} на глубине {}", state, space.depth(state));
+        }
+        current = state;
+        currentSnapshot = snapshot;
+        return state;
+    }
+
+    private boolean exhausted() {
+        return steps >= stepBudget || System.nanoTime() >= deadline;
+    }
+
+    private static int indexOf(int[] path, int state) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (path[i] == state) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.utils.explore;
+
+import org.example.exceptions.UtilityClassException;
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSnapshot;
+
+/**
+ * 64-битный отпечаток экрана для поиска уже посещенных состояний.
+ *
+ * <p>В отпечаток входят класс, resource-id, текст, content-desc, признаки нажатия и прокрутки
+ * и количество дочерних элементов каждого узла в порядке обхода иерархии. Координаты не учитываются:
+ * сдвиг на несколько точек при анимации или другой плотности экрана не создает нового состояния.
+ * Строки хэшируются FNV-1a без промежуточных объектов, результат перемешивается финализатором MurmurHash3,
+ * поэтому младшие биты пригодны для открытой адресации в {@link StateSpace}. Вероятность совпадения
+ * отпечатков разных экранов для миллиона состояний - порядка 1e-8.</p>
+ */
+public final class StateHash {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final char SEPARATOR = '\u001f';
+
+    /**
+     * Вычисляет отпечаток снимка экрана.
+     *
+     * @param snapshot снимок иерархии
+     * @return отпечаток, не равный нулю
+     */
+    public static long of(UiSnapshot snapshot) {
+        long hash = OFFSET_BASIS;
+        for (UiNode node : snapshot.nodes()) {
+            hash = mix(hash, node.className());
+            hash = mix(hash, node.resourceId());
+            hash = mix(hash, node.text());
+            hash = mix(hash, node.contentDesc());
+            int flags = (node.isClickable() ? 1 : 0) | (node.isScrollable() ? 2 : 0) | node.children().size() << 2;
+            hash = (hash ^ flags) * PRIME;
+        }
+        long result = finish(hash);
+        return result != 0 ? result : 1;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return (hash ^ SEPARATOR) * PRIME;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private StateHash() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.utils.explore;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Посещенные состояния интерфейса и очередь обхода в ширину в примитивных массивах.
+ *
+ * <p>Состояния нумеруются в порядке обнаружения. Для каждого хранятся отпечаток ({@link StateHash}),
+ * родитель и действие, которым из него пришли (дерево обхода, по которому восстанавливается путь от старта),
+ * и глубина. Поиск по отпечатку - открытая адресация с линейным пробированием в массивах {@code long[]}
+ * и {@code int[]} без объектов-оберток. Поскольку обход идет в ширину, порядок обнаружения совпадает
+ * с порядком очереди: очередь - это курсор по номерам и битовая маска исследованных состояний.
+ * Одно состояние занимает около 45 байт, сотни тысяч состояний - десятки мегабайт.</p>
+ * <p>Экземпляр не потокобезопасен.</p>
+ */
+public final class StateSpace {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private long[] tableKeys = new long[INITIAL_CAPACITY];
+    private int[] tableValues = new int[INITIAL_CAPACITY];
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private int[] parents = new int[INITIAL_CAPACITY];
+    private int[] actions = new int[INITIAL_CAPACITY];
+    private int[] depths = new int[INITIAL_CAPACITY];
+    private final BitSet explored = new BitSet();
+    private int size;
+    private int exploredCount;
+    private int cursor;
+
+    /**
+     * Ищет состояние по отпечатку.
+     *
+     * @param hash отпечаток экрана, не равный нулю
+     * @return номер состояния или -1, если состояние еще не встречалось
+     */
+    public int indexOf(long hash) {
+        int mask = tableKeys.length - 1;
+        for (int slot = (int) hash & mask; tableKeys[slot] != 0; slot = (slot + 1) & mask) {
+            if (tableKeys[slot] == hash) {
+                return tableValues[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Добавляет новое состояние в конец очереди обхода.
+     *
+     * @param hash   отпечаток экрана, не равный нулю
+     * @param parent номер состояния, из которого пришли, или -1 для стартового
+     * @param action номер действия, которым пришли из родителя, или -1 для стартового
+     * @return номер добавленного состояния
+     * @throws IllegalArgumentException если отпечаток равен нулю или уже добавлен
+     */
+    public int add(long hash, int parent, int action) {
+        if (hash == 0) {
+            throw new IllegalArgumentException("Нулевой отпечаток зарезервирован для пустых ячеек");
+        }
+        if (indexOf(hash) >= 0) {
+            throw new IllegalArgumentException("Состояние уже добавлено: " + Long.toHexString(hash));
+        }
+        if (size == hashes.length) {
+            int capacity = size * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+        if (size + 1 > tableKeys.length * LOAD_FACTOR) {
+            rehash(tableKeys.length * 2);
+        }
+        int index = size++;
+        hashes[index] = hash;
+        parents[index] = parent;
+        actions[index] = action;
+        depths[index] = parent < 0 ? 0 : depths[parent] + 1;
+        insert(hash, index);
+        return index;
+    }
+
+    /**
+     * Отмечает состояние исследованным: все действия из него выполнены или оно недостижимо.
+     *
+     * @param state номер состояния
+     */
+    public void markExplored(int state) {
+        if (!explored.get(state)) {
+            explored.set(state);
+            exploredCount++;
+        }
+    }
+
+    public boolean isExplored(int state) {
+        return explored.get(state);
+    }
+
+    /**
+     * Возвращает первое неисследованное состояние очереди, не извлекая его.
+     *
+     * @return номер состояния или -1, если все найденные состояния исследованы
+     */
+    public int next() {
+        while (cursor < size && explored.get(cursor)) {
+            cursor++;
+        }
+        return cursor < size ? cursor : -1;
+    }
+
+    /**
+     * @return количество неисследованных состояний
+     */
+    public int frontier() {
+        return size - exploredCount;
+    }
+
+    /**
+     * Восстанавливает путь по дереву обхода.
+     *
+     * @param state номер состояния
+     * @return номера состояний от стартового до {@code state} включительно
+     */
+    public int[] path(int state) {
+        int[] path = new int[depths[state] + 1];
+        for (int i = path.length - 1, current = state; i >= 0; i--, current = parents[current]) {
+            path[i] = current;
+        }
+        return path;
+    }
+
+    public long hash(int state) {
+        return hashes[state];
+    }
+
+    public int parent(int state) {
+        return parents[state];
+    }
+
+    public int action(int state) {
+        return actions[state];
+    }
+
+    public int depth(int state) {
+        return depths[state];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = tableKeys;
+        int[] oldValues = tableValues;
+        tableKeys = new long[capacity];
+        tableValues = new int[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                insert(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private void insert(long hash, int index) {
+        int mask = tableKeys.length - 1;
+        int slot = (int) hash & mask;
+        while (tableKeys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = hash;
+        tableValues[slot] = index;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.utils.explore;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.locator.Locator;
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Действие исследователя интерфейса: системная кнопка "Назад" или нажатие на элемент.
+ *
+ * <p>Элемент задается не координатами, а текстом, content-desc или resource-id, чтобы действие
+ * воспроизводилось в следующих прогонах после изменения верстки. Ключ действия ({@link #key()})
+ * сохраняется в журнал обхода.</p>
+ *
+ * @param kind  способ выполнения
+ * @param value текст, content-desc или resource-id элемента; пустая строка для {@link Kind#BACK}
+ */
+public record UiAction(Kind kind, String value) {
+    public static final UiAction BACK = new UiAction(Kind.BACK, "");
+
+    /**
+     * Способ выполнения действия.
+     */
+    public enum Kind {
+        BACK, TEXT, DESCRIPTION, ID
+    }
+
+    /**
+     * Определяет действия, доступные на экране: нажатия на видимые и доступные элементы с признаком
+     * {@code clickable} и "Назад".
+     *
+     * <p>Если у нажимаемого элемента нет ни текста, ни content-desc, ни resource-id, используется первый
+     * потомок с текстом, затем с content-desc: нажатие на потомка передается контейнеру. Элементы без
+     * подписи пропускаются, одинаковые действия - тоже.</p>
+     *
+     * @param snapshot снимок экрана
+     * @return действия в порядке элементов на экране, "Назад" последним
+     */
+    public static List<UiAction> available(UiSnapshot snapshot) {
+        Set<UiAction> actions = new LinkedHashSet<>();
+        for (UiNode node : snapshot.nodes()) {
+            if (node.isClickable() && node.isEnabled() && node.isDisplayed()) {
+                of(node).ifPresent(actions::add);
+            }
+        }
+        List<UiAction> result = new ArrayList<>(actions);
+        result.add(BACK);
+        return result;
+    }
+
+    /**
+     * Восстанавливает действие из ключа журнала.
+     *
+     * @param key ключ из {@link #key()}
+     * @return действие
+     * @throws IllegalArgumentException если ключ не распознан
+     */
+    public static UiAction parse(String key) {
+        int separator = key.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Неизвестное действие: " + key);
+        }
+        return new UiAction(Kind.valueOf(key.substring(0, separator)), key.substring(separator + 1));
+    }
+
+    /**
+     * @return ключ действия для журнала обхода, например {@code TEXT:Играть}
+     */
+    public String key() {
+        return kind + ":" + value;
+    }
+
+    /**
+     * Выполняет действие: одна команда поиска и одна команда нажатия, без ожиданий.
+     *
+     * @param driver драйвер сессии
+     * @throws org.openqa.selenium.NoSuchElementException если элемента нет на экране
+     */
+    public void perform(AndroidDriver driver) {
+        if (kind == Kind.BACK) {
+            driver.navigate().back();
+        } else {
+            driver.findElement(by()).click();
+        }
+    }
+
+    private By by() {
+        return switch (kind) {
+            case TEXT -> Locator.text(value, value).by();
+            case DESCRIPTION -> AppiumBy.accessibilityId(value);
+            case ID -> AppiumBy.id(value);
+            case BACK -> throw new IllegalStateException("У действия 'Назад' нет элемента");
+        };
+    }
+
+    private static Optional<UiAction> of(UiNode node) {
+        if (!node.text().isEmpty()) {
+            return Optional.of(new UiAction(Kind.TEXT, node.text()));
+        }
+        if (!node.contentDesc().isEmpty()) {
+            return Optional.of(new UiAction(Kind.DESCRIPTION, node.contentDesc()));
+        }
+        if (!node.resourceId().isEmpty()) {
+            return Optional.of(new UiAction(Kind.ID, node.resourceId()));
+        }
+        return descendant(node, true).or(() -> descendant(node, false));
+    }
+
+    private static Optional<UiAction> descendant(UiNode node, boolean byText) {
+        for (UiNode child : node.children()) {
+            String label = byText ? child.text() : child.contentDesc();
+            if (!label.isEmpty()) {
+                return Optional.of(new UiAction(byText ? Kind.TEXT : Kind.DESCRIPTION, label));
+            }
+            Optional<UiAction> nested = descendant(child, byText);
+            if (nested.isPresent()) {
+                return nested;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.BACK ? "Назад" : value;
+    }
+}
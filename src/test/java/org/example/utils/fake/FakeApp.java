@@ -0,0 +1,295 @@
+package org.example.utils.fake;
+
+import org.example.utils.snapshot.UiNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Сценарий приложения для {@link FakeAppiumServer}: экраны и переходы между ними.
+ *
+ * <p>Сценарий описывается построчно в ресурсах тестов ({@code /fake/*.app}):</p>
+ * <pre>
+ * package com.vk.vkvideo
+ * version 8.42.0
+ * start login
+ * screen login /hierarchy/vkvideo-login.xml
+ * click login com.vk.vkvideo:id/fast_login_tertiary_btn -&gt; feed
+ * back search -&gt; feed
+ * scroll feed -&gt; feed-next
+ * deeplink ^vk://vk\.com/video.*$ -&gt; player
+ * shell dumpsys meminfo com.vk.vkvideo -&gt; /playback/meminfo-vkvideo.txt
+ * logcat player I OneVideoPlayer: onFirstFrameRendered
+ * video player com.vk.vkvideo:id/video_display
+ * </pre>
+ * <p>Цель нажатия задается resource-id, текстом или content-desc элемента. Нажатие на вложенный
+ * элемент срабатывает по правилу ближайшего подходящего предка. Deep link выбирает первое правило,
+ * регулярное выражение которого совпало со ссылкой. Правило {@code shell} задает файл с выводом
+команды {@code mobile: shell}, командная строка сравнивается целиком. Правило {@code logcat} задает строку
+ * лога (уровень, тег и сообщение), которую приложение пишет при каждом показе экрана. Правило {@code scroll}
+ * задает экран, который открывается после каждого жеста прокрутки вниз, например следующую страницу ленты.
+ * Правило {@code video} задает элемент экрана, в котором идет видео: каждый его скриншот - новый кадр.</p>
+ */
+public final class FakeApp {
+    private static final String ARROW = " -> ";
+
+    private final String appPackage;
+    private final String version;
+    private final String startScreen;
+    private final Map<String, String> screens;
+    private final Map<String, List<Transition>> clicks;
+    private final Map<String, String> backs;
+    private final Map<String, String> scrolls;
+    private final List<DeepLink> deepLinks;
+    private final Map<String, String> shellOutputs;
+    private final Map<String, List<String>> logcat;
+    private final Map<String, String> videos;
+
+    private FakeApp(String appPackage, String version, String startScreen, Map<String, String> screens,
+                    Map<String, List<Transition>> clicks, Map<String, String> backs, Map<String, String> scrolls,
+                    List<DeepLink> deepLinks, Map<String, String> shellOutputs, Map<String, List<String>> logcat,
+                    Map<String, String> videos) {
+        this.appPackage = appPackage;
+        this.version = version;
+        this.startScreen = startScreen;
+        this.screens = screens;
+        this.clicks = clicks;
+        this.backs = backs;
+        this.scrolls = scrolls;
+        this.deepLinks = deepLinks;
+        this.shellOutputs = shellOutputs;
+        this.logcat = logcat;
+        this.videos = videos;
+    }
+
+    /**
+     * Загружает сценарий из ресурсов тестов.
+     *
+     * @param resource путь к сценарию, например {@code /fake/vkvideo.app}
+     * @return сценарий приложения
+     * @throws IllegalArgumentException если сценарий или экран не найден либо сценарий некорректен
+     */
+    public static FakeApp load(String resource) {
+        return parse(read(resource));
+    }
+
+    /**
+     * Разбирает сценарий приложения.
+     *
+     * @param script текст сценария
+     * @return сценарий приложения
+     * @throws IllegalArgumentException если сценарий некорректен
+     */
+    public static FakeApp parse(String script) {
+        String appPackage = null;
+        String version = "1.0";
+        String startScreen = null;
+        Map<String, String> screens = new LinkedHashMap<>();
+        Map<String, List<Transition>> clicks = new HashMap<>();
+        Map<String, String> backs = new HashMap<>();
+        Map<String, String> scrolls = new HashMap<>();
+        List<DeepLink> deepLinks = new ArrayList<>();
+        Map<String, String> shellOutputs = new HashMap<>();
+        Map<String, List<String>> logcat = new HashMap<>();
+        Map<String, String> videos = new HashMap<>();
+
+        for (String rawLine : script.split("\\R")) {
+            String line = rawLine.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 3);
+            switch (parts[0]) {
+                case "package" -> appPackage = argument(parts, 1, line);
+                case "version" -> version = argument(parts, 1, line);
+                case "start" -> startScreen = argument(parts, 1, line);
+                case "screen" -> screens.put(argument(parts, 1, line), read(argument(parts, 2, line)));
+                case "click" -> {
+                    String[] rule = transition(argument(parts, 2, line), line);
+                    clicks.computeIfAbsent(argument(parts, 1, line), screen -> new ArrayList<>())
+                            .add(new Transition(rule[0], rule[1]));
+                }
+                case "back" -> {
+                    String[] rule = transition(line.substring("back".length()).strip(), line);
+                    backs.put(rule[0], rule[1]);
+                }
+                case "scroll" -> {
+                    String[] rule = transition(line.substring("scroll".length()).strip(), line);
+                    scrolls.put(rule[0], rule[1]);
+                }
+                case "deeplink" -> {
+                    String[] rule = transition(line.substring("deeplink".length()).strip(), line);
+                    deepLinks.add(new DeepLink(Pattern.compile(rule[0]), rule[1]));
+                }
+                case "shell" -> {
+                    String[] rule = transition(line.substring("shell".length()).strip(), line);
+                    shellOutputs.put(rule[0], read(rule[1]));
+                }
+                case "logcat" -> logcat.computeIfAbsent(argument(parts, 1, line), screen -> new ArrayList<>())
+                        .add(argument(parts, 2, line));
+                case "video" -> videos.put(argument(parts, 1, line), argument(parts, 2, line));
+                default -> throw new IllegalArgumentException("Неизвестная директива сценария: " + line);
+            }
+        }
+
+        if (appPackage == null || startScreen == null || !screens.containsKey(startScreen)) {
+            throw new IllegalArgumentException("В сценарии должны быть заданы package, start и экран start");
+        }
+        return new FakeApp(appPackage, version, startScreen, screens, clicks, backs, scrolls, deepLinks, shellOutputs,
+                logcat, videos);
+    }
+
+    public String appPackage() {
+        return appPackage;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public String startScreen() {
+        return startScreen;
+    }
+
+    public Set<String> screens() {
+        return Collections.unmodifiableSet(screens.keySet());
+    }
+
+    /**
+     * Возвращает иерархию интерфейса экрана.
+     *
+     * @param screen имя экрана
+     * @return XML иерархии в формате UiAutomator2
+     * @throws IllegalArgumentException если экран не описан в сценарии
+     */
+    public String source(String screen) {
+        String source = screens.get(screen);
+        if (source == null) {
+            throw new IllegalArgumentException("Экран '" + screen + "' не описан в сценарии " + appPackage);
+        }
+        return source;
+    }
+
+    /**
+     * Определяет экран после нажатия на элемент.
+     *
+     * @param screen текущий экран
+     * @param node   элемент, на который нажали
+     * @return следующий экран или пустой {@link Optional}, если нажатие не меняет экран
+     */
+    public Optional<String> afterClick(String screen, UiNode node) {
+        List<Transition> transitions = clicks.getOrDefault(screen, List.of());
+        for (UiNode current = node; current != null; current = current.parent()) {
+            for (Transition transition : transitions) {
+                if (transition.matches(current)) {
+                    return Optional.of(transition.next());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<String> afterBack(String screen) {
+        return Optional.ofNullable(backs.get(screen));
+    }
+
+    /**
+     * Определяет экран после жеста прокрутки вниз.
+     *
+     * @param screen текущий экран
+     * @return следующий экран или пустой {@link Optional}, если экран не прокручивается
+     */
+    public Optional<String> afterScroll(String screen) {
+        return Optional.ofNullable(scrolls.get(screen));
+    }
+
+    /**
+     * Определяет экран, который открывает deep link.
+     *
+     * @param url ссылка
+     * @return экран по первому совпавшему правилу или пустой {@link Optional}, если ссылка не обрабатывается
+     */
+    public Optional<String> afterDeepLink(String url) {
+        return deepLinks.stream()
+                .filter(deepLink -> deepLink.url().matcher(url).matches())
+                .map(DeepLink::screen)
+                .findFirst();
+    }
+
+    /**
+     * Возвращает записанный вывод shell команды.
+     *
+     * @param commandLine команда с аргументами через пробел
+     * @return вывод команды или пустой {@link Optional}, если для команды нет правила
+     */
+    public Optional<String> shellOutput(String commandLine) {
+        return Optional.ofNullable(shellOutputs.get(commandLine));
+    }
+
+    /**
+     * Возвращает строки лога, которые приложение пишет при показе экрана.
+     *
+     * @param screen имя экрана
+     * @return строки вида {@code I OneVideoPlayer: onFirstFrameRendered} в порядке сценария
+     */
+    public List<String> logcatOn(String screen) {
+        return logcat.getOrDefault(screen, List.of());
+    }
+
+    /**
+     * Проверяет, идет ли в элементе видео.
+     *
+     * @param screen текущий экран
+     * @param node   элемент
+     * @return {@code true}, если элемент задан правилом {@code video} для экрана
+     */
+    public boolean isVideo(String screen, UiNode node) {
+        return node.resourceId().equals(videos.get(screen));
+    }
+
+    private static String[] transition(String rule, String line) {
+        int arrow = rule.lastIndexOf(ARROW);
+        if (arrow <= 0) {
+            throw new IllegalArgumentException("Ожидалось правило вида '<условие> -> <экран>': " + line);
+        }
+        return new String[]{rule.substring(0, arrow).strip(), rule.substring(arrow + ARROW.length()).strip()};
+    }
+
+    private static String argument(String[] parts, int index, String line) {
+        if (parts.length <= index) {
+            throw new IllegalArgumentException("Не хватает аргументов: " + line);
+        }
+        return parts[index];
+    }
+
+    private static String read(String resource) {
+        try (InputStream stream = FakeApp.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Ресурс не найден: " + resource);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + resource, e);
+        }
+    }
+
+    private record Transition(String target, String next) {
+        boolean matches(UiNode node) {
+            return target.equals(node.resourceId()) || target.equals(node.text()) || target.equals(node.contentDesc());
+        }
+    }
+
+    private record DeepLink(Pattern url, String screen) {
+    }
+}
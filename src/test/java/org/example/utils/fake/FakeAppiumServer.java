@@ -0,0 +1,597 @@
+package org.example.utils.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.device.Device;
+import org.example.utils.session.ObservedCommandExecutor;
+import org.example.utils.session.SessionConfig;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.DriverCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Локальный сервер, имитирующий Appium (W3C WebDriver + UiAutomator2) для проверки самого фреймворка без устройства.
+ *
+ * <p>Сервер отдает иерархии экранов по сценариям {@link FakeApp} и реализует команды, которые используют
+ * утилиты и базовые классы тестов: поиск элементов всеми стратегиями UiAutomator2, чтение атрибутов,
+ * нажатия, {@code getPageSource}, скриншоты, чтение logcat, {@code mobile:} скрипты и управление приложениями.
+ * Перед ответом на каждую команду выдерживается задержка {@link FakeLatency}.</p>
+ * <p>Чтобы прогнать E2E тесты против фейкового сервера, укажите его адрес в конфигурации устройств
+ * ({@code -Ddevices.config}). Запуск отдельным процессом:</p>
+ * <pre>
+ * java -Dfake.latency.millis=40 -Dfake.latency.jitter.millis=20 org.example.utils.fake.FakeAppiumServer 4723
+ * </pre>
+ */
+public final class FakeAppiumServer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FakeAppiumServer.class);
+
+    private static final List<String> DEFAULT_APPS = List.of("/fake/vkvideo.app", "/fake/alchemy.app");
+    private static final int DEFAULT_PORT = 4723;
+    private static final String W3C_ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final String BASE_PATH = "/wd/hub";
+    private static final String DEVICE_NAME = "fake-1";
+    private static final String PLATFORM_VERSION = "14.0";
+    private static final int KEYCODE_BACK = 4;
+    private static final int MIN_SWIPE_DISTANCE = 100;
+    private static final String EMPTY_PNG =
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==";
+    private static final String ELEMENT_PNG = gradientPng(64, 36);
+    private static final int VIDEO_FRAME_WIDTH = 128;
+    private static final int VIDEO_FRAME_HEIGHT = 72;
+    private static final Map<String, String> SESSION_COMMANDS = Map.ofEntries(
+            Map.entry("POST element", DriverCommand.FIND_ELEMENT),
+            Map.entry("POST elements", DriverCommand.FIND_ELEMENTS),
+            Map.entry("POST element/:id/element", DriverCommand.FIND_CHILD_ELEMENT),
+            Map.entry("POST element/:id/elements", DriverCommand.FIND_CHILD_ELEMENTS),
+            Map.entry("GET element/:id/text", DriverCommand.GET_ELEMENT_TEXT),
+            Map.entry("GET element/:id/displayed", DriverCommand.IS_ELEMENT_DISPLAYED),
+            Map.entry("GET element/:id/enabled", DriverCommand.IS_ELEMENT_ENABLED),
+            Map.entry("GET element/:id/selected", DriverCommand.IS_ELEMENT_SELECTED),
+            Map.entry("GET element/:id/name", DriverCommand.GET_ELEMENT_TAG_NAME),
+            Map.entry("GET element/:id/rect", DriverCommand.GET_ELEMENT_RECT),
+            Map.entry("GET element/:id/attribute/:name", DriverCommand.GET_ELEMENT_ATTRIBUTE),
+            Map.entry("GET element/:id/css/:name", DriverCommand.GET_ELEMENT_VALUE_OF_CSS_PROPERTY),
+            Map.entry("GET element/:id/screenshot", DriverCommand.ELEMENT_SCREENSHOT),
+            Map.entry("POST element/:id/click", DriverCommand.CLICK_ELEMENT),
+            Map.entry("POST element/:id/clear", DriverCommand.CLEAR_ELEMENT),
+            Map.entry("POST element/:id/value", DriverCommand.SEND_KEYS_TO_ELEMENT),
+            Map.entry("GET source", DriverCommand.GET_PAGE_SOURCE),
+            Map.entry("GET screenshot", DriverCommand.SCREENSHOT),
+            Map.entry("GET url", DriverCommand.GET_CURRENT_URL),
+            Map.entry("POST execute/sync", DriverCommand.EXECUTE_SCRIPT),
+            Map.entry("POST back", DriverCommand.GO_BACK),
+            Map.entry("GET timeouts", DriverCommand.GET_TIMEOUTS),
+            Map.entry("POST timeouts", DriverCommand.SET_TIMEOUT),
+            Map.entry("POST actions", DriverCommand.ACTIONS),
+            Map.entry("DELETE actions", DriverCommand.CLEAR_ACTIONS_STATE),
+            Map.entry("POST se/log", DriverCommand.GET_LOG),
+            Map.entry("GET se/log/types", DriverCommand.GET_AVAILABLE_LOG_TYPES),
+            Map.entry("POST appium/device/activate_app", "activateApp"),
+            Map.entry("POST appium/device/terminate_app", "terminateApp"),
+            Map.entry("POST appium/device/app_state", "queryAppState"),
+            Map.entry("GET appium/device/current_package", "getCurrentPackage")
+    );
+
+    static {
+        // Без TCP_NODELAY заголовки и тело ответа уходят разными пакетами и каждая команда ждет
+        // отложенного подтверждения (~40 мс), что искажает замеры задержек
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final FakeLatency latency;
+    private final Map<String, FakeApp> apps = new LinkedHashMap<>();
+    private final Map<String, FakeSession> sessions = new ConcurrentHashMap<>();
+    private final Json json = new Json();
+
+    private FakeAppiumServer(int port, FakeLatency latency, List<FakeApp> apps) throws IOException {
+        this.latency = latency;
+        apps.forEach(app -> this.apps.put(app.appPackage(), app));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    /**
+     * Запускает сервер со сценариями VK Video и Алхимии.
+     *
+     * @param port    порт, {@code 0} для любого свободного
+     * @param latency задержка ответов
+     * @return запущенный сервер
+     * @throws IOException если не удалось занять порт
+     */
+    public static FakeAppiumServer start(int port, FakeLatency latency) throws IOException {
+        return start(port, latency, DEFAULT_APPS.stream().map(FakeApp::load).toList());
+    }
+
+    /**
+     * Запускает сервер с указанными сценариями приложений.
+     *
+     * @param port    порт, {@code 0} для любого свободного
+     * @param latency задержка ответов
+     * @param apps    сценарии приложений
+     * @return запущенный сервер
+     * @throws IOException если не удалось занять порт
+     */
+    public static FakeAppiumServer start(int port, FakeLatency latency, List<FakeApp> apps) throws IOException {
+        FakeAppiumServer fake = new FakeAppiumServer(port, latency, apps);
+        fake.server.start();
+        log.info("Фейковый Appium сервер запущен: {}, приложения: {}", fake.url(), fake.apps.keySet());
+        return fake;
+    }
+
+    /**
+     * Запускает сервер отдельным процессом.
+     *
+     * @param args необязательный порт, по умолчанию 4723
+     * @throws IOException если не удалось занять порт
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        FakeAppiumServer fake = start(port, FakeLatency.fromSystemProperties());
+        Runtime.getRuntime().addShutdownHook(new Thread(fake::close, "fake-appium-stop"));
+    }
+
+    /**
+     * Возвращает адрес сервера для {@link io.appium.java_client.android.AndroidDriver}.
+     *
+     * @return адрес вида {@code http://127.0.0.1:<порт>}
+     */
+    public URL url() {
+        try {
+            return URI.create("http://127.0.0.1:" + server.getAddress().getPort()).toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Создает конфигурацию сессии фейкового устройства: без сброса данных приложения и без выдачи разрешений.
+     *
+     * @param url         адрес сервера (или записи трафика, которую воспроизводит исполнитель команд)
+     * @param appPackage  пакет приложения из сценария
+     * @param appActivity активность приложения
+     * @return конфигурация сессии
+     */
+    public static SessionConfig config(URL url, String appPackage, String appActivity) {
+        return new SessionConfig(new Device(DEVICE_NAME, url.toString(), PLATFORM_VERSION), appPackage, appActivity,
+                true, false);
+    }
+
+    /**
+     * Создает конфигурацию сессии на этом сервере.
+     *
+     * @param appPackage  пакет приложения из сценария
+     * @param appActivity активность приложения
+     * @return конфигурация сессии
+     * @see #config(URL, String, String)
+     */
+    public SessionConfig config(String appPackage, String appActivity) {
+        return config(url(), appPackage, appActivity);
+    }
+
+    /**
+     * Открывает сессию на этом сервере через {@link ObservedCommandExecutor}, как базовые классы тестов.
+     *
+     * @param config конфигурация сессии, например из {@link #config(String, String)}
+     * @return драйвер открытой сессии; закрывается вызывающим кодом
+     */
+    public AndroidDriver driver(SessionConfig config) {
+        return new AndroidDriver(new ObservedCommandExecutor(url()), config.toOptions());
+    }
+
+    /**
+     * Открывает сессию приложения на этом сервере.
+     *
+     * @param appPackage  пакет приложения из сценария
+     * @param appActivity активность приложения
+     * @return драйвер открытой сессии; закрывается вызывающим кодом
+     */
+    public AndroidDriver driver(String appPackage, String appActivity) {
+        return driver(config(appPackage, appActivity));
+    }
+
+    /**
+     * Возвращает экран, открытый в сессии.
+     *
+     * @param sessionId идентификатор сессии
+     * @return имя экрана из сценария или пустой {@link Optional}, если сессии нет или открыт рабочий стол
+     */
+    public Optional<String> screen(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId)).flatMap(FakeSession::screen);
+    }
+
+    /**
+     * Открывает экран приложения на переднем плане без команды драйвера, как при самостоятельном переходе
+     * приложения (закрылась реклама, пришло уведомление). Найденные ранее элементы становятся устаревшими.
+     *
+     * @param sessionId идентификатор сессии
+     * @param screen    имя экрана из сценария приложения
+     * @throws IllegalArgumentException если сессии нет
+     */
+    public void show(String sessionId, String screen) {
+        FakeSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Нет сессии " + sessionId);
+        }
+        session.showScreen(screen);
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        log.info("Фейковый Appium сервер остановлен");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith(BASE_PATH)) {
+                path = path.substring(BASE_PATH.length());
+            }
+            List<String> segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toList();
+
+            int status = 200;
+            Object value;
+            try {
+                Map<String, Object> body = "POST".equals(method) ? body(exchange) : Map.of();
+                value = dispatch(method, segments, body);
+            } catch (FakeCommandException e) {
+                status = e.status();
+                value = error(e.error(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = 500;
+                value = error("unknown error", "Сервер остановлен");
+            } catch (RuntimeException e) {
+                log.warn("Ошибка фейкового Appium сервера на {} {}", method, path, e);
+                status = 500;
+                value = error("unknown error", String.valueOf(e.getMessage()));
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("value", value);
+            byte[] bytes = json.toJson(response).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private Object dispatch(String method, List<String> path, Map<String, Object> body) throws InterruptedException {
+        if (path.equals(List.of("status")) && "GET".equals(method)) {
+            latency.pause(DriverCommand.STATUS);
+            return Map.of("ready", true, "message", "Фейковый Appium сервер", "build", Map.of("version", "fake"));
+        }
+        if (path.equals(List.of("session")) && "POST".equals(method)) {
+            latency.pause(DriverCommand.NEW_SESSION);
+            return newSession(body);
+        }
+        if (path.size() < 2 || !"session".equals(path.get(0))) {
+            throw FakeCommandException.unknownCommand("Неизвестная команда " + method + " /" + String.join("/", path));
+        }
+
+        FakeSession session = sessions.get(path.get(1));
+        if (session == null) {
+            if ("DELETE".equals(method) && path.size() == 2) {
+                return null;
+            }
+            throw FakeCommandException.invalidSession(path.get(1));
+        }
+        if (path.size() == 2) {
+            if (!"DELETE".equals(method)) {
+                throw FakeCommandException.unknownCommand("Неизвестная команда " + method + " /session/:id");
+            }
+            latency.pause(DriverCommand.QUIT);
+            sessions.remove(session.id());
+            return null;
+        }
+
+        List<String> rest = path.subList(2, path.size());
+        String command = SESSION_COMMANDS.get(method + " " + routeOf(rest));
+        if (command == null) {
+            throw FakeCommandException.unknownCommand("Неизвестная команда " + method + " /" + String.join("/", path));
+        }
+        latency.pause(command);
+        log.debug("{} {}", command, rest);
+
+        String elementId = rest.size() > 1 && "element".equals(rest.get(0)) ? rest.get(1) : null;
+        return execute(session, command, elementId, rest, body);
+    }
+
+    private Object execute(FakeSession session, String command, String elementId, List<String> path,
+                           Map<String, Object> body) {
+        return switch (command) {
+            case DriverCommand.FIND_ELEMENT, DriverCommand.FIND_CHILD_ELEMENT -> {
+                List<String> found = session.find(string(body, "using"), string(body, "value"), elementId);
+                if (found.isEmpty()) {
+                    throw FakeCommandException.noSuchElement(
+                            "Элемент не найден: " + body.get("using") + "=" + body.get("value"));
+                }
+                yield Map.of(W3C_ELEMENT_KEY, found.get(0));
+            }
+            case DriverCommand.FIND_ELEMENTS, DriverCommand.FIND_CHILD_ELEMENTS ->
+                    session.find(string(body, "using"), string(body, "value"), elementId).stream()
+                            .map(id -> Map.of(W3C_ELEMENT_KEY, id))
+                            .toList();
+            case DriverCommand.GET_ELEMENT_TEXT -> session.element(elementId).text();
+            case DriverCommand.IS_ELEMENT_DISPLAYED -> session.element(elementId).isDisplayed();
+            case DriverCommand.IS_ELEMENT_ENABLED -> session.element(elementId).isEnabled();
+            case DriverCommand.IS_ELEMENT_SELECTED -> false;
+            case DriverCommand.GET_ELEMENT_TAG_NAME -> session.element(elementId).className();
+            case DriverCommand.GET_ELEMENT_RECT -> FakeSession.rect(session.element(elementId));
+            case DriverCommand.GET_ELEMENT_ATTRIBUTE -> FakeSession.attribute(session.element(elementId), path.get(3));
+            case DriverCommand.GET_ELEMENT_VALUE_OF_CSS_PROPERTY -> {
+                session.element(elementId);
+                yield "";
+            }
+            case DriverCommand.CLICK_ELEMENT -> {
+                session.click(elementId);
+                yield null;
+            }
+            case DriverCommand.CLEAR_ELEMENT, DriverCommand.SEND_KEYS_TO_ELEMENT -> {
+                session.element(elementId);
+                yield null;
+            }
+            case DriverCommand.ELEMENT_SCREENSHOT ->
+                    session.videoFrame(elementId).map(FakeAppiumServer::videoFramePng).orElse(ELEMENT_PNG);
+            case DriverCommand.SCREENSHOT -> EMPTY_PNG;
+            case DriverCommand.GET_PAGE_SOURCE -> session.source();
+            case DriverCommand.GET_CURRENT_URL -> "";
+            case DriverCommand.EXECUTE_SCRIPT -> executeScript(session, string(body, "script"), scriptArguments(body));
+            case DriverCommand.GO_BACK -> {
+                session.back();
+                yield null;
+            }
+            case DriverCommand.ACTIONS -> {
+                session.scroll(upwardSwipes(body));
+                yield null;
+            }
+            case DriverCommand.GET_TIMEOUTS -> Map.of("implicit", 0, "pageLoad", 300_000, "script", 30_000);
+            case DriverCommand.GET_AVAILABLE_LOG_TYPES -> List.of("logcat");
+            case DriverCommand.GET_LOG -> {
+                if (!"logcat".equals(body.get("type"))) {
+                    throw FakeCommandException.invalidArgument("Неподдерживаемый тип лога: " + body.get("type"));
+                }
+                long now = System.currentTimeMillis();
+                yield session.drainLogcat().stream()
+                        .map(line -> Map.of("timestamp", now, "level", "ALL", "message", line))
+                        .toList();
+            }
+            case "activateApp" -> {
+                session.activate(string(body, "appId"));
+                yield null;
+            }
+            case "terminateApp" -> session.terminate(string(body, "appId"));
+            case "queryAppState" -> session.appState(string(body, "appId"));
+            case "getCurrentPackage" -> session.foregroundPackage();
+            default -> null;
+        };
+    }
+
+    private Object executeScript(FakeSession session, String script, Map<String, Object> args) {
+        return switch (script) {
+            case "mobile: deepLink" -> {
+                session.deepLink(string(args, "url"), string(args, "package"));
+                yield null;
+            }
+            case "mobile: activateApp" -> {
+                session.activate(string(args, "appId"));
+                yield null;
+            }
+            case "mobile: terminateApp" -> session.terminate(string(args, "appId"));
+            case "mobile: queryAppState" -> session.appState(string(args, "appId"));
+            case "mobile: clearApp" -> {
+                session.terminate(string(args, "appId"));
+                yield null;
+            }
+            case "mobile: startActivity" -> {
+                String intent = String.valueOf(args.getOrDefault("intent", args.get("appPackage")));
+                session.startActivity(intent.contains("/") ? intent.substring(0, intent.indexOf('/')) : intent);
+                yield null;
+            }
+            case "mobile: pressKey" -> {
+                if (((Number) args.getOrDefault("keycode", 0)).intValue() == KEYCODE_BACK) {
+                    session.back();
+                }
+                yield null;
+            }
+            case "mobile: getCurrentPackage" -> session.foregroundPackage();
+            case "mobile: shell" -> shell(session, args);
+            default -> throw new FakeCommandException(500, "unsupported operation",
+                    "Скрипт не поддерживается фейковым сервером: " + script);
+        };
+    }
+
+    /**
+     * Имитирует {@code mobile: shell}: на {@code dumpsys package <пакет>} отвечает версией из сценария,
+     * на команды с правилом {@code shell} в сценарии - записанным выводом, на остальные - пустым выводом.
+     */
+    private String shell(FakeSession session, Map<String, Object> args) {
+        List<?> shellArgs = args.get("args") instanceof List<?> list ? list : List.of();
+        if ("dumpsys".equals(args.get("command")) && shellArgs.size() == 2 && "package".equals(shellArgs.get(0))) {
+            String appPackage = String.valueOf(shellArgs.get(1));
+            return apps.containsKey(appPackage) ? "versionName=" + session.appVersion(appPackage) : "";
+        }
+        String commandLine = Stream.concat(Stream.of(args.get("command")), shellArgs.stream())
+                .map(String::valueOf)
+                .collect(Collectors.joining(" "));
+        return apps.values().stream()
+                .flatMap(app -> app.shellOutput(commandLine).stream())
+                .findFirst()
+                .orElse("");
+    }
+
+    /**
+     * Формирует неоднородное изображение, чтобы скриншот элемента выглядел как отрисованный кадр.
+     */
+    private static String gradientPng(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8 | 0x80);
+            }
+        }
+        return png(image);
+    }
+
+    /**
+     * Рисует кадр видео: блоки 8x8 со случайной яркостью, одинаковой для одного номера кадра.
+     */
+    private static String videoFramePng(int frame) {
+        BufferedImage image = new BufferedImage(VIDEO_FRAME_WIDTH, VIDEO_FRAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(frame);
+        for (int blockX = 0; blockX < VIDEO_FRAME_WIDTH; blockX += 8) {
+            for (int blockY = 0; blockY < VIDEO_FRAME_HEIGHT; blockY += 8) {
+                int gray = random.nextInt(256);
+                for (int x = blockX; x < Math.min(blockX + 8, VIDEO_FRAME_WIDTH); x++) {
+                    for (int y = blockY; y < Math.min(blockY + 8, VIDEO_FRAME_HEIGHT); y++) {
+                        image.setRGB(x, y, gray << 16 | gray << 8 | gray);
+                    }
+                }
+            }
+        }
+        return png(image);
+    }
+
+    private static String png(BufferedImage image) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return Base64.getEncoder().encodeToString(out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> newSession(Map<String, Object> body) {
+        Map<String, Object> capabilities = new LinkedHashMap<>();
+        if (body.get("capabilities") instanceof Map<?, ?> requested) {
+            if (requested.get("alwaysMatch") instanceof Map<?, ?> alwaysMatch) {
+                alwaysMatch.forEach((key, value) -> capabilities.put(key.toString(), value));
+            }
+            if (requested.get("firstMatch") instanceof List<?> firstMatch
+                    && !firstMatch.isEmpty() && firstMatch.get(0) instanceof Map<?, ?> first) {
+                first.forEach((key, value) -> capabilities.put(key.toString(), value));
+            }
+        }
+        capabilities.put("platformName", "Android");
+        capabilities.putIfAbsent("appium:automationName", "UiAutomator2");
+
+        FakeSession session = new FakeSession(UUID.randomUUID().toString(), capabilities, apps);
+        sessions.put(session.id(), session);
+        log.debug("Создана сессия {} для {}", session.id(), capabilities.get("appium:appPackage"));
+        return Map.of("sessionId", session.id(), "capabilities", capabilities);
+    }
+
+    /**
+     * Нормализует путь команды: идентификатор элемента и имя атрибута заменяются на {@code :id} и {@code :name}.
+     */
+    private static String routeOf(List<String> path) {
+        String[] route = path.toArray(String[]::new);
+        if (route.length > 1 && "element".equals(route[0])) {
+            route[1] = ":id";
+        }
+        if (route.length > 3 && ("attribute".equals(route[2]) || "css".equals(route[2]))) {
+            route[3] = ":name";
+        }
+        return String.join("/", route);
+    }
+
+    private Map<String, Object> body(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        return body.isBlank() ? Map.of() : json.toType(body, Json.MAP_TYPE);
+    }
+
+    /**
+     * Считает в W3C действиях касания, при которых палец сдвинулся вверх, то есть прокрутки содержимого вниз.
+     */
+    private static int upwardSwipes(Map<String, Object> body) {
+        int swipes = 0;
+        List<?> sources = body.get("actions") instanceof List<?> list ? list : List.of();
+        for (Object source : sources) {
+            if (!(source instanceof Map<?, ?> input) || !"pointer".equals(input.get("type"))
+                    || !(input.get("actions") instanceof List<?> actions)) {
+                continue;
+            }
+            double y = 0;
+            Double downY = null;
+            for (Object item : actions) {
+                if (!(item instanceof Map<?, ?> action)) {
+                    continue;
+                }
+                switch (String.valueOf(action.get("type"))) {
+                    case "pointerMove" -> y = action.get("y") instanceof Number number ? number.doubleValue() : y;
+                    case "pointerDown" -> downY = y;
+                    case "pointerUp" -> {
+                        if (downY != null && downY - y >= MIN_SWIPE_DISTANCE) {
+                            swipes++;
+                        }
+                        downY = null;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return swipes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> scriptArguments(Map<String, Object> body) {
+        if (body.get("args") instanceof List<?> args && !args.isEmpty() && args.get(0) instanceof Map<?, ?> first) {
+            return (Map<String, Object>) first;
+        }
+        return Map.of();
+    }
+
+    private static String string(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (value == null) {
+            throw FakeCommandException.invalidArgument("Не задан параметр '" + key + "'");
+        }
+        return value.toString();
+    }
+
+    private static Map<String, Object> error(String error, String message) {
+        return Map.of("error", error, "message", message, "stacktrace", "");
+    }
+}
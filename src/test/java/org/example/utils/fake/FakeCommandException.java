@@ -0,0 +1,46 @@
+package org.example.utils.fake;
+
+/**
+ * Ошибка выполнения команды {@link FakeAppiumServer}, передаваемая клиенту в формате W3C WebDriver.
+ */
+final class FakeCommandException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+    private final String error;
+
+    FakeCommandException(int status, String error, String message) {
+        super(message);
+        this.status = status;
+        this.error = error;
+    }
+
+    static FakeCommandException noSuchElement(String message) {
+        return new FakeCommandException(404, "no such element", message);
+    }
+
+    static FakeCommandException staleElement(String elementId) {
+        return new FakeCommandException(404, "stale element reference",
+                "Элемент " + elementId + " больше не присутствует на экране");
+    }
+
+    static FakeCommandException invalidSession(String sessionId) {
+        return new FakeCommandException(404, "invalid session id", "Сессия " + sessionId + " не найдена");
+    }
+
+    static FakeCommandException unknownCommand(String message) {
+        return new FakeCommandException(404, "unknown command", message);
+    }
+
+    static FakeCommandException invalidArgument(String message) {
+        return new FakeCommandException(400, "invalid argument", message);
+    }
+
+    int status() {
+        return status;
+    }
+
+    String error() {
+        return error;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.utils.fake;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Искусственная задержка ответов {@link FakeAppiumServer}.
+ *
+ * <p>Задержка команды складывается из базового значения и случайного разброса
+ * в пределах {@code [0, jitter]}. Базовое значение можно переопределить для отдельной команды,
+ * имена команд совпадают с {@link org.openqa.selenium.remote.DriverCommand}
+ * ({@code findElement}, {@code getPageSource}, {@code clickElement} и т.д.).</p>
+ */
+public final class FakeLatency {
+    private static final String PREFIX = "fake.latency.";
+    private static final String MILLIS_SUFFIX = ".millis";
+
+    private final Duration base;
+    private final Duration jitter;
+    private final Map<String, Duration> perCommand;
+
+    private FakeLatency(Duration base, Duration jitter, Map<String, Duration> perCommand) {
+        this.base = base;
+        this.jitter = jitter;
+        this.perCommand = Map.copyOf(perCommand);
+    }
+
+    /**
+     * Возвращает конфигурацию без задержек.
+     *
+     * @return нулевая задержка для всех команд
+     */
+    public static FakeLatency none() {
+        return new FakeLatency(Duration.ZERO, Duration.ZERO, Map.of());
+    }
+
+    /**
+     * Создает задержку с одинаковым базовым значением для всех команд.
+     *
+     * @param base   базовая задержка
+     * @param jitter максимальный случайный разброс
+     * @return конфигурация задержки
+     */
+    public static FakeLatency of(Duration base, Duration jitter) {
+        return new FakeLatency(base, jitter, Map.of());
+    }
+
+    /**
+     * Читает задержку из системных свойств.
+     * <ul>
+     * <li>{@code fake.latency.millis} - базовая задержка, по умолчанию 0</li>
+     * <li>{@code fake.latency.jitter.millis} - разброс, по умолчанию 0</li>
+     * <li>{@code fake.latency.<команда>.millis} - базовая задержка отдельной команды</li>
+     * </ul>
+     *
+     * @return конфигурация задержки
+     */
+    public static FakeLatency fromSystemProperties() {
+        FakeLatency latency = of(
+                Duration.ofMillis(Long.getLong(PREFIX + "millis", 0)),
+                Duration.ofMillis(Long.getLong(PREFIX + "jitter" + MILLIS_SUFFIX, 0)));
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (!name.startsWith(PREFIX) || !name.endsWith(MILLIS_SUFFIX)) {
+                continue;
+            }
+            String command = name.substring(PREFIX.length(), name.length() - MILLIS_SUFFIX.length());
+            if (!command.isEmpty() && !"jitter".equals(command)) {
+                latency = latency.withCommand(command, Duration.ofMillis(Long.getLong(name)));
+            }
+        }
+        return latency;
+    }
+
+    /**
+     * Возвращает копию конфигурации с отдельной задержкой для команды.
+     *
+     * @param command имя команды
+     * @param latency базовая задержка команды
+     * @return новая конфигурация
+     */
+    public FakeLatency withCommand(String command, Duration latency) {
+        Map<String, Duration> commands = new HashMap<>(perCommand);
+        commands.put(command, latency);
+        return new FakeLatency(base, jitter, commands);
+    }
+
+    /**
+     * Вычисляет задержку очередного выполнения команды.
+     *
+     * @param command имя команды
+     * @return задержка с учетом случайного разброса
+     */
+    public Duration delayOf(String command) {
+        Duration delay = perCommand.getOrDefault(command, base);
+        if (!jitter.isZero()) {
+            delay = delay.plusNanos(ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1));
+        }
+        return delay;
+    }
+
+    void pause(String command) throws InterruptedException {
+        Duration delay = delayOf(command);
+        if (!delay.isZero()) {
+            Thread.sleep(delay);
+        }
+    }
+}
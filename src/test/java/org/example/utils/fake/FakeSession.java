@@ -0,0 +1,361 @@
+package org.example.utils.fake;
+
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSelectorQuery;
+import org.example.utils.snapshot.UiSnapshot;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Состояние одной сессии {@link FakeAppiumServer}: запущенные приложения, экран на переднем плане
+ * и выданные клиенту идентификаторы элементов.
+ *
+ * <p>Идентификатор элемента привязан к показу экрана: после любого перехода (нажатие, deep link,
+ * перезапуск приложения) ранее выданные идентификаторы считаются устаревшими,
+ * как и на реальном устройстве.</p>
+ */
+final class FakeSession {
+    private static final String LAUNCHER_SOURCE = """
+            <?xml version='1.0' encoding='UTF-8' standalone='yes' ?>
+            <hierarchy index="0" class="hierarchy" rotation="0" width="1080" height="2340">
+              <android.widget.FrameLayout index="0" package="com.android.launcher3" class="android.widget.FrameLayout" \
+            text="" resource-id="com.android.launcher3:id/launcher" content-desc="" clickable="false" enabled="true" \
+            displayed="true" scrollable="false" bounds="[0,0][1080,2340]" />
+            </hierarchy>
+            """;
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+    private static final Pattern CSS_ATTRIBUTE = Pattern.compile("^\\*?\\[([\\w-]+)\\s*=\\s*['\"](.*)['\"]]$");
+    private static final String ID_MARKER = ":id/";
+    private static final DateTimeFormatter LOGCAT_TIME = DateTimeFormatter.ofPattern("MM-dd HH:mm:ss.SSS");
+    private static final int LOGCAT_PID = 12345;
+
+    private static final int APP_NOT_RUNNING = 1;
+    private static final int APP_RUNNING_IN_BACKGROUND = 3;
+    private static final int APP_RUNNING_IN_FOREGROUND = 4;
+
+    private final String id;
+    private final Map<String, Object> capabilities;
+    private final Map<String, FakeApp> apps;
+    private final Map<String, String> runningScreens = new HashMap<>();
+    private final List<String> logcat = new ArrayList<>();
+    private String foreground;
+    private int generation;
+    private int videoFrame;
+    private UiSnapshot snapshot;
+
+    FakeSession(String id, Map<String, Object> capabilities, Map<String, FakeApp> apps) {
+        this.id = id;
+        this.capabilities = capabilities;
+        this.apps = apps;
+
+        Object appPackage = capabilities.get("appium:appPackage");
+        if (appPackage != null && apps.containsKey(appPackage.toString())) {
+            activate(appPackage.toString());
+        }
+    }
+
+    String id() {
+        return id;
+    }
+
+    Map<String, Object> capabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Возвращает экран приложения на переднем плане.
+     *
+     * @return имя экрана из сценария или пустой {@link Optional}, если открыт рабочий стол
+     */
+    synchronized Optional<String> screen() {
+        return Optional.ofNullable(foreground).map(runningScreens::get);
+    }
+
+    synchronized String foregroundPackage() {
+        return foreground;
+    }
+
+    synchronized String source() {
+        return snapshot().source();
+    }
+
+    synchronized void activate(String appPackage) {
+        FakeApp app = app(appPackage);
+        runningScreens.putIfAbsent(appPackage, app.startScreen());
+        show(appPackage, runningScreens.get(appPackage));
+    }
+
+    synchronized void startActivity(String appPackage) {
+        show(appPackage, app(appPackage).startScreen());
+    }
+
+    synchronized boolean terminate(String appPackage) {
+        boolean wasRunning = runningScreens.remove(appPackage) != null;
+        if (appPackage.equals(foreground)) {
+            show(null, null);
+        }
+        return wasRunning;
+    }
+
+    synchronized int appState(String appPackage) {
+        if (appPackage.equals(foreground)) {
+            return APP_RUNNING_IN_FOREGROUND;
+        }
+        return runningScreens.containsKey(appPackage) ? APP_RUNNING_IN_BACKGROUND : APP_NOT_RUNNING;
+    }
+
+    synchronized void deepLink(String url, String appPackage) {
+        FakeApp app = app(appPackage);
+        String screen = app.afterDeepLink(url).orElseThrow(() -> FakeCommandException.invalidArgument(
+                "Приложение " + appPackage + " не обрабатывает ссылку " + url));
+        show(appPackage, screen);
+    }
+
+    synchronized void showScreen(String screen) {
+        if (foreground != null) {
+            show(foreground, screen);
+        }
+    }
+
+    synchronized void back() {
+        if (foreground == null) {
+            return;
+        }
+        Optional<String> previous = apps.get(foreground).afterBack(runningScreens.get(foreground));
+        if (previous.isPresent()) {
+            show(foreground, previous.get());
+        } else {
+            show(null, null);
+        }
+    }
+
+    /**
+     * Выполняет жесты прокрутки вниз: каждый жест открывает экран из правила {@code scroll} сценария.
+     *
+     * @param gestures количество жестов
+     */
+    synchronized void scroll(int gestures) {
+        for (int i = 0; i < gestures && foreground != null; i++) {
+            Optional<String> next = apps.get(foreground).afterScroll(runningScreens.get(foreground));
+            if (next.isEmpty()) {
+                return;
+            }
+            show(foreground, next.get());
+        }
+    }
+
+    synchronized String appVersion(String appPackage) {
+        return app(appPackage).version();
+    }
+
+    /**
+     * Возвращает строки logcat, записанные с прошлого запроса, и очищает буфер, как {@code getLog} Appium.
+     *
+     * @return строки в формате {@code threadtime}
+     */
+    synchronized List<String> drainLogcat() {
+        List<String> lines = List.copyOf(logcat);
+        logcat.clear();
+        return lines;
+    }
+
+    /**
+     * Находит элементы текущего экрана.
+     *
+     * @param using    стратегия поиска W3C/Appium
+     * @param value    значение локатора
+     * @param parentId идентификатор элемента, внутри которого выполняется поиск, или {@code null}
+     * @return идентификаторы найденных элементов в порядке документа
+     */
+    synchronized List<String> find(String using, String value, String parentId) {
+        UiNode parent = parentId == null ? null : element(parentId);
+        List<UiNode> found = switch (using) {
+            case "id" -> filter(node -> node.resourceId().equals(qualifiedId(value)));
+            case "accessibility id" -> filter(node -> node.contentDesc().equals(value));
+            case "class name" -> filter(node -> node.className().equals(value));
+            case "xpath" -> snapshot().findByXpath(value);
+            case "-android uiautomator" -> UiSelectorQuery.parse(value).select(snapshot());
+            case "css selector" -> filter(cssCriterion(value));
+            default -> throw new FakeCommandException(400, "invalid selector", "Неподдерживаемая стратегия: " + using);
+        };
+
+        List<String> ids = new ArrayList<>(found.size());
+        for (UiNode node : found) {
+            if (parent == null || isDescendant(node, parent)) {
+                ids.add(generation + "-" + node.order());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Возвращает элемент текущего экрана по идентификатору.
+     *
+     * @param elementId идентификатор, выданный {@link #find(String, String, String)}
+     * @return элемент иерархии
+     * @throws FakeCommandException если экран с момента поиска элемента сменился
+     */
+    synchronized UiNode element(String elementId) {
+        int separator = elementId.indexOf('-');
+        try {
+            int elementGeneration = Integer.parseInt(elementId.substring(0, separator));
+            int order = Integer.parseInt(elementId.substring(separator + 1));
+            if (elementGeneration != generation) {
+                throw FakeCommandException.staleElement(elementId);
+            }
+            return snapshot().nodes().get(order);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw FakeCommandException.noSuchElement("Неизвестный идентификатор элемента " + elementId);
+        }
+    }
+
+    /**
+     * Возвращает номер следующего кадра, если в элементе идет видео.
+     *
+     * @param elementId идентификатор элемента
+     * @return номер кадра или пустой {@link Optional}, если элемент не задан правилом {@code video}
+     */
+    synchronized Optional<Integer> videoFrame(String elementId) {
+        UiNode node = element(elementId);
+        if (foreground == null || !apps.get(foreground).isVideo(runningScreens.get(foreground), node)) {
+            return Optional.empty();
+        }
+        return Optional.of(videoFrame++);
+    }
+
+    synchronized void click(String elementId) {
+        UiNode node = element(elementId);
+        if (foreground != null) {
+            apps.get(foreground).afterClick(runningScreens.get(foreground), node)
+                    .ifPresent(next -> show(foreground, next));
+        }
+    }
+
+    static String attribute(UiNode node, String name) {
+        return switch (name) {
+            case "text", "name" -> node.text();
+            case "resource-id", "resourceId" -> node.resourceId();
+            case "content-desc", "contentDescription" -> node.contentDesc();
+            case "class", "className" -> node.className();
+            case "bounds" -> node.bounds();
+            case "clickable" -> String.valueOf(node.isClickable());
+            case "enabled" -> String.valueOf(node.isEnabled());
+            case "displayed" -> String.valueOf(node.isDisplayed());
+            case "scrollable" -> String.valueOf(node.isScrollable());
+            default -> null;
+        };
+    }
+
+    static Map<String, Object> rect(UiNode node) {
+        Matcher matcher = BOUNDS.matcher(node.bounds());
+        if (!matcher.matches()) {
+            return Map.of("x", 0, "y", 0, "width", 0, "height", 0);
+        }
+        int left = Integer.parseInt(matcher.group(1));
+        int top = Integer.parseInt(matcher.group(2));
+        return Map.of(
+                "x", left,
+                "y", top,
+                "width", Integer.parseInt(matcher.group(3)) - left,
+                "height", Integer.parseInt(matcher.group(4)) - top
+        );
+    }
+
+    private void show(String appPackage, String screen) {
+        foreground = appPackage;
+        if (appPackage != null) {
+            runningScreens.put(appPackage, screen);
+            String time = LOGCAT_TIME.format(LocalDateTime.now());
+            for (String line : apps.get(appPackage).logcatOn(screen)) {
+                logcat.add(time + " " + LOGCAT_PID + " " + LOGCAT_PID + " " + line);
+            }
+        }
+        generation++;
+        snapshot = null;
+    }
+
+    private UiSnapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = UiSnapshot.parse(foreground == null
+                    ? LAUNCHER_SOURCE
+                    : apps.get(foreground).source(runningScreens.get(foreground)));
+        }
+        return snapshot;
+    }
+
+    private FakeApp app(String appPackage) {
+        FakeApp app = apps.get(appPackage);
+        if (app == null) {
+            throw FakeCommandException.invalidArgument("Приложение " + appPackage + " не установлено");
+        }
+        return app;
+    }
+
+    private List<UiNode> filter(Predicate<UiNode> criterion) {
+        List<UiNode> found = new ArrayList<>();
+        for (UiNode node : snapshot().nodes()) {
+            if (criterion.test(node)) {
+                found.add(node);
+            }
+        }
+        return found;
+    }
+
+    private String qualifiedId(String value) {
+        return value.contains(ID_MARKER) || foreground == null ? value : foreground + ID_MARKER + value;
+    }
+
+    /**
+     * Переводит CSS селектор обратно в условие UiAutomator2: Selenium передает {@code By.id}
+     * как {@code #id} с экранированием спецсимволов, {@code By.className} как {@code .class},
+     * {@code By.name} как {@code *[name="..."]}.
+     */
+    private Predicate<UiNode> cssCriterion(String selector) {
+        if (selector.startsWith("#")) {
+            String resourceId = qualifiedId(unescapeCss(selector.substring(1)));
+            return node -> node.resourceId().equals(resourceId);
+        }
+        if (selector.startsWith(".")) {
+            String className = unescapeCss(selector.substring(1));
+            return node -> node.className().equals(className);
+        }
+        Matcher matcher = CSS_ATTRIBUTE.matcher(selector);
+        if (matcher.matches()) {
+            String name = matcher.group(1);
+            String value = matcher.group(2);
+            return node -> value.equals(attribute(node, name))
+                    || ("name".equals(name) && node.contentDesc().equals(value));
+        }
+        throw new FakeCommandException(400, "invalid selector", "Неподдерживаемый CSS селектор: " + selector);
+    }
+
+    private static String unescapeCss(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                c = value.charAt(++i);
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    private static boolean isDescendant(UiNode node, UiNode ancestor) {
+        for (UiNode current = node.parent(); current != null; current = current.parent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
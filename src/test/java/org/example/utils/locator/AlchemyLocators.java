@@ -0,0 +1,58 @@
+package org.example.utils.locator;
+
+import org.example.exceptions.UtilityClassException;
+
+/**
+ * Локаторы экранов приложения Alchemy.
+ *
+ * <p>Имена локаторов совпадают с названиями шагов ожидания в {@link org.example.utils.AlchemyUtils}.
+ * Локаторы, зависящие от количества подсказок, строятся один раз на каждое значение ({@link LocatorFamily}).</p>
+ */
+public final class AlchemyLocators {
+
+    /**
+     * Главное меню.
+     */
+    public static final class Menu {
+        public static final Locator PLAY_BUTTON = Locator.text("Кнопка 'Играть'", "Играть");
+
+        private Menu() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Игровое поле.
+     */
+    public static final class Game {
+        public static final LocatorFamily<Integer> HINT =
+                new LocatorFamily<>(quantity -> Locator.text("Подсказка " + quantity, String.valueOf(quantity)));
+
+        private Game() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Окно подсказок.
+     */
+    public static final class Hints {
+        public static final Locator SECTION = Locator.text("Раздел 'Ваши подсказки'", "Ваши подсказки");
+        public static final Locator WATCH_BUTTON = Locator.text("Кнопка 'Смотреть'", "Смотреть");
+        public static final LocatorFamily<Integer> COUNT =
+                new LocatorFamily<>(count -> Locator.text("Количество подсказок " + count, String.valueOf(count)));
+
+        private Hints() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private AlchemyLocators() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.utils.locator;
+
+import io.appium.java_client.AppiumBy;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Запрос «любой из локаторов», выполняемый одним обращением к устройству.
+ *
+ * <p>Вместо последовательных проверок каждого локатора:</p>
+ * <ul>
+ * <li>{@link #by()} объединяет локаторы по resource-id (или по тексту) в один UiSelector
+ * с регулярным выражением {@code resourceIdMatches} ({@code textMatches})</li>
+ * <li>{@link #firstIn(UiSnapshot)} и {@link #presentIn(UiSnapshot)} определяют по одному снимку иерархии,
+ * какой именно локатор совпал; так можно объединять локаторы любых стратегий</li>
+ * </ul>
+ */
+public final class AnyOf {
+    private final String name;
+    private final List<Locator> members;
+    private final By by;
+
+    private AnyOf(String name, List<Locator> members) {
+        this.name = name;
+        this.members = members;
+        this.by = combine(members);
+    }
+
+    /**
+     * Создает запрос «любой из».
+     *
+     * @param name    название запроса, используется как название шага ожидания
+     * @param members локаторы в порядке приоритета
+     * @return запрос
+     * @throws IllegalArgumentException если не передано ни одного локатора
+     */
+    public static AnyOf of(String name, Locator... members) {
+        if (members.length == 0) {
+            throw new IllegalArgumentException("Запрос '" + name + "' должен содержать хотя бы один локатор");
+        }
+        return new AnyOf(name, List.of(members));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Locator> members() {
+        return members;
+    }
+
+    /**
+     * Возвращает один локатор для поиска любого из элементов на устройстве.
+     *
+     * @return UiSelector с {@code resourceIdMatches} или {@code textMatches}
+     * @throws IllegalStateException если локаторы заданы разными стратегиями или не по resource-id/тексту;
+     *                               такие запросы выполняются по снимку иерархии
+     */
+    public By by() {
+        if (by == null) {
+            throw new IllegalStateException("Локаторы запроса '" + name
+                    + "' нельзя объединить в один UiSelector, используйте снимок иерархии");
+        }
+        return by;
+    }
+
+    /**
+     * Определяет первый по приоритету локатор, элементы которого есть в снимке.
+     *
+     * @param snapshot снимок экрана
+     * @return совпавший локатор или пустой {@link Optional}, если не совпал ни один
+     */
+    public Optional<Locator> firstIn(UiSnapshot snapshot) {
+        for (Locator member : members) {
+            if (member.isPresentIn(snapshot)) {
+                return Optional.of(member);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Определяет все локаторы, элементы которых есть в снимке.
+     *
+     * @param snapshot снимок экрана
+     * @return совпавшие локаторы в порядке приоритета
+     */
+    public List<Locator> presentIn(UiSnapshot snapshot) {
+        List<Locator> present = new ArrayList<>();
+        for (Locator member : members) {
+            if (member.isPresentIn(snapshot)) {
+                present.add(member);
+            }
+        }
+        return present;
+    }
+
+    private static By combine(List<Locator> members) {
+        Locator.Kind kind = members.get(0).kind();
+        if ((kind != Locator.Kind.ID && kind != Locator.Kind.TEXT)
+                || members.stream().anyMatch(member -> member.kind() != kind)) {
+            return null;
+        }
+        String regex = members.stream()
+                .map(member -> Pattern.quote(member.value()))
+                .collect(Collectors.joining("|", "(?:", ")"));
+        String method = kind == Locator.Kind.ID ? "resourceIdMatches" : "textMatches";
+        return AppiumBy.androidUIAutomator("new UiSelector()." + method + "(" + Locator.quote(regex) + ")");
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + members.stream().map(Locator::name).toList();
+    }
+}
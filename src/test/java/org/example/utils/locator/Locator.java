@@ -0,0 +1,154 @@
+package org.example.utils.locator;
+
+import io.appium.java_client.AppiumBy;
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSelectorQuery;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openqa.selenium.By;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Именованный локатор элемента экрана, подготовленный один раз.
+ *
+ * <p>Для каждого локатора заранее строится {@link By} для поиска на устройстве
+ * и разобранное выражение для поиска по снимку иерархии ({@link UiSnapshot}).
+ * Имя локатора используется как название шага ожидания в {@link org.example.utils.wait.WaitBudget}.</p>
+ */
+public final class Locator {
+    private static final Map<String, Locator> BY_NAME = new ConcurrentHashMap<>();
+
+    /**
+     * Стратегия, которой задан локатор.
+     */
+    public enum Kind {
+        ID,
+        TEXT,
+        UI_SELECTOR,
+        XPATH
+    }
+
+    private final String name;
+    private final Kind kind;
+    private final String value;
+    private final By by;
+    private final UiSelectorQuery query;
+
+    private Locator(String name, Kind kind, String value, By by, UiSelectorQuery query) {
+        this.name = name;
+        this.kind = kind;
+        this.value = value;
+        this.by = by;
+        this.query = query;
+        BY_NAME.putIfAbsent(name, this);
+    }
+
+    /**
+     * Находит созданный ранее локатор по названию, то есть по названию шага ожидания.
+     *
+     * @param name название элемента
+     * @return локатор или пустой {@link Optional}, если локатор с таким названием не создавался
+     */
+    public static Optional<Locator> named(String name) {
+        return Optional.ofNullable(BY_NAME.get(name));
+    }
+
+    /**
+     * Создает локатор по resource-id.
+     *
+     * @param name       название элемента
+     * @param resourceId полный resource-id, например {@code com.vk.vkvideo:id/search_button}
+     * @return локатор
+     */
+    public static Locator id(String name, String resourceId) {
+        return new Locator(name, Kind.ID, resourceId, AppiumBy.id(resourceId), null);
+    }
+
+    /**
+     * Создает локатор по точному совпадению текста.
+     *
+     * @param name название элемента
+     * @param text текст элемента
+     * @return локатор
+     */
+    public static Locator text(String name, String text) {
+        String expression = "new UiSelector().text(" + quote(text) + ")";
+        return new Locator(name, Kind.TEXT, text, AppiumBy.androidUIAutomator(expression),
+                UiSelectorQuery.parse(expression));
+    }
+
+    /**
+     * Создает локатор по выражению UiAutomator.
+     *
+     * @param name       название элемента
+     * @param expression выражение вида {@code new UiSelector()...}
+     * @return локатор
+     * @throws IllegalArgumentException если выражение нельзя вычислить локально
+     */
+    public static Locator uiSelector(String name, String expression) {
+        return new Locator(name, Kind.UI_SELECTOR, expression, AppiumBy.androidUIAutomator(expression),
+                UiSelectorQuery.parse(expression));
+    }
+
+    /**
+     * Создает локатор по XPath, переведенному в нативную стратегию через {@link XPathCompiler}, если это возможно.
+     *
+     * @param name  название элемента
+     * @param xpath XPath выражение
+     * @return локатор
+     */
+    public static Locator xpath(String name, String xpath) {
+        UiSelectorQuery query = XPathCompiler.toUiSelector(xpath).map(UiSelectorQuery::parse).orElse(null);
+        return new Locator(name, Kind.XPATH, xpath, XPathCompiler.compile(xpath), query);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Возвращает значение, которым задан локатор: resource-id, текст, выражение UiSelector или XPath.
+     *
+     * @return значение локатора
+     */
+    public String value() {
+        return value;
+    }
+
+    public By by() {
+        return by;
+    }
+
+    /**
+     * Находит элементы локатора в снимке иерархии.
+     *
+     * @param snapshot снимок экрана
+     * @return найденные элементы в порядке документа
+     */
+    public List<UiNode> findIn(UiSnapshot snapshot) {
+        if (kind == Kind.ID) {
+            return snapshot.findAllById(value);
+        }
+        return query != null ? query.select(snapshot) : snapshot.findByXpath(value);
+    }
+
+    public boolean isPresentIn(UiSnapshot snapshot) {
+        return !findIn(snapshot).isEmpty();
+    }
+
+    static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + value + ")";
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.utils.locator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Семейство локаторов, различающихся параметром, например подсказка с заданным количеством.
+ *
+ * <p>Локатор для каждого значения параметра строится один раз и переиспользуется,
+ * вместо сборки строки UiSelector при каждом вызове.</p>
+ *
+ * @param <T> тип параметра
+ */
+public final class LocatorFamily<T> {
+    private final Function<T, Locator> factory;
+    private final Map<T, Locator> locators = new ConcurrentHashMap<>();
+
+    /**
+     * Создает семейство локаторов.
+     *
+     * @param factory строит локатор для значения параметра
+     */
+    public LocatorFamily(Function<T, Locator> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Возвращает локатор для значения параметра.
+     *
+     * @param parameter значение параметра
+     * @return подготовленный локатор
+     */
+    public Locator of(T parameter) {
+        return locators.computeIfAbsent(parameter, factory);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.utils.locator;
+
+import org.example.exceptions.UtilityClassException;
+
+/**
+ * Локаторы экранов приложения VK Video.
+ *
+ * <p>Локаторы сгруппированы по экранам и подготавливаются один раз при загрузке класса.
+ * Имена локаторов совпадают с названиями шагов ожидания, под которыми
+ * накоплена история адаптивных таймаутов.</p>
+ */
+public final class VKVideoLocators {
+    private static final String ID_PREFIX = "com.vk.vkvideo:id/";
+
+    /**
+     * Экран входа.
+     */
+    public static final class Login {
+        public static final Locator FAST_LOGIN_BUTTON =
+                Locator.id("Кнопка пропуска логина", ID_PREFIX + "fast_login_tertiary_btn");
+
+        private Login() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Главный экран с лентой видео.
+     */
+    public static final class Feed {
+        public static final Locator SEARCH_BUTTON = Locator.id("Кнопка поиска", ID_PREFIX + "search_button");
+        public static final Locator VIDEOS = Locator.id("Лента видео", ID_PREFIX + "content");
+        public static final Locator LIST = Locator.id("Список ленты", ID_PREFIX + "list");
+        public static final Locator FIRST_VIDEO = Locator.uiSelector("Первое видео в ленте",
+                "new UiSelector().resourceId(\"" + ID_PREFIX + "content\").instance(0)");
+        public static final Locator MAIN_CONTENT = Locator.id("Главный экран", ID_PREFIX + "main_content");
+        public static final Locator TITLE = Locator.id("Заголовок", ID_PREFIX + "title");
+
+        private Feed() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Экран поиска.
+     */
+    public static final class Search {
+        public static final Locator SEARCH_FIELD = Locator.id("Поле поиска", ID_PREFIX + "search_src_text");
+
+        /**
+         * Элементы, по которым видно, что приложение осталось на экране поиска или ленты.
+         */
+        public static final AnyOf OPENED = AnyOf.of("Экран поиска",
+                Feed.SEARCH_BUTTON, SEARCH_FIELD, Feed.TITLE);
+
+        private Search() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Экран видеоплеера.
+     */
+    public static final class Player {
+        public static final Locator VIDEO_DISPLAY = Locator.id("Видеоплеер", ID_PREFIX + "video_display");
+        public static final Locator CONTROLS = Locator.id("Элементы управления плеером", ID_PREFIX + "player_control");
+        public static final Locator LIKES = Locator.id("Кнопка лайков", ID_PREFIX + "likes");
+        public static final Locator TITLE = Feed.TITLE;
+
+        private Player() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Экран ошибки воспроизведения или открытия ссылки.
+     */
+    public static final class ErrorScreen {
+        public static final Locator MESSAGE = Locator.id("Сообщение об ошибке", ID_PREFIX + "error_message");
+        public static final Locator UNAVAILABLE_TEXT =
+                Locator.xpath("Текст 'Недоступно'", "//*[contains(@text, 'Недоступно')]");
+        public static final Locator ERROR_TEXT = Locator.xpath("Текст 'Ошибка'", "//*[contains(@text, 'Ошибка')]");
+        public static final Locator CLOSE_BUTTON = Locator.id("Кнопка закрытия", ID_PREFIX + "close_button");
+
+        private ErrorScreen() {
+            throw new UtilityClassException(getClass());
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private VKVideoLocators() {
+        throw new UtilityClassException(getClass());
+    }
+}
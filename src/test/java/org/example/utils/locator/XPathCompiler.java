@@ -0,0 +1,312 @@
+package org.example.utils.locator;
+
+import io.appium.java_client.AppiumBy;
+import org.example.exceptions.UtilityClassException;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Переводит XPath локаторы в нативные стратегии UiAutomator2.
+ *
+ * <p>XPath на стороне сервера заставляет UiAutomator2 сериализовать всю иерархию окна при каждом опросе.
+ * Распространенные формы XPath переписываются в эквивалентные выражения UiSelector, resource-id
+ * или accessibility id:</p>
+ * <ul>
+ * <li>любой элемент или элемент класса: {@code //*}, {@code //android.widget.TextView}</li>
+ * <li>равенство атрибутов {@code @text}, {@code @resource-id}, {@code @content-desc}, {@code @class},
+ * {@code @clickable}, {@code @enabled}, {@code @scrollable}</li>
+ * <li>{@code contains()} и {@code starts-with()} для {@code @text}, {@code @content-desc} и {@code @resource-id}</li>
+ * <li>несколько условий через {@code and} и цепочки предков через {@code //}</li>
+ * </ul>
+ * <p>Остальные выражения (оси, позиции, {@code or}, прямые потомки {@code /}) остаются XPath,
+ * каждый такой локатор логируется один раз.</p>
+ */
+public class XPathCompiler {
+    private static final Logger log = LoggerFactory.getLogger(XPathCompiler.class);
+
+    private static final String ANY_ELEMENT = "new UiSelector().classNameMatches(\".*\")";
+    private static final Map<String, Optional<Compiled>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает нативный локатор для XPath выражения или XPath, если выражение не удалось перевести.
+     *
+     * @param xpath XPath выражение в терминах атрибутов UiAutomator2
+     * @return {@link AppiumBy#id}, {@link AppiumBy#accessibilityId}, {@link AppiumBy#androidUIAutomator}
+     * или {@link By#xpath}
+     */
+    public static By compile(String xpath) {
+        return compiled(xpath).map(Compiled::by).orElseGet(() -> By.xpath(xpath));
+    }
+
+    /**
+     * Переводит XPath выражение в эквивалентное выражение UiSelector.
+     *
+     * @param xpath XPath выражение в терминах атрибутов UiAutomator2
+     * @return выражение UiSelector или пустой {@link Optional}, если форма выражения не поддерживается
+     */
+    public static Optional<String> toUiSelector(String xpath) {
+        return compiled(xpath).map(Compiled::uiSelector);
+    }
+
+    private static Optional<Compiled> compiled(String xpath) {
+        return CACHE.computeIfAbsent(xpath, key -> {
+            Optional<Compiled> compiled = new Parser(key).path();
+            if (compiled.isEmpty()) {
+                log.warn("XPath не переведен в нативный локатор, выполняется как XPath: {}", key);
+            } else {
+                log.debug("XPath {} переведен в {}", key, compiled.get().uiSelector());
+            }
+            return compiled;
+        });
+    }
+
+    /**
+     * Результат перевода: выражение UiSelector и самый дешевый эквивалентный локатор.
+     */
+    private record Compiled(String uiSelector, By by) {
+    }
+
+    /**
+     * Разбор поддерживаемого подмножества XPath:
+     * <pre>
+     * path      := ('//' step)+
+     * step      := ('*' | класс) ('[' condition ('and' condition)* ']')*
+     * condition := '@'атрибут '=' строка | ('contains' | 'starts-with') '(' '@'атрибут ',' строка ')'
+     * </pre>
+     */
+    private static final class Parser {
+        private final String source;
+        private int pos;
+
+        private Parser(String source) {
+            this.source = source.strip();
+        }
+
+        private Optional<Compiled> path() {
+            List<Step> steps = new ArrayList<>();
+            while (pos < source.length()) {
+                if (!source.startsWith("//", pos)) {
+                    return Optional.empty();
+                }
+                pos += 2;
+                Step step = step();
+                if (step == null) {
+                    return Optional.empty();
+                }
+                steps.add(step);
+            }
+            if (steps.isEmpty()) {
+                return Optional.empty();
+            }
+
+            String selector = steps.get(steps.size() - 1).selector();
+            for (int i = steps.size() - 2; i >= 0; i--) {
+                selector = steps.get(i).selector() + ".childSelector(" + selector + ")";
+            }
+            return Optional.of(new Compiled(selector, nativeBy(steps, selector)));
+        }
+
+        private static By nativeBy(List<Step> steps, String selector) {
+            if (steps.size() == 1 && steps.get(0).className == null && steps.get(0).conditions.size() == 1) {
+                Condition condition = steps.get(0).conditions.get(0);
+                if ("=".equals(condition.function) && "resource-id".equals(condition.attribute)) {
+                    return AppiumBy.id(condition.value);
+                }
+                if ("=".equals(condition.function) && "content-desc".equals(condition.attribute)) {
+                    return AppiumBy.accessibilityId(condition.value);
+                }
+            }
+            return AppiumBy.androidUIAutomator(selector);
+        }
+
+        private Step step() {
+            String className;
+            if (peek('*')) {
+                pos++;
+                className = null;
+            } else {
+                int start = pos;
+                while (pos < source.length() && isNameChar(source.charAt(pos))) {
+                    pos++;
+                }
+                if (start == pos) {
+                    return null;
+                }
+                className = source.substring(start, pos);
+            }
+
+            Step step = new Step(className);
+            while (peek('[')) {
+                pos++;
+                do {
+                    Condition condition = condition();
+                    if (condition == null) {
+                        return null;
+                    }
+                    step.conditions.add(condition);
+                } while (keyword("and"));
+                skipWhitespace();
+                if (!peek(']')) {
+                    return null;
+                }
+                pos++;
+            }
+            return step;
+        }
+
+        private Condition condition() {
+            skipWhitespace();
+            for (String function : List.of("contains", "starts-with")) {
+                if (keyword(function)) {
+                    if (!symbol('(')) {
+                        return null;
+                    }
+                    String attribute = attribute();
+                    if (attribute == null || !symbol(',')) {
+                        return null;
+                    }
+                    String value = literal();
+                    if (value == null || !symbol(')')) {
+                        return null;
+                    }
+                    return Condition.of(function, attribute, value);
+                }
+            }
+            String attribute = attribute();
+            if (attribute == null || !symbol('=')) {
+                return null;
+            }
+            String value = literal();
+            return value == null ? null : Condition.of("=", attribute, value);
+        }
+
+        private String attribute() {
+            skipWhitespace();
+            if (!peek('@')) {
+                return null;
+            }
+            pos++;
+            int start = pos;
+            while (pos < source.length() && (Character.isLetter(source.charAt(pos)) || source.charAt(pos) == '-')) {
+                pos++;
+            }
+            return start == pos ? null : source.substring(start, pos);
+        }
+
+        private String literal() {
+            skipWhitespace();
+            if (pos >= source.length() || (source.charAt(pos) != '\'' && source.charAt(pos) != '"')) {
+                return null;
+            }
+            char quote = source.charAt(pos++);
+            int end = source.indexOf(quote, pos);
+            if (end < 0) {
+                return null;
+            }
+            String value = source.substring(pos, end);
+            pos = end + 1;
+            return value;
+        }
+
+        private boolean keyword(String keyword) {
+            skipWhitespace();
+            if (!source.startsWith(keyword, pos)) {
+                return false;
+            }
+            int end = pos + keyword.length();
+            if (end < source.length() && isNameChar(source.charAt(end))) {
+                return false;
+            }
+            pos = end;
+            return true;
+        }
+
+        private boolean symbol(char symbol) {
+            skipWhitespace();
+            if (peek(symbol)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peek(char c) {
+            return pos < source.length() && source.charAt(pos) == c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '$' || c == '-';
+        }
+    }
+
+    private static final class Step {
+        private final String className;
+        private final List<Condition> conditions = new ArrayList<>();
+
+        private Step(String className) {
+            this.className = className;
+        }
+
+        private String selector() {
+            StringBuilder selector = new StringBuilder("new UiSelector()");
+            if (className != null) {
+                selector.append(".className(").append(Locator.quote(className)).append(')');
+            }
+            for (Condition condition : conditions) {
+                selector.append('.').append(condition.method).append('(').append(condition.argument).append(')');
+            }
+            return className == null && conditions.isEmpty() ? ANY_ELEMENT : selector.toString();
+        }
+    }
+
+    /**
+     * Условие шага XPath и соответствующий ему метод UiSelector.
+     */
+    private record Condition(String function, String attribute, String value, String method, String argument) {
+        static Condition of(String function, String attribute, String value) {
+            String quoted = Locator.quote(value);
+            return switch (function + " " + attribute) {
+                case "= text" -> new Condition(function, attribute, value, "text", quoted);
+                case "contains text" -> new Condition(function, attribute, value, "textContains", quoted);
+                case "starts-with text" -> new Condition(function, attribute, value, "textStartsWith", quoted);
+                case "= content-desc" -> new Condition(function, attribute, value, "description", quoted);
+                case "contains content-desc" -> new Condition(function, attribute, value, "descriptionContains", quoted);
+                case "starts-with content-desc" ->
+                        new Condition(function, attribute, value, "descriptionStartsWith", quoted);
+                case "= resource-id" -> new Condition(function, attribute, value, "resourceId", quoted);
+                case "contains resource-id" -> new Condition(function, attribute, value, "resourceIdMatches",
+                        Locator.quote(".*" + Pattern.quote(value) + ".*"));
+                case "starts-with resource-id" -> new Condition(function, attribute, value, "resourceIdMatches",
+                        Locator.quote(Pattern.quote(value) + ".*"));
+                case "= class" -> new Condition(function, attribute, value, "className", quoted);
+                case "= clickable", "= enabled", "= scrollable" -> "true".equals(value) || "false".equals(value)
+                        ? new Condition(function, attribute, value, attribute, value)
+                        : null;
+                default -> null;
+            };
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private XPathCompiler() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.utils.logcat;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Logcat устройства через команду {@code getLog} Appium.
+ *
+ * <p>UiAutomator2 драйвер отдает строки, накопленные с прошлого запроса, поэтому
+ * при подключении накопленный до теста лог вычитывается и отбрасывается.</p>
+ */
+public final class DriverLogcatSource implements LogcatSource {
+    private static final Logger log = LoggerFactory.getLogger(DriverLogcatSource.class);
+
+    static final String LOG_TYPE = "logcat";
+
+    private final AndroidDriver driver;
+
+    private DriverLogcatSource(AndroidDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Подключается к logcat сессии.
+     *
+     * @param driver драйвер сессии
+     * @return источник или пустой {@link Optional}, если сервер не отдает logcat
+     */
+    public static Optional<LogcatSource> connect(AndroidDriver driver) {
+        try {
+            int skipped = driver.manage().logs().get(LOG_TYPE).getAll().size();
+            log.debug("Подключен logcat сессии {}, пропущено строк: {}", driver.getSessionId(), skipped);
+            return Optional.of(new DriverLogcatSource(driver));
+        } catch (WebDriverException e) {
+            log.warn("Logcat недоступен, ожидания выполняются опросом интерфейса: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<String> read() {
+        return driver.manage().logs().get(LOG_TYPE).getAll().stream()
+                .map(LogEntry::getMessage)
+                .toList();
+    }
+}
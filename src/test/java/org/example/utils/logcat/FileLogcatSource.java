@@ -0,0 +1,57 @@
+package org.example.utils.logcat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Записанный logcat, отдаваемый порциями, как если бы строки появлялись на устройстве.
+ *
+ * <p>Используется для проверки ожиданий по маркерам без устройства.</p>
+ */
+public final class FileLogcatSource implements LogcatSource {
+    private final List<String> lines;
+    private final int batchSize;
+    private int position;
+
+    /**
+     * Создает источник из строк записи.
+     *
+     * @param lines     строки лога
+     * @param batchSize сколько строк отдается за один вызов {@link #read()}
+     */
+    public FileLogcatSource(List<String> lines, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер порции должен быть положительным: " + batchSize);
+        }
+        this.lines = List.copyOf(lines);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Читает запись logcat из файла.
+     *
+     * @param file      файл, сохраненный {@code adb logcat -v threadtime}
+     * @param batchSize сколько строк отдается за один вызов {@link #read()}
+     * @return источник
+     * @throws UncheckedIOException если файл не удалось прочитать
+     */
+    public static FileLogcatSource of(Path file, int batchSize) {
+        try {
+            return new FileLogcatSource(Files.readAllLines(file, StandardCharsets.UTF_8), batchSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать запись logcat " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized List<String> read() {
+        int end = Math.min(lines.size(), position + batchSize);
+        List<String> batch = lines.subList(position, end);
+        position = end;
+        return batch;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.utils.logcat;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Строка logcat.
+ *
+ * @param raw     строка целиком, по ней выполняется сопоставление с шаблонами подписок
+ * @param level   уровень ({@code V}, {@code D}, {@code I}, {@code W}, {@code E}, {@code F})
+ *                или пустая строка, если формат не распознан
+ * @param tag     тег или пустая строка, если формат не распознан
+ * @param message сообщение; для нераспознанного формата совпадает с {@code raw}
+ */
+public record LogcatLine(String raw, String level, String tag, String message) {
+    private static final Pattern THREADTIME = Pattern.compile(
+            "^\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d\\.\\d{3}\\s+\\d+\\s+\\d+\\s+([VDIWEFA])\\s+(.*?)\\s*: (.*)$");
+
+    /**
+     * Разбирает строку в формате {@code threadtime} (формат по умолчанию {@code adb logcat} и Appium).
+     *
+     * @param raw строка лога
+     * @return разобранная строка
+     */
+    public static LogcatLine parse(String raw) {
+        Matcher matcher = THREADTIME.matcher(raw);
+        if (!matcher.matches()) {
+            return new LogcatLine(raw, "", "", raw);
+        }
+        return new LogcatLine(raw, matcher.group(1), matcher.group(2), matcher.group(3));
+    }
+}
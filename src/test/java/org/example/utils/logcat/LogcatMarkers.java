@@ -0,0 +1,116 @@
+package org.example.utils.logcat;
+
+import com.codeborne.selenide.Selenide;
+import org.example.exceptions.UtilityClassException;
+import org.example.utils.session.TestSession;
+import org.example.utils.wait.WaitBudget;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Маркеры приложений в logcat и ожидание их в потоке logcat текущей сессии.
+ *
+ * <p>Шаблоны маркеров переопределяются системными свойствами, если приложение пишет в лог другие строки.
+ * Маркер ожидается вместе с условием интерфейса, поэтому неверный шаблон не удлиняет ожидание.
+ * Если logcat недоступен, ожидание возвращает {@code false} и вызывающий код ожидает интерфейс, как раньше.</p>
+ */
+public final class LogcatMarkers {
+    private static final Logger log = LoggerFactory.getLogger(LogcatMarkers.class);
+
+    /**
+     * Реклама досмотрена и награда начислена ({@code logcat.marker.ad.rewarded}).
+     */
+    public static final Pattern AD_REWARDED = marker("logcat.marker.ad.rewarded", "onUserEarnedReward|onRewarded");
+
+    /**
+     * Плеер отрисовал первый кадр ({@code logcat.marker.player.started}).
+     */
+    public static final Pattern PLAYER_STARTED = marker("logcat.marker.player.started",
+            "onFirstFrameRendered|onRenderedFirstFrame");
+
+    /**
+     * Позиция, означающая «с начала чтения logcat сессии».
+     */
+    public static final long SESSION_START = 0;
+
+    /**
+     * Запоминает позицию logcat текущей сессии перед действием, которое пишет маркер.
+     *
+     * <p>Строки, накопленные в источнике к этому моменту, вычитываются ({@link LogcatStream#catchUp()}),
+     * поэтому маркер, записанный до действия, не завершит ожидание.</p>
+     *
+     * @return позиция для {@link #await}
+     */
+    public static long mark() {
+        return stream().map(LogcatStream::catchUp).orElse(SESSION_START);
+    }
+
+    /**
+     * Ожидает маркер в logcat текущей сессии или выполнение условия интерфейса, смотря что наступит раньше,
+     * расходуя бюджет ожиданий теста.
+     *
+     * <p>Пока маркера нет, условие проверяется с интервалом опроса Selenide. Если приложение не пишет
+     * ожидаемую строку в лог, ожидание завершается по интерфейсу так же быстро, как без logcat.</p>
+     *
+     * @param step      название шага для расшифровки затрат {@link WaitBudget}
+     * @param marker    шаблон маркера
+     * @param from      позиция из {@link #mark()}, полученная до действия
+     * @param timeout   максимальное время ожидания
+     * @param condition проверка интерфейса без ожидания, например {@code () -> $(by).is(visible)}
+     * @return {@code true}, если ожидание выполнено (появился маркер, выполнилось условие или истек таймаут)
+     * и интерфейс остается проверить коротким таймаутом; {@code false}, если logcat недоступен
+     * и интерфейс нужно ожидать с полным таймаутом
+     * @throws org.example.exceptions.WaitBudgetExceededException если бюджета теста не хватило на ожидание
+     */
+    public static boolean await(String step, Pattern marker, long from, Duration timeout, BooleanSupplier condition) {
+        Optional<LogcatStream> logcat = stream();
+        if (logcat.isEmpty()) {
+            return false;
+        }
+        CompletableFuture<LogcatLine> line = logcat.get().next(marker, from);
+        try {
+            WaitBudget.await(step, timeout, granted -> Selenide.Wait().withTimeout(granted)
+                    .until(driver -> line.isDone() || condition.getAsBoolean()));
+        } catch (TimeoutException e) {
+            line.cancel(false);
+            log.warn("Шаг '{}': ни маркера в logcat, ни изменений интерфейса за {} мс", step, timeout.toMillis());
+            return true;
+        }
+
+        if (!line.isDone()) {
+            line.cancel(false);
+            log.debug("Шаг '{}' подтвержден интерфейсом раньше маркера в logcat", step);
+            return true;
+        }
+        if (!line.isCompletedExceptionally()) {
+            log.debug("Маркер '{}' в logcat: {}", step, line.join().message());
+            return true;
+        }
+        log.warn("Маркер '{}' не получен из logcat, проверяем по интерфейсу", step);
+        return false;
+    }
+
+    private static Optional<LogcatStream> stream() {
+        return Optional.ofNullable(TestSession.current()).flatMap(TestSession::logcat);
+    }
+
+    private static Pattern marker(String property, String defaultPattern) {
+        return Pattern.compile(System.getProperty(property, defaultPattern));
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private LogcatMarkers() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.utils.logcat;
+
+import java.util.List;
+
+/**
+ * Источник строк logcat для {@link LogcatStream}.
+ */
+@FunctionalInterface
+public interface LogcatSource {
+    /**
+     * Возвращает строки, появившиеся с прошлого вызова.
+     *
+     * @return новые строки или пустой список, если новых строк нет
+     */
+    List<String> read();
+}
@@ -0,0 +1,334 @@
+package org.example.utils.logcat;
+
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Фоновое чтение logcat с подпиской на строки по шаблону.
+ *
+ * <p>Источник опрашивается в виртуальном потоке, прочитанные строки нумеруются по порядку
+ * ({@link #position()}) и хранятся в ограниченной истории. Ожидание маркера ({@link #await})
+ * завершается, как только подходящая строка появилась в логе, без опроса интерфейса.</p>
+ * <p>Источник опрашивается, только пока есть ожидания или подписки: запросы к логу идут по той же
+ * сессии, что и команды теста, и без ожиданий не должны искажать замеры команд и запись трафика.
+ * Источник копит строки между запросами, поэтому пауза их не теряет, но строки, записанные
+ * до паузы, читаются позже. Чтобы маркер, записанный раньше, не принимался за новый, позицию
+ * перед действием нужно брать из {@link #catchUp()}:</p>
+ * <pre>
+ * long mark = logcat.catchUp();
+ * $(video).click();
+ * logcat.await(PLAYER_STARTED, mark, timeout);
+ * </pre>
+ */
+public final class LogcatStream implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(LogcatStream.class);
+
+    private static final int HISTORY_LIMIT = 5000;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(2);
+
+    private final String name;
+    private final LogcatSource source;
+    private final Duration pollInterval;
+    private final Deque<LogcatLine> history = new ArrayDeque<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    // не synchronized: чтение блокируется на запросе к серверу и закрепило бы виртуальный поток за носителем
+    private final ReentrantLock sourceLock = new ReentrantLock();
+    private long position;
+    private RuntimeException failure;
+    private boolean closed;
+    private Thread reader;
+
+    private LogcatStream(String name, LogcatSource source, Duration pollInterval) {
+        this.name = name;
+        this.source = source;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Запускает чтение источника в виртуальном потоке.
+     *
+     * @param name         название потока, например идентификатор сессии
+     * @param source       источник строк
+     * @param pollInterval пауза между запросами к источнику, если новых строк не было
+     * @return запущенный поток logcat
+     */
+    public static LogcatStream start(String name, LogcatSource source, Duration pollInterval) {
+        LogcatStream stream = new LogcatStream(name, source, pollInterval);
+        stream.reader = Thread.ofVirtual().name("logcat-" + name).start(stream::run);
+        return stream;
+    }
+
+    /**
+     * Возвращает количество прочитанных строк, то есть позицию следующей строки.
+     *
+     * @return позиция, от которой ожидание учитывает только новые строки
+     */
+    public synchronized long position() {
+        return position;
+    }
+
+    /**
+     * Вычитывает строки, накопленные в источнике, в вызывающем потоке.
+     *
+     * <p>Нужен, когда фоновое чтение приостановлено: перед действием, чтобы позиция не включала
+     * строки, записанные до него, и перед снятием {@link #recent(int) последних строк}.
+     * Ошибка источника останавливает поток так же, как в фоновом чтении.</p>
+     *
+     * @return позиция после прочитанных строк
+     */
+    public long catchUp() {
+        if (available()) {
+            try {
+                read();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+        return position();
+    }
+
+    /**
+     * Проверяет, что поток читает лог.
+     *
+     * @return {@code false}, если поток закрыт или источник завершился ошибкой
+     */
+    public synchronized boolean available() {
+        return !closed && failure == null;
+    }
+
+    /**
+     * Подписывается на строки, совпавшие с шаблоном, начиная с позиции {@code from}.
+     *
+     * <p>Строки, уже прочитанные к моменту вызова, доставляются из истории до возврата из метода,
+     * поэтому строки, прочитанные между {@link #position()} и подпиской, не теряются.
+     * Обработчик вызывается в потоке чтения (для строк из истории - в вызывающем потоке)
+     * и не должен блокироваться.</p>
+     *
+     * @param pattern  шаблон, который ищется в строке целиком
+     * @param from     позиция, полученная из {@link #position()}; {@code 0} - с начала чтения
+     * @param listener обработчик строки
+     * @return подписка, закрытие которой прекращает доставку строк
+     */
+    public synchronized Subscription subscribe(Pattern pattern, long from, Consumer<LogcatLine> listener) {
+        Subscription subscription = new Subscription(pattern, listener, null);
+        long linePosition = position - history.size();
+        for (LogcatLine line : history) {
+            if (linePosition++ >= from) {
+                subscription.deliver(line);
+            }
+        }
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Возвращает первую строку, совпавшую с шаблоном, начиная с позиции {@code from}.
+     *
+     * <p>Строки, уже прочитанные к моменту вызова, проверяются по истории.</p>
+     *
+     * @param pattern шаблон, который ищется в строке целиком
+     * @param from    позиция, полученная из {@link #position()}; {@code 0} - с начала чтения
+     * @return строка, которая будет получена, когда появится в логе; завершается {@link IllegalStateException},
+     * если поток закрыт или источник завершился ошибкой
+     */
+    public synchronized CompletableFuture<LogcatLine> next(Pattern pattern, long from) {
+        CompletableFuture<LogcatLine> result = new CompletableFuture<>();
+        long linePosition = position - history.size();
+        for (LogcatLine line : history) {
+            if (linePosition++ >= from && pattern.matcher(line.raw()).find()) {
+                result.complete(line);
+                return result;
+            }
+        }
+        if (!available()) {
+            result.completeExceptionally(unavailable());
+            return result;
+        }
+
+        Subscription subscription = new Subscription(pattern, result::complete, result);
+        subscriptions.add(subscription);
+        result.whenComplete((line, error) -> subscription.close());
+        return result;
+    }
+
+    /**
+     * Ожидает строку, совпавшую с шаблоном, начиная с позиции {@code from}.
+     *
+     * @param pattern шаблон, который ищется в строке целиком
+     * @param from    позиция, полученная из {@link #position()} до действия, вызывающего запись в лог
+     * @param timeout максимальное время ожидания
+     * @return совпавшая строка
+     * @throws TimeoutException      если строка не появилась за отведенное время
+     * @throws IllegalStateException если поток закрыт или источник завершился ошибкой
+     */
+    public LogcatLine await(Pattern pattern, long from, Duration timeout) {
+        CompletableFuture<LogcatLine> line = next(pattern, from);
+        try {
+            return line.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            line.cancel(false);
+            throw new TimeoutException("Строка logcat '" + pattern + "' не появилась за " + timeout.toMillis() + " мс");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            line.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание строки logcat прервано", e);
+        }
+    }
+
+    /**
+     * Возвращает последние прочитанные строки.
+     *
+     * @param count максимальное количество строк
+     * @return строки в порядке появления в логе
+     */
+    public synchronized List<LogcatLine> recent(int count) {
+        List<LogcatLine> lines = new ArrayList<>(history);
+        return List.copyOf(lines.subList(Math.max(0, lines.size() - count), lines.size()));
+    }
+
+    /**
+     * Останавливает чтение; незавершенные ожидания завершаются {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        reader.interrupt();
+        try {
+            if (!reader.join(STOP_TIMEOUT)) {
+                log.warn("Чтение logcat {} не остановилось за {} мс", name, STOP_TIMEOUT.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failPending();
+    }
+
+    private void run() {
+        try {
+            while (available()) {
+                if (!hasDemand() || read() == 0) {
+                    Thread.sleep(pollInterval);
+                }
+            }
+        } catch (InterruptedException e) {
+            log.debug("Чтение logcat {} остановлено", name);
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * @return {@code true}, если есть ожидания или подписки, которым нужны новые строки
+     */
+    private synchronized boolean hasDemand() {
+        return !subscriptions.isEmpty();
+    }
+
+    private int read() {
+        sourceLock.lock();
+        try {
+            List<String> lines = source.read();
+            append(lines);
+            return lines.size();
+        } finally {
+            sourceLock.unlock();
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        synchronized (this) {
+            if (closed || failure != null) {
+                return;
+            }
+            failure = e;
+        }
+        log.warn("Чтение logcat {} остановлено из-за ошибки: {}", name, e.getMessage());
+        failPending();
+    }
+
+    private synchronized void append(List<String> lines) {
+        for (String raw : lines) {
+            LogcatLine line = LogcatLine.parse(raw);
+            if (history.size() == HISTORY_LIMIT) {
+                history.removeFirst();
+            }
+            history.addLast(line);
+            position++;
+            for (Subscription subscription : List.copyOf(subscriptions)) {
+                subscription.deliver(line);
+            }
+        }
+    }
+
+    private void failPending() {
+        List<Subscription> pending;
+        synchronized (this) {
+            pending = List.copyOf(subscriptions);
+            subscriptions.clear();
+        }
+        IllegalStateException error = unavailable();
+        for (Subscription subscription : pending) {
+            if (subscription.future != null) {
+                subscription.future.completeExceptionally(error);
+            }
+        }
+    }
+
+    private synchronized IllegalStateException unavailable() {
+        return failure != null
+                ? new IllegalStateException("Чтение logcat " + name + " завершилось ошибкой", failure)
+                : new IllegalStateException("Чтение logcat " + name + " остановлено");
+    }
+
+    /**
+     * Подписка на строки logcat.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Pattern pattern;
+        private final Consumer<LogcatLine> listener;
+        private final CompletableFuture<LogcatLine> future;
+
+        private Subscription(Pattern pattern, Consumer<LogcatLine> listener, CompletableFuture<LogcatLine> future) {
+            this.pattern = pattern;
+            this.listener = listener;
+            this.future = future;
+        }
+
+        private void deliver(LogcatLine line) {
+            if (pattern.matcher(line.raw()).find()) {
+                try {
+                    listener.accept(line);
+                } catch (RuntimeException e) {
+                    log.warn("Обработчик строк logcat '{}' завершился ошибкой: {}", pattern, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (LogcatStream.this) {
+                subscriptions.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.utils.metrics;
+
+import org.example.utils.session.CommandObserver;
+import org.example.utils.session.ElementCache;
+import org.example.utils.session.ExecutedCommand;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Задержки команд Appium, сгруппированные по тесту, команде и локатору.
+ *
+ * <p>Каждая команда записывается в {@link LatencyHistogram} своего теста. По завершении
+ * прогона формируется JSON отчет с p50/p95/p99 для каждой пары "команда + локатор".</p>
+ */
+public final class CommandMetrics implements CommandObserver {
+    private static final Logger log = LoggerFactory.getLogger(CommandMetrics.class);
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+    private static final String OUTSIDE_TEST = "(вне теста)";
+    private static final String KEY_SEPARATOR = " ";
+
+    private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+    }
+
+    public static CommandMetrics instance() {
+        return INSTANCE;
+    }
+
+    void startTest(String testId) {
+        currentTest.set(testId);
+    }
+
+    void finishTest() {
+        currentTest.remove();
+    }
+
+    /**
+     * Возвращает тест, выполняющийся в текущем потоке.
+     *
+     * @return идентификатор теста {@code Класс#метод} или пустой {@link Optional} вне теста
+     */
+    public Optional<String> currentTest() {
+        return Optional.ofNullable(currentTest.get());
+    }
+
+    @Override
+    public void onCommand(ExecutedCommand command) {
+        String test = currentTest.get();
+        String key = command.locator().isEmpty()
+                ? command.name()
+                : command.name() + KEY_SEPARATOR + command.locator();
+
+        histograms.computeIfAbsent(test == null ? OUTSIDE_TEST : test, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new LatencyHistogram())
+                .record(command.durationNanos());
+    }
+
+    /**
+     * Записывает отчет с перцентилями задержек по каждому тесту и показателями {@link ElementCache}.
+     *
+     * @param report путь к JSON файлу отчета
+     */
+    void writeReport(Path report) {
+        Map<String, Object> tests = new TreeMap<>();
+        histograms.forEach((test, commands) -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            new TreeMap<>(commands).forEach((key, histogram) -> {
+                int separator = key.indexOf(KEY_SEPARATOR);
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("command", separator < 0 ? key : key.substring(0, separator));
+                row.put("locator", separator < 0 ? "" : key.substring(separator + 1));
+                row.put("count", histogram.count());
+                row.put("p50Ms", histogram.percentileMillis(50));
+                row.put("p95Ms", histogram.percentileMillis(95));
+                row.put("p99Ms", histogram.percentileMillis(99));
+                rows.add(row);
+            });
+            tests.put(test, rows);
+        });
+
+        ElementCache.Stats cache = ElementCache.stats();
+        Map<String, Object> elementCache = new LinkedHashMap<>();
+        elementCache.put("hits", cache.hits());
+        elementCache.put("misses", cache.misses());
+        elementCache.put("resolved", cache.resolved());
+        elementCache.put("invalidations", cache.invalidations());
+        elementCache.put("hitRate", cache.hitRate());
+
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, new Json().toJson(Map.of("tests", tests, "elementCache", elementCache)),
+                    StandardCharsets.UTF_8);
+            log.info("Отчет о задержках команд Appium: {}", report.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о задержках команд {}: {}", report, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.utils.metrics;
+
+import org.example.utils.session.ObservedCommandExecutor;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+
+/**
+ * JUnit расширение, собирающее задержки команд Appium по тестам ({@link CommandMetrics}).
+ *
+ * <p>Команды, выполненные между началом и завершением теста, относятся к этому тесту.
+ * По завершении всего прогона отчет записывается в {@code target/metrics/command-latency.json},
+ * путь меняется свойством {@code metrics.report}.</p>
+ */
+public class CommandMetricsExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CommandMetricsExtension.class);
+    private static final String REPORT_PROPERTY = "metrics.report";
+    private static final String DEFAULT_REPORT = "target/metrics/command-latency.json";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        ObservedCommandExecutor.addObserver(CommandMetrics.instance());
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(ReportWriter.class, key -> new ReportWriter(), ReportWriter.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CommandMetrics.instance().startTest(
+                context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CommandMetrics.instance().finishTest();
+    }
+
+    /**
+     * Записывает отчет при закрытии корневого контекста JUnit, то есть после всех тестов.
+     */
+    private static final class ReportWriter implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            CommandMetrics.instance().writeReport(Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT)));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.utils.playback;
+
+import java.time.Duration;
+
+/**
+ * Процессорное время процесса из {@code /proc/<pid>/stat}.
+ *
+ * @param userTicks   время в пользовательском режиме (utime), в тиках
+ * @param systemTicks время в режиме ядра (stime), в тиках
+ */
+public record CpuTime(long userTicks, long systemTicks) {
+    /**
+     * Частота тиков {@code USER_HZ}, на Android всегда 100.
+     */
+    private static final long TICKS_PER_SECOND = 100;
+    private static final int UTIME_FIELD = 11;
+    private static final int STIME_FIELD = 12;
+
+    /**
+     * Разбирает строку {@code /proc/<pid>/stat}.
+     *
+     * <p>Имя процесса в скобках может содержать пробелы, поэтому поля отсчитываются от закрывающей скобки.</p>
+     *
+     * @param stat содержимое файла
+     * @return процессорное время
+     * @throws IllegalArgumentException если строка не в формате {@code /proc/<pid>/stat}
+     */
+    public static CpuTime parse(String stat) {
+        int nameEnd = stat.lastIndexOf(')');
+        String[] fields = nameEnd < 0 ? new String[0] : stat.substring(nameEnd + 1).strip().split("\\s+");
+        if (fields.length <= STIME_FIELD) {
+            throw new IllegalArgumentException("Некорректный формат /proc/<pid>/stat: " + stat.strip());
+        }
+        return new CpuTime(Long.parseLong(fields[UTIME_FIELD]), Long.parseLong(fields[STIME_FIELD]));
+    }
+
+    public long totalTicks() {
+        return userTicks + systemTicks;
+    }
+
+    /**
+     * Вычисляет загрузку процессора между двумя замерами.
+     *
+     * @param start  замер в начале окна
+     * @param end    замер в конце окна
+     * @param window длительность окна
+     * @return загрузка в процентах от одного ядра, на многоядерных устройствах может превышать 100
+     */
+    public static double percent(CpuTime start, CpuTime end, Duration window) {
+        if (window.isZero() || window.isNegative()) {
+            return 0;
+        }
+        double cpuMillis = (end.totalTicks() - start.totalTicks()) * 1000.0 / TICKS_PER_SECOND;
+        return cpuMillis * 100.0 / window.toMillis();
+    }
+}
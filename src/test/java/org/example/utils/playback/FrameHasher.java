@@ -0,0 +1,170 @@
+package org.example.utils.playback;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Перцептивный хэш кадра (difference hash) для сравнения скриншотов видео.
+ *
+ * <p>Кадр уменьшается до сетки 9x8 по средней яркости ячеек, каждый из 64 битов хэша показывает,
+ * заметно ли светлее ячейки ее соседка справа; разница меньше {@value #FLAT_TOLERANCE} уровней яркости
+ * считается шумом, иначе однотонные области (небо, темный фон) меняли бы хэш от кадра к кадру. Похожие кадры дают хэши с малым расстоянием Хэмминга
+ * ({@link #distance(long, long)}), сжатие и шум почти не меняют хэш.</p>
+ * <p>PNG декодируется с прореживанием строк и столбцов до ширины около {@value #DECODE_WIDTH} точек
+ * в изображение, которое переиспользуется между кадрами одного размера; буферы сетки и точек тоже
+ * переиспользуются. Поэтому экземпляр не потокобезопасен: на каждый поток свой.</p>
+ */
+public final class FrameHasher implements AutoCloseable {
+    static final int DECODE_WIDTH = 64;
+    private static final int GRID_WIDTH = 9;
+    private static final int GRID_HEIGHT = 8;
+    static final int FLAT_TOLERANCE = 2;
+    private static final int LUMA_SCALE = 1000;
+
+    private final ImageReader reader = ImageIO.getImageReadersByFormatName("png").next();
+    private final long[] sums = new long[GRID_WIDTH * GRID_HEIGHT];
+    private final int[] counts = new int[GRID_WIDTH * GRID_HEIGHT];
+    private int[] pixels = new int[DECODE_WIDTH * DECODE_WIDTH];
+    private BufferedImage destination;
+    private ImageTypeSpecifier destinationType;
+
+    /**
+     * Вычисляет хэш PNG скриншота.
+     *
+     * @param png содержимое PNG
+     * @return 64-битный хэш
+     * @throws IOException если содержимое не является изображением PNG
+     */
+    public long hash(byte[] png) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(png))) {
+            reader.setInput(in, true, true);
+            int step = Math.max(1, reader.getWidth(0) / DECODE_WIDTH);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(step, step, 0, 0);
+            ImageTypeSpecifier type = reader.getRawImageType(0);
+            param.setDestination(destination(type != null ? type : reader.getImageTypes(0).next(),
+                    (reader.getWidth(0) + step - 1) / step, (reader.getHeight(0) + step - 1) / step));
+            return hash(reader.read(0, param));
+        } finally {
+            reader.setInput(null);
+        }
+    }
+
+    /**
+     * Вычисляет хэш изображения.
+     *
+     * @param image изображение любого размера
+     * @return 64-битный хэш
+     */
+    public long hash(BufferedImage image) {
+        Arrays.fill(sums, 0);
+        Arrays.fill(counts, 0);
+        if (!accumulateInterleaved(image)) {
+            accumulateRgb(image);
+        }
+
+        long hash = 0;
+        for (int cellY = 0; cellY < GRID_HEIGHT; cellY++) {
+            for (int cellX = 0; cellX < GRID_WIDTH - 1; cellX++) {
+                int cell = cellY * GRID_WIDTH + cellX;
+                hash <<= 1;
+                if (mean(cell) + FLAT_TOLERANCE * LUMA_SCALE < mean(cell + 1)) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Вычисляет расстояние Хэмминга между хэшами.
+     *
+     * @param first  хэш первого кадра
+     * @param second хэш второго кадра
+     * @return количество различающихся битов, от 0 (кадры совпадают) до 64
+     */
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    @Override
+    public void close() {
+        reader.dispose();
+    }
+
+    /**
+     * Суммирует яркость напрямую из байтового растра с чередующимися каналами (обычный результат
+     * декодирования PNG), без преобразования каждой точки через {@link java.awt.image.ColorModel}.
+     */
+    private boolean accumulateInterleaved(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        if (!(raster.getDataBuffer() instanceof DataBufferByte buffer)
+                || !(raster.getSampleModel() instanceof ComponentSampleModel model)
+                || raster.getParent() != null || buffer.getNumBanks() != 1
+                || !image.getColorModel().getColorSpace().isCS_sRGB() || model.getNumBands() < 3) {
+            return false;
+        }
+        byte[] data = buffer.getData();
+        int[] offsets = model.getBandOffsets();
+        int pixelStride = model.getPixelStride();
+        int scanlineStride = model.getScanlineStride();
+        int width = image.getWidth();
+        int height = image.getHeight();
+        for (int y = 0; y < height; y++) {
+            int cellRow = y * GRID_HEIGHT / height * GRID_WIDTH;
+            int pixel = buffer.getOffset() + y * scanlineStride;
+            for (int x = 0; x < width; x++, pixel += pixelStride) {
+                int cell = cellRow + x * GRID_WIDTH / width;
+                sums[cell] += luma(data[pixel + offsets[0]] & 0xFF, data[pixel + offsets[1]] & 0xFF,
+                        data[pixel + offsets[2]] & 0xFF);
+                counts[cell]++;
+            }
+        }
+        return true;
+    }
+
+    private void accumulateRgb(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (pixels.length < width * height) {
+            pixels = new int[width * height];
+        }
+        image.getRGB(0, 0, width, height, pixels, 0, width);
+        for (int y = 0; y < height; y++) {
+            int cellRow = y * GRID_HEIGHT / height * GRID_WIDTH;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[y * width + x];
+                int cell = cellRow + x * GRID_WIDTH / width;
+                sums[cell] += luma(rgb >> 16 & 0xFF, rgb >> 8 & 0xFF, rgb & 0xFF);
+                counts[cell]++;
+            }
+        }
+    }
+
+    private static int luma(int red, int green, int blue) {
+        return red * 299 + green * 587 + blue * 114;
+    }
+
+    private long mean(int cell) {
+        return counts[cell] == 0 ? 0 : sums[cell] / counts[cell];
+    }
+
+    private BufferedImage destination(ImageTypeSpecifier type, int width, int height) {
+        if (destination == null || !type.equals(destinationType)
+                || destination.getWidth() != width || destination.getHeight() != height) {
+            destination = type.createBufferedImage(width, height);
+            destinationType = type;
+        }
+        return destination;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.utils.playback;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Результат проверки, что кадры видео меняются.
+ *
+ * @param frames        количество снятых кадров
+ * @param distances     расстояния Хэмминга между хэшами соседних кадров
+ * @param threshold     расстояние, начиная с которого кадр считается новым
+ * @param elapsedMillis время съемки серии
+ */
+public record FrameMotion(int frames, List<Integer> distances, int threshold, long elapsedMillis) {
+
+    /**
+     * @return количество пар соседних кадров, в которых изображение сменилось
+     */
+    public int changes() {
+        return (int) distances.stream().filter(distance -> distance >= threshold).count();
+    }
+
+    /**
+     * @return доля сменившихся пар соседних кадров, от 0 (видео стоит) до 1
+     */
+    public double changeRate() {
+        return distances.isEmpty() ? 0 : (double) changes() / distances.size();
+    }
+
+    /**
+     * Формирует представление результата для логов.
+     *
+     * @return показатели в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("frames", frames);
+        map.put("changes", changes());
+        map.put("changeRate", Math.round(changeRate() * 100) / 100.0);
+        map.put("distances", distances);
+        map.put("elapsedMs", elapsedMillis);
+        return map;
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.utils.playback;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Проверка, что видео в плеере действительно идет, а не стоит на одном кадре.
+ *
+ * <p>Поток теста только снимает серию скриншотов элемента видео через равные интервалы. Каждый снимок
+ * сразу передается в общий пул потоков, где декодируется с уменьшением и хэшируется ({@link FrameHasher}),
+ * поэтому интервалы съемки не зависят от обработки. Затем хэши соседних кадров сравниваются: доля
+ * сменившихся кадров должна быть не меньше минимальной.</p>
+ * <p>Настройки: {@code playback.frames.verify} (по умолчанию {@code true}), количество кадров
+ * {@code playback.frames.count} (5), интервал {@code playback.frames.interval.millis} (250),
+ * порог смены кадра в битах хэша {@code playback.frames.threshold} (6), минимальная доля сменившихся
+ * кадров {@code playback.frames.min.change.rate} (0.5), потоки хэширования {@code playback.frames.threads} (2).</p>
+ */
+public final class FrameMotionVerifier {
+    private static final Logger log = LoggerFactory.getLogger(FrameMotionVerifier.class);
+
+    private static final ExecutorService HASHING = Executors.newFixedThreadPool(
+            Integer.getInteger("playback.frames.threads", 2),
+            Thread.ofPlatform().daemon().name("frame-hash-", 0).factory());
+    private static final ThreadLocal<FrameHasher> HASHERS = ThreadLocal.withInitial(FrameHasher::new);
+
+    private final int frames;
+    private final Duration interval;
+    private final int threshold;
+    private final double minChangeRate;
+
+    /**
+     * Создает проверку с заданными параметрами.
+     *
+     * @param frames        количество кадров в серии, не меньше двух
+     * @param interval      интервал между кадрами
+     * @param threshold     расстояние Хэмминга, начиная с которого кадр считается новым
+     * @param minChangeRate минимальная доля сменившихся пар соседних кадров
+     */
+    public FrameMotionVerifier(int frames, Duration interval, int threshold, double minChangeRate) {
+        if (frames < 2) {
+            throw new IllegalArgumentException("Для сравнения нужно хотя бы два кадра: " + frames);
+        }
+        this.frames = frames;
+        this.interval = interval;
+        this.threshold = threshold;
+        this.minChangeRate = minChangeRate;
+    }
+
+    /**
+     * Читает параметры проверки из системных свойств {@code playback.frames.*}.
+     *
+     * @return проверка
+     */
+    public static FrameMotionVerifier fromSystemProperties() {
+        return new FrameMotionVerifier(
+                Integer.getInteger("playback.frames.count", 5),
+                Duration.ofMillis(Long.getLong("playback.frames.interval.millis", 250)),
+                Integer.getInteger("playback.frames.threshold", 6),
+                Double.parseDouble(System.getProperty("playback.frames.min.change.rate", "0.5")));
+    }
+
+    /**
+     * @return {@code true}, если проверка смены кадров включена свойством {@code playback.frames.verify}
+     */
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty("playback.frames.verify", "true"));
+    }
+
+    /**
+     * Снимает серию кадров и проверяет, что изображение меняется.
+     *
+     * @param screenshot снимок элемента видео в формате PNG
+     * @return результат проверки
+     * @throws AssertionError если доля сменившихся кадров меньше минимальной
+     */
+    public FrameMotion verify(Supplier<byte[]> screenshot) {
+        FrameMotion motion = capture(screenshot);
+        log.info("Смена кадров видео: {}", motion.toMap());
+        if (motion.changeRate() < minChangeRate) {
+            throw new AssertionError(String.format(
+                    "Видео не воспроизводится: сменилось %d из %d кадров (минимальная доля %.2f), расстояния %s",
+                    motion.changes(), motion.distances().size(), minChangeRate, motion.distances()));
+        }
+        return motion;
+    }
+
+    /**
+     * Снимает серию кадров и сравнивает хэши соседних кадров.
+     *
+     * @param screenshot снимок элемента видео в формате PNG
+     * @return результат сравнения
+     */
+    public FrameMotion capture(Supplier<byte[]> screenshot) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> hashes = new ArrayList<>(frames);
+        for (int i = 0; i < frames; i++) {
+            if (i > 0) {
+                sleepUntil(start + interval.toNanos() * i);
+            }
+            byte[] png = screenshot.get();
+            hashes.add(CompletableFuture.supplyAsync(() -> hash(png), HASHING));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<Integer> distances = new ArrayList<>(frames - 1);
+        try {
+            for (int i = 1; i < frames; i++) {
+                distances.add(FrameHasher.distance(hashes.get(i - 1).join(), hashes.get(i).join()));
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return new FrameMotion(frames, distances, threshold, elapsedMillis);
+    }
+
+    private static long hash(byte[] png) {
+        try {
+            return HASHERS.get().hash(png);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Скриншот видео не декодируется", e);
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(remaining));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.utils.playback;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Статистика отрисовки кадров приложения из {@code dumpsys gfxinfo <пакет>}.
+ *
+ * <p>Учитываются кадры интерфейса приложения (элементы управления плеером, лента под плеером),
+ * кадры самого видео выводятся декодером на отдельную поверхность и сюда не попадают.</p>
+ *
+ * @param totalFrames         количество отрисованных кадров
+ * @param jankyFrames         количество кадров, не уложившихся в срок
+ * @param p50Millis           медианное время кадра
+ * @param p90Millis           90-й перцентиль времени кадра
+ * @param p95Millis           95-й перцентиль времени кадра
+ * @param p99Millis           99-й перцентиль времени кадра
+ * @param missedVsync         количество пропущенных vsync
+ * @param slowUiThread        количество кадров с долгой работой UI потока
+ * @param frameDeadlineMissed количество кадров, пропустивших срок показа
+ */
+public record FrameStats(long totalFrames,
+                         long jankyFrames,
+                         long p50Millis,
+                         long p90Millis,
+                         long p95Millis,
+                         long p99Millis,
+                         long missedVsync,
+                         long slowUiThread,
+                         long frameDeadlineMissed) {
+
+    private static final Pattern TOTAL_FRAMES = Pattern.compile("Total frames rendered:\\s*(\\d+)");
+    private static final Pattern JANKY_FRAMES = Pattern.compile("(?m)^Janky frames:\\s*(\\d+)");
+
+    /**
+     * Разбирает вывод {@code dumpsys gfxinfo}.
+     *
+     * @param dump вывод команды
+     * @return статистика кадров
+     * @throws IllegalArgumentException если в выводе нет статистики кадров
+     */
+    public static FrameStats parse(String dump) {
+        Matcher total = TOTAL_FRAMES.matcher(dump);
+        if (!total.find()) {
+            throw new IllegalArgumentException("В выводе dumpsys gfxinfo нет статистики кадров");
+        }
+        return new FrameStats(
+                Long.parseLong(total.group(1)),
+                find(JANKY_FRAMES, dump),
+                percentile(dump, 50),
+                percentile(dump, 90),
+                percentile(dump, 95),
+                percentile(dump, 99),
+                counter(dump, "Missed Vsync"),
+                counter(dump, "Slow UI thread"),
+                counter(dump, "Frame deadline missed"));
+    }
+
+    /**
+     * @return доля кадров, не уложившихся в срок, в процентах
+     */
+    public double jankPercent() {
+        return totalFrames == 0 ? 0 : jankyFrames * 100.0 / totalFrames;
+    }
+
+    private static long percentile(String dump, int percentile) {
+        return find(Pattern.compile("(?m)^" + percentile + "th percentile:\\s*(\\d+)ms"), dump);
+    }
+
+    private static long counter(String dump, String name) {
+        return find(Pattern.compile("(?m)^Number " + Pattern.quote(name) + ":\\s*(\\d+)"), dump);
+    }
+
+    private static long find(Pattern pattern, String dump) {
+        Matcher matcher = pattern.matcher(dump);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
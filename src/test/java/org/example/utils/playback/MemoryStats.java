@@ -0,0 +1,54 @@
+package org.example.utils.playback;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Потребление памяти приложением из {@code dumpsys meminfo <пакет>}.
+ *
+ * @param totalPssKb   суммарный PSS процесса, КБ
+ * @param javaHeapKb   Java куча, КБ
+ * @param nativeHeapKb нативная куча, КБ
+ * @param graphicsKb   графические буферы (GL и EGL), КБ
+ */
+public record MemoryStats(long totalPssKb, long javaHeapKb, long nativeHeapKb, long graphicsKb) {
+    private static final Pattern TOTAL_PSS = Pattern.compile("TOTAL PSS:\\s*(\\d+)");
+    private static final Pattern LEGACY_TOTAL = Pattern.compile("(?m)^\\s*TOTAL\\s+(\\d+)");
+    private static final Pattern JAVA_HEAP = Pattern.compile("Java Heap:\\s*(\\d+)");
+    private static final Pattern NATIVE_HEAP = Pattern.compile("Native Heap:\\s*(\\d+)");
+    private static final Pattern GRAPHICS = Pattern.compile("Graphics:\\s*(\\d+)");
+
+    /**
+     * Разбирает вывод {@code dumpsys meminfo}.
+     *
+     * <p>Поддерживается сводка {@code App Summary} и, для старых версий Android,
+     * строка {@code TOTAL} таблицы.</p>
+     *
+     * @param dump вывод команды
+     * @return потребление памяти
+     * @throws IllegalArgumentException если в выводе нет суммарного PSS
+     */
+    public static MemoryStats parse(String dump) {
+        Matcher total = TOTAL_PSS.matcher(dump);
+        if (!total.find()) {
+            total = LEGACY_TOTAL.matcher(dump);
+            if (!total.find()) {
+                throw new IllegalArgumentException("В выводе dumpsys meminfo нет суммарного PSS");
+            }
+        }
+        return new MemoryStats(
+                Long.parseLong(total.group(1)),
+                find(JAVA_HEAP, dump),
+                find(NATIVE_HEAP, dump),
+                find(GRAPHICS, dump));
+    }
+
+    public long totalPssMb() {
+        return totalPssKb / 1024;
+    }
+
+    private static long find(Pattern pattern, String dump) {
+        Matcher matcher = pattern.matcher(dump);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.utils.playback;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Показатели одного профилирования воспроизведения видео.
+ *
+ * @param firstFrameMillis время от нажатия на видео до первого отрисованного кадра в плеере
+ * @param windowMillis     длительность окна воспроизведения, за которое собраны остальные показатели
+ * @param frames           статистика отрисовки кадров интерфейса за окно
+ * @param memory           потребление памяти в конце окна
+ * @param cpuPercent       загрузка процессора приложением за окно, в процентах от одного ядра
+ */
+public record PlaybackMetrics(long firstFrameMillis,
+                              long windowMillis,
+                              FrameStats frames,
+                              MemoryStats memory,
+                              double cpuPercent) {
+
+    /**
+     * Формирует плоское представление показателей для JSON отчета.
+     *
+     * @return показатели в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("firstFrameMs", firstFrameMillis);
+        map.put("windowMs", windowMillis);
+        map.put("totalFrames", frames.totalFrames());
+        map.put("jankyFrames", frames.jankyFrames());
+        map.put("jankPercent", round(frames.jankPercent()));
+        map.put("frameP50Ms", frames.p50Millis());
+        map.put("frameP90Ms", frames.p90Millis());
+        map.put("frameP95Ms", frames.p95Millis());
+        map.put("frameP99Ms", frames.p99Millis());
+        map.put("missedVsync", frames.missedVsync());
+        map.put("slowUiThread", frames.slowUiThread());
+        map.put("frameDeadlineMissed", frames.frameDeadlineMissed());
+        map.put("cpuPercent", round(cpuPercent));
+        map.put("totalPssKb", memory.totalPssKb());
+        map.put("javaHeapKb", memory.javaHeapKb());
+        map.put("nativeHeapKb", memory.nativeHeapKb());
+        map.put("graphicsKb", memory.graphicsKb());
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
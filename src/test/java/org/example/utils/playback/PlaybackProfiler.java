@@ -0,0 +1,224 @@
+package org.example.utils.playback;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.session.TestSession;
+import org.example.utils.wait.WaitBudget;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Профилирование воспроизведения видео.
+ *
+ * <p>Режим включается свойством {@code playback.profile=true}. Вокруг нажатия на видео измеряется:</p>
+ * <ul>
+ * <li>время от нажатия до первого отрисованного кадра в плеере: скриншот элемента плеера
+ * запрашивается до тех пор, пока он не перестанет быть однотонным</li>
+ * <li>статистика кадров ({@code dumpsys gfxinfo}), загрузка процессора ({@code /proc/<pid>/stat})
+ * и память ({@code dumpsys meminfo}) за окно воспроизведения {@code playback.window.seconds}</li>
+ * </ul>
+ * <p>Команды выполняются через {@code mobile: shell}, Appium сервер должен быть запущен
+ * с {@code --allow-insecure=adb_shell}. Результаты дописываются строкой JSON в {@code target/metrics/playback.jsonl},
+ * путь меняется свойством {@code playback.report}.</p>
+ */
+public final class PlaybackProfiler {
+    private static final Logger log = LoggerFactory.getLogger(PlaybackProfiler.class);
+
+    private static final String PROFILE_PROPERTY = "playback.profile";
+    private static final String WINDOW_PROPERTY = "playback.window.seconds";
+    private static final long DEFAULT_WINDOW_SECONDS = 10;
+    private static final String REPORT_PROPERTY = "playback.report";
+    private static final String DEFAULT_REPORT = "target/metrics/playback.jsonl";
+    private static final String FIRST_FRAME_STEP = "Первый кадр видео";
+    private static final Duration FIRST_FRAME_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration FRAME_POLL_INTERVAL = Duration.ofMillis(100);
+    private static final int SAMPLE_GRID = 8;
+    private static final int MIN_LUMA_SPREAD = 24;
+
+    private final AndroidDriver driver;
+    private final String appPackage;
+    private final Duration window;
+
+    /**
+     * Создает профилировщик с окном воспроизведения из свойства {@code playback.window.seconds}.
+     *
+     * @param driver     драйвер сессии
+     * @param appPackage пакет приложения с плеером
+     */
+    public PlaybackProfiler(AndroidDriver driver, String appPackage) {
+        this(driver, appPackage, Duration.ofSeconds(Long.getLong(WINDOW_PROPERTY, DEFAULT_WINDOW_SECONDS)));
+    }
+
+    /**
+     * Создает профилировщик.
+     *
+     * @param driver     драйвер сессии
+     * @param appPackage пакет приложения с плеером
+     * @param window     окно воспроизведения, за которое собираются кадры, CPU и память
+     */
+    public PlaybackProfiler(AndroidDriver driver, String appPackage, Duration window) {
+        this.driver = driver;
+        this.appPackage = appPackage;
+        this.window = window;
+    }
+
+    /**
+     * @return {@code true}, если включен режим профилирования воспроизведения
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(PROFILE_PROPERTY);
+    }
+
+    /**
+     * Запускает видео и профилирует его воспроизведение.
+     *
+     * @param tap          нажатие, запускающее видео
+     * @param videoDisplay локатор поверхности, на которой отображается видео
+     * @return показатели воспроизведения
+     * @throws TimeoutException если первый кадр не появился
+     * @throws IllegalStateException если процесс приложения не найден или профилирование прервано
+     */
+    public PlaybackMetrics profile(Runnable tap, By videoDisplay) {
+        long tapStart = System.nanoTime();
+        tap.run();
+        long firstFrameMillis = WaitBudget.await(FIRST_FRAME_STEP, FIRST_FRAME_TIMEOUT,
+                timeout -> awaitFirstFrame(videoDisplay, tapStart, timeout));
+        log.info("Первый кадр видео через {} мс после нажатия", firstFrameMillis);
+
+        String pid = shell("pidof", appPackage).strip().split("\\s+")[0];
+        if (pid.isEmpty()) {
+            throw new IllegalStateException("Процесс " + appPackage + " не найден");
+        }
+
+        shell("dumpsys", "gfxinfo", appPackage, "reset");
+        CpuTime cpuStart = CpuTime.parse(shell("cat", "/proc/" + pid + "/stat"));
+        long windowStart = System.nanoTime();
+        sleep(window);
+        CpuTime cpuEnd = CpuTime.parse(shell("cat", "/proc/" + pid + "/stat"));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - windowStart);
+
+        return new PlaybackMetrics(
+                firstFrameMillis,
+                elapsed.toMillis(),
+                FrameStats.parse(shell("dumpsys", "gfxinfo", appPackage)),
+                MemoryStats.parse(shell("dumpsys", "meminfo", appPackage)),
+                CpuTime.percent(cpuStart, cpuEnd, elapsed));
+    }
+
+    /**
+     * Определяет, отрисован ли в кадре видимый контент, а не однотонная заливка.
+     *
+     * @param png скриншот в формате PNG
+     * @return {@code true}, если яркость точек кадра заметно различается
+     */
+    public static boolean isRendered(byte[] png) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            return false;
+        }
+        if (image == null) {
+            return false;
+        }
+
+        int min = 255;
+        int max = 0;
+        for (int i = 0; i < SAMPLE_GRID; i++) {
+            for (int j = 0; j < SAMPLE_GRID; j++) {
+                int rgb = image.getRGB(i * (image.getWidth() - 1) / (SAMPLE_GRID - 1),
+                        j * (image.getHeight() - 1) / (SAMPLE_GRID - 1));
+                int luma = (299 * (rgb >> 16 & 0xFF) + 587 * (rgb >> 8 & 0xFF) + 114 * (rgb & 0xFF)) / 1000;
+                min = Math.min(min, luma);
+                max = Math.max(max, luma);
+            }
+        }
+        return max - min >= MIN_LUMA_SPREAD;
+    }
+
+    /**
+     * Дописывает показатели и превышенные пороги в отчет о воспроизведении.
+     *
+     * @param metrics    показатели воспроизведения
+     * @param violations превышенные пороги
+     */
+    public static synchronized void record(PlaybackMetrics metrics, List<String> violations) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        TestSession session = TestSession.current();
+        if (session != null) {
+            line.put("device", session.device().udid());
+            line.put("appVersion", session.appVersion());
+        }
+        line.put("metrics", metrics.toMap());
+        line.put("violations", violations);
+
+        Path report = Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            StringBuilder json = new StringBuilder();
+            try (JsonOutput output = new Json().newOutput(json)) {
+                output.setPrettyPrint(false).write(line);
+            }
+            Files.writeString(report, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о воспроизведении {}: {}", report, e.getMessage());
+        }
+    }
+
+    private long awaitFirstFrame(By videoDisplay, long tapStart, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                byte[] png = driver.findElement(videoDisplay).getScreenshotAs(OutputType.BYTES);
+                if (isRendered(png)) {
+                    return (System.nanoTime() - tapStart) / 1_000_000;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                log.trace("Плеер еще не отображается: {}", e.getClass().getSimpleName());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Первый кадр видео не появился за " + timeout.toMillis() + " мс");
+            }
+            sleep(FRAME_POLL_INTERVAL);
+        }
+    }
+
+    private String shell(String command, String... args) {
+        Object output = driver.executeScript("mobile: shell", Map.of(
+                "command", command,
+                "args", List.of(args)
+        ));
+        return output == null ? "" : output.toString();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Профилирование воспроизведения прервано", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.utils.playback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Допустимые значения показателей воспроизведения.
+ *
+ * @param maxFirstFrameMillis максимальное время до первого кадра
+ * @param maxJankPercent      максимальная доля кадров, не уложившихся в срок
+ * @param maxP95FrameMillis   максимальный 95-й перцентиль времени кадра
+ * @param maxCpuPercent       максимальная загрузка процессора, в процентах от одного ядра
+ * @param maxPssMb            максимальный суммарный PSS
+ */
+public record PlaybackThresholds(long maxFirstFrameMillis,
+                                 double maxJankPercent,
+                                 long maxP95FrameMillis,
+                                 double maxCpuPercent,
+                                 long maxPssMb) {
+
+    /**
+     * Читает пороги из системных свойств {@code playback.max.*}, для незаданных используются значения по умолчанию.
+     *
+     * @return пороги
+     */
+    public static PlaybackThresholds fromSystemProperties() {
+        return new PlaybackThresholds(
+                Long.getLong("playback.max.first.frame.millis", 3000),
+                Double.parseDouble(System.getProperty("playback.max.jank.percent", "10")),
+                Long.getLong("playback.max.p95.frame.millis", 32),
+                Double.parseDouble(System.getProperty("playback.max.cpu.percent", "150")),
+                Long.getLong("playback.max.pss.mb", 600));
+    }
+
+    /**
+     * Сравнивает показатели с порогами.
+     *
+     * @param metrics показатели воспроизведения
+     * @return описания превышенных порогов, пустой список если все в норме
+     */
+    public List<String> violations(PlaybackMetrics metrics) {
+        List<String> violations = new ArrayList<>();
+        if (metrics.firstFrameMillis() > maxFirstFrameMillis) {
+            violations.add(String.format("первый кадр через %d мс (порог %d мс)",
+                    metrics.firstFrameMillis(), maxFirstFrameMillis));
+        }
+        if (metrics.frames().jankPercent() > maxJankPercent) {
+            violations.add(String.format("%.2f%% кадров с задержкой (порог %.2f%%)",
+                    metrics.frames().jankPercent(), maxJankPercent));
+        }
+        if (metrics.frames().p95Millis() > maxP95FrameMillis) {
+            violations.add(String.format("95-й перцентиль кадра %d мс (порог %d мс)",
+                    metrics.frames().p95Millis(), maxP95FrameMillis));
+        }
+        if (metrics.cpuPercent() > maxCpuPercent) {
+            violations.add(String.format("загрузка CPU %.1f%% (порог %.1f%%)", metrics.cpuPercent(), maxCpuPercent));
+        }
+        if (metrics.memory().totalPssMb() > maxPssMb) {
+            violations.add(String.format("PSS %d МБ (порог %d МБ)", metrics.memory().totalPssMb(), maxPssMb));
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.utils.schedule;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Порядок тестовых классов по истории запусков ({@link TestHistory}).
+ *
+ * <p>Классы запускаются от самого длинного к самому короткому: параллельные классы разбирают устройства
+ * в этом порядке, и длинный класс не оказывается последним на одном устройстве, пока остальные простаивают
+ * ({@link TestSchedule}). Классы, все тесты которых падающие, запускаются последними. Классы без истории
+ * сохраняют порядок объявления. Количество устройств для оценки длительности прогона задается
+ * свойством {@code schedule.workers}.</p>
+ */
+public class DurationClassOrderer implements ClassOrderer {
+    private static final Logger log = LoggerFactory.getLogger(DurationClassOrderer.class);
+    private static final String WORKERS_PROPERTY = "schedule.workers";
+
+    private final TestHistory history;
+
+    /**
+     * Создает порядок по общей истории прогона ({@link TestHistory#instance()}).
+     */
+    public DurationClassOrderer() {
+        this(TestHistory.instance());
+    }
+
+    /**
+     * Создает порядок по указанной истории.
+     *
+     * @param history история запусков
+     */
+    public DurationClassOrderer(TestHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        Map<ClassDescriptor, TestCosts.Cost> costs = new LinkedHashMap<>();
+        for (ClassDescriptor descriptor : context.getClassDescriptors()) {
+            costs.put(descriptor, TestCosts.of(history, descriptor.getTestClass()));
+        }
+
+        context.getClassDescriptors().sort(Comparator
+                .comparing((ClassDescriptor descriptor) -> costs.get(descriptor).failing())
+                .thenComparing(descriptor -> costs.get(descriptor).duration(), Comparator.reverseOrder()));
+
+        logPlan(costs);
+    }
+
+    private static void logPlan(Map<ClassDescriptor, TestCosts.Cost> costs) {
+        Map<String, Duration> durations = new LinkedHashMap<>();
+        costs.forEach((descriptor, cost) -> durations.put(descriptor.getTestClass().getSimpleName(), cost.duration()));
+        if (durations.values().stream().allMatch(Duration::isZero)) {
+            return;
+        }
+        int workers = Integer.getInteger(WORKERS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        List<TestSchedule.Lane> lanes = TestSchedule.plan(durations, workers);
+        log.info("Ожидаемая длительность прогона на {} устройствах: {} с, очереди: {}", workers,
+                TestSchedule.makespan(lanes).toSeconds(),
+                lanes.stream().filter(lane -> !lane.classes().isEmpty()).map(TestSchedule.Lane::classes).toList());
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.utils.schedule;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Порядок тестов внутри класса по истории запусков ({@link TestHistory}).
+ *
+ * <p>Падающие тесты (тег {@code FAILING} или частые падения) выполняются последними, чтобы не занимать
+ * устройство раньше рабочих тестов; остальные - от самого длинного к самому короткому.
+ * Тесты без истории сохраняют порядок объявления.</p>
+ */
+public class DurationMethodOrderer implements MethodOrderer {
+
+    private final TestHistory history;
+
+    /**
+     * Создает порядок по общей истории прогона ({@link TestHistory#instance()}).
+     */
+    public DurationMethodOrderer() {
+        this(TestHistory.instance());
+    }
+
+    /**
+     * Создает порядок по указанной истории.
+     *
+     * @param history история запусков
+     */
+    public DurationMethodOrderer(TestHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        Map<MethodDescriptor, TestCosts.Cost> costs = new HashMap<>();
+        for (MethodDescriptor descriptor : context.getMethodDescriptors()) {
+            costs.put(descriptor, TestCosts.of(history, context.getTestClass(), descriptor.getMethod()));
+        }
+
+        context.getMethodDescriptors().sort(Comparator
+                .comparing((MethodDescriptor descriptor) -> costs.get(descriptor).failing())
+                .thenComparing(descriptor -> costs.get(descriptor).duration(), Comparator.reverseOrder()));
+    }
+}
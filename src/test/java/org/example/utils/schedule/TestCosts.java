@@ -0,0 +1,83 @@
+package org.example.utils.schedule;
+
+import org.example.exceptions.UtilityClassException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Оценка стоимости тестов по {@link TestHistory} для упорядочивания.
+ */
+final class TestCosts {
+
+    /**
+     * Стоимость теста или класса.
+     *
+     * @param duration ожидаемая длительность без падающих тестов
+     * @param failing  {@code true}, если все тесты падающие
+     */
+    record Cost(Duration duration, boolean failing) {
+    }
+
+    static String testId(Class<?> testClass, Method method) {
+        return testClass.getSimpleName() + "#" + method.getName();
+    }
+
+    static Set<String> tags(Class<?> testClass, Method method) {
+        Set<String> tags = new HashSet<>();
+        for (AnnotatedElement element : List.of(testClass, method)) {
+            AnnotationSupport.findRepeatableAnnotations(element, Tag.class).forEach(tag -> tags.add(tag.value()));
+        }
+        return tags;
+    }
+
+    static Cost of(TestHistory history, Class<?> testClass, Method method) {
+        String test = testId(testClass, method);
+        return new Cost(history.expectedDuration(test).orElse(Duration.ZERO),
+                history.isLikelyFailing(test, tags(testClass, method)));
+    }
+
+    /**
+     * Оценивает класс: сумма ожидаемых длительностей тестов, которые не считаются падающими.
+     */
+    static Cost of(TestHistory history, Class<?> testClass) {
+        List<Method> methods = ReflectionSupport.findMethods(testClass, TestCosts::isTest,
+                HierarchyTraversalMode.TOP_DOWN);
+        Duration total = Duration.ZERO;
+        boolean failing = !methods.isEmpty();
+        for (Method method : methods) {
+            Cost cost = of(history, testClass, method);
+            if (!cost.failing()) {
+                total = total.plus(cost.duration());
+                failing = false;
+            }
+        }
+        return new Cost(total, failing);
+    }
+
+    private static boolean isTest(Method method) {
+        return AnnotationSupport.isAnnotated(method, Test.class)
+                || AnnotationSupport.isAnnotated(method, TestFactory.class)
+                || AnnotationSupport.isAnnotated(method, TestTemplate.class);
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private TestCosts() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.utils.schedule;
+
+import org.example.utils.ProjectPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * История прошлых запусков тестов: длительность и результат каждого запуска.
+ *
+ * <p>Для каждого теста ({@code Класс#метод}) хранятся последние запуски в виде {@code <мс>:<P|F>}.
+ * По истории оценивается ожидаемая длительность теста (медиана) и доля падений.</p>
+ * <ul>
+ * <li>История хранится в {@code .test-stats/test-durations.properties}, путь меняется свойством
+ * {@code schedule.store}</li>
+ * <li>Тест считается падающим, если он помечен тегом {@code FAILING} или упал не менее чем
+ * в доле {@code schedule.failure.threshold} (по умолчанию 0.5) из последних запусков</li>
+ * </ul>
+ */
+public final class TestHistory {
+    private static final Logger log = LoggerFactory.getLogger(TestHistory.class);
+
+    public static final String FAILING_TAG = "FAILING";
+
+    private static final String STORE_PROPERTY = "schedule.store";
+    private static final String DEFAULT_STORE = ".test-stats/test-durations.properties";
+    private static final String FAILURE_THRESHOLD_PROPERTY = "schedule.failure.threshold";
+    private static final double DEFAULT_FAILURE_THRESHOLD = 0.5;
+    private static final int HISTORY_SIZE = 20;
+    private static final int MIN_RUNS = 3;
+    private static final String PASSED = "P";
+    private static final String FAILED = "F";
+
+    private static TestHistory instance;
+
+    private final Path store;
+    private final double failureThreshold;
+    private final Map<String, Deque<Run>> runs = new HashMap<>();
+
+    private TestHistory(Path store, double failureThreshold) {
+        this.store = store;
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Загружает историю из файла.
+     *
+     * @param store            файл истории; если его нет, история пуста
+     * @param failureThreshold доля падений, начиная с которой тест считается падающим
+     * @return история запусков
+     */
+    public static TestHistory load(Path store, double failureThreshold) {
+        TestHistory history = new TestHistory(store, failureThreshold);
+        if (!Files.exists(store)) {
+            return history;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(store, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать историю тестов {}: {}", store, e.getMessage());
+            return history;
+        }
+        for (String test : properties.stringPropertyNames()) {
+            Deque<Run> testRuns = new ArrayDeque<>();
+            for (String run : properties.getProperty(test).split(",")) {
+                Run.parse(run).ifPresent(testRuns::addLast);
+            }
+            history.runs.put(test, testRuns);
+        }
+        return history;
+    }
+
+    /**
+     * Возвращает общую историю прогона с настройками из системных свойств.
+     *
+     * @return история запусков
+     */
+    public static synchronized TestHistory instance() {
+        if (instance == null) {
+            instance = load(ProjectPaths.resolve(System.getProperty(STORE_PROPERTY, DEFAULT_STORE)),
+                    Double.parseDouble(System.getProperty(FAILURE_THRESHOLD_PROPERTY,
+                            String.valueOf(DEFAULT_FAILURE_THRESHOLD))));
+        }
+        return instance;
+    }
+
+    /**
+     * Запоминает запуск теста.
+     *
+     * @param test     идентификатор теста, {@code Класс#метод}
+     * @param duration длительность теста
+     * @param passed   {@code true}, если тест прошел
+     */
+    public synchronized void record(String test, Duration duration, boolean passed) {
+        Deque<Run> testRuns = runs.computeIfAbsent(test, key -> new ArrayDeque<>());
+        testRuns.addLast(new Run(duration.toMillis(), passed));
+        if (testRuns.size() > HISTORY_SIZE) {
+            testRuns.removeFirst();
+        }
+    }
+
+    /**
+     * Оценивает длительность теста по истории.
+     *
+     * @param test идентификатор теста
+     * @return медиана длительности прошлых запусков или пустой {@link Optional}, если запусков не было
+     */
+    public synchronized Optional<Duration> expectedDuration(String test) {
+        Deque<Run> testRuns = runs.get(test);
+        if (testRuns == null || testRuns.isEmpty()) {
+            return Optional.empty();
+        }
+        long[] millis = testRuns.stream().mapToLong(Run::millis).sorted().toArray();
+        return Optional.of(Duration.ofMillis(millis[(millis.length - 1) / 2]));
+    }
+
+    /**
+     * Возвращает долю падений среди последних запусков теста.
+     *
+     * @param test идентификатор теста
+     * @return доля от 0 до 1; {@code 0}, если запусков меньше трех
+     */
+    public synchronized double failureRate(String test) {
+        Deque<Run> testRuns = runs.get(test);
+        if (testRuns == null || testRuns.size() < MIN_RUNS) {
+            return 0;
+        }
+        return (double) testRuns.stream().filter(run -> !run.passed()).count() / testRuns.size();
+    }
+
+    /**
+     * Определяет, что тест, скорее всего, упадет: он помечен тегом {@code FAILING} или часто падал.
+     *
+     * @param test идентификатор теста
+     * @param tags теги теста
+     * @return {@code true}, если тест нужно запускать последним и с коротким бюджетом ожиданий
+     */
+    public boolean isLikelyFailing(String test, Set<String> tags) {
+        return tags.contains(FAILING_TAG) || failureRate(test) >= failureThreshold;
+    }
+
+    /**
+     * Сохраняет историю в файл.
+     */
+    public synchronized void save() {
+        Properties properties = new Properties();
+        runs.forEach((test, testRuns) -> properties.setProperty(test,
+                String.join(",", testRuns.stream().map(Run::toString).toList())));
+        try {
+            Files.createDirectories(store.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(store, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Запуски тестов: длительность в мс, " + PASSED + " - прошел, "
+                        + FAILED + " - упал");
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось сохранить историю тестов {}: {}", store, e.getMessage());
+        }
+    }
+
+    private record Run(long millis, boolean passed) {
+        static Optional<Run> parse(String value) {
+            String[] parts = value.strip().split(":");
+            try {
+                return parts.length == 2
+                        ? Optional.of(new Run(Long.parseLong(parts[0]), PASSED.equals(parts[1])))
+                        : Optional.empty();
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return millis + ":" + (passed ? PASSED : FAILED);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.utils.schedule;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.TestAbortedException;
+
+import java.time.Duration;
+
+/**
+ * JUnit расширение, записывающее длительность и результат каждого теста в {@link TestHistory}.
+ *
+ * <p>Прерванные тесты ({@link TestAbortedException}) в историю не попадают.
+ * История сохраняется после всех тестов прогона.</p>
+ */
+public class TestHistoryExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestHistoryExtension.class);
+    private static final String START = "start";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(HistoryWriter.class, key -> new HistoryWriter(), HistoryWriter.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        Throwable failure = context.getExecutionException().orElse(null);
+        if (start == null || failure instanceof TestAbortedException) {
+            return;
+        }
+        TestHistory.instance().record(
+                TestCosts.testId(context.getRequiredTestClass(), context.getRequiredTestMethod()),
+                Duration.ofNanos(System.nanoTime() - start), failure == null);
+    }
+
+    /**
+     * Сохраняет историю при закрытии корневого контекста JUnit, то есть после всех тестов.
+     */
+    private static final class HistoryWriter implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            TestHistory.instance().save();
+        }
+    }
+}
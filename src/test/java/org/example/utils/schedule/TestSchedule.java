@@ -0,0 +1,86 @@
+package org.example.utils.schedule;
+
+import org.example.exceptions.UtilityClassException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Распределение тестовых классов по устройствам.
+ *
+ * <p>Классы выполняются параллельно, каждый на своем устройстве, поэтому время прогона определяется
+ * самым загруженным устройством. Классы распределяются жадно, от самого длинного к самому короткому,
+ * на наименее загруженное устройство (LPT): такое расписание не более чем в 4/3 раза длиннее оптимального.</p>
+ */
+public final class TestSchedule {
+
+    /**
+     * Классы, назначенные одному устройству.
+     *
+     * @param classes классы в порядке запуска
+     * @param total   суммарная ожидаемая длительность
+     */
+    public record Lane(List<String> classes, Duration total) {
+    }
+
+    /**
+     * Распределяет классы по устройствам.
+     *
+     * @param costs   ожидаемая длительность каждого класса
+     * @param workers количество устройств (параллельно выполняемых классов)
+     * @return очереди классов по устройствам
+     * @throws IllegalArgumentException если количество устройств меньше одного
+     */
+    public static List<Lane> plan(Map<String, Duration> costs, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Количество устройств должно быть положительным: " + workers);
+        }
+        List<List<String>> classes = new ArrayList<>();
+        long[] totals = new long[workers];
+        for (int i = 0; i < workers; i++) {
+            classes.add(new ArrayList<>());
+        }
+
+        costs.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    int lane = 0;
+                    for (int i = 1; i < workers; i++) {
+                        if (totals[i] < totals[lane]) {
+                            lane = i;
+                        }
+                    }
+                    classes.get(lane).add(entry.getKey());
+                    totals[lane] += entry.getValue().toMillis();
+                });
+
+        List<Lane> lanes = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            lanes.add(new Lane(List.copyOf(classes.get(i)), Duration.ofMillis(totals[i])));
+        }
+        return lanes;
+    }
+
+    /**
+     * Возвращает длительность прогона по расписанию: загрузку самого загруженного устройства.
+     *
+     * @param lanes расписание из {@link #plan(Map, int)}
+     * @return ожидаемая длительность прогона
+     */
+    public static Duration makespan(List<Lane> lanes) {
+        return lanes.stream().map(Lane::total).max(Comparator.naturalOrder()).orElse(Duration.ZERO);
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private TestSchedule() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.utils.scroll;
+
+import org.example.exceptions.UtilityClassException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+
+/**
+ * Построение серии быстрых прокруток (fling) одной W3C последовательностью действий.
+ *
+ * <p>Вся серия отправляется одной командой {@code performActions}, поэтому устройство выполняет
+ * жесты без пауз на сетевой обмен между ними, как при настоящем быстром листании ленты.</p>
+ */
+public final class FlingGesture {
+    private static final String FINGER = "finger";
+    private static final double START_FRACTION = 0.8;
+    private static final double END_FRACTION = 0.2;
+
+    /**
+     * Строит серию прокруток содержимого вниз: палец проводит снизу вверх по центру области.
+     *
+     * @param area     область прокручиваемого списка на экране
+     * @param flings   количество жестов в серии
+     * @param duration длительность одного жеста; чем короче, тем сильнее инерция прокрутки
+     * @param pause    пауза после каждого жеста
+     * @return последовательность действий одного касания
+     * @throws IllegalArgumentException если количество жестов не положительное или область пустая
+     */
+    public static Sequence flings(Rectangle area, int flings, Duration duration, Duration pause) {
+        if (flings <= 0) {
+            throw new IllegalArgumentException("Количество жестов должно быть положительным: " + flings);
+        }
+        if (area.getWidth() <= 0 || area.getHeight() <= 0) {
+            throw new IllegalArgumentException("Пустая область прокрутки: " + area);
+        }
+
+        int x = area.getX() + area.getWidth() / 2;
+        int startY = area.getY() + (int) (area.getHeight() * START_FRACTION);
+        int endY = area.getY() + (int) (area.getHeight() * END_FRACTION);
+
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, FINGER);
+        Sequence sequence = new Sequence(finger, 0);
+        for (int i = 0; i < flings; i++) {
+            sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, startY));
+            sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+            sequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), x, endY));
+            sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+            sequence.addAction(new Pause(finger, pause));
+        }
+        return sequence;
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private FlingGesture() {
+        throw new UtilityClassException(getClass());
+    }
+}
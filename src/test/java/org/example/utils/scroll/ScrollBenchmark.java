@@ -0,0 +1,190 @@
+package org.example.utils.scroll;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.playback.FrameStats;
+import org.example.utils.session.TestSession;
+import org.example.utils.snapshot.UiNode;
+import org.example.utils.snapshot.UiSnapshot;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Нагрузочная прокрутка ленты: пропускная способность загрузки элементов и пропуски кадров.
+ *
+ * <p>Лента прокручивается сериями быстрых жестов ({@link FlingGesture}), каждая серия - одна команда
+ * {@code performActions}. После серии иерархия читается один раз, и новые элементы ленты учитываются
+ * по тексту внутри элемента. Статистика кадров ({@code dumpsys gfxinfo}) сбрасывается перед прогоном
+ * и читается после него, поэтому Appium сервер должен быть запущен с {@code --allow-insecure=adb_shell}.</p>
+ * <p>Режим включается свойством {@code scroll.benchmark=true}, размер прогона задается свойствами
+ * {@code scroll.batches} и {@code scroll.flings}. Результаты дописываются строкой JSON вместе
+ * с версией приложения в {@code target/metrics/scroll.jsonl}, путь меняется свойством {@code scroll.report}.</p>
+ */
+public final class ScrollBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(ScrollBenchmark.class);
+
+    private static final String BENCHMARK_PROPERTY = "scroll.benchmark";
+    private static final String BATCHES_PROPERTY = "scroll.batches";
+    private static final String FLINGS_PROPERTY = "scroll.flings";
+    private static final int DEFAULT_BATCHES = 5;
+    private static final int DEFAULT_FLINGS = 10;
+    private static final String REPORT_PROPERTY = "scroll.report";
+    private static final String DEFAULT_REPORT = "target/metrics/scroll.jsonl";
+    private static final Duration FLING_DURATION = Duration.ofMillis(120);
+    private static final Duration FLING_PAUSE = Duration.ofMillis(200);
+
+    private final AndroidDriver driver;
+    private final String appPackage;
+    private final By list;
+    private final String itemId;
+
+    /**
+     * Создает прогон прокрутки.
+     *
+     * @param driver     драйвер сессии
+     * @param appPackage пакет приложения
+     * @param list       локатор прокручиваемого списка
+     * @param itemId     resource-id элемента списка
+     */
+    public ScrollBenchmark(AndroidDriver driver, String appPackage, By list, String itemId) {
+        this.driver = driver;
+        this.appPackage = appPackage;
+        this.list = list;
+        this.itemId = itemId;
+    }
+
+    /**
+     * @return {@code true}, если включен режим нагрузочной прокрутки
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(BENCHMARK_PROPERTY);
+    }
+
+    /**
+     * Прокручивает ленту с размером прогона из свойств {@code scroll.batches} и {@code scroll.flings}.
+     *
+     * @return показатели прокрутки
+     */
+    public ScrollMetrics run() {
+        return run(Integer.getInteger(BATCHES_PROPERTY, DEFAULT_BATCHES),
+                Integer.getInteger(FLINGS_PROPERTY, DEFAULT_FLINGS));
+    }
+
+    /**
+     * Прокручивает ленту сериями жестов.
+     *
+     * @param batches        количество серий
+     * @param flingsPerBatch количество жестов в серии
+     * @return показатели прокрутки
+     * @throws IllegalArgumentException если вывод {@code dumpsys gfxinfo} не содержит статистики кадров
+     */
+    public ScrollMetrics run(int batches, int flingsPerBatch) {
+        Rectangle area = driver.findElement(list).getRect();
+        Set<String> seen = new HashSet<>(itemKeys(UiSnapshot.capture(driver)));
+        int initial = seen.size();
+
+        shell("dumpsys", "gfxinfo", appPackage, "reset");
+        long start = System.nanoTime();
+        long gestureNanos = 0;
+        for (int batch = 0; batch < batches; batch++) {
+            long batchStart = System.nanoTime();
+            driver.perform(List.of(FlingGesture.flings(area, flingsPerBatch, FLING_DURATION, FLING_PAUSE)));
+            gestureNanos += System.nanoTime() - batchStart;
+
+            List<String> visible = itemKeys(UiSnapshot.capture(driver));
+            seen.addAll(visible);
+            log.debug("Серия {}: видно {} элементов, всего загружено {}", batch + 1, visible.size(),
+                    seen.size() - initial);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        return new ScrollMetrics(batches, batches * flingsPerBatch, seen.size() - initial, elapsedMillis,
+                gestureNanos / 1_000_000, FrameStats.parse(shell("dumpsys", "gfxinfo", appPackage)));
+    }
+
+    /**
+     * Возвращает ключи элементов списка: тексты внутри элемента через разделитель.
+     *
+     * <p>Элементы без текста не учитываются: их нельзя отличить от переиспользованных при прокрутке.</p>
+     *
+     * @param snapshot иерархия экрана
+     * @return ключи элементов в порядке документа
+     */
+    public List<String> itemKeys(UiSnapshot snapshot) {
+        return snapshot.findAllById(itemId).stream()
+                .map(ScrollBenchmark::textKey)
+                .filter(key -> !key.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Дописывает показатели в отчет о прокрутке.
+     *
+     * @param metrics показатели прокрутки
+     */
+    public static synchronized void record(ScrollMetrics metrics) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        TestSession session = TestSession.current();
+        if (session != null) {
+            line.put("device", session.device().udid());
+            line.put("appVersion", session.appVersion());
+        }
+        line.put("metrics", metrics.toMap());
+
+        Path report = Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            StringBuilder json = new StringBuilder();
+            try (JsonOutput output = new Json().newOutput(json)) {
+                output.setPrettyPrint(false).write(line);
+            }
+            Files.writeString(report, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о прокрутке {}: {}", report, e.getMessage());
+        }
+    }
+
+    private static String textKey(UiNode item) {
+        StringJoiner key = new StringJoiner(" | ");
+        Deque<UiNode> pending = new ArrayDeque<>(List.of(item));
+        while (!pending.isEmpty()) {
+            UiNode node = pending.pollFirst();
+            if (!node.text().isEmpty()) {
+                key.add(node.text());
+            }
+            for (int i = node.children().size() - 1; i >= 0; i--) {
+                pending.addFirst(node.children().get(i));
+            }
+        }
+        return key.toString();
+    }
+
+    private String shell(String command, String... args) {
+        Object output = driver.executeScript("mobile: shell", Map.of(
+                "command", command,
+                "args", List.of(args)
+        ));
+        return output == null ? "" : output.toString();
+    }
+}
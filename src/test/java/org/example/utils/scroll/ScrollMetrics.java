@@ -0,0 +1,67 @@
+package org.example.utils.scroll;
+
+import org.example.utils.playback.FrameStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Показатели одного прогона прокрутки ленты.
+ *
+ * @param batches       количество команд {@code performActions}
+ * @param flings        общее количество жестов
+ * @param loadedItems   количество разных элементов ленты, появившихся во время прокрутки
+ * @param elapsedMillis длительность прогона вместе с чтением иерархии после каждой серии
+ * @param gestureMillis суммарное время выполнения серий жестов
+ * @param frames        статистика отрисовки кадров за прогон
+ */
+public record ScrollMetrics(int batches,
+                            int flings,
+                            int loadedItems,
+                            long elapsedMillis,
+                            long gestureMillis,
+                            FrameStats frames) {
+
+    /**
+     * @return количество новых элементов ленты в секунду
+     */
+    public double itemsPerSecond() {
+        return elapsedMillis == 0 ? 0 : loadedItems * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @return количество жестов в секунду выполнения серий
+     */
+    public double flingsPerSecond() {
+        return gestureMillis == 0 ? 0 : flings * 1000.0 / gestureMillis;
+    }
+
+    /**
+     * Формирует плоское представление показателей для JSON отчета.
+     *
+     * @return показатели в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("batches", batches);
+        map.put("flings", flings);
+        map.put("loadedItems", loadedItems);
+        map.put("elapsedMs", elapsedMillis);
+        map.put("gestureMs", gestureMillis);
+        map.put("itemsPerSecond", round(itemsPerSecond()));
+        map.put("flingsPerSecond", round(flingsPerSecond()));
+        map.put("totalFrames", frames.totalFrames());
+        map.put("jankyFrames", frames.jankyFrames());
+        map.put("jankPercent", round(frames.jankPercent()));
+        map.put("frameP90Ms", frames.p90Millis());
+        map.put("frameP99Ms", frames.p99Millis());
+        map.put("missedVsync", frames.missedVsync());
+        map.put("slowUiThread", frames.slowUiThread());
+        map.put("frameDeadlineMissed", frames.frameDeadlineMissed());
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
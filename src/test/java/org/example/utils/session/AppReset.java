@@ -0,0 +1,32 @@
+package org.example.utils.session;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Способ сброса приложения перед тестом.
+ *
+ * <p>Может быть указан на тестовом методе или классе. Аннотация метода имеет приоритет.
+ * Без аннотации приложение перезапускается ({@link ResetMode#RELAUNCH}).</p>
+ *
+ * @see ResetStrategy
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface AppReset {
+
+    /**
+     * @return режим сброса
+     */
+    ResetMode value();
+
+    /**
+     * @return активность для {@link ResetMode#ACTIVITY} (полное имя или начинающееся с точки)
+     * или ссылка для {@link ResetMode#DEEP_LINK}
+     */
+    String target() default "";
+}
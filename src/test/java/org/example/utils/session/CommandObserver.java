@@ -0,0 +1,21 @@
+package org.example.utils.session;
+
+/**
+ * Наблюдатель команд, выполняемых драйверами из {@link SessionPool}.
+ *
+ * <p>Вызывается в потоке, выполнившем команду, сразу после получения ответа.
+ * Реализация должна быть быстрой и потокобезопасной: исключения наблюдателя
+ * логируются и не влияют на выполнение команды.</p>
+ *
+ * @see ObservedCommandExecutor#addObserver(CommandObserver)
+ */
+@FunctionalInterface
+public interface CommandObserver {
+
+    /**
+     * Обрабатывает выполненную команду.
+     *
+     * @param command команда, ее ответ и длительность
+     */
+    void onCommand(ExecutedCommand command);
+}
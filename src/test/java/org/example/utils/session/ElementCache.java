@@ -0,0 +1,210 @@
+package org.example.utils.session;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Кэш найденных элементов текущего экрана одной сессии.
+ *
+ * <p>Selenide ищет элемент заново перед каждой операцией: {@code $(by).shouldBe(visible).click()} - это два
+ * запроса {@code findElement} с одним локатором. Кэш отвечает на повторный {@code findElement} ссылкой,
+ * полученной при первом поиске, без обращения к устройству:</p>
+ * <ul>
+ * <li>кэш очищается любой командой, которая может сменить экран: нажатие, ввод, жесты, "назад",
+ * deep link и остальные {@code mobile:} скрипты, кроме чтения состояния</li>
+ * <li>если ссылка из кэша устарела (экран сменился без команды, например закрылась реклама), элемент
+ * ищется заново тем же локатором и команда повторяется с новой ссылкой</li>
+ * <li>доля попаданий доступна через {@link #stats()} и попадает в отчет о задержках команд</li>
+ * </ul>
+ * <p>Кэш отключается свойством {@code element.cache=false}.</p>
+ */
+public final class ElementCache {
+    private static final String ENABLED_PROPERTY = "element.cache";
+    private static final String STALE_STATE = "stale element reference";
+    private static final String SUCCESS_STATE = "success";
+    private static final String W3C_ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final Set<String> READ_ONLY_COMMANDS = Set.of(
+            DriverCommand.FIND_ELEMENT,
+            DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT,
+            DriverCommand.FIND_CHILD_ELEMENTS,
+            DriverCommand.GET_ELEMENT_TEXT,
+            DriverCommand.GET_ELEMENT_ATTRIBUTE,
+            DriverCommand.GET_ELEMENT_RECT,
+            DriverCommand.GET_ELEMENT_TAG_NAME,
+            DriverCommand.GET_ELEMENT_VALUE_OF_CSS_PROPERTY,
+            DriverCommand.IS_ELEMENT_DISPLAYED,
+            DriverCommand.IS_ELEMENT_ENABLED,
+            DriverCommand.IS_ELEMENT_SELECTED,
+            DriverCommand.ELEMENT_SCREENSHOT,
+            DriverCommand.GET_PAGE_SOURCE,
+            DriverCommand.SCREENSHOT,
+            DriverCommand.GET_CURRENT_URL,
+            DriverCommand.GET_TIMEOUTS,
+            DriverCommand.SET_TIMEOUT,
+            DriverCommand.GET_LOG,
+            DriverCommand.GET_AVAILABLE_LOG_TYPES,
+            DriverCommand.STATUS,
+            "getCurrentPackage",
+            "queryAppState"
+    );
+    private static final Set<String> READ_ONLY_SCRIPTS = Set.of("mobile: getCurrentPackage", "mobile: queryAppState");
+    private static final Set<String> READ_ONLY_SHELL_COMMANDS = Set.of("dumpsys", "cat", "pidof", "getprop");
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder RESOLVED = new LongAdder();
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    private final Map<String, Map<String, Object>> elementsByLocator = new ConcurrentHashMap<>();
+    private final Map<String, Command> findsByElement = new ConcurrentHashMap<>();
+
+    /**
+     * Суммарные показатели кэша всех сессий за прогон.
+     *
+     * @param hits          поиски, на которые ответил кэш
+     * @param misses        поиски, отправленные на устройство
+     * @param resolved      устаревшие ссылки, найденные заново
+     * @param invalidations очистки кэша командами, меняющими экран
+     */
+    public record Stats(long hits, long misses, long resolved, long invalidations) {
+
+        /**
+         * @return доля поисков {@code findElement}, на которые ответил кэш, от 0 до 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Возвращает показатели кэша за прогон.
+     *
+     * @return попадания, промахи, повторные поиски и очистки
+     */
+    public static Stats stats() {
+        return new Stats(HITS.sum(), MISSES.sum(), RESOLVED.sum(), INVALIDATIONS.sum());
+    }
+
+    /**
+     * Отвечает на повторный поиск элемента ссылкой из кэша.
+     *
+     * @param command команда драйвера
+     * @return ответ с ранее найденным элементом или пустой {@link Optional}, если команду нужно отправить
+     */
+    Optional<Response> lookup(Command command) {
+        if (!enabled || !DriverCommand.FIND_ELEMENT.equals(command.getName())) {
+            return Optional.empty();
+        }
+        Map<String, Object> element = elementsByLocator.get(locatorKey(command));
+        if (element == null) {
+            MISSES.increment();
+            return Optional.empty();
+        }
+        HITS.increment();
+        return Optional.of(response(command, element));
+    }
+
+    /**
+     * Выполняет команду и повторяет ее с новой ссылкой, если ссылка на элемент из кэша устарела.
+     *
+     * @param command команда драйвера
+     * @param sender  отправка команды на устройство
+     * @return ответ устройства
+     */
+    Response execute(Command command, Function<Command, Response> sender) {
+        Response response = sender.apply(command);
+        if (enabled && STALE_STATE.equals(response.getState())) {
+            Object elementId = command.getParameters().get("id");
+            Command find = elementId == null ? null : findsByElement.remove(elementId.toString());
+            if (find != null) {
+                RESOLVED.increment();
+                invalidate();
+                Response found = sender.apply(find);
+                update(find, found);
+                Optional<String> resolvedId = elementIdOf(found);
+                if (resolvedId.isEmpty()) {
+                    return found;
+                }
+                Map<String, Object> parameters = new HashMap<>(command.getParameters());
+                parameters.put("id", resolvedId.get());
+                response = sender.apply(new Command(command.getSessionId(), command.getName(), parameters));
+            }
+        }
+        update(command, response);
+        return response;
+    }
+
+    private void update(Command command, Response response) {
+        if (!enabled) {
+            return;
+        }
+        if (DriverCommand.FIND_ELEMENT.equals(command.getName())) {
+            if (SUCCESS_STATE.equals(response.getState()) && response.getValue() instanceof Map<?, ?> element) {
+                Map<String, Object> copy = new HashMap<>();
+                element.forEach((key, value) -> copy.put(key.toString(), value));
+                elementsByLocator.put(locatorKey(command), copy);
+                elementIdOf(response).ifPresent(id -> findsByElement.put(id, command));
+            }
+        } else if (changesScreen(command)) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        if (!elementsByLocator.isEmpty() || !findsByElement.isEmpty()) {
+            INVALIDATIONS.increment();
+            elementsByLocator.clear();
+            findsByElement.clear();
+        }
+    }
+
+    private static boolean changesScreen(Command command) {
+        if (READ_ONLY_COMMANDS.contains(command.getName())) {
+            return false;
+        }
+        if (!DriverCommand.EXECUTE_SCRIPT.equals(command.getName())) {
+            return true;
+        }
+        Object script = command.getParameters().get("script");
+        if (READ_ONLY_SCRIPTS.contains(script)) {
+            return false;
+        }
+        if ("mobile: shell".equals(script) && command.getParameters().get("args") instanceof List<?> args
+                && !args.isEmpty() && args.get(0) instanceof Map<?, ?> shell) {
+            return !READ_ONLY_SHELL_COMMANDS.contains(String.valueOf(shell.get("command")));
+        }
+        return true;
+    }
+
+    private static String locatorKey(Command command) {
+        return command.getParameters().get("using") + "=" + command.getParameters().get("value");
+    }
+
+    private static Optional<String> elementIdOf(Response response) {
+        if (SUCCESS_STATE.equals(response.getState()) && response.getValue() instanceof Map<?, ?> element
+                && element.get(W3C_ELEMENT_KEY) != null) {
+            return Optional.of(element.get(W3C_ELEMENT_KEY).toString());
+        }
+        return Optional.empty();
+    }
+
+    private static Response response(Command command, Map<String, Object> element) {
+        Response response = new Response(command.getSessionId());
+        response.setState(SUCCESS_STATE);
+        response.setValue(new HashMap<>(element));
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.utils.session;
+
+import org.openqa.selenium.remote.Response;
+
+import java.util.Map;
+
+/**
+ * Выполненная драйвером команда WebDriver/Appium.
+ *
+ * @param sessionId     идентификатор сессии, {@code null} для создания сессии
+ * @param name          имя команды, например {@code findElement} или {@code executeScript}
+ * @param parameters    параметры команды
+ * @param locator       локатор, к которому относится команда: стратегия поиска для {@code findElement},
+ *                      локатор найденного ранее элемента для команд над элементом,
+ *                      имя скрипта для {@code executeScript}; пустая строка для остальных команд
+ * @param response      ответ сервера, {@code null} если команда завершилась исключением
+ * @param error         исключение команды, {@code null} если ответ получен
+ * @param durationNanos длительность команды в наносекундах
+ */
+public record ExecutedCommand(String sessionId,
+                              String name,
+                              Map<String, ?> parameters,
+                              String locator,
+                              Response response,
+                              Throwable error,
+                              long durationNanos) {
+}
@@ -0,0 +1,162 @@
+package org.example.utils.session;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Исполнитель команд Appium, уведомляющий {@link CommandObserver} о каждой выполненной команде.
+ *
+ * <p>Все команды драйвера (поиск элементов, действия с ними, {@code mobile:} скрипты,
+ * управление приложением) проходят через {@link #execute(Command)}, поэтому наблюдатели
+ * видят их независимо от того, вызваны они напрямую или через Selenide.
+ * Для команд над элементом определяется локатор, которым элемент был найден.</p>
+ * <p>Повторный поиск элемента на том же экране обслуживает {@link ElementCache}: такой поиск не доходит
+ * до сервера и наблюдателям не передается.</p>
+ */
+public class ObservedCommandExecutor extends AppiumCommandExecutor {
+    private static final Logger log = LoggerFactory.getLogger(ObservedCommandExecutor.class);
+
+    private static final List<CommandObserver> OBSERVERS = new CopyOnWriteArrayList<>();
+    private static final Set<String> FIND_COMMANDS = Set.of(
+            DriverCommand.FIND_ELEMENT,
+            DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT,
+            DriverCommand.FIND_CHILD_ELEMENTS
+    );
+    private static final String W3C_ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final String LEGACY_ELEMENT_KEY = "ELEMENT";
+    private static final int MAX_REMEMBERED_ELEMENTS = 10_000;
+
+    private final Map<String, String> elementLocators = new ConcurrentHashMap<>();
+    private final ElementCache elementCache = new ElementCache();
+
+    /**
+     * Создает исполнитель для указанного Appium сервера.
+     *
+     * @param appiumServerUrl адрес Appium сервера
+     */
+    public ObservedCommandExecutor(URL appiumServerUrl) {
+        super(MobileCommand.commandRepository, appiumServerUrl);
+    }
+
+    /**
+     * Регистрирует наблюдателя команд всех драйверов, создаваемых {@link SessionPool}.
+     *
+     * <p>Повторная регистрация того же наблюдателя игнорируется.</p>
+     *
+     * @param observer наблюдатель
+     */
+    public static void addObserver(CommandObserver observer) {
+        if (!OBSERVERS.contains(observer)) {
+            OBSERVERS.add(observer);
+        }
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        Optional<Response> cached = elementCache.lookup(command);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long start = System.nanoTime();
+        Response response = null;
+        RuntimeException error = null;
+
+        try {
+            response = elementCache.execute(command, this::sendAndRemember);
+            return response;
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            notifyObservers(command, response, error, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Отправляет команду Appium серверу.
+     *
+     * @param command команда драйвера
+     * @return ответ сервера
+     * @throws WebDriverException если команду не удалось выполнить
+     */
+    protected Response send(Command command) throws WebDriverException {
+        return super.execute(command);
+    }
+
+    private Response sendAndRemember(Command command) {
+        Response response = send(command);
+        if (FIND_COMMANDS.contains(command.getName())) {
+            rememberElements(response.getValue(), locatorOf(command));
+        }
+        return response;
+    }
+
+    private void notifyObservers(Command command, Response response, Throwable error, long durationNanos) {
+        if (OBSERVERS.isEmpty()) {
+            return;
+        }
+        String locator = locatorOf(command);
+
+        ExecutedCommand executed = new ExecutedCommand(
+                command.getSessionId() == null ? null : command.getSessionId().toString(),
+                command.getName(),
+                command.getParameters(),
+                locator,
+                response,
+                error,
+                durationNanos
+        );
+        for (CommandObserver observer : OBSERVERS) {
+            try {
+                observer.onCommand(executed);
+            } catch (RuntimeException e) {
+                log.warn("Ошибка наблюдателя команд {}: {}", observer.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private String locatorOf(Command command) {
+        Map<String, ?> parameters = command.getParameters();
+        if (FIND_COMMANDS.contains(command.getName())) {
+            return parameters.get("using") + "=" + parameters.get("value");
+        }
+        if (DriverCommand.EXECUTE_SCRIPT.equals(command.getName())) {
+            return String.valueOf(parameters.get("script"));
+        }
+        Object elementId = parameters.get("id");
+        if (elementId != null) {
+            return elementLocators.getOrDefault(elementId.toString(), "");
+        }
+        return "";
+    }
+
+    private void rememberElements(Object value, String locator) {
+        if (elementLocators.size() > MAX_REMEMBERED_ELEMENTS) {
+            elementLocators.clear();
+        }
+        if (value instanceof List<?> elements) {
+            elements.forEach(element -> rememberElements(element, locator));
+        } else if (value instanceof Map<?, ?> element) {
+            Object id = element.containsKey(W3C_ELEMENT_KEY) ? element.get(W3C_ELEMENT_KEY) : element.get(LEGACY_ELEMENT_KEY);
+            if (id != null) {
+                elementLocators.put(id.toString(), locator);
+            }
+        }
+    }
+}
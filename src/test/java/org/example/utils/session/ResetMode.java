@@ -0,0 +1,37 @@
+package org.example.utils.session;
+
+/**
+ * Способ привести тестируемое приложение в исходное состояние перед тестом.
+ *
+ * <p>Режимы перечислены примерно в порядке возрастания стоимости, кроме {@link #ACTIVITY}
+ * и {@link #DEEP_LINK}, которые сразу открывают нужный тесту экран и экономят навигацию.</p>
+ *
+ * @see AppReset
+ */
+public enum ResetMode {
+    /**
+     * Приложение не перезапускается: тест продолжает с экрана, на котором остановился предыдущий.
+     * Приложение выводится на передний план, только если оно свернуто или закрыто.
+     */
+    NONE,
+    /**
+     * Стек активностей очищается и открывается стартовая активность без перезапуска процесса.
+     */
+    LAUNCHER,
+    /**
+     * Приложение закрывается и запускается заново. Используется по умолчанию.
+     */
+    RELAUNCH,
+    /**
+     * Данные приложения удаляются ({@code pm clear}), затем приложение запускается с нуля.
+     */
+    CLEAR_DATA,
+    /**
+     * Открывается активность, указанная в {@link AppReset#target()}.
+     */
+    ACTIVITY,
+    /**
+     * Открывается deep link, указанный в {@link AppReset#target()}.
+     */
+    DEEP_LINK
+}
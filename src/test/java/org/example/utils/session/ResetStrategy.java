@@ -0,0 +1,104 @@
+package org.example.utils.session;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.appmanagement.ApplicationState;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Map;
+
+/**
+ * Выбранный для теста способ сброса приложения и его выполнение на сессии.
+ *
+ * @param mode   режим сброса
+ * @param target активность или ссылка для режимов {@link ResetMode#ACTIVITY} и {@link ResetMode#DEEP_LINK}
+ */
+public record ResetStrategy(ResetMode mode, String target) {
+    /**
+     * Перезапуск приложения, как до появления режимов сброса.
+     */
+    public static final ResetStrategy DEFAULT = new ResetStrategy(ResetMode.RELAUNCH, "");
+
+    // FLAG_ACTIVITY_NEW_TASK | FLAG_ACTIVITY_CLEAR_TASK: новая задача вместо текущего стека, процесс не перезапускается
+    private static final String CLEAR_TASK_FLAGS = "0x10008000";
+
+    public ResetStrategy {
+        target = target == null ? "" : target;
+        boolean needsTarget = mode == ResetMode.ACTIVITY || mode == ResetMode.DEEP_LINK;
+        if (needsTarget && target.isBlank()) {
+            throw new IllegalArgumentException("Для режима " + mode + " нужно указать target");
+        }
+    }
+
+    /**
+     * Определяет способ сброса по аннотации {@link AppReset} на методе или классе теста.
+     *
+     * @param testInfo информация о выполняемом тесте
+     * @return способ сброса или {@link #DEFAULT}, если аннотации нет
+     */
+    public static ResetStrategy of(TestInfo testInfo) {
+        return AnnotationSupport.findAnnotation(testInfo.getTestMethod(), AppReset.class)
+                .or(() -> AnnotationSupport.findAnnotation(testInfo.getTestClass(), AppReset.class))
+                .map(reset -> new ResetStrategy(reset.value(), reset.target()))
+                .orElse(DEFAULT);
+    }
+
+    /**
+     * Возвращает способ сброса для только что созданной сессии.
+     *
+     * <p>Создание сессии уже запускает стартовую активность приложения,
+     * поэтому повторный перезапуск или переход к ней не нужен.</p>
+     *
+     * @return способ сброса для новой сессии
+     */
+    public ResetStrategy forNewSession() {
+        return mode == ResetMode.RELAUNCH || mode == ResetMode.LAUNCHER
+                ? new ResetStrategy(ResetMode.NONE, "")
+                : this;
+    }
+
+    /**
+     * Приводит приложение в исходное состояние.
+     *
+     * @param driver драйвер сессии
+     * @param config конфигурация сессии с пакетом и стартовой активностью приложения
+     * @throws org.openqa.selenium.WebDriverException если команда сброса не выполнилась
+     */
+    public void apply(AndroidDriver driver, SessionConfig config) {
+        String appPackage = config.appPackage();
+        switch (mode) {
+            case NONE -> {
+                if (driver.queryAppState(appPackage) != ApplicationState.RUNNING_IN_FOREGROUND) {
+                    driver.activateApp(appPackage);
+                }
+            }
+            case LAUNCHER -> startActivity(driver, appPackage, config.appActivity());
+            case RELAUNCH -> {
+                driver.terminateApp(appPackage);
+                driver.activateApp(appPackage);
+            }
+            case CLEAR_DATA -> {
+                driver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+                driver.activateApp(appPackage);
+            }
+            case ACTIVITY -> startActivity(driver, appPackage, target);
+            case DEEP_LINK -> driver.executeScript("mobile: deepLink", Map.of(
+                    "url", target,
+                    "package", appPackage
+            ));
+        }
+    }
+
+    private static void startActivity(AndroidDriver driver, String appPackage, String activity) {
+        driver.executeScript("mobile: startActivity", Map.of(
+                "intent", appPackage + "/" + activity,
+                "flags", CLEAR_TASK_FLAGS,
+                "wait", true
+        ));
+    }
+
+    @Override
+    public String toString() {
+        return target.isEmpty() ? mode.name() : mode + " " + target;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.utils.session;
+
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.example.utils.device.Device;
+
+/**
+ * Параметры Appium-сессии для конкретного приложения и устройства.
+ *
+ * <p>Используется как ключ {@link SessionPool}: сессии с одинаковой конфигурацией
+ * взаимозаменяемы и переиспользуются между тестами.</p>
+ *
+ * @param device               устройство, на котором открывается сессия
+ * @param appPackage           пакет тестируемого приложения
+ * @param appActivity          стартовая активность приложения
+ * @param noReset              не сбрасывать данные приложения при создании сессии
+ * @param autoGrantPermissions автоматически выдавать разрешения приложению
+ */
+public record SessionConfig(Device device,
+                            String appPackage,
+                            String appActivity,
+                            boolean noReset,
+                            boolean autoGrantPermissions) {
+
+    private static final String PLATFORM_NAME = "Android";
+    private static final String AUTOMATION_NAME = "UiAutomator2";
+
+    /**
+     * Формирует настройки UiAutomator2 для создания новой сессии.
+     *
+     * @return настройки драйвера, соответствующие конфигурации
+     */
+    public UiAutomator2Options toOptions() {
+        return new UiAutomator2Options()
+                .setPlatformName(PLATFORM_NAME)
+                .setPlatformVersion(device.platformVersion())
+                .setUdid(device.udid())
+                .setAutomationName(AUTOMATION_NAME)
+                .setAppPackage(appPackage)
+                .setAppActivity(appActivity)
+                .setNoReset(noReset)
+                .setAutoGrantPermissions(autoGrantPermissions);
+    }
+}
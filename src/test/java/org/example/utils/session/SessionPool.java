@@ -0,0 +1,148 @@
+package org.example.utils.session;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.exceptions.UtilityClassException;
+import org.example.utils.traffic.AppiumTraffic;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Пул "прогретых" Appium-сессий.
+ *
+ * <p>Создание новой сессии UiAutomator2 занимает несколько секунд, поэтому сессии
+ * не закрываются после каждого теста, а возвращаются в пул и выдаются следующему тесту
+ * с той же {@link SessionConfig}. Между тестами сбрасывается только состояние приложения.</p>
+ * <ul>
+ * <li>{@link #acquire(SessionConfig, ResetStrategy)} - выдает свободную сессию или создает новую
+ * и сбрасывает в ней приложение выбранным тестом способом</li>
+ * <li>{@link #release(SessionConfig, AndroidDriver)} - возвращает сессию в пул, не закрывая приложение</li>
+ * <li>Сессия, не прошедшая проверку работоспособности, закрывается и заменяется новой</li>
+ * <li>Команды всех сессий проходят через {@link ObservedCommandExecutor}; в режиме {@code appium.traffic}
+ * они записываются или воспроизводятся из записи ({@link AppiumTraffic})</li>
+ * <li>Все сессии закрываются при завершении JVM</li>
+ * </ul>
+ */
+public class SessionPool {
+    private static final Logger log = LoggerFactory.getLogger(SessionPool.class);
+
+    private static final Map<SessionConfig, Deque<AndroidDriver>> IDLE_SESSIONS = new ConcurrentHashMap<>();
+    private static final Set<AndroidDriver> OPEN_SESSIONS = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SessionPool::closeAll, "appium-session-pool-shutdown"));
+    }
+
+    /**
+     * Выдает сессию для указанной конфигурации и сбрасывает в ней приложение.
+     *
+     * <p>Сброс приложения одновременно служит проверкой работоспособности сессии:
+     * если команда не выполнилась, сессия закрывается и берется следующая.</p>
+     *
+     * @param config конфигурация сессии
+     * @param reset  способ сброса приложения
+     * @return драйвер с приложением в исходном для теста состоянии
+     * @throws MalformedURLException если адрес Appium сервера некорректен
+     */
+    public static AndroidDriver acquire(SessionConfig config, ResetStrategy reset) throws MalformedURLException {
+        Deque<AndroidDriver> idle = IDLE_SESSIONS.computeIfAbsent(config, key -> new ConcurrentLinkedDeque<>());
+
+        AndroidDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            if (reset(driver, config, reset)) {
+                log.debug("Переиспользуем сессию {} для {}", driver.getSessionId(), config.appPackage());
+                return driver;
+            }
+            discard(driver);
+        }
+
+        driver = create(config);
+        if (!reset(driver, config, reset.forNewSession())) {
+            discard(driver);
+            throw new WebDriverException("Не удалось подготовить приложение " + config.appPackage()
+                    + " в новой сессии");
+        }
+        return driver;
+    }
+
+    /**
+     * Возвращает сессию в пул.
+     *
+     * <p>Приложение не закрывается: следующий тест сам сбрасывает его способом из {@link ResetStrategy},
+     * а режиму {@link ResetMode#NONE} нужно именно оставленное предыдущим тестом состояние.</p>
+     *
+     * @param config конфигурация, с которой сессия была получена
+     * @param driver возвращаемый драйвер, может быть {@code null}
+     */
+    public static void release(SessionConfig config, AndroidDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        IDLE_SESSIONS.computeIfAbsent(config, key -> new ConcurrentLinkedDeque<>()).offerFirst(driver);
+    }
+
+    /**
+     * Закрывает сессию и исключает ее из пула.
+     *
+     * @param driver закрываемый драйвер
+     */
+    public static void discard(AndroidDriver driver) {
+        OPEN_SESSIONS.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.debug("Сессия уже недоступна: {}", e.getMessage());
+        }
+    }
+
+    private static AndroidDriver create(SessionConfig config) throws MalformedURLException {
+        log.info("Создаем новую Appium сессию для {} на {}", config.appPackage(), config.device().udid());
+        long start = System.nanoTime();
+
+        URI appiumServerUri = URI.create(config.device().appiumServerUrl());
+        AndroidDriver driver = new AndroidDriver(
+                AppiumTraffic.executor(appiumServerUri.toURL()), config.toOptions());
+        OPEN_SESSIONS.add(driver);
+
+        log.info("Сессия {} создана за {} мс", driver.getSessionId(), (System.nanoTime() - start) / 1_000_000);
+        return driver;
+    }
+
+    private static boolean reset(AndroidDriver driver, SessionConfig config, ResetStrategy reset) {
+        try {
+            long start = System.nanoTime();
+            reset.apply(driver, config);
+            log.debug("Сброс {} приложения {} выполнен за {} мс", reset, config.appPackage(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (Exception e) {
+            log.warn("Сессия {} не прошла проверку: {}", driver.getSessionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static void closeAll() {
+        IDLE_SESSIONS.clear();
+        for (AndroidDriver driver : OPEN_SESSIONS) {
+            discard(driver);
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private SessionPool() {
+        throw new UtilityClassException(getClass());
+    }
+}
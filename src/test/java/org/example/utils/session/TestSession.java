@@ -0,0 +1,170 @@
+package org.example.utils.session;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.device.Device;
+import org.example.utils.device.DevicePool;
+import org.example.utils.logcat.DriverLogcatSource;
+import org.example.utils.logcat.LogcatStream;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Сессия одного теста: устройство из {@link DevicePool} и драйвер из {@link SessionPool}.
+ *
+ * <p>Если на выданном устройстве не удалось открыть сессию, устройство выводится из ротации
+ * и тест получает следующее свободное. Текущая сессия потока доступна через {@link #current()}.</p>
+ * <p>На время теста запускается чтение logcat ({@link #logcat()}), которое опрашивает устройство только
+ * во время ожиданий маркеров; отключается свойством {@code logcat.stream=false}.</p>
+ */
+public class TestSession {
+    private static final Logger log = LoggerFactory.getLogger(TestSession.class);
+
+    private static final String LEASE_TIMEOUT_PROPERTY = "devices.lease.timeout.minutes";
+    private static final long DEFAULT_LEASE_TIMEOUT_MINUTES = 30;
+    private static final String APP_VERSION_PROPERTY = "app.version";
+    private static final String UNKNOWN_VERSION = "unknown";
+    private static final String LOGCAT_PROPERTY = "logcat.stream";
+    private static final String LOGCAT_POLL_PROPERTY = "logcat.poll.millis";
+    private static final long DEFAULT_LOGCAT_POLL_MILLIS = 200;
+    private static final Pattern VERSION_NAME = Pattern.compile("versionName=(\\S+)");
+    private static final ThreadLocal<TestSession> CURRENT = new ThreadLocal<>();
+    private static final Map<SessionConfig, String> APP_VERSIONS = new ConcurrentHashMap<>();
+
+    private final DevicePool pool;
+    private final SessionConfig config;
+    private final AndroidDriver driver;
+    private final LogcatStream logcat;
+
+    private TestSession(DevicePool pool, SessionConfig config, AndroidDriver driver) {
+        this.pool = pool;
+        this.config = config;
+        this.driver = driver;
+        this.logcat = startLogcat(driver);
+    }
+
+    /**
+     * Получает устройство из пула и открывает на нем сессию.
+     *
+     * @param pool          пул устройств приложения
+     * @param configFactory формирует конфигурацию сессии для выданного устройства
+     * @param reset         способ сброса приложения перед тестом
+     * @return сессия теста, ставшая текущей для вызывающего потока
+     * @throws Exception если поток был прерван или в пуле не осталось рабочих устройств;
+     *                   при любой ошибке, кроме отказа устройства, оно возвращается в пул
+     */
+    public static TestSession open(DevicePool pool, Function<Device, SessionConfig> configFactory,
+                                   ResetStrategy reset) throws Exception {
+        Duration leaseTimeout = Duration.ofMinutes(
+                Long.getLong(LEASE_TIMEOUT_PROPERTY, DEFAULT_LEASE_TIMEOUT_MINUTES));
+
+        while (true) {
+            Device device = pool.lease(leaseTimeout);
+            try {
+                SessionConfig config = configFactory.apply(device);
+                TestSession session = new TestSession(pool, config, SessionPool.acquire(config, reset));
+                CURRENT.set(session);
+                return session;
+            } catch (WebDriverException e) {
+                log.warn("Не удалось открыть сессию на устройстве {}: {}", device.udid(), e.getMessage());
+                pool.retire(device, e.getClass().getSimpleName());
+            } catch (Throwable e) {
+                pool.release(device);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Возвращает сессию теста, выполняющегося в текущем потоке.
+     *
+     * @return текущая сессия или {@code null}, если тест не открывал сессию
+     */
+    public static TestSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Возвращает сессию в пул и освобождает устройство.
+     */
+    public void close() {
+        CURRENT.remove();
+        try {
+            if (logcat != null) {
+                logcat.close();
+            }
+            SessionPool.release(config, driver);
+        } finally {
+            pool.release(config.device());
+        }
+    }
+
+    /**
+     * Возвращает версию тестируемого приложения на устройстве сессии.
+     *
+     * <p>Версия берется из системного свойства {@code app.version}, иначе запрашивается
+     * у устройства через {@code dumpsys package} один раз для каждой конфигурации сессии.
+     * Запрос требует разрешения {@code adb_shell} на Appium сервере.</p>
+     *
+     * @return версия приложения или {@code unknown}, если ее не удалось определить
+     */
+    public String appVersion() {
+        return APP_VERSIONS.computeIfAbsent(config, key -> {
+            String configured = System.getProperty(APP_VERSION_PROPERTY);
+            if (configured != null) {
+                return configured;
+            }
+            try {
+                Object output = driver.executeScript("mobile: shell", Map.of(
+                        "command", "dumpsys",
+                        "args", List.of("package", key.appPackage())
+                ));
+                Matcher matcher = VERSION_NAME.matcher(String.valueOf(output));
+                return matcher.find() ? matcher.group(1) : UNKNOWN_VERSION;
+            } catch (WebDriverException e) {
+                log.debug("Не удалось определить версию {}: {}", key.appPackage(), e.getMessage());
+                return UNKNOWN_VERSION;
+            }
+        });
+    }
+
+    /**
+     * Возвращает поток logcat сессии для ожидания маркеров приложения.
+     *
+     * @return поток logcat или пустой {@link Optional}, если чтение отключено либо сервер не отдает logcat
+     */
+    public Optional<LogcatStream> logcat() {
+        return Optional.ofNullable(logcat).filter(LogcatStream::available);
+    }
+
+    private static LogcatStream startLogcat(AndroidDriver driver) {
+        if (!Boolean.parseBoolean(System.getProperty(LOGCAT_PROPERTY, "true"))) {
+            return null;
+        }
+        Duration pollInterval = Duration.ofMillis(Long.getLong(LOGCAT_POLL_PROPERTY, DEFAULT_LOGCAT_POLL_MILLIS));
+        return DriverLogcatSource.connect(driver)
+                .map(source -> LogcatStream.start(String.valueOf(driver.getSessionId()), source, pollInterval))
+                .orElse(null);
+    }
+
+    public AndroidDriver driver() {
+        return driver;
+    }
+
+    public Device device() {
+        return config.device();
+    }
+
+    public SessionConfig config() {
+        return config;
+    }
+}
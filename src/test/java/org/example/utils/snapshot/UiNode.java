@@ -0,0 +1,104 @@
+package org.example.utils.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Элемент иерархии интерфейса из {@link UiSnapshot}.
+ *
+ * <p>Хранит только атрибуты, по которым выполняются проверки в тестах:
+ * класс, resource-id, текст, content-desc, границы и признаки состояния.</p>
+ */
+public final class UiNode {
+    private static final byte CLICKABLE = 1;
+    private static final byte ENABLED = 1 << 1;
+    private static final byte DISPLAYED = 1 << 2;
+    private static final byte SCROLLABLE = 1 << 3;
+
+    private final int order;
+    private final UiNode parent;
+    private final String className;
+    private final String resourceId;
+    private final String text;
+    private final String contentDesc;
+    private final String bounds;
+    private final byte flags;
+    private final List<UiNode> children = new ArrayList<>(0);
+
+    UiNode(int order, UiNode parent, String className, String resourceId, String text, String contentDesc,
+           String bounds, boolean clickable, boolean enabled, boolean displayed, boolean scrollable) {
+        this.order = order;
+        this.parent = parent;
+        this.className = className;
+        this.resourceId = resourceId;
+        this.text = text;
+        this.contentDesc = contentDesc;
+        this.bounds = bounds;
+        this.flags = (byte) ((clickable ? CLICKABLE : 0)
+                | (enabled ? ENABLED : 0)
+                | (displayed ? DISPLAYED : 0)
+                | (scrollable ? SCROLLABLE : 0));
+    }
+
+    void addChild(UiNode child) {
+        children.add(child);
+    }
+
+    /**
+     * Возвращает порядковый номер элемента при обходе иерархии в глубину.
+     *
+     * @return номер элемента, у корня {@code 0}
+     */
+    public int order() {
+        return order;
+    }
+
+    public UiNode parent() {
+        return parent;
+    }
+
+    public List<UiNode> children() {
+        return children;
+    }
+
+    public String className() {
+        return className;
+    }
+
+    public String resourceId() {
+        return resourceId;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public String contentDesc() {
+        return contentDesc;
+    }
+
+    public String bounds() {
+        return bounds;
+    }
+
+    public boolean isClickable() {
+        return (flags & CLICKABLE) != 0;
+    }
+
+    public boolean isEnabled() {
+        return (flags & ENABLED) != 0;
+    }
+
+    public boolean isDisplayed() {
+        return (flags & DISPLAYED) != 0;
+    }
+
+    public boolean isScrollable() {
+        return (flags & SCROLLABLE) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return className + "[id=" + resourceId + ", text=" + text + "]";
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.utils.snapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Выражение UiAutomator ({@code new UiSelector()...}), вычисляемое по {@link UiSnapshot} без устройства.
+ *
+ * <p>Поддерживаются методы, которые встречаются в локаторах тестов:</p>
+ * <ul>
+ * <li>{@code text}, {@code textContains}, {@code textStartsWith}, {@code textMatches}</li>
+ * <li>{@code resourceId}, {@code resourceIdMatches}, {@code className}, {@code classNameMatches}</li>
+ * <li>{@code description}, {@code descriptionContains}, {@code descriptionStartsWith}, {@code descriptionMatches}</li>
+ * <li>{@code clickable}, {@code enabled}, {@code scrollable}, {@code index}, {@code instance}, {@code childSelector}</li>
+ * </ul>
+ * <p>Регулярные выражения компилируются один раз при разборе, поэтому разобранное выражение
+ * выгодно переиспользовать для нескольких снимков.</p>
+ */
+public final class UiSelectorQuery {
+    private final String expression;
+    private final List<Predicate<UiNode>> criteria;
+    private final int instance;
+    private final UiSelectorQuery child;
+
+    private UiSelectorQuery(String expression, List<Predicate<UiNode>> criteria, int instance, UiSelectorQuery child) {
+        this.expression = expression;
+        this.criteria = criteria;
+        this.instance = instance;
+        this.child = child;
+    }
+
+    /**
+     * Разбирает выражение UiAutomator.
+     *
+     * @param expression выражение вида {@code new UiSelector().text("Играть")}
+     * @return разобранное выражение
+     * @throws IllegalArgumentException если выражение некорректно или использует неподдерживаемый метод
+     */
+    public static UiSelectorQuery parse(String expression) {
+        Parser parser = new Parser(expression);
+        UiSelectorQuery query = parser.selector();
+        parser.end();
+        return query;
+    }
+
+    /**
+     * Проверяет элемент по условиям выражения, не учитывая {@code instance} и {@code childSelector}.
+     *
+     * @param node проверяемый элемент
+     * @return {@code true} если элемент удовлетворяет всем условиям
+     */
+    public boolean matches(UiNode node) {
+        for (Predicate<UiNode> criterion : criteria) {
+            if (!criterion.test(node)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Находит элементы снимка, удовлетворяющие выражению.
+     *
+     * @param snapshot снимок экрана
+     * @return найденные элементы в порядке документа
+     */
+    public List<UiNode> select(UiSnapshot snapshot) {
+        return select(snapshot.nodes());
+    }
+
+    private List<UiNode> select(List<UiNode> scope) {
+        List<UiNode> found = new ArrayList<>();
+        for (UiNode node : scope) {
+            if (matches(node)) {
+                found.add(node);
+            }
+        }
+        if (instance >= 0) {
+            found = instance < found.size() ? List.of(found.get(instance)) : List.of();
+        }
+        if (child == null) {
+            return found;
+        }
+
+        Set<UiNode> descendants = new LinkedHashSet<>();
+        for (UiNode node : found) {
+            collectDescendants(node, descendants);
+        }
+        return child.select(new ArrayList<>(descendants));
+    }
+
+    private static void collectDescendants(UiNode node, Set<UiNode> descendants) {
+        for (UiNode child : node.children()) {
+            descendants.add(child);
+            collectDescendants(child, descendants);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * Разбор выражения рекурсивным спуском: {@code new UiSelector()} и цепочка вызовов методов.
+     */
+    private static final class Parser {
+        private final String source;
+        private int pos;
+
+        private Parser(String source) {
+            this.source = source;
+        }
+
+        private UiSelectorQuery selector() {
+            int start = skipWhitespace();
+            expect("new");
+            expect("UiSelector");
+            expect("(");
+            expect(")");
+
+            List<Predicate<UiNode>> criteria = new ArrayList<>();
+            int instance = -1;
+            UiSelectorQuery child = null;
+
+            while (peek('.')) {
+                pos++;
+                String method = identifier();
+                expect("(");
+                Object argument = argument();
+                expect(")");
+
+                switch (method) {
+                    case "instance" -> instance = (Integer) typed(method, argument, Integer.class);
+                    case "childSelector" -> child = (UiSelectorQuery) typed(method, argument, UiSelectorQuery.class);
+                    default -> criteria.add(criterion(method, argument));
+                }
+            }
+            return new UiSelectorQuery(source.substring(start, pos).trim(), List.copyOf(criteria), instance, child);
+        }
+
+        private Predicate<UiNode> criterion(String method, Object argument) {
+            return switch (method) {
+                case "text" -> equalTo(UiNode::text, string(method, argument));
+                case "textContains" -> contains(UiNode::text, string(method, argument));
+                case "textStartsWith" -> startsWith(UiNode::text, string(method, argument));
+                case "textMatches" -> matching(UiNode::text, string(method, argument));
+                case "resourceId" -> equalTo(UiNode::resourceId, string(method, argument));
+                case "resourceIdMatches" -> matching(UiNode::resourceId, string(method, argument));
+                case "className" -> equalTo(UiNode::className, string(method, argument));
+                case "classNameMatches" -> matching(UiNode::className, string(method, argument));
+                case "description" -> equalTo(UiNode::contentDesc, string(method, argument));
+                case "descriptionContains" -> contains(UiNode::contentDesc, string(method, argument));
+                case "descriptionStartsWith" -> startsWith(UiNode::contentDesc, string(method, argument));
+                case "descriptionMatches" -> matching(UiNode::contentDesc, string(method, argument));
+                case "clickable" -> flag(UiNode::isClickable, method, argument);
+                case "enabled" -> flag(UiNode::isEnabled, method, argument);
+                case "scrollable" -> flag(UiNode::isScrollable, method, argument);
+                case "index" -> {
+                    int index = (Integer) typed(method, argument, Integer.class);
+                    yield node -> node.parent() != null && node.parent().children().indexOf(node) == index;
+                }
+                default -> throw error("Неподдерживаемый метод UiSelector: " + method);
+            };
+        }
+
+        private Object argument() {
+            skipWhitespace();
+            if (source.startsWith("new", pos)) {
+                return selector();
+            }
+            if (peek('"')) {
+                return string();
+            }
+            String token = identifier();
+            if ("true".equals(token) || "false".equals(token)) {
+                return Boolean.parseBoolean(token);
+            }
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                throw error("Некорректный аргумент '" + token + "'");
+            }
+        }
+
+        private String string() {
+            StringBuilder value = new StringBuilder();
+            pos++;
+            while (pos < source.length()) {
+                char c = source.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\' && pos < source.length()) {
+                    c = source.charAt(pos++);
+                }
+                value.append(c);
+            }
+            throw error("Незакрытая строка");
+        }
+
+        private String identifier() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < source.length()
+                    && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Ожидался идентификатор");
+            }
+            return source.substring(start, pos);
+        }
+
+        private void expect(String token) {
+            skipWhitespace();
+            if (!source.startsWith(token, pos)) {
+                throw error("Ожидалось '" + token + "'");
+            }
+            pos += token.length();
+        }
+
+        private boolean peek(char c) {
+            skipWhitespace();
+            return pos < source.length() && source.charAt(pos) == c;
+        }
+
+        private void end() {
+            skipWhitespace();
+            if (peek(';')) {
+                pos++;
+            }
+            if (skipWhitespace() != source.length()) {
+                throw error("Лишние символы");
+            }
+        }
+
+        private int skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        private String string(String method, Object argument) {
+            return (String) typed(method, argument, String.class);
+        }
+
+        private Predicate<UiNode> flag(Predicate<UiNode> property, String method, Object argument) {
+            boolean expected = (Boolean) typed(method, argument, Boolean.class);
+            return node -> property.test(node) == expected;
+        }
+
+        private Object typed(String method, Object argument, Class<?> type) {
+            if (!type.isInstance(argument)) {
+                throw error("Метод " + method + " ожидает аргумент типа " + type.getSimpleName());
+            }
+            return argument;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " в позиции " + pos + ": " + source);
+        }
+
+        private static Predicate<UiNode> equalTo(Function<UiNode, String> attribute, String value) {
+            return node -> attribute.apply(node).equals(value);
+        }
+
+        private static Predicate<UiNode> contains(Function<UiNode, String> attribute, String value) {
+            return node -> attribute.apply(node).contains(value);
+        }
+
+        private static Predicate<UiNode> startsWith(Function<UiNode, String> attribute, String value) {
+            return node -> attribute.apply(node).startsWith(value);
+        }
+
+        private static Predicate<UiNode> matching(Function<UiNode, String> attribute, String regex) {
+            Pattern pattern = Pattern.compile(regex);
+            return node -> pattern.matcher(attribute.apply(node)).matches();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package org.example.utils.snapshot;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.example.utils.locator.XPathCompiler;
+import org.openqa.selenium.WebDriver;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Снимок иерархии интерфейса, полученный одним запросом к устройству.
+ *
+ * <p>Исходный XML ({@code getPageSource()}) разбирается в компактное дерево {@link UiNode}
+ * с индексом по resource-id. Все последующие проверки по id, тексту, XPath и UiSelector выполняются
+ * локально, без обращений к устройству. Снимок не потокобезопасен.</p>
+ */
+public final class UiSnapshot {
+    private static final String DISALLOW_DOCTYPE = "http://apache.org/xml/features/disallow-doctype-decl";
+    private static final String ORDER_KEY = "order";
+    private static final Map<String, Optional<UiSelectorQuery>> COMPILED_XPATH = new ConcurrentHashMap<>();
+
+    private final String source;
+    private final List<UiNode> nodes;
+    private final Map<String, List<UiNode>> nodesById;
+    private Document document;
+
+    private UiSnapshot(String source, List<UiNode> nodes) {
+        this.source = source;
+        this.nodes = nodes;
+        this.nodesById = new HashMap<>();
+        for (UiNode node : nodes) {
+            if (!node.resourceId().isEmpty()) {
+                nodesById.computeIfAbsent(node.resourceId(), id -> new ArrayList<>(1)).add(node);
+            }
+        }
+    }
+
+    /**
+     * Получает иерархию интерфейса из текущего драйвера Selenide.
+     *
+     * @return снимок текущего экрана
+     * @throws org.openqa.selenium.WebDriverException если не удалось получить иерархию
+     */
+    public static UiSnapshot capture() {
+        return capture(WebDriverRunner.getWebDriver());
+    }
+
+    /**
+     * Получает иерархию интерфейса из указанного драйвера.
+     *
+     * @param driver драйвер, из которого запрашивается иерархия
+     * @return снимок текущего экрана
+     * @throws org.openqa.selenium.WebDriverException если не удалось получить иерархию
+     */
+    public static UiSnapshot capture(WebDriver driver) {
+        return parse(driver.getPageSource());
+    }
+
+    /**
+     * Разбирает ранее полученную иерархию интерфейса.
+     *
+     * @param source XML иерархии в формате UiAutomator2
+     * @return снимок экрана
+     * @throws IllegalArgumentException если XML не удалось разобрать
+     */
+    public static UiSnapshot parse(String source) {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setFeature(DISALLOW_DOCTYPE, true);
+            HierarchyHandler handler = new HierarchyHandler();
+            factory.newSAXParser().parse(new InputSource(new StringReader(source)), handler);
+            return new UiSnapshot(source, handler.nodes);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new IllegalArgumentException("Не удалось разобрать иерархию интерфейса", e);
+        }
+    }
+
+    /**
+     * Возвращает корневой элемент иерархии.
+     *
+     * @return корневой элемент {@code hierarchy}
+     */
+    public UiNode root() {
+        return nodes.get(0);
+    }
+
+    /**
+     * Возвращает все элементы иерархии в порядке обхода в глубину.
+     *
+     * @return неизменяемый список элементов
+     */
+    public List<UiNode> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Возвращает исходный XML иерархии.
+     *
+     * @return XML в формате UiAutomator2
+     */
+    public String source() {
+        return source;
+    }
+
+    public boolean hasId(String resourceId) {
+        return nodesById.containsKey(resourceId);
+    }
+
+    public Optional<UiNode> findById(String resourceId) {
+        return findAllById(resourceId).stream().findFirst();
+    }
+
+    public List<UiNode> findAllById(String resourceId) {
+        return nodesById.getOrDefault(resourceId, List.of());
+    }
+
+    /**
+     * Возвращает текст первого элемента с указанным resource-id.
+     *
+     * @param resourceId resource-id элемента
+     * @return текст элемента или пустой {@link Optional}, если элемента нет
+     */
+    public Optional<String> textOf(String resourceId) {
+        return findById(resourceId).map(UiNode::text);
+    }
+
+    /**
+     * Проверяет, есть ли на экране элемент, текст которого содержит указанный фрагмент.
+     *
+     * @param fragment искомый фрагмент текста
+     * @return {@code true} если такой элемент найден
+     */
+    public boolean hasTextContaining(String fragment) {
+        for (UiNode node : nodes) {
+            if (node.text().contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasXpath(String xpath) {
+        return !findByXpath(xpath).isEmpty();
+    }
+
+    /**
+     * Находит элементы по XPath выражению.
+     *
+     * <p>Выражения, которые {@link XPathCompiler} переводит в UiSelector, вычисляются по компактному дереву.
+     * Для остальных DOM строится из исходного XML при первом вызове
+     * и переиспользуется для последующих запросов.</p>
+     *
+     * @param xpath XPath выражение в терминах атрибутов UiAutomator2
+     * @return найденные элементы в порядке документа
+     * @throws IllegalArgumentException если выражение некорректно
+     */
+    public List<UiNode> findByXpath(String xpath) {
+        Optional<UiSelectorQuery> compiled = COMPILED_XPATH.computeIfAbsent(xpath,
+                key -> XPathCompiler.toUiSelector(key).map(UiSelectorQuery::parse));
+        if (compiled.isPresent()) {
+            return compiled.get().select(this);
+        }
+
+        try {
+            NodeList result = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(xpath, document(), XPathConstants.NODESET);
+
+            List<UiNode> found = new ArrayList<>(result.getLength());
+            for (int i = 0; i < result.getLength(); i++) {
+                Object order = result.item(i).getUserData(ORDER_KEY);
+                if (order != null) {
+                    found.add(nodes.get((Integer) order));
+                }
+            }
+            return found;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Некорректное XPath выражение: " + xpath, e);
+        }
+    }
+
+    /**
+     * Находит элементы по выражению UiAutomator ({@link UiSelectorQuery}).
+     *
+     * @param expression выражение вида {@code new UiSelector().text("Играть")}
+     * @return найденные элементы в порядке документа
+     * @throws IllegalArgumentException если выражение некорректно
+     */
+    public List<UiNode> findByUiSelector(String expression) {
+        return UiSelectorQuery.parse(expression).select(this);
+    }
+
+    private Document document() {
+        if (document == null) {
+            try {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setFeature(DISALLOW_DOCTYPE, true);
+                document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(source)));
+            } catch (ParserConfigurationException | SAXException | IOException e) {
+                throw new IllegalArgumentException("Не удалось разобрать иерархию интерфейса", e);
+            }
+            numberElements(document.getDocumentElement());
+        }
+        return document;
+    }
+
+    private static void numberElements(Element root) {
+        int order = 0;
+        Deque<Element> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Element element = stack.pop();
+            element.setUserData(ORDER_KEY, order++, null);
+
+            NodeList children = element.getChildNodes();
+            for (int i = children.getLength() - 1; i >= 0; i--) {
+                Node child = children.item(i);
+                if (child instanceof Element childElement) {
+                    stack.push(childElement);
+                }
+            }
+        }
+    }
+
+    /**
+     * Строит дерево {@link UiNode} за один проход SAX парсера.
+     */
+    private static final class HierarchyHandler extends DefaultHandler {
+        private final List<UiNode> nodes = new ArrayList<>();
+        private final Deque<UiNode> path = new ArrayDeque<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            UiNode parent = path.peek();
+            UiNode node = new UiNode(
+                    nodes.size(),
+                    parent,
+                    value(attributes, "class", qName),
+                    value(attributes, "resource-id", ""),
+                    value(attributes, "text", ""),
+                    value(attributes, "content-desc", ""),
+                    value(attributes, "bounds", ""),
+                    Boolean.parseBoolean(attributes.getValue("clickable")),
+                    !"false".equals(attributes.getValue("enabled")),
+                    !"false".equals(attributes.getValue("displayed")),
+                    Boolean.parseBoolean(attributes.getValue("scrollable"))
+            );
+
+            if (parent != null) {
+                parent.addChild(node);
+            }
+            nodes.add(node);
+            path.push(node);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            path.pop();
+        }
+
+        private static String value(Attributes attributes, String name, String defaultValue) {
+            String value = attributes.getValue(name);
+            return value == null ? defaultValue : value;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.utils.soak;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Линейный тренд ряда значений по методу наименьших квадратов.
+ *
+ * @param slope     наклон: изменение значения на единицу аргумента
+ * @param intercept значение при нулевом аргументе
+ * @param rSquared  доля дисперсии, объясненная трендом, от 0 до 1
+ * @param samples   количество точек
+ */
+public record LinearTrend(double slope, double intercept, double rSquared, int samples) {
+
+    /**
+     * Строит тренд по точкам. Для одной точки и для ряда с одинаковыми аргументами наклон равен нулю.
+     *
+     * @param x аргументы
+     * @param y значения той же длины
+     * @return тренд
+     * @throws IllegalArgumentException если длины массивов различаются
+     */
+    public static LinearTrend fit(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Разное количество аргументов и значений: " + x.length + " и " + y.length);
+        }
+        int n = x.length;
+        if (n == 0) {
+            return new LinearTrend(0, 0, 0, 0);
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+
+        double sxx = 0;
+        double sxy = 0;
+        double syy = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = x[i] - meanX;
+            double dy = y[i] - meanY;
+            sxx += dx * dx;
+            sxy += dx * dy;
+            syy += dy * dy;
+        }
+        if (sxx == 0) {
+            return new LinearTrend(0, meanY, 0, n);
+        }
+        double slope = sxy / sxx;
+        double rSquared = syy == 0 ? 0 : sxy * sxy / (sxx * syy);
+        return new LinearTrend(slope, meanY - slope * meanX, rSquared, n);
+    }
+
+    /**
+     * Формирует представление тренда для JSON отчета.
+     *
+     * @return наклон, R² и количество точек
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("slope", Math.round(slope * 100) / 100.0);
+        map.put("rSquared", Math.round(rSquared * 1000) / 1000.0);
+        map.put("samples", samples);
+        return map;
+    }
+}
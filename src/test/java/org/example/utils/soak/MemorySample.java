@@ -0,0 +1,12 @@
+package org.example.utils.soak;
+
+import org.example.utils.playback.MemoryStats;
+
+/**
+ * Замер памяти приложения во время длительного прогона.
+ *
+ * @param elapsedMillis время от начала прогона
+ * @param memory        потребление памяти из {@code dumpsys meminfo}
+ */
+public record MemorySample(long elapsedMillis, MemoryStats memory) {
+}
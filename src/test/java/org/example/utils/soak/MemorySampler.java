@@ -0,0 +1,141 @@
+package org.example.utils.soak;
+
+import org.example.utils.playback.MemoryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Периодические замеры памяти приложения по выводу {@code dumpsys meminfo}.
+ *
+ * <p>Источник вывода и часы передаются снаружи: в прогоне источник выполняет команду на устройстве
+ * ({@link SoakRunner#meminfo}) и опрашивается в виртуальном потоке ({@link #start}), в тестах - отдает
+ * заранее снятые дампы ({@link #splitCapture(String)}) и вызывается напрямую через {@link #sample()}.
+ * Неразобранный вывод (процесс перезапускается, устройство не ответило) пропускается и учитывается
+ * в {@link #failures()}.</p>
+ */
+public final class MemorySampler implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(MemorySampler.class);
+
+    private static final Pattern DUMP_START = Pattern.compile("(?m)^(?=Applications Memory Usage)");
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Supplier<String> source;
+    private final LongSupplier clockMillis;
+    private final List<MemorySample> samples = new ArrayList<>();
+    private final CountDownLatch stop = new CountDownLatch(1);
+    private int failures;
+    private Thread sampler;
+
+    /**
+     * Создает замерщик без фонового потока.
+     *
+     * @param source      источник вывода {@code dumpsys meminfo <пакет>}
+     * @param clockMillis время от начала прогона, которое сохраняется в замере
+     */
+    public MemorySampler(Supplier<String> source, LongSupplier clockMillis) {
+        this.source = source;
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * Запускает замеры в виртуальном потоке: первый сразу, затем через равные промежутки.
+     *
+     * @param name        название потока
+     * @param source      источник вывода {@code dumpsys meminfo <пакет>}
+     * @param clockMillis время от начала прогона
+     * @param interval    пауза между замерами
+     * @return запущенный замерщик
+     */
+    public static MemorySampler start(String name, Supplier<String> source, LongSupplier clockMillis,
+                                      Duration interval) {
+        MemorySampler memorySampler = new MemorySampler(source, clockMillis);
+        memorySampler.sampler = Thread.ofVirtual().name("memory-" + name).start(() -> memorySampler.run(interval));
+        return memorySampler;
+    }
+
+    /**
+     * Делит вывод, снятый в цикле ({@code while true; do dumpsys meminfo <пакет>; sleep 10; done}),
+     * на отдельные дампы.
+     *
+     * @param capture сохраненный вывод
+     * @return дампы в порядке записи
+     */
+    public static List<String> splitCapture(String capture) {
+        return DUMP_START.splitAsStream(capture)
+                .filter(dump -> !dump.isBlank())
+                .toList();
+    }
+
+    /**
+     * Выполняет один замер.
+     *
+     * @return {@code true}, если вывод разобран и замер сохранен
+     */
+    public boolean sample() {
+        long elapsedMillis = clockMillis.getAsLong();
+        try {
+            MemoryStats memory = MemoryStats.parse(source.get());
+            synchronized (this) {
+                samples.add(new MemorySample(elapsedMillis, memory));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Замер памяти пропущен: {}", e.getMessage());
+            synchronized (this) {
+                failures++;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return замеры в порядке времени
+     */
+    public synchronized List<MemorySample> samples() {
+        return List.copyOf(samples);
+    }
+
+    /**
+     * @return количество пропущенных замеров
+     */
+    public synchronized int failures() {
+        return failures;
+    }
+
+    /**
+     * Останавливает фоновый поток, не прерывая выполняющуюся команду.
+     */
+    @Override
+    public void close() {
+        stop.countDown();
+        if (sampler == null) {
+            return;
+        }
+        try {
+            if (!sampler.join(STOP_TIMEOUT)) {
+                log.warn("Поток замеров памяти не остановился за {} мс", STOP_TIMEOUT.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(Duration interval) {
+        try {
+            do {
+                sample();
+            } while (!stop.await(interval.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.utils.soak;
+
+import java.time.Duration;
+
+/**
+ * Продолжительность длительного прогона и частота замеров.
+ *
+ * @param iterations       количество циклов, если длительность не задана
+ * @param duration         длительность прогона; {@link Duration#ZERO} - прогон по количеству циклов
+ * @param warmupIterations первые циклы, которые не входят в тренды: кэши приложения еще заполняются
+ * @param sampleInterval   пауза между замерами памяти
+ */
+public record SoakPlan(int iterations, Duration duration, int warmupIterations, Duration sampleInterval) {
+
+    /**
+     * Читает план из системных свойств {@code soak.iterations} (по умолчанию 30), {@code soak.minutes}
+     * (по умолчанию 0 - прогон по количеству циклов), {@code soak.warmup} (по умолчанию 3)
+     * и {@code soak.sample.seconds} (по умолчанию 5).
+     *
+     * @return план прогона
+     */
+    public static SoakPlan fromSystemProperties() {
+        return new SoakPlan(
+                Integer.getInteger("soak.iterations", 30),
+                Duration.ofMinutes(Long.getLong("soak.minutes", 0)),
+                Integer.getInteger("soak.warmup", 3),
+                Duration.ofSeconds(Long.getLong("soak.sample.seconds", 5)));
+    }
+
+    /**
+     * @param completed     количество выполненных циклов
+     * @param elapsedMillis время от начала прогона
+     * @return {@code true}, если нужно выполнить еще один цикл
+     */
+    public boolean shouldContinue(int completed, long elapsedMillis) {
+        return duration.isZero() ? completed < iterations : elapsedMillis < duration.toMillis();
+    }
+}
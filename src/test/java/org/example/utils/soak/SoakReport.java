@@ -0,0 +1,99 @@
+package org.example.utils.soak;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итоги длительного прогона: длительность циклов, память приложения и их тренды после прогрева.
+ *
+ * @param iterations          количество выполненных циклов
+ * @param elapsedMillis       длительность прогона
+ * @param medianLatencyMillis медиана длительности цикла после прогрева
+ * @param latencyTrend        тренд длительности цикла, мс на цикл
+ * @param firstPssKb          суммарный PSS в первом замере после прогрева, КБ
+ * @param lastPssKb           суммарный PSS в последнем замере, КБ
+ * @param pssTrend            тренд суммарного PSS, КБ в минуту
+ * @param javaHeapTrend       тренд Java кучи, КБ в минуту
+ * @param memoryFailures      количество пропущенных замеров памяти
+ */
+public record SoakReport(int iterations,
+                         long elapsedMillis,
+                         long medianLatencyMillis,
+                         LinearTrend latencyTrend,
+                         long firstPssKb,
+                         long lastPssKb,
+                         LinearTrend pssTrend,
+                         LinearTrend javaHeapTrend,
+                         int memoryFailures) {
+
+    /**
+     * Строит тренды по длительностям циклов и замерам памяти.
+     *
+     * @param latenciesMillis  длительность каждого цикла по порядку
+     * @param samples          замеры памяти
+     * @param warmupIterations количество первых циклов, не входящих в тренд длительности
+     * @param warmupEndMillis  время окончания прогрева; более ранние замеры памяти не входят в тренды памяти
+     * @param elapsedMillis    длительность прогона
+     * @param memoryFailures   количество пропущенных замеров памяти
+     * @return итоги прогона
+     */
+    public static SoakReport analyze(List<Long> latenciesMillis, List<MemorySample> samples, int warmupIterations,
+                                     long warmupEndMillis, long elapsedMillis, int memoryFailures) {
+        List<Long> measured = latenciesMillis.subList(Math.min(warmupIterations, latenciesMillis.size()),
+                latenciesMillis.size());
+        double[] iteration = new double[measured.size()];
+        double[] latency = new double[measured.size()];
+        for (int i = 0; i < measured.size(); i++) {
+            iteration[i] = i;
+            latency[i] = measured.get(i);
+        }
+
+        List<MemorySample> memory = samples.stream()
+                .filter(sample -> sample.elapsedMillis() >= warmupEndMillis)
+                .sorted(Comparator.comparingLong(MemorySample::elapsedMillis))
+                .toList();
+        double[] minutes = new double[memory.size()];
+        double[] pss = new double[memory.size()];
+        double[] javaHeap = new double[memory.size()];
+        for (int i = 0; i < memory.size(); i++) {
+            minutes[i] = memory.get(i).elapsedMillis() / 60_000.0;
+            pss[i] = memory.get(i).memory().totalPssKb();
+            javaHeap[i] = memory.get(i).memory().javaHeapKb();
+        }
+
+        return new SoakReport(latenciesMillis.size(), elapsedMillis, median(measured),
+                LinearTrend.fit(iteration, latency),
+                memory.isEmpty() ? 0 : memory.get(0).memory().totalPssKb(),
+                memory.isEmpty() ? 0 : memory.get(memory.size() - 1).memory().totalPssKb(),
+                LinearTrend.fit(minutes, pss), LinearTrend.fit(minutes, javaHeap), memoryFailures);
+    }
+
+    /**
+     * Формирует представление итогов для JSON отчета.
+     *
+     * @return итоги в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("iterations", iterations);
+        map.put("elapsedMs", elapsedMillis);
+        map.put("medianLatencyMs", medianLatencyMillis);
+        map.put("latencyMsPerIteration", latencyTrend.toMap());
+        map.put("firstPssKb", firstPssKb);
+        map.put("lastPssKb", lastPssKb);
+        map.put("pssKbPerMinute", pssTrend.toMap());
+        map.put("javaHeapKbPerMinute", javaHeapTrend.toMap());
+        map.put("memoryFailures", memoryFailures);
+        return map;
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get((sorted.size() - 1) / 2);
+    }
+}
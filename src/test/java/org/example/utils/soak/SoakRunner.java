@@ -0,0 +1,143 @@
+package org.example.utils.soak;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.session.TestSession;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Длительный прогон: один и тот же цикл действий повторяется в одной сессии, пока выполняется
+ * {@link SoakPlan}, а память приложения замеряется в фоне.
+ *
+ * <p>Длительность каждого цикла измеряется вокруг вызова цикла, память - через {@link MemorySampler}
+ * с паузой {@link SoakPlan#sampleInterval()} и еще раз после последнего цикла. Первые
+ * {@link SoakPlan#warmupIterations()} циклов и замеры до их окончания в тренды не входят: после первых
+ * воспроизведений приложение заполняет кэши, и рост памяти в это время утечкой не является. Исключение
+ * в цикле прерывает прогон и передается вызывающему коду.</p>
+ * <p>Режим включается свойством {@code soak.run=true}. Итоги и превышенные пороги ({@link SoakThresholds})
+ * дописываются строкой JSON вместе с версией приложения в {@code target/metrics/soak.jsonl},
+ * путь меняется свойством {@code soak.report}.</p>
+ */
+public final class SoakRunner {
+    private static final Logger log = LoggerFactory.getLogger(SoakRunner.class);
+
+    private static final String RUN_PROPERTY = "soak.run";
+    private static final String REPORT_PROPERTY = "soak.report";
+    private static final String DEFAULT_REPORT = "target/metrics/soak.jsonl";
+
+    private final SoakPlan plan;
+    private final Supplier<String> memorySource;
+
+    /**
+     * Создает прогон.
+     *
+     * @param plan         продолжительность прогона и частота замеров
+     * @param memorySource источник вывода {@code dumpsys meminfo <пакет>}, например {@link #meminfo}
+     */
+    public SoakRunner(SoakPlan plan, Supplier<String> memorySource) {
+        this.plan = plan;
+        this.memorySource = memorySource;
+    }
+
+    /**
+     * @return {@code true}, если включен режим длительного прогона
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(RUN_PROPERTY);
+    }
+
+    /**
+     * Возвращает источник вывода {@code dumpsys meminfo} приложения через {@code mobile: shell}.
+     *
+     * <p>Команда выполняется из потока замеров параллельно с действиями теста, как и чтение logcat.</p>
+     *
+     * @param driver     драйвер сессии
+     * @param appPackage пакет приложения
+     * @return источник вывода
+     */
+    public static Supplier<String> meminfo(AndroidDriver driver, String appPackage) {
+        return () -> {
+            Object output = driver.executeScript("mobile: shell", Map.of(
+                    "command", "dumpsys",
+                    "args", List.of("meminfo", appPackage)
+            ));
+            return output == null ? "" : output.toString();
+        };
+    }
+
+    /**
+     * Повторяет цикл по плану.
+     *
+     * @param cycle цикл действий, после которого приложение возвращается в исходное состояние
+     * @return итоги прогона
+     */
+    public SoakReport run(Runnable cycle) {
+        long start = System.nanoTime();
+        LongSupplier clockMillis = () -> (System.nanoTime() - start) / 1_000_000;
+        List<Long> latenciesMillis = new ArrayList<>();
+        long warmupEndMillis = 0;
+        MemorySampler sampler = MemorySampler.start("soak", memorySource, clockMillis, plan.sampleInterval());
+        try {
+            while (plan.shouldContinue(latenciesMillis.size(), clockMillis.getAsLong())) {
+                long iterationStart = System.nanoTime();
+                cycle.run();
+                latenciesMillis.add((System.nanoTime() - iterationStart) / 1_000_000);
+                if (latenciesMillis.size() == plan.warmupIterations()) {
+                    warmupEndMillis = clockMillis.getAsLong();
+                }
+                log.debug("Цикл {} за {} мс", latenciesMillis.size(), latenciesMillis.get(latenciesMillis.size() - 1));
+            }
+            sampler.sample();
+        } finally {
+            sampler.close();
+        }
+        return SoakReport.analyze(latenciesMillis, sampler.samples(), plan.warmupIterations(), warmupEndMillis,
+                clockMillis.getAsLong(), sampler.failures());
+    }
+
+    /**
+     * Дописывает итоги прогона строкой JSON в отчет вместе с устройством и версией приложения.
+     *
+     * @param report     итоги прогона
+     * @param violations превышенные пороги
+     */
+    public static void record(SoakReport report, List<String> violations) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        TestSession session = TestSession.current();
+        if (session != null) {
+            line.put("device", session.device().udid());
+            line.put("appVersion", session.appVersion());
+        }
+        line.put("report", report.toMap());
+        line.put("violations", violations);
+
+        Path file = Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            StringBuilder json = new StringBuilder();
+            try (JsonOutput output = new Json().newOutput(json)) {
+                output.setPrettyPrint(false).write(line);
+            }
+            Files.writeString(file, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о длительном прогоне {}: {}", file, e.getMessage());
+        }
+    }
+}
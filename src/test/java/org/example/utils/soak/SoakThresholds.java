@@ -0,0 +1,58 @@
+package org.example.utils.soak;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Допустимые наклоны трендов длительного прогона.
+ *
+ * @param maxPssGrowthKbPerMinute      максимальный рост суммарного PSS, КБ в минуту
+ * @param maxJavaHeapGrowthKbPerMinute максимальный рост Java кучи, КБ в минуту
+ * @param maxLatencyDriftMillis        максимальный рост длительности цикла, мс на цикл
+ * @param minSamples                   наименьшее количество точек, по которому тренд сравнивается с порогом
+ */
+public record SoakThresholds(double maxPssGrowthKbPerMinute,
+                             double maxJavaHeapGrowthKbPerMinute,
+                             double maxLatencyDriftMillis,
+                             int minSamples) {
+
+    /**
+     * Читает пороги из системных свойств {@code soak.max.*}, для незаданных используются значения по умолчанию.
+     *
+     * @return пороги
+     */
+    public static SoakThresholds fromSystemProperties() {
+        return new SoakThresholds(
+                Double.parseDouble(System.getProperty("soak.max.pss.growth.kb.per.minute", "2048")),
+                Double.parseDouble(System.getProperty("soak.max.java.heap.growth.kb.per.minute", "1024")),
+                Double.parseDouble(System.getProperty("soak.max.latency.drift.millis", "50")),
+                Integer.getInteger("soak.min.samples", 5));
+    }
+
+    /**
+     * Сравнивает тренды с порогами. Тренды с количеством точек меньше {@link #minSamples()} не проверяются.
+     *
+     * @param report итоги прогона
+     * @return описания превышенных порогов, пустой список если все в норме
+     */
+    public List<String> violations(SoakReport report) {
+        List<String> violations = new ArrayList<>();
+        if (exceeds(report.pssTrend(), maxPssGrowthKbPerMinute)) {
+            violations.add(String.format("PSS растет на %.0f КБ/мин (порог %.0f КБ/мин)",
+                    report.pssTrend().slope(), maxPssGrowthKbPerMinute));
+        }
+        if (exceeds(report.javaHeapTrend(), maxJavaHeapGrowthKbPerMinute)) {
+            violations.add(String.format("Java куча растет на %.0f КБ/мин (порог %.0f КБ/мин)",
+                    report.javaHeapTrend().slope(), maxJavaHeapGrowthKbPerMinute));
+        }
+        if (exceeds(report.latencyTrend(), maxLatencyDriftMillis)) {
+            violations.add(String.format("цикл замедляется на %.1f мс за цикл (порог %.1f мс)",
+                    report.latencyTrend().slope(), maxLatencyDriftMillis));
+        }
+        return violations;
+    }
+
+    private boolean exceeds(LinearTrend trend, double maxSlope) {
+        return trend.samples() >= minSamples && trend.slope() > maxSlope;
+    }
+}
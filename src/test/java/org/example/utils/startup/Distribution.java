@@ -0,0 +1,47 @@
+package org.example.utils.startup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Распределение небольшой выборки замеров.
+ *
+ * @param count количество замеров
+ * @param min   минимум, мс
+ * @param p50   медиана, мс
+ * @param p90   90-й перцентиль, мс
+ * @param max   максимум, мс
+ */
+public record Distribution(int count, long min, long p50, long p90, long max) {
+
+    /**
+     * Строит распределение по замерам.
+     *
+     * @param values замеры в миллисекундах
+     * @return распределение, для пустой выборки все значения равны нулю
+     */
+    public static Distribution of(List<Long> values) {
+        if (values.isEmpty()) {
+            return new Distribution(0, 0, 0, 0, 0);
+        }
+        List<Long> sorted = values.stream().sorted().toList();
+        return new Distribution(sorted.size(), sorted.get(0), percentile(sorted, 50), percentile(sorted, 90),
+                sorted.get(sorted.size() - 1));
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("minMs", min);
+        map.put("p50Ms", p50);
+        map.put("p90Ms", p90);
+        map.put("maxMs", max);
+        return map;
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
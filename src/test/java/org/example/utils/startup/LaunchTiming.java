@@ -0,0 +1,38 @@
+package org.example.utils.startup;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Время запуска активности, сообщенное {@code am start -W}.
+ *
+ * @param launchState      вид запуска по мнению системы ({@code COLD}, {@code WARM}, {@code HOT}),
+ *                         пустая строка на версиях Android, которые его не сообщают
+ * @param totalTimeMillis  время от запуска до отрисовки первого кадра активности
+ * @param waitTimeMillis   полное время выполнения запроса, включая ожидание в activity manager
+ */
+public record LaunchTiming(String launchState, long totalTimeMillis, long waitTimeMillis) {
+    private static final Pattern LAUNCH_STATE = Pattern.compile("LaunchState:\\s*(\\w+)");
+    private static final Pattern TOTAL_TIME = Pattern.compile("TotalTime:\\s*(\\d+)");
+    private static final Pattern WAIT_TIME = Pattern.compile("WaitTime:\\s*(\\d+)");
+
+    /**
+     * Разбирает вывод {@code am start -W}.
+     *
+     * @param output вывод команды
+     * @return время запуска
+     * @throws IllegalStateException если активность не запустилась или система не сообщила время запуска
+     */
+    public static LaunchTiming parse(String output) {
+        Matcher total = TOTAL_TIME.matcher(output);
+        if (output.contains("Error:") || !total.find()) {
+            throw new IllegalStateException("am start не сообщил время запуска: " + output.strip());
+        }
+        Matcher state = LAUNCH_STATE.matcher(output);
+        Matcher wait = WAIT_TIME.matcher(output);
+        return new LaunchTiming(
+                state.find() ? state.group(1) : "",
+                Long.parseLong(total.group(1)),
+                wait.find() ? Long.parseLong(wait.group(1)) : Long.parseLong(total.group(1)));
+    }
+}
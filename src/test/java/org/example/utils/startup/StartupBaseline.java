@@ -0,0 +1,116 @@
+package org.example.utils.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Эталонные медианы времени запуска, с которыми сравниваются новые замеры.
+ *
+ * <p>Хранится в properties файле: ключ {@code <устройство>|<пакет>|<версия>|<вид>.<метрика>},
+ * значение - медиана в миллисекундах.</p>
+ */
+public final class StartupBaseline {
+    private static final Logger log = LoggerFactory.getLogger(StartupBaseline.class);
+    private static final long MIN_REGRESSION_MILLIS = 50;
+
+    private final Path store;
+    private final Properties medians = new Properties();
+
+    private StartupBaseline(Path store) {
+        this.store = store;
+    }
+
+    /**
+     * Загружает эталон из файла.
+     *
+     * @param store путь к файлу эталона, может не существовать
+     * @return эталон, пустой если файла нет или его не удалось прочитать
+     */
+    public static StartupBaseline load(Path store) {
+        StartupBaseline baseline = new StartupBaseline(store);
+        if (Files.exists(store)) {
+            try (Reader reader = Files.newBufferedReader(store, StandardCharsets.UTF_8)) {
+                baseline.medians.load(reader);
+            } catch (IOException e) {
+                log.warn("Не удалось прочитать эталон времени запуска {}: {}", store, e.getMessage());
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Сравнивает медианы замеров с эталоном.
+     *
+     * <p>Регрессией считается медиана, превысившая эталонную больше чем на {@code tolerance}
+     * и не меньше чем на {@value #MIN_REGRESSION_MILLIS} мс, чтобы не реагировать на шум быстрых запусков.</p>
+     *
+     * @param prefix    ключ конфигурации: устройство, пакет и версия приложения
+     * @param results   замеры по видам запуска
+     * @param tolerance допустимое относительное замедление, например {@code 0.2}
+     * @return описания регрессий, пустой список если регрессий нет или эталона еще нет
+     */
+    public List<String> regressions(String prefix, Map<StartupKind, StartupResult> results, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        results.forEach((kind, result) -> {
+            check(regressions, key(prefix, kind, "activity"), result.activity().p50(), tolerance);
+            check(regressions, key(prefix, kind, "firstElement"), result.firstElement().p50(), tolerance);
+        });
+        return regressions;
+    }
+
+    /**
+     * Запоминает медианы замеров как новый эталон и сохраняет файл.
+     *
+     * @param prefix  ключ конфигурации: устройство, пакет и версия приложения
+     * @param results замеры по видам запуска
+     */
+    public void update(String prefix, Map<StartupKind, StartupResult> results) {
+        results.forEach((kind, result) -> {
+            medians.setProperty(key(prefix, kind, "activity"), String.valueOf(result.activity().p50()));
+            medians.setProperty(key(prefix, kind, "firstElement"), String.valueOf(result.firstElement().p50()));
+        });
+
+        try {
+            Files.createDirectories(store.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(store, StandardCharsets.UTF_8)) {
+                medians.store(writer, "Эталонные медианы времени запуска, мс");
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось сохранить эталон времени запуска {}: {}", store, e.getMessage());
+        }
+    }
+
+    /**
+     * @param prefix ключ конфигурации
+     * @return {@code true}, если для конфигурации уже есть эталон
+     */
+    public boolean contains(String prefix) {
+        return medians.stringPropertyNames().stream().anyMatch(key -> key.startsWith(prefix + "|"));
+    }
+
+    private void check(List<String> regressions, String key, long current, double tolerance) {
+        String stored = medians.getProperty(key);
+        if (stored == null) {
+            return;
+        }
+        long baseline = Long.parseLong(stored);
+        if (current > baseline * (1 + tolerance) && current - baseline >= MIN_REGRESSION_MILLIS) {
+            regressions.add(String.format("%s: медиана %d мс, эталон %d мс", key, current, baseline));
+        }
+    }
+
+    private static String key(String prefix, StartupKind kind, String metric) {
+        return prefix + "|" + kind + "." + metric;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.utils.startup;
+
+/**
+ * Вид запуска приложения по классификации Android.
+ */
+public enum StartupKind {
+    /**
+     * Процесс приложения не запущен: перед запуском выполняется {@code am force-stop}.
+     */
+    COLD,
+    /**
+     * Процесс жив, но активность создается заново: запуск с флагами новой задачи и очистки стека.
+     */
+    WARM,
+    /**
+     * Процесс и активность живы, приложение свернуто кнопкой Home и возвращается на передний план.
+     */
+    HOT
+}
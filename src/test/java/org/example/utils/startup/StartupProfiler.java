@@ -0,0 +1,216 @@
+package org.example.utils.startup;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.example.utils.ProjectPaths;
+import org.example.utils.session.SessionConfig;
+import org.example.utils.session.TestSession;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Замеры холодного, теплого и горячего запуска приложения.
+ *
+ * <p>Режим включается свойством {@code startup.measure=true}: при первом тесте на каждой конфигурации
+ * сессии выполняется по {@code startup.iterations} (по умолчанию 5) запусков каждого вида. Для каждого запуска
+ * записываются {@code TotalTime} из {@code am start -W} и время до появления первого значимого элемента.</p>
+ * <ul>
+ * <li>Медианы сравниваются с эталоном {@code .test-stats/startup-baseline.properties} ({@link StartupBaseline}),
+ * регрессии выводятся в лог и в отчет. Допуск задается свойством {@code startup.regression.tolerance}</li>
+ * <li>Эталон создается при первом замере конфигурации и перезаписывается с {@code startup.baseline.update=true}</li>
+ * <li>Отчет записывается в {@code target/metrics/startup.json}, путь меняется свойством {@code startup.report}</li>
+ * </ul>
+ * <p>Команды выполняются через {@code mobile: shell}, Appium сервер должен быть запущен
+ * с {@code --allow-insecure=adb_shell}.</p>
+ */
+public final class StartupProfiler {
+    private static final Logger log = LoggerFactory.getLogger(StartupProfiler.class);
+
+    private static final String MEASURE_PROPERTY = "startup.measure";
+    private static final String ITERATIONS_PROPERTY = "startup.iterations";
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final String TOLERANCE_PROPERTY = "startup.regression.tolerance";
+    private static final String DEFAULT_TOLERANCE = "0.2";
+    private static final String BASELINE_UPDATE_PROPERTY = "startup.baseline.update";
+    private static final Path BASELINE_STORE = ProjectPaths.resolve(
+            System.getProperty("startup.baseline.store", ".test-stats/startup-baseline.properties"));
+    private static final Path REPORT = Path.of(System.getProperty("startup.report", "target/metrics/startup.json"));
+    private static final Duration FIRST_ELEMENT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    // FLAG_ACTIVITY_NEW_TASK | FLAG_ACTIVITY_CLEAR_TASK: активность пересоздается в живом процессе
+    private static final String CLEAR_TASK_FLAGS = "0x10008000";
+    private static final String KEYCODE_HOME = "3";
+
+    private static final Set<SessionConfig> MEASURED = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Object> REPORT_ENTRIES = new TreeMap<>();
+
+    private final AndroidDriver driver;
+    private final String appPackage;
+    private final String component;
+    private final By firstElement;
+    private final int iterations;
+
+    /**
+     * Создает профилировщик запуска.
+     *
+     * @param driver       драйвер сессии
+     * @param appPackage   пакет приложения
+     * @param appActivity  запускаемая активность
+     * @param firstElement первый значимый элемент, появление которого означает готовность приложения
+     * @param iterations   количество запусков каждого вида
+     */
+    public StartupProfiler(AndroidDriver driver, String appPackage, String appActivity, By firstElement,
+                           int iterations) {
+        this.driver = driver;
+        this.appPackage = appPackage;
+        this.component = appPackage + "/" + appActivity;
+        this.firstElement = firstElement;
+        this.iterations = iterations;
+    }
+
+    /**
+     * @return {@code true}, если включен режим замеров запуска
+     */
+    public static boolean enabled() {
+        return Boolean.getBoolean(MEASURE_PROPERTY);
+    }
+
+    /**
+     * Выполняет замеры для конфигурации сессии, если они еще не выполнялись в этом прогоне.
+     *
+     * <p>После замеров приложение остается в произвольном состоянии, вызывающий код должен сбросить его заново.</p>
+     *
+     * @param session      сессия теста
+     * @param firstElement первый значимый элемент приложения
+     * @return {@code true}, если замеры были выполнены
+     */
+    public static boolean measureOnce(TestSession session, By firstElement) {
+        SessionConfig config = session.config();
+        if (!enabled() || !MEASURED.add(config)) {
+            return false;
+        }
+
+        int iterations = Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS);
+        Map<StartupKind, StartupResult> results = new StartupProfiler(session.driver(), config.appPackage(),
+                config.appActivity(), firstElement, iterations).measure();
+
+        String prefix = String.join("|", config.device().udid(), config.appPackage(), session.appVersion());
+        double tolerance = Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, DEFAULT_TOLERANCE));
+        List<String> regressions;
+        synchronized (StartupProfiler.class) {
+            StartupBaseline baseline = StartupBaseline.load(BASELINE_STORE);
+            regressions = baseline.regressions(prefix, results, tolerance);
+            if (!baseline.contains(prefix) || Boolean.getBoolean(BASELINE_UPDATE_PROPERTY)) {
+                baseline.update(prefix, results);
+            }
+            writeReport(prefix, results, regressions);
+        }
+
+        results.forEach((kind, result) -> log.info("Запуск {} {}: активность p50={} мс, первый элемент p50={} мс",
+                kind, config.appPackage(), result.activity().p50(), result.firstElement().p50()));
+        regressions.forEach(regression -> log.warn("Регрессия времени запуска {}", regression));
+        return true;
+    }
+
+    /**
+     * Выполняет запуски всех видов.
+     *
+     * @return замеры по видам запуска
+     * @throws IllegalStateException если активность не запустилась
+     * @throws TimeoutException      если первый значимый элемент не появился
+     */
+    public Map<StartupKind, StartupResult> measure() {
+        Map<StartupKind, StartupResult> results = new EnumMap<>(StartupKind.class);
+        for (StartupKind kind : StartupKind.values()) {
+            List<Long> activity = new ArrayList<>();
+            List<Long> element = new ArrayList<>();
+            int mismatched = 0;
+
+            for (int i = 0; i < iterations; i++) {
+                prepare(kind);
+                long start = System.nanoTime();
+                LaunchTiming timing = LaunchTiming.parse(launch(kind));
+                awaitFirstElement();
+                element.add((System.nanoTime() - start) / 1_000_000);
+                activity.add(timing.totalTimeMillis());
+                if (!timing.launchState().isEmpty() && !timing.launchState().equals(kind.name())) {
+                    mismatched++;
+                }
+            }
+
+            results.put(kind, new StartupResult(Distribution.of(activity), Distribution.of(element), mismatched));
+        }
+        return results;
+    }
+
+    private void prepare(StartupKind kind) {
+        switch (kind) {
+            case COLD -> shell("am", "force-stop", appPackage);
+            case WARM -> {
+                // процесс должен быть жив, активность пересоздается флагами запуска
+            }
+            case HOT -> shell("input", "keyevent", KEYCODE_HOME);
+        }
+    }
+
+    private String launch(StartupKind kind) {
+        return kind == StartupKind.WARM
+                ? shell("am", "start", "-W", "-n", component, "-f", CLEAR_TASK_FLAGS)
+                : shell("am", "start", "-W", "-n", component);
+    }
+
+    private void awaitFirstElement() {
+        long deadline = System.nanoTime() + FIRST_ELEMENT_TIMEOUT.toNanos();
+        while (driver.findElements(firstElement).isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Первый значимый элемент " + firstElement + " не появился за "
+                        + FIRST_ELEMENT_TIMEOUT.toSeconds() + " с");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Замер запуска прерван", e);
+            }
+        }
+    }
+
+    private String shell(String command, String... args) {
+        Object output = driver.executeScript("mobile: shell", Map.of(
+                "command", command,
+                "args", List.of(args)
+        ));
+        return output == null ? "" : output.toString();
+    }
+
+    private static void writeReport(String prefix, Map<StartupKind, StartupResult> results, List<String> regressions) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        results.forEach((kind, result) -> entry.put(kind.name(), result.toMap()));
+        entry.put("regressions", regressions);
+        REPORT_ENTRIES.put(prefix, entry);
+
+        try {
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            Files.writeString(REPORT, new Json().toJson(Map.of("startup", REPORT_ENTRIES)), StandardCharsets.UTF_8);
+            log.info("Отчет о времени запуска: {}", REPORT.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о времени запуска {}: {}", REPORT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.utils.startup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Результат замеров одного вида запуска.
+ *
+ * @param activity           время запуска активности по данным {@code am start -W} ({@code TotalTime})
+ * @param firstElement       время от команды запуска до появления первого значимого элемента
+ * @param mismatchedLaunches количество запусков, которые система отнесла к другому виду
+ */
+public record StartupResult(Distribution activity, Distribution firstElement, int mismatchedLaunches) {
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("activity", activity.toMap());
+        map.put("firstElement", firstElement.toMap());
+        map.put("mismatchedLaunches", mismatchedLaunches);
+        return map;
+    }
+}
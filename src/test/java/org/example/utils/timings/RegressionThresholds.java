@@ -0,0 +1,27 @@
+package org.example.utils.timings;
+
+/**
+ * Условия, при которых замедление серии считается регрессией ({@link TimingReport}).
+ *
+ * @param window     сколько последних успешных замеров сборки и предыдущих сборок сравнивается
+ * @param alpha      уровень значимости одностороннего критерия Манна-Уитни
+ * @param tolerance  минимальное относительное увеличение медианы, например {@code 0.1}
+ * @param minMillis  минимальное абсолютное увеличение медианы, чтобы не реагировать на шум быстрых шагов
+ * @param minSamples минимальное количество замеров в каждой выборке
+ */
+public record RegressionThresholds(int window, double alpha, double tolerance, long minMillis, int minSamples) {
+
+    /**
+     * Читает условия из системных свойств {@code timings.*}, для незаданных используются значения по умолчанию.
+     *
+     * @return условия регрессии
+     */
+    public static RegressionThresholds fromSystemProperties() {
+        return new RegressionThresholds(
+                Integer.getInteger("timings.baseline.window", 30),
+                Double.parseDouble(System.getProperty("timings.regression.alpha", "0.01")),
+                Double.parseDouble(System.getProperty("timings.regression.tolerance", "0.1")),
+                Long.getLong("timings.regression.min.millis", 50),
+                Integer.getInteger("timings.regression.min.samples", 5));
+    }
+}
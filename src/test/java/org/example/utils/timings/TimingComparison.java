@@ -0,0 +1,59 @@
+package org.example.utils.timings;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сравнение последней сборки серии с базовой линией предыдущих сборок.
+ *
+ * @param series               серия замеров
+ * @param build                версия последней сборки, по которой есть замеры
+ * @param lastTimestampMillis  время последнего замера серии, мс от эпохи
+ * @param samples              количество замеров последней сборки в сравнении
+ * @param baselineSamples      количество замеров предыдущих сборок в сравнении, {@code 0} для первой сборки
+ * @param medianMicros         медиана последней сборки
+ * @param baselineMedianMicros медиана предыдущих сборок
+ * @param pValue               вероятность получить такое замедление случайно (критерий Манна-Уитни),
+ *                             {@code 1}, если сравнивать не с чем
+ * @param regression           замедление значимо и превышает пороги {@link RegressionThresholds}
+ */
+public record TimingComparison(TimingSeries series,
+                               String build,
+                               long lastTimestampMillis,
+                               int samples,
+                               int baselineSamples,
+                               long medianMicros,
+                               long baselineMedianMicros,
+                               double pValue,
+                               boolean regression) {
+
+    /**
+     * Формирует представление сравнения для JSON отчета.
+     *
+     * @return поля сравнения в фиксированном порядке
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("app", series.app());
+        map.put("device", series.device());
+        map.put("kind", series.kind().name());
+        map.put("name", series.name());
+        map.put("build", build);
+        map.put("last", Instant.ofEpochMilli(lastTimestampMillis).toString());
+        map.put("samples", samples);
+        map.put("baselineSamples", baselineSamples);
+        map.put("medianMs", medianMicros / 1000.0);
+        map.put("baselineMedianMs", baselineMedianMicros / 1000.0);
+        map.put("pValue", pValue);
+        map.put("regression", regression);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%s [%s]: медиана %.1f мс (%d замеров), база %.1f мс (%d замеров), p=%.4f",
+                regression ? "ЗАМЕДЛЕНИЕ " : "", series, build, medianMicros / 1000.0, samples,
+                baselineMedianMicros / 1000.0, baselineSamples, pValue);
+    }
+}
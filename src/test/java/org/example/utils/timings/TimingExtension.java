@@ -0,0 +1,83 @@
+package org.example.utils.timings;
+
+import org.example.utils.events.StepEventLog;
+import org.example.utils.session.TestSession;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.TestAbortedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JUnit расширение, сохраняющее длительность тела каждого теста в {@link TimingStore}.
+ *
+ * <p>Замеряется только тело теста: подготовка сессии и сброс приложения в {@code @BeforeEach} не входят.
+ * Прерванные тесты и тесты без сессии не сохраняются. После всех тестов прогона серии, замеренные
+ * в этом прогоне, сравниваются с предыдущими сборками ({@link TimingReport}): замедления выводятся в лог,
+ * отчет записывается в {@code target/metrics/timings.json}, путь меняется свойством {@code timings.report}.</p>
+ */
+public class TimingExtension implements BeforeAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final Logger log = LoggerFactory.getLogger(TimingExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TimingExtension.class);
+    private static final String START = "start";
+    private static final String REPORT_PROPERTY = "timings.report";
+    private static final String DEFAULT_REPORT = "target/metrics/timings.json";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(ReportWriter.class, key -> new ReportWriter(System.currentTimeMillis()),
+                        ReportWriter.class);
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        Throwable failure = context.getExecutionException().orElse(null);
+        TestSession session = TestSession.current();
+        if (start == null || session == null || failure instanceof TestAbortedException) {
+            return;
+        }
+        long durationMicros = (System.nanoTime() - start) / 1_000;
+        TimingSeries series = new TimingSeries(session.config().appPackage(), session.device().udid(), TimingKind.TEST,
+                context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName());
+        TimingStore.instance().ifPresent(store -> store.appendQuietly(series, session.appVersion(),
+                System.currentTimeMillis(), durationMicros, failure == null));
+    }
+
+    /**
+     * Сравнивает серии прогона с предыдущими сборками при закрытии корневого контекста JUnit,
+     * то есть после всех тестов.
+     */
+    private record ReportWriter(long runStartMillis) implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            StepEventLog.instance().close();
+            TimingStore.instance().ifPresent(store -> {
+                try {
+                    List<TimingComparison> comparisons = TimingReport.compare(store,
+                                    RegressionThresholds.fromSystemProperties()).stream()
+                            .filter(comparison -> comparison.lastTimestampMillis() >= runStartMillis)
+                            .toList();
+                    comparisons.stream().filter(TimingComparison::regression)
+                            .forEach(comparison -> log.warn("{}", comparison));
+                    TimingReport.writeReport(Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT)), comparisons);
+                } catch (IOException e) {
+                    log.warn("Не удалось прочитать хранилище замеров: {}", e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.utils.timings;
+
+/**
+ * Что измерено замером в {@link TimingStore}.
+ */
+public enum TimingKind {
+    /**
+     * Тело теста целиком, без подготовки сессии и сброса приложения.
+     */
+    TEST,
+    /**
+     * Шаг ожидания {@link org.example.utils.wait.WaitBudget} внутри теста.
+     */
+    STEP
+}
@@ -0,0 +1,268 @@
+package org.example.utils.timings;
+
+import org.example.exceptions.UtilityClassException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поиск замедлений в {@link TimingStore}: последняя сборка каждой серии сравнивается с базовой линией.
+ *
+ * <p>Базовая линия - последние {@link RegressionThresholds#window()} успешных замеров предыдущих сборок,
+ * она сдвигается вместе с новыми сборками. Хранилище читается один раз по порядку записи, для каждой серии
+ * в памяти держатся только два окна замеров, поэтому размер хранилища на потребление памяти не влияет.
+ * Замедление считается регрессией, если односторонний критерий Манна-Уитни значим на уровне
+ * {@link RegressionThresholds#alpha()} и медиана выросла больше допуска и минимального порога в мс.
+ * Упавшие запуски не учитываются: их длительность определяется таймаутами, а не приложением.</p>
+ * <p>Запуск, например для проверки новой сборки по всем прогонам на этой машине:</p>
+ * <pre>
+ * java org.example.utils.timings.TimingReport .test-stats/timings playFirstVideoInFeed
+ * </pre>
+ */
+public final class TimingReport {
+    private static final Logger log = LoggerFactory.getLogger(TimingReport.class);
+
+    /**
+     * Сравнивает последнюю сборку каждой серии с предыдущими.
+     *
+     * @param store      хранилище замеров
+     * @param thresholds условия регрессии
+     * @return сравнения по всем сериям, сначала регрессии, затем по ключу серии
+     * @throws IOException если хранилище не читается
+     */
+    public static List<TimingComparison> compare(TimingStore store, RegressionThresholds thresholds)
+            throws IOException {
+        Map<Integer, SeriesWindow> windows = new HashMap<>();
+        store.scan((timestampMillis, series, build, durationMicros, passed) -> {
+            if (passed) {
+                windows.computeIfAbsent(series, key -> new SeriesWindow(thresholds.window()))
+                        .add(timestampMillis, build, durationMicros);
+            }
+        });
+
+        return windows.entrySet().stream()
+                .map(entry -> entry.getValue().compare(TimingSeries.parse(store.name(entry.getKey())),
+                        store.name(entry.getValue().build), thresholds))
+                .sorted(Comparator.comparing(TimingComparison::regression).reversed()
+                        .thenComparing(comparison -> comparison.series().key()))
+                .toList();
+    }
+
+    /**
+     * Записывает сравнения в JSON отчет.
+     *
+     * @param report      путь к JSON файлу отчета
+     * @param comparisons сравнения из {@link #compare(TimingStore, RegressionThresholds)}
+     */
+    public static void writeReport(Path report, List<TimingComparison> comparisons) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("regressions", comparisons.stream().filter(TimingComparison::regression).count());
+        json.put("series", comparisons.stream().map(TimingComparison::toMap).toList());
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, new Json().toJson(json), StandardCharsets.UTF_8);
+            log.info("Отчет о длительности тестов и шагов: {}", report.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Не удалось записать отчет о длительности {}: {}", report, e.getMessage());
+        }
+    }
+
+    /**
+     * Выводит сравнения серий, ключ которых содержит фильтр. Завершается с кодом 1, если есть регрессии.
+     *
+     * @param args каталог хранилища и необязательный фильтр по ключу серии
+     * @throws IOException если хранилище не читается
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Использование: TimingReport <каталог хранилища> [фильтр серий]");
+            System.exit(2);
+        }
+        String filter = args.length == 2 ? args[1] : "";
+        List<TimingComparison> comparisons;
+        try (TimingStore store = TimingStore.read(Path.of(args[0]))) {
+            comparisons = compare(store, RegressionThresholds.fromSystemProperties()).stream()
+                    .filter(comparison -> comparison.series().key().contains(filter))
+                    .toList();
+        }
+        comparisons.forEach(System.out::println);
+        long regressions = comparisons.stream().filter(TimingComparison::regression).count();
+        System.out.printf("Серий: %d, замедлений: %d%n", comparisons.size(), regressions);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Вероятность того, что выборка {@code current} оказалась больше {@code baseline} случайно:
+     * односторонний критерий Манна-Уитни в нормальном приближении с поправкой на совпадающие значения.
+     */
+    static double slowdownPValue(long[] baseline, long[] current) {
+        int n1 = baseline.length;
+        int n2 = current.length;
+        int n = n1 + n2;
+        long[] values = new long[n];
+        System.arraycopy(baseline, 0, values, 0, n1);
+        System.arraycopy(current, 0, values, n1, n2);
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        double currentRanks = 0;
+        for (long value : current) {
+            currentRanks += averageRank(sorted, value);
+        }
+        double ties = 0;
+        for (int start = 0, end; start < n; start = end) {
+            end = start;
+            while (end < n && sorted[end] == sorted[start]) {
+                end++;
+            }
+            double t = end - start;
+            ties += t * t * t - t;
+        }
+
+        double u = currentRanks - n2 * (n2 + 1) / 2.0;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - ties / (n * (n - 1.0)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - n1 * (double) n2 / 2 - 0.5) / Math.sqrt(variance);
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    private static double averageRank(long[] sorted, long value) {
+        int first = lowerBound(sorted, value);
+        int last = lowerBound(sorted, value + 1);
+        return (first + 1 + last) / 2.0;
+    }
+
+    private static int lowerBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Дополнительная функция ошибок, аппроксимация Чебышева с относительной погрешностью меньше 1.2e-7.
+     */
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double result = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? result : 2 - result;
+    }
+
+    private static long median(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(sorted.length - 1) / 2];
+    }
+
+    /**
+     * Окна замеров одной серии: последняя сборка и предыдущие сборки.
+     */
+    private static final class SeriesWindow {
+        private final LongWindow current;
+        private final LongWindow baseline;
+        private int build = -1;
+        private long lastTimestampMillis;
+
+        SeriesWindow(int size) {
+            this.current = new LongWindow(size);
+            this.baseline = new LongWindow(size);
+        }
+
+        void add(long timestampMillis, int build, long durationMicros) {
+            if (build != this.build) {
+                current.drainTo(baseline);
+                this.build = build;
+            }
+            current.add(durationMicros);
+            lastTimestampMillis = timestampMillis;
+        }
+
+        TimingComparison compare(TimingSeries series, String buildName, RegressionThresholds thresholds) {
+            long[] samples = current.toArray();
+            long[] baselineSamples = baseline.toArray();
+            long median = median(samples);
+            long baselineMedian = median(baselineSamples);
+            boolean comparable = samples.length >= thresholds.minSamples()
+                    && baselineSamples.length >= thresholds.minSamples();
+            double pValue = comparable ? slowdownPValue(baselineSamples, samples) : 1;
+            boolean regression = comparable && pValue < thresholds.alpha()
+                    && median > baselineMedian * (1 + thresholds.tolerance())
+                    && median - baselineMedian >= thresholds.minMillis() * 1000;
+            return new TimingComparison(series, buildName, lastTimestampMillis, samples.length,
+                    baselineSamples.length, median, baselineMedian, pValue, regression);
+        }
+    }
+
+    /**
+     * Последние значения фиксированного количества в кольцевом буфере.
+     */
+    private static final class LongWindow {
+        private final long[] values;
+        private int size;
+        private int next;
+
+        LongWindow(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        void add(long value) {
+            values[next] = value;
+            next = (next + 1) % values.length;
+            size = Math.min(size + 1, values.length);
+        }
+
+        void drainTo(LongWindow target) {
+            for (long value : toArray()) {
+                target.add(value);
+            }
+            size = 0;
+            next = 0;
+        }
+
+        long[] toArray() {
+            long[] result = new long[size];
+            int first = (next - size + values.length) % values.length;
+            for (int i = 0; i < size; i++) {
+                result[i] = values[(first + i) % values.length];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private TimingReport() {
+        throw new UtilityClassException(getClass());
+    }
+}
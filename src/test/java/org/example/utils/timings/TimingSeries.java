@@ -0,0 +1,57 @@
+package org.example.utils.timings;
+
+import org.example.utils.events.StepEvent;
+
+/**
+ * Серия замеров: один тест или шаг на одном устройстве для одного приложения.
+ *
+ * <p>Сборка приложения в серию не входит: замеры разных сборок одной серии сравниваются между собой
+ * ({@link TimingReport}).</p>
+ *
+ * @param app    пакет приложения
+ * @param device udid устройства
+ * @param kind   тест или шаг
+ * @param name   идентификатор теста {@code Класс#метод}, для шага - {@code Класс#метод > шаг}
+ */
+public record TimingSeries(String app, String device, TimingKind kind, String name) {
+    private static final String SEPARATOR = "|";
+    private static final String STEP_SEPARATOR = " > ";
+
+    /**
+     * Создает серию шага из события журнала шагов.
+     *
+     * @param event событие шага, выполненного в сессии теста
+     * @return серия шага
+     */
+    public static TimingSeries of(StepEvent event) {
+        return new TimingSeries(event.app(), event.device(), TimingKind.STEP,
+                event.test().isEmpty() ? event.step() : event.test() + STEP_SEPARATOR + event.step());
+    }
+
+    /**
+     * Восстанавливает серию по ключу из словаря хранилища.
+     *
+     * @param key ключ, полученный из {@link #key()}
+     * @return серия
+     * @throws IllegalArgumentException если ключ имеет другой формат
+     */
+    public static TimingSeries parse(String key) {
+        String[] parts = key.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Некорректный ключ серии замеров: " + key);
+        }
+        return new TimingSeries(parts[0], parts[1], TimingKind.valueOf(parts[2]), parts[3]);
+    }
+
+    /**
+     * @return ключ серии {@code <пакет>|<устройство>|<вид>|<название>}
+     */
+    public String key() {
+        return String.join(SEPARATOR, app, device, kind.name(), name);
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
@@ -0,0 +1,329 @@
+package org.example.utils.timings;
+
+import org.example.utils.ProjectPaths;
+import org.example.utils.events.StepEvent;
+import org.example.utils.events.StepOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Локальное хранилище длительностей тестов и шагов по сборкам приложения.
+ *
+ * <p>Замеры дописываются в конец файла {@code timings.dat} записями фиксированного размера через отображение
+ * файла в память: добавление замера - запись в {@link MappedByteBuffer} без системного вызова. Чтение
+ * ({@link #scan(Visitor)}) проходит файл окнами по {@value #CHUNK_RECORDS} записей и не держит в куче ничего,
+ * кроме текущего окна, поэтому десятки тысяч прогонов не загружаются в память целиком. Ключи серий
+ * ({@link TimingSeries}) и версии сборок хранятся один раз в словаре {@code timings.names}, записи ссылаются
+ * на них номерами строк.</p>
+ * <p>Количество записей в заголовке увеличивается после записи замера, поэтому оборванная при падении JVM
+ * запись не читается. Писать в хранилище может только один прогон: файл блокируется на запись, и второй
+ * прогон с тем же хранилищем замеры не сохраняет.</p>
+ * <p>Настройки: каталог {@code timings.store} (по умолчанию {@code .test-stats/timings}),
+ * отключение записи {@code timings.record=false}.</p>
+ */
+public final class TimingStore implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TimingStore.class);
+
+    private static final String STORE_PROPERTY = "timings.store";
+    private static final String DEFAULT_STORE = ".test-stats/timings";
+    private static final String ENABLED_PROPERTY = "timings.record";
+    private static final String DATA_FILE = "timings.dat";
+    private static final String NAMES_FILE = "timings.names";
+    private static final int MAGIC = 0x544D4731;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int VERSION_OFFSET = 4;
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORD_SIZE = 32;
+    private static final int CHUNK_RECORDS = 1 << 16;
+    private static final int PASSED_FLAG = 1;
+
+    private static TimingStore instance;
+    private static boolean instanceOpened;
+
+    /**
+     * Получатель замеров при чтении хранилища.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * @param timestampMillis время замера, мс от эпохи
+         * @param series          номер ключа серии в словаре ({@link #name(int)})
+         * @param build           номер версии сборки в словаре
+         * @param durationMicros  длительность
+         * @param passed          тест или шаг завершился успешно
+         */
+        void visit(long timestampMillis, int series, int build, long durationMicros, boolean passed);
+    }
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer header;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private MappedByteBuffer chunk;
+    private long chunkStart = -1;
+    private long count;
+
+    private TimingStore(Path directory, FileChannel channel, FileLock lock, MappedByteBuffer header) {
+        this.directory = directory;
+        this.channel = channel;
+        this.lock = lock;
+        this.header = header;
+    }
+
+    /**
+     * Открывает хранилище на запись, создавая его при необходимости.
+     *
+     * @param directory каталог хранилища
+     * @return хранилище, заблокированное для других прогонов до {@link #close()}
+     * @throws IOException если хранилище занято другим прогоном, повреждено или недоступно
+     */
+    public static TimingStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = tryLock(channel);
+            if (lock == null) {
+                throw new IOException("Хранилище замеров " + directory + " занято другим прогоном");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (header.getInt(0) == 0) {
+                header.putInt(0, MAGIC).putInt(VERSION_OFFSET, FORMAT_VERSION).putLong(COUNT_OFFSET, 0);
+            }
+            return load(new TimingStore(directory, channel, lock, header));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Открывает хранилище только для чтения, не мешая прогону, который в него пишет.
+     *
+     * <p>Читаются замеры, записанные к моменту открытия.</p>
+     *
+     * @param directory каталог хранилища
+     * @return хранилище для {@link #scan(Visitor)}
+     * @throws IOException если хранилища нет, оно повреждено или недоступно
+     */
+    public static TimingStore read(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Хранилище замеров " + directory + " пусто");
+            }
+            return load(new TimingStore(directory, channel, null,
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Возвращает общее хранилище прогона с настройками из системных свойств.
+     *
+     * @return хранилище или пустой {@link Optional}, если запись отключена либо хранилище не открылось
+     */
+    public static synchronized Optional<TimingStore> instance() {
+        if (!instanceOpened) {
+            instanceOpened = true;
+            if (Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+                Path directory = ProjectPaths.resolve(System.getProperty(STORE_PROPERTY, DEFAULT_STORE));
+                try {
+                    instance = open(directory);
+                } catch (IOException e) {
+                    log.warn("Замеры длительности не сохраняются: {}", e.getMessage());
+                }
+            }
+        }
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Сохраняет длительность шага ожидания в общее хранилище.
+     *
+     * <p>Шаги вне сессии теста и шаги, пропущенные из-за исчерпанного бюджета, не сохраняются.</p>
+     *
+     * @param event событие журнала шагов
+     */
+    public static void recordStep(StepEvent event) {
+        if (event.app().isEmpty() || event.outcome() == StepOutcome.BUDGET_EXCEEDED) {
+            return;
+        }
+        instance().ifPresent(store -> store.appendQuietly(TimingSeries.of(event), event.build(),
+                event.timestampMillis(), event.durationMicros(), event.outcome() == StepOutcome.PASSED));
+    }
+
+    /**
+     * Дописывает замер.
+     *
+     * @param series          серия замера
+     * @param build           версия сборки приложения
+     * @param timestampMillis время замера, мс от эпохи
+     * @param durationMicros  длительность
+     * @param passed          тест или шаг завершился успешно
+     * @throws UncheckedIOException  если файл хранилища не удалось расширить
+     * @throws IllegalStateException если хранилище открыто только для чтения
+     */
+    public synchronized void append(TimingSeries series, String build, long timestampMillis, long durationMicros,
+                                    boolean passed) {
+        if (lock == null) {
+            throw new IllegalStateException("Хранилище замеров " + directory + " открыто только для чтения");
+        }
+        try {
+            int seriesId = id(series.key());
+            int buildId = id(build);
+            int offset = offset(count);
+            chunk.putLong(offset, timestampMillis)
+                    .putLong(offset + 8, durationMicros)
+                    .putInt(offset + 16, seriesId)
+                    .putInt(offset + 20, buildId)
+                    .putInt(offset + 24, passed ? PASSED_FLAG : 0);
+            count++;
+            header.putLong(COUNT_OFFSET, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Дописывает замер, а ошибку записи только логирует: сбор замеров не должен ронять тесты.
+     *
+     * @param series          серия замера
+     * @param build           версия сборки приложения
+     * @param timestampMillis время замера, мс от эпохи
+     * @param durationMicros  длительность
+     * @param passed          тест или шаг завершился успешно
+     */
+    public void appendQuietly(TimingSeries series, String build, long timestampMillis, long durationMicros,
+                              boolean passed) {
+        try {
+            append(series, build, timestampMillis, durationMicros, passed);
+        } catch (UncheckedIOException e) {
+            log.warn("Не удалось сохранить замер {} в {}: {}", series, directory, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Передает все замеры в порядке записи.
+     *
+     * @param visitor получатель замеров
+     * @throws IOException если файл хранилища не читается
+     */
+    public synchronized void scan(Visitor visitor) throws IOException {
+        for (long start = 0; start < count; start += CHUNK_RECORDS) {
+            int records = (int) Math.min(CHUNK_RECORDS, count - start);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + start * RECORD_SIZE, (long) records * RECORD_SIZE);
+            for (int offset = 0; offset < records * RECORD_SIZE; offset += RECORD_SIZE) {
+                visitor.visit(window.getLong(offset), window.getInt(offset + 16), window.getInt(offset + 20),
+                        window.getLong(offset + 8), (window.getInt(offset + 24) & PASSED_FLAG) != 0);
+            }
+        }
+    }
+
+    /**
+     * Возвращает строку словаря: ключ серии или версию сборки.
+     *
+     * @param id номер из {@link Visitor}
+     * @return строка словаря
+     */
+    public synchronized String name(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * @return количество замеров в хранилище
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * Снимает блокировку хранилища. Записанные замеры уже находятся в файле.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        chunk = null;
+        if (lock != null && lock.isValid()) {
+            lock.release();
+        }
+        channel.close();
+    }
+
+    /**
+     * Блокирует файл на запись; блокировка, уже взятая этой же JVM, тоже означает занятое хранилище.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static TimingStore load(TimingStore store) throws IOException {
+        if (store.header.getInt(0) != MAGIC || store.header.getInt(VERSION_OFFSET) != FORMAT_VERSION) {
+            throw new IOException("Файл " + store.directory.resolve(DATA_FILE) + " не является хранилищем замеров");
+        }
+        store.count = store.header.getLong(COUNT_OFFSET);
+        Path namesFile = store.directory.resolve(NAMES_FILE);
+        if (Files.exists(namesFile)) {
+            for (String name : Files.readAllLines(namesFile, StandardCharsets.UTF_8)) {
+                store.ids.put(name, store.names.size());
+                store.names.add(name);
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Возвращает номер строки словаря, дописывая новую строку в файл до записи ссылающегося на нее замера.
+     */
+    private int id(String name) throws IOException {
+        String line = name.replace('\n', ' ').replace('\r', ' ');
+        Integer id = ids.get(line);
+        if (id != null) {
+            return id;
+        }
+        Files.writeString(directory.resolve(NAMES_FILE), line + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        ids.put(line, names.size());
+        names.add(line);
+        return names.size() - 1;
+    }
+
+    /**
+     * Отображает в память окно, в которое попадает запись, и возвращает смещение записи в окне.
+     * Окно за концом файла расширяет файл на {@value #CHUNK_RECORDS} записей.
+     */
+    private int offset(long record) throws IOException {
+        long start = record / CHUNK_RECORDS * CHUNK_RECORDS;
+        if (start != chunkStart) {
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + start * RECORD_SIZE,
+                    (long) CHUNK_RECORDS * RECORD_SIZE);
+            chunkStart = start;
+        }
+        return (int) (record - start) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.utils.traffic;
+
+import org.example.exceptions.UtilityClassException;
+import org.example.utils.session.ObservedCommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * Режим записи или воспроизведения трафика Appium для всего прогона.
+ *
+ * <ul>
+ * <li>{@code -Dappium.traffic=record} - команды выполняются на устройстве и записываются
+ * в {@code appium.traffic.file} (по умолчанию {@code target/traffic/appium.jsonl.gz})</li>
+ * <li>{@code -Dappium.traffic=replay} - команды не отправляются на сервер, ответы берутся из записи</li>
+ * </ul>
+ */
+public final class AppiumTraffic {
+    private static final Logger log = LoggerFactory.getLogger(AppiumTraffic.class);
+
+    private static final String MODE_PROPERTY = "appium.traffic";
+    private static final String FILE_PROPERTY = "appium.traffic.file";
+    private static final String DEFAULT_FILE = "target/traffic/appium.jsonl.gz";
+    private static final String RECORD = "record";
+    private static final String REPLAY = "replay";
+
+    private static TrafficRecorder recorder;
+    private static TrafficRecording recording;
+
+    /**
+     * Создает исполнитель команд для сессии с учетом режима трафика.
+     *
+     * @param appiumServerUrl адрес Appium сервера устройства
+     * @return исполнитель, записывающий трафик, воспроизводящий его или обычный
+     * @throws IllegalArgumentException если режим {@code appium.traffic} неизвестен
+     */
+    public static synchronized ObservedCommandExecutor executor(URL appiumServerUrl) {
+        String mode = System.getProperty(MODE_PROPERTY, "");
+        Path file = Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+        switch (mode) {
+            case "" -> {
+                return new ObservedCommandExecutor(appiumServerUrl);
+            }
+            case RECORD -> {
+                if (recorder == null) {
+                    recorder = new TrafficRecorder(file);
+                    Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "appium-traffic-recorder"));
+                    log.info("Трафик Appium записывается в {}", file.toAbsolutePath());
+                }
+                return new RecordingCommandExecutor(appiumServerUrl, recorder);
+            }
+            case REPLAY -> {
+                if (recording == null) {
+                    recording = TrafficRecording.load(file);
+                    log.info("Трафик Appium воспроизводится из {}: {} команд", file.toAbsolutePath(),
+                            recording.entries().size());
+                }
+                return new ReplayCommandExecutor(appiumServerUrl, recording);
+            }
+            default -> throw new IllegalArgumentException("Неизвестный режим " + MODE_PROPERTY + ": " + mode
+                    + ", ожидается " + RECORD + " или " + REPLAY);
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private AppiumTraffic() {
+        throw new UtilityClassException(getClass());
+    }
+}
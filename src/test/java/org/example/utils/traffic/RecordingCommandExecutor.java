@@ -0,0 +1,49 @@
+package org.example.utils.traffic;
+
+import org.example.utils.metrics.CommandMetrics;
+import org.example.utils.session.ObservedCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * Исполнитель команд, записывающий каждую команду и ответ сервера в {@link TrafficRecorder}.
+ *
+ * <p>Команда относится к тесту, выполняющемуся в потоке команды ({@link CommandMetrics#currentTest()}),
+ * команды вне тестов записываются как {@value #OUTSIDE_TEST}.</p>
+ */
+public class RecordingCommandExecutor extends ObservedCommandExecutor {
+    static final String OUTSIDE_TEST = "(вне теста)";
+
+    private final TrafficRecorder recorder;
+
+    /**
+     * Создает исполнитель, записывающий трафик.
+     *
+     * @param appiumServerUrl адрес Appium сервера
+     * @param recorder        файл записи
+     */
+    public RecordingCommandExecutor(URL appiumServerUrl, TrafficRecorder recorder) {
+        super(appiumServerUrl);
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected Response send(Command command) throws WebDriverException {
+        String test = currentTest();
+        try {
+            Response response = super.send(command);
+            recorder.write(TrafficEntry.of(test, command.getName(), command.getParameters(), response));
+            return response;
+        } catch (RuntimeException e) {
+            recorder.write(TrafficEntry.of(test, command.getName(), command.getParameters(), e));
+            throw e;
+        }
+    }
+
+    static String currentTest() {
+        return CommandMetrics.instance().currentTest().orElse(OUTSIDE_TEST);
+    }
+}
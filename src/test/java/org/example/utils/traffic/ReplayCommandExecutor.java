@@ -0,0 +1,70 @@
+package org.example.utils.traffic;
+
+import org.example.utils.session.ObservedCommandExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Исполнитель команд, отвечающий записанными ответами ({@link TrafficRecording}) без обращения к серверу.
+ *
+ * <p>Команды проходят через наблюдателей {@link ObservedCommandExecutor}, поэтому метрики команд
+ * и ожидания работают так же, как при записи, но без задержек устройства и сети. Когда записанные
+ * ответы на команду закончились, повторяется последний ответ, а {@code getLog} возвращает пустой лог.</p>
+ */
+public class ReplayCommandExecutor extends ObservedCommandExecutor {
+    private static final Set<String> EMPTY_WHEN_EXHAUSTED = Set.of(DriverCommand.GET_LOG);
+
+    private final TrafficRecording recording;
+
+    /**
+     * Создает исполнитель для воспроизведения.
+     *
+     * @param appiumServerUrl адрес Appium сервера из конфигурации устройства, к серверу исполнитель не обращается
+     * @param recording       запись трафика
+     */
+    public ReplayCommandExecutor(URL appiumServerUrl, TrafficRecording recording) {
+        super(appiumServerUrl);
+        this.recording = recording;
+    }
+
+    @Override
+    protected Response send(Command command) throws WebDriverException {
+        String test = RecordingCommandExecutor.currentTest();
+        String parameters = TrafficEntry.canonical(command.getParameters());
+
+        Optional<TrafficEntry> recorded = recording.next(test, command.getName(), parameters);
+        if (recorded.isEmpty()) {
+            if (EMPTY_WHEN_EXHAUSTED.contains(command.getName())) {
+                return success(command, List.of());
+            }
+            recorded = recording.repeat(command.getName(), parameters);
+        }
+        if (recorded.isEmpty()) {
+            if (DriverCommand.QUIT.equals(command.getName())) {
+                return success(command, null);
+            }
+            throw new UnsupportedCommandException("В записи нет ответа на команду " + command.getName()
+                    + " " + parameters + " теста " + test);
+        }
+        TrafficEntry entry = recorded.get();
+        if (entry.thrown()) {
+            throw entry.exception();
+        }
+        return entry.toResponse();
+    }
+
+    private static Response success(Command command, Object value) {
+        Response response = new Response(command.getSessionId());
+        response.setState("success");
+        response.setValue(value);
+        return response;
+    }
+}
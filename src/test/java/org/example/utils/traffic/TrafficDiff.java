@@ -0,0 +1,97 @@
+package org.example.utils.traffic;
+
+import org.example.exceptions.UtilityClassException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Сравнение количества команд Appium по тестам между двумя записями трафика.
+ *
+ * <p>Запуск, например для записей до и после рефакторинга утилит:</p>
+ * <pre>
+ * java org.example.utils.traffic.TrafficDiff before.jsonl.gz after.jsonl.gz
+ * </pre>
+ */
+public final class TrafficDiff {
+
+    /**
+     * Изменение количества команд теста.
+     *
+     * @param test    тест
+     * @param command имя команды
+     * @param before  количество в первой записи
+     * @param after   количество во второй записи
+     */
+    public record Change(String test, String command, int before, int after) {
+        public int delta() {
+            return after - before;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: %d -> %d (%+d)", test, command, before, after, delta());
+        }
+    }
+
+    /**
+     * Находит команды, количество которых в тестах изменилось.
+     *
+     * @param before количество команд по тестам в первой записи ({@link TrafficRecording#commandCounts()})
+     * @param after  количество команд по тестам во второй записи
+     * @return изменения, упорядоченные по тесту и команде
+     */
+    public static List<Change> diff(Map<String, Map<String, Integer>> before, Map<String, Map<String, Integer>> after) {
+        List<Change> changes = new ArrayList<>();
+        for (String test : union(before.keySet(), after.keySet())) {
+            Map<String, Integer> testBefore = before.getOrDefault(test, Map.of());
+            Map<String, Integer> testAfter = after.getOrDefault(test, Map.of());
+            for (String command : union(testBefore.keySet(), testAfter.keySet())) {
+                int countBefore = testBefore.getOrDefault(command, 0);
+                int countAfter = testAfter.getOrDefault(command, 0);
+                if (countBefore != countAfter) {
+                    changes.add(new Change(test, command, countBefore, countAfter));
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Выводит изменения количества команд между двумя записями.
+     *
+     * @param args файлы записей: до и после изменения
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Использование: TrafficDiff <запись до> <запись после>");
+            System.exit(2);
+        }
+        List<Change> changes = diff(TrafficRecording.load(Path.of(args[0])).commandCounts(),
+                TrafficRecording.load(Path.of(args[1])).commandCounts());
+        if (changes.isEmpty()) {
+            System.out.println("Количество команд не изменилось");
+        }
+        changes.forEach(System.out::println);
+        System.out.printf("Всего команд: %+d%n", changes.stream().mapToInt(Change::delta).sum());
+    }
+
+    private static TreeSet<String> union(Iterable<String> first, Iterable<String> second) {
+        TreeSet<String> union = new TreeSet<>();
+        first.forEach(union::add);
+        second.forEach(union::add);
+        return union;
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private TrafficDiff() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.utils.traffic;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.ErrorCodec;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+
+import java.lang.reflect.Constructor;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Команда Appium и ответ на нее из записи трафика.
+ *
+ * @param test       тест, выполнивший команду, {@code Класс#метод}
+ * @param command    имя команды, например {@code findElement}
+ * @param parameters параметры команды в каноническом JSON (ключи отсортированы)
+ * @param sessionId  идентификатор сессии из ответа или {@code null}
+ * @param state      состояние ответа W3C, например {@code success} или {@code no such element}
+ * @param status     HTTP код ответа по {@link ErrorCodec}: {@code 200} - успех, {@code -1} - ответа не было
+ * @param value      значение ответа, если команда выполнена успешно
+ * @param error      класс исключения, если команда завершилась ошибкой, иначе {@code null}
+ * @param message    сообщение исключения
+ * @param thrown     {@code true}, если исключение было выброшено исполнителем (например, сервер недоступен),
+ *                   а не пришло в ответе сервера
+ */
+public record TrafficEntry(String test, String command, String parameters, String sessionId, String state,
+                           int status, Object value, String error, String message, boolean thrown) {
+    private static final Json JSON = new Json();
+    private static final ErrorCodec ERRORS = ErrorCodec.createDefault();
+    private static final int HTTP_OK = 200;
+
+    /**
+     * Приводит параметры команды к каноническому JSON, не зависящему от порядка ключей.
+     *
+     * @param parameters параметры команды
+     * @return JSON с отсортированными ключами
+     */
+    public static String canonical(Map<String, ?> parameters) {
+        return JSON.toJson(sorted(JSON.toType(JSON.toJson(parameters), Object.class)));
+    }
+
+    /**
+     * Создает запись по ответу сервера.
+     *
+     * @param test       тест, выполнивший команду
+     * @param command    имя команды
+     * @param parameters параметры команды
+     * @param response   ответ сервера
+     * @return запись трафика
+     */
+    static TrafficEntry of(String test, String command, Map<String, ?> parameters, Response response) {
+        String sessionId = response.getSessionId();
+        if (response.getValue() instanceof Throwable error) {
+            return new TrafficEntry(test, command, canonical(parameters), sessionId, response.getState(),
+                    ERRORS.getHttpStatusCode(error), null, error.getClass().getName(), rawMessage(error), false);
+        }
+        return new TrafficEntry(test, command, canonical(parameters), sessionId, response.getState(), HTTP_OK,
+                response.getValue(), null, null, false);
+    }
+
+    /**
+     * Создает запись по исключению, выброшенному при выполнении команды.
+     */
+    static TrafficEntry of(String test, String command, Map<String, ?> parameters, Throwable error) {
+        return new TrafficEntry(test, command, canonical(parameters), null, null, -1, null,
+                error.getClass().getName(), rawMessage(error), true);
+    }
+
+    static TrafficEntry fromMap(Map<String, Object> map) {
+        return new TrafficEntry(
+                (String) map.get("test"),
+                (String) map.get("command"),
+                (String) map.get("parameters"),
+                (String) map.get("session"),
+                (String) map.get("state"),
+                ((Number) map.getOrDefault("status", HTTP_OK)).intValue(),
+                map.get("value"),
+                (String) map.get("error"),
+                (String) map.get("message"),
+                Boolean.TRUE.equals(map.get("thrown")));
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("test", test);
+        map.put("command", command);
+        map.put("parameters", parameters);
+        putIfPresent(map, "session", sessionId);
+        putIfPresent(map, "state", state);
+        map.put("status", status);
+        putIfPresent(map, "value", value);
+        putIfPresent(map, "error", error);
+        putIfPresent(map, "message", message);
+        if (thrown) {
+            map.put("thrown", true);
+        }
+        return map;
+    }
+
+    /**
+     * Восстанавливает ответ сервера.
+     *
+     * @return ответ с тем же состоянием и значением; для ошибки значением будет исключение
+     */
+    Response toResponse() {
+        Response response = new Response(sessionId == null ? null : new SessionId(sessionId));
+        response.setState(state);
+        response.setValue(error == null ? value : exception());
+        return response;
+    }
+
+    /**
+     * Восстанавливает исключение записанного класса; если класс недоступен, возвращает {@link WebDriverException}.
+     */
+    RuntimeException exception() {
+        try {
+            Class<?> type = Class.forName(error);
+            if (RuntimeException.class.isAssignableFrom(type)) {
+                Constructor<?> constructor = type.getConstructor(String.class);
+                return (RuntimeException) constructor.newInstance(message);
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // класс без конструктора (String) заменяется общим исключением
+        }
+        return new WebDriverException(error + ": " + message);
+    }
+
+    private static String rawMessage(Throwable error) {
+        return error instanceof WebDriverException webDriverError ? webDriverError.getRawMessage() : error.getMessage();
+    }
+
+    private static void putIfPresent(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    private static Object sorted(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> result = new TreeMap<>();
+            map.forEach((key, item) -> result.put(String.valueOf(key), sorted(item)));
+            return result;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(TrafficEntry::sorted).toList();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.utils.traffic;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Файл записи команд Appium и ответов на них для последующего воспроизведения ({@link ReplayCommandExecutor}).
+ *
+ * <p>Каждая команда записывается строкой JSON ({@link TrafficEntry}) в сжатый gzip файл
+ * вместе с тестом, который ее выполнил. Команды в запись передает {@link RecordingCommandExecutor}.</p>
+ */
+public final class TrafficRecorder implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TrafficRecorder.class);
+
+    private final Path file;
+    private final Writer writer;
+    private final Json json = new Json();
+    private int commands;
+    private boolean closed;
+
+    /**
+     * Создает файл записи.
+     *
+     * @param file файл записи, обычно {@code *.jsonl.gz}
+     * @throws UncheckedIOException если файл не удалось создать
+     */
+    public TrafficRecorder(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать запись трафика " + file, e);
+        }
+    }
+
+    /**
+     * Дописывает команду в запись.
+     *
+     * @param entry команда и ответ
+     */
+    public synchronized void write(TrafficEntry entry) {
+        if (closed) {
+            return;
+        }
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput output = json.newOutput(line)) {
+            output.setPrettyPrint(false).write(entry.toMap());
+        }
+        try {
+            writer.write(line.append('\n').toString());
+            commands++;
+        } catch (IOException e) {
+            log.warn("Не удалось записать команду {} в {}: {}", entry.command(), file, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+            log.info("Записано команд Appium: {} в {}", commands, file.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Не удалось закрыть запись трафика {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.utils.traffic;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Запись трафика Appium, загруженная для воспроизведения или сравнения.
+ *
+ * <p>Ответы выдаются в порядке записи отдельно для каждого теста и каждой пары «команда + параметры»,
+ * поэтому повторные опросы элемента при ожидании получают те же ответы, что и при записи.
+ * Если у теста не осталось ответа, берется ответ другого теста с той же командой (например, создание
+ * сессии, которую при записи создал другой тест). Когда ответы закончились совсем, последний выданный
+ * ответ можно повторить ({@link #repeat(String, String)}).</p>
+ */
+public final class TrafficRecording {
+    private final List<TrafficEntry> entries;
+    private final Map<String, Deque<TrafficEntry>> byTest = new HashMap<>();
+    private final Map<String, Deque<TrafficEntry>> byCommand = new HashMap<>();
+    private final Map<String, TrafficEntry> lastServed = new HashMap<>();
+
+    /**
+     * Создает запись из списка команд.
+     *
+     * @param entries команды в порядке выполнения
+     */
+    public TrafficRecording(List<TrafficEntry> entries) {
+        this.entries = List.copyOf(entries);
+        for (TrafficEntry entry : entries) {
+            byTest.computeIfAbsent(testKey(entry.test(), entry.command(), entry.parameters()),
+                    key -> new ArrayDeque<>()).addLast(entry);
+            byCommand.computeIfAbsent(commandKey(entry.command(), entry.parameters()),
+                    key -> new ArrayDeque<>()).addLast(entry);
+        }
+    }
+
+    /**
+     * Загружает запись, сделанную {@link TrafficRecorder}.
+     *
+     * @param file файл записи
+     * @return запись трафика
+     * @throws UncheckedIOException если файл не удалось прочитать
+     */
+    public static TrafficRecording load(Path file) {
+        Json json = new Json();
+        List<TrafficEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    entries.add(TrafficEntry.fromMap(json.toType(line, Json.MAP_TYPE)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать запись трафика " + file, e);
+        }
+        return new TrafficRecording(entries);
+    }
+
+    public List<TrafficEntry> entries() {
+        return entries;
+    }
+
+    /**
+     * Выдает следующий записанный ответ на команду.
+     *
+     * @param test       тест, выполняющий команду
+     * @param command    имя команды
+     * @param parameters параметры команды в каноническом JSON ({@link TrafficEntry#canonical(Map)})
+     * @return записанный ответ или пустой {@link Optional}, если записанные ответы на команду закончились
+     */
+    public synchronized Optional<TrafficEntry> next(String test, String command, String parameters) {
+        String commandKey = commandKey(command, parameters);
+        TrafficEntry entry = byTest.getOrDefault(testKey(test, command, parameters), new ArrayDeque<>()).pollFirst();
+        if (entry != null) {
+            byCommand.get(commandKey).remove(entry);
+        } else {
+            entry = byCommand.getOrDefault(commandKey, new ArrayDeque<>()).pollFirst();
+            if (entry != null) {
+                byTest.get(testKey(entry.test(), command, parameters)).remove(entry);
+            }
+        }
+        if (entry != null) {
+            lastServed.put(commandKey, entry);
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Возвращает последний выданный ответ на команду, например для повторного опроса после конца записи.
+     *
+     * @param command    имя команды
+     * @param parameters параметры команды в каноническом JSON
+     * @return последний выданный ответ или пустой {@link Optional}, если ответ на команду не выдавался
+     */
+    public synchronized Optional<TrafficEntry> repeat(String command, String parameters) {
+        return Optional.ofNullable(lastServed.get(commandKey(command, parameters)));
+    }
+
+    /**
+     * Подсчитывает команды каждого теста.
+     *
+     * @return количество команд по тестам и именам команд, отсортированное по имени
+     */
+    public Map<String, Map<String, Integer>> commandCounts() {
+        Map<String, Map<String, Integer>> counts = new TreeMap<>();
+        for (TrafficEntry entry : entries) {
+            counts.computeIfAbsent(entry.test(), test -> new TreeMap<>()).merge(entry.command(), 1, Integer::sum);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private static String testKey(String test, String command, String parameters) {
+        return test + "\n" + commandKey(command, parameters);
+    }
+
+    private static String commandKey(String command, String parameters) {
+        return command + "\n" + parameters;
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.utils.wait;
+
+import org.example.exceptions.UtilityClassException;
+import org.example.utils.ProjectPaths;
+import org.example.utils.session.TestSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Таймауты ожиданий, подобранные по истории прошлых запусков.
+ *
+ * <p>Для каждого шага ожидания (локатора) на каждом устройстве и версии приложения запоминается,
+ * за сколько элемент появлялся и появлялся ли вообще. Таймаут ожидания выставляется как
+ * высокий перцентиль времени появления плюс запас. Необязательный элемент, который в последних
+ * запусках почти не появлялся, проверяется коротким таймаутом.</p>
+ * <ul>
+ * <li>История хранится в {@code .test-stats/timeouts.properties}, путь меняется свойством
+ * {@code wait.adaptive.store}</li>
+ * <li>Пока наблюдений недостаточно, используется таймаут, запрошенный вызывающим кодом</li>
+ * <li>Подбор отключается свойством {@code -Dwait.adaptive=false}</li>
+ * </ul>
+ */
+public class AdaptiveTimeouts {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveTimeouts.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("wait.adaptive", "true"));
+    private static final Path STORE = ProjectPaths.resolve(
+            System.getProperty("wait.adaptive.store", ".test-stats/timeouts.properties"));
+
+    private static final int HISTORY_SIZE = 30;
+    private static final int MIN_OBSERVATIONS = 5;
+    private static final double PERCENTILE = 0.95;
+    private static final double MARGIN_RATIO = 0.5;
+    private static final Duration MARGIN = Duration.ofMillis(500);
+    private static final Duration MIN_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration ABSENT_PROBE_TIMEOUT = Duration.ofMillis(300);
+    private static final double ABSENT_RATIO = 0.8;
+    private static final int MAX_TIMEOUT_FACTOR = 3;
+    private static final String ABSENT = "x";
+
+    private static final Map<String, Deque<String>> HISTORY = load();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AdaptiveTimeouts::save, "adaptive-timeouts-save"));
+    }
+
+    /**
+     * Подбирает таймаут ожидания по истории появления элемента.
+     *
+     * @param step      шаг ожидания (локатор)
+     * @param optional  {@code true} для проверки необязательного элемента
+     * @param requested таймаут, который запросил вызывающий код
+     * @return подобранный таймаут или пустой {@link Optional}, если истории недостаточно
+     */
+    static Optional<Duration> timeoutFor(String step, boolean optional, Duration requested) {
+        String key = key(step);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        String[] observations;
+        synchronized (HISTORY) {
+            Deque<String> history = HISTORY.get(key);
+            if (history == null || history.size() < MIN_OBSERVATIONS) {
+                return Optional.empty();
+            }
+            observations = history.toArray(String[]::new);
+        }
+
+        long[] appeared = Arrays.stream(observations)
+                .filter(observation -> !ABSENT.equals(observation))
+                .mapToLong(Long::parseLong)
+                .sorted()
+                .toArray();
+
+        if (optional && appeared.length < observations.length * (1 - ABSENT_RATIO)) {
+            return Optional.of(ABSENT_PROBE_TIMEOUT);
+        }
+        if (appeared.length < MIN_OBSERVATIONS) {
+            return Optional.empty();
+        }
+
+        long percentile = appeared[(int) Math.ceil(PERCENTILE * appeared.length) - 1];
+        Duration adaptive = Duration.ofMillis((long) (percentile * (1 + MARGIN_RATIO))).plus(MARGIN);
+        Duration max = requested.multipliedBy(MAX_TIMEOUT_FACTOR);
+
+        if (adaptive.compareTo(MIN_TIMEOUT) < 0) {
+            return Optional.of(MIN_TIMEOUT);
+        }
+        return Optional.of(adaptive.compareTo(max) > 0 ? max : adaptive);
+    }
+
+    /**
+     * Выполняет ожидание и запоминает, за сколько появился элемент.
+     *
+     * <p>Неудачная проверка необязательного элемента запоминается как отсутствие элемента.
+     * Неудачное обязательное ожидание в историю не попадает.</p>
+     *
+     * @param step     шаг ожидания (локатор)
+     * @param optional {@code true} для проверки необязательного элемента
+     * @param timeout  таймаут ожидания
+     * @param wait     ожидание, принимающее таймаут
+     * @param <T>      тип результата ожидания
+     * @return результат ожидания
+     */
+    static <T> T observe(String step, boolean optional, Duration timeout, Function<Duration, T> wait) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = wait.apply(timeout);
+        } catch (RuntimeException | AssertionError e) {
+            if (optional) {
+                record(step, ABSENT);
+            }
+            throw e;
+        }
+        record(step, String.valueOf((System.nanoTime() - start) / 1_000_000));
+        return result;
+    }
+
+    private static void record(String step, String observation) {
+        String key = key(step);
+        if (key == null) {
+            return;
+        }
+        synchronized (HISTORY) {
+            Deque<String> history = HISTORY.computeIfAbsent(key, k -> new ArrayDeque<>());
+            history.addLast(observation);
+            if (history.size() > HISTORY_SIZE) {
+                history.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Формирует ключ истории: устройство, пакет и версия приложения, шаг ожидания.
+     *
+     * @param step шаг ожидания
+     * @return ключ истории или {@code null}, если подбор выключен или ожидание выполняется вне сессии теста
+     */
+    private static String key(String step) {
+        TestSession session = TestSession.current();
+        if (!ENABLED || session == null) {
+            return null;
+        }
+        return String.join("|", session.device().udid(), session.config().appPackage(), session.appVersion(), step);
+    }
+
+    private static Map<String, Deque<String>> load() {
+        Map<String, Deque<String>> history = new HashMap<>();
+        if (!ENABLED || !Files.exists(STORE)) {
+            return history;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(STORE, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            log.warn("Не удалось прочитать историю таймаутов {}: {}", STORE, e.getMessage());
+            return history;
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            history.put(key, new ArrayDeque<>(Arrays.asList(properties.getProperty(key).split(","))));
+        }
+        return history;
+    }
+
+    private static void save() {
+        if (!ENABLED) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        synchronized (HISTORY) {
+            HISTORY.forEach((key, history) -> properties.setProperty(key, String.join(",", history)));
+        }
+
+        try {
+            Files.createDirectories(STORE.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(STORE, StandardCharsets.UTF_8)) {
+                properties.store(writer, "История появления элементов: время в мс, " + ABSENT + " - элемент не появился");
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось сохранить историю таймаутов {}: {}", STORE, e.getMessage());
+        }
+    }
+
+    /**
+     * Приватный конструктор для предотвращения создания экземпляров утилитарного класса.
+     *
+     * @throws UtilityClassException всегда, при попытке инстанцирования
+     */
+    private AdaptiveTimeouts() {
+        throw new UtilityClassException(getClass());
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.utils.wait;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Суммарный бюджет времени на ожидания элементов в тесте.
+ *
+ * <p>Может быть указан на тестовом методе или классе. Аннотация метода имеет приоритет.
+ * Без аннотации используется значение системного свойства {@code wait.budget.seconds}.</p>
+ *
+ * @see WaitBudgetExtension
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface TimeBudget {
+
+    /**
+     * @return бюджет ожиданий в секундах
+     */
+    long seconds();
+}
@@ -0,0 +1,197 @@
+package org.example.utils.wait;
+
+import com.codeborne.selenide.Configuration;
+import org.example.exceptions.WaitBudgetExceededException;
+import org.example.utils.events.StepEvent;
+import org.example.utils.events.StepEventLog;
+import org.example.utils.events.StepOutcome;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Бюджет времени на ожидания элементов в рамках одного теста.
+ *
+ * <p>Каждое ожидание в утилитах выполняется через {@link #await(String, Duration, Function)}
+ * или {@link #probe(String, Duration, Function)}: таймаут ожидания ограничивается остатком бюджета,
+ * а фактически затраченное время записывается по шагам.</p>
+ * <ul>
+ * <li>Обязательное ожидание при исчерпанном бюджете сразу завершает тест
+ * с {@link WaitBudgetExceededException} и расшифровкой затрат</li>
+ * <li>Проверка необязательного элемента получает короткий отрезок бюджета
+ * и при исчерпанном бюджете выполняется однократно, без ожидания</li>
+ * </ul>
+ * <p>Запрошенные таймауты предварительно подбираются по истории прошлых запусков
+ * ({@link AdaptiveTimeouts}). Бюджет текущего теста устанавливается {@link WaitBudgetExtension}. Вне теста
+ * ожидания выполняются с запрошенными таймаутами без ограничений.</p>
+ * <p>Каждый шаг записывается событием {@link StepEvent} в асинхронный журнал {@link StepEventLog}.</p>
+ */
+public final class WaitBudget {
+    private static final String OPTIONAL_SLICE_PROPERTY = "wait.budget.optional.millis";
+    private static final long DEFAULT_OPTIONAL_SLICE_MS = 2000;
+    private static final ThreadLocal<WaitBudget> CURRENT = new ThreadLocal<>();
+
+    private final long budgetNanos;
+    private final Duration optionalSlice;
+    private final Map<String, StepUsage> usage = new LinkedHashMap<>();
+    private long spentNanos;
+
+    WaitBudget(Duration budget) {
+        this.budgetNanos = budget.toNanos();
+        this.optionalSlice = Duration.ofMillis(Long.getLong(OPTIONAL_SLICE_PROPERTY, DEFAULT_OPTIONAL_SLICE_MS));
+    }
+
+    static void start(Duration budget) {
+        CURRENT.set(new WaitBudget(budget));
+    }
+
+    static WaitBudget finish() {
+        WaitBudget budget = CURRENT.get();
+        CURRENT.remove();
+        return budget;
+    }
+
+    /**
+     * Выполняет обязательное ожидание с таймаутом Selenide по умолчанию ({@link Configuration#timeout}).
+     *
+     * @param step название шага для расшифровки затрат
+     * @param wait ожидание, принимающее выделенный таймаут
+     * @param <T>  тип результата ожидания
+     * @return результат ожидания
+     * @throws WaitBudgetExceededException если бюджета теста не хватило на ожидание
+     */
+    public static <T> T await(String step, Function<Duration, T> wait) {
+        return await(step, Duration.ofMillis(Configuration.timeout), wait);
+    }
+
+    /**
+     * Выполняет обязательное ожидание, расходуя бюджет текущего теста.
+     *
+     * <p>Если таймаут пришлось сократить до остатка бюджета и ожидание не удалось,
+     * ошибка ожидания заменяется на {@link WaitBudgetExceededException} с расшифровкой затрат.</p>
+     *
+     * @param step      название шага для расшифровки затрат
+     * @param requested таймаут, который запросил вызывающий код
+     * @param wait      ожидание, принимающее выделенный таймаут
+     * @param <T>       тип результата ожидания
+     * @return результат ожидания
+     * @throws WaitBudgetExceededException если бюджета теста не хватило на ожидание
+     */
+    public static <T> T await(String step, Duration requested, Function<Duration, T> wait) {
+        Duration timeout = AdaptiveTimeouts.timeoutFor(step, false, requested).orElse(requested);
+        Function<Duration, T> observed = granted ->
+                trace(step, false, granted, () -> AdaptiveTimeouts.observe(step, false, granted, wait));
+
+        WaitBudget budget = CURRENT.get();
+        if (budget == null) {
+            return observed.apply(timeout);
+        }
+
+        Duration remaining = budget.remaining();
+        if (remaining.isZero()) {
+            StepEventLog.instance().emit(StepEvent.of(step, false, Duration.ZERO, 0, StepOutcome.BUDGET_EXCEEDED,
+                    WaitBudgetExceededException.class.getSimpleName()));
+            throw new WaitBudgetExceededException(step, budget.budgetMillis(), budget.breakdown(), null);
+        }
+        if (timeout.compareTo(remaining) <= 0) {
+            return budget.measure(step, timeout, observed);
+        }
+
+        try {
+            return budget.measure(step, remaining, observed);
+        } catch (RuntimeException | AssertionError e) {
+            throw new WaitBudgetExceededException(step, budget.budgetMillis(), budget.breakdown(), e);
+        }
+    }
+
+    /**
+     * Выполняет проверку необязательного элемента, выделяя ей короткий отрезок бюджета.
+     *
+     * <p>Если по истории известно, как быстро элемент обычно появляется (или что его обычно нет),
+     * вместо фиксированного отрезка используется подобранный таймаут.</p>
+     *
+     * @param step      название шага для расшифровки затрат
+     * @param requested таймаут, который запросил вызывающий код
+     * @param wait      ожидание, принимающее выделенный таймаут
+     * @param <T>       тип результата ожидания
+     * @return результат ожидания
+     */
+    public static <T> T probe(String step, Duration requested, Function<Duration, T> wait) {
+        Optional<Duration> adaptive = AdaptiveTimeouts.timeoutFor(step, true, requested);
+        Function<Duration, T> observed = granted ->
+                trace(step, true, granted, () -> AdaptiveTimeouts.observe(step, true, granted, wait));
+
+        WaitBudget budget = CURRENT.get();
+        if (budget == null) {
+            return observed.apply(adaptive.orElse(requested));
+        }
+        Duration slice = min(adaptive.orElse(min(requested, budget.optionalSlice)), budget.remaining());
+        return budget.measure(step, slice, observed);
+    }
+
+    Duration remaining() {
+        return Duration.ofNanos(Math.max(0, budgetNanos - spentNanos));
+    }
+
+    /**
+     * Формирует расшифровку затрат по шагам, от самых дорогих к самым дешевым.
+     *
+     * @return по одной строке на шаг: название, количество ожиданий, затраченное время
+     */
+    String breakdown() {
+        return usage.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, StepUsage> e) -> e.getValue().nanos).reversed())
+                .map(e -> String.format("  %s: %d ожид., %d мс",
+                        e.getKey(), e.getValue().count, e.getValue().nanos / 1_000_000))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    long spentMillis() {
+        return spentNanos / 1_000_000;
+    }
+
+    long budgetMillis() {
+        return budgetNanos / 1_000_000;
+    }
+
+    private <T> T measure(String step, Duration timeout, Function<Duration, T> wait) {
+        long start = System.nanoTime();
+        try {
+            return wait.apply(timeout);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            spentNanos += elapsed;
+            StepUsage stepUsage = usage.computeIfAbsent(step, key -> new StepUsage());
+            stepUsage.count++;
+            stepUsage.nanos += elapsed;
+        }
+    }
+
+    private static <T> T trace(String step, boolean optional, Duration timeout, Supplier<T> wait) {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return wait.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            StepEventLog.instance().emit(StepEvent.of(step, optional, timeout, System.nanoTime() - start, failure));
+        }
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static final class StepUsage {
+        private int count;
+        private long nanos;
+    }
+}
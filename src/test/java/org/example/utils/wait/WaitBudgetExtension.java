@@ -0,0 +1,73 @@
+package org.example.utils.wait;
+
+import org.example.utils.events.StepEventLog;
+import org.example.utils.schedule.TestHistory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * JUnit расширение, выделяющее каждому тесту бюджет ожиданий {@link WaitBudget}.
+ *
+ * <p>Размер бюджета берется из {@link TimeBudget} на методе или классе теста,
+ * иначе из системного свойства {@code wait.budget.seconds}. Тесты, которые по {@link TestHistory}
+ * считаются падающими, получают короткий бюджет {@code wait.budget.failing.seconds}, чтобы не расходовать
+ * полные таймауты на известную ошибку. После теста в лог выводится расшифровка того, на какие ожидания
+ * ушло время. Журнал шагов {@link StepEventLog} дописывается по завершении прогона.</p>
+ */
+public class WaitBudgetExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final Logger log = LoggerFactory.getLogger(WaitBudgetExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(WaitBudgetExtension.class);
+    private static final String DEFAULT_BUDGET_PROPERTY = "wait.budget.seconds";
+    private static final long DEFAULT_BUDGET_SECONDS = 120;
+    private static final String FAILING_BUDGET_PROPERTY = "wait.budget.failing.seconds";
+    private static final long DEFAULT_FAILING_BUDGET_SECONDS = 15;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Flush.class, key -> new Flush(), Flush.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        long seconds = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), TimeBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), TimeBudget.class))
+                .map(TimeBudget::seconds)
+                .orElseGet(() -> Long.getLong(DEFAULT_BUDGET_PROPERTY, DEFAULT_BUDGET_SECONDS));
+
+        String test = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+        if (TestHistory.instance().isLikelyFailing(test, context.getTags())) {
+            long failingSeconds = Long.getLong(FAILING_BUDGET_PROPERTY, DEFAULT_FAILING_BUDGET_SECONDS);
+            if (failingSeconds < seconds) {
+                log.info("Тест '{}' считается падающим, бюджет ожиданий сокращен до {} с",
+                        context.getDisplayName(), failingSeconds);
+                seconds = failingSeconds;
+            }
+        }
+        WaitBudget.start(Duration.ofSeconds(seconds));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        WaitBudget budget = WaitBudget.finish();
+        if (budget != null) {
+            log.info("Ожидания в тесте '{}': {} из {} мс{}{}", context.getDisplayName(),
+                    budget.spentMillis(), budget.budgetMillis(), System.lineSeparator(), budget.breakdown());
+        }
+    }
+
+    private static final class Flush implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            StepEventLog.instance().close();
+        }
+    }
+}